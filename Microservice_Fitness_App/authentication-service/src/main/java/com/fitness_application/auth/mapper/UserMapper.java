@@ -0,0 +1,35 @@
+package com.fitness_application.auth.mapper;
+
+import com.fitness_application.auth.dto.UserDto;
+import com.fitness_application.auth.model.User;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies an account into the DTO returned alongside tokens. The password hash and account flags are
+ * deliberately not part of {@link UserDto}.
+ */
+@Component
+public class UserMapper {
+
+    public UserDto toDto(User user) {
+        if (user == null) {
+            return null;
+        }
+        UserDto dto = new UserDto();
+        dto.setId(user.getId());
+        dto.setEmail(user.getEmail());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setDateOfBirth(user.getDateOfBirth());
+        dto.setGender(user.getGender());
+        dto.setHeight(user.getHeight());
+        dto.setWeight(user.getWeight());
+        dto.setActivityLevel(user.getActivityLevel());
+        dto.setFitnessGoal(user.getFitnessGoal());
+        dto.setProfilePictureUrl(user.getProfilePictureUrl());
+        dto.setRole(user.getRole());
+        dto.setCreatedAt(user.getCreatedAt());
+        dto.setUpdatedAt(user.getUpdatedAt());
+        return dto;
+    }
+}
@@ -1,6 +1,5 @@
 package com.fitness_application.auth.service;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -12,6 +11,7 @@ import com.fitness_application.auth.dto.JwtResponse;
 import com.fitness_application.auth.dto.LoginDto;
 import com.fitness_application.auth.dto.UserDto;
 import com.fitness_application.auth.dto.UserRegistrationDto;
+import com.fitness_application.auth.mapper.UserMapper;
 import com.fitness_application.auth.model.User;
 import com.fitness_application.auth.model.User.UserRole;
 import com.fitness_application.auth.repository.UserRepository;
@@ -25,7 +25,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final AuthenticationManager authenticationManager;
     
     public ApiResponse<JwtResponse> register(UserRegistrationDto registrationDto) {
@@ -94,7 +94,7 @@ public class AuthService {
             User user = userRepository.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("User not found"));
             
-            UserDto userDto = modelMapper.map(user, UserDto.class);
+            UserDto userDto = userMapper.toDto(user);
             return ApiResponse.success(userDto);
             
         } catch (Exception e) {
@@ -119,7 +119,7 @@ public class AuthService {
             user.setProfilePictureUrl(updateDto.getProfilePictureUrl());
             
             User savedUser = userRepository.save(user);
-            UserDto userDto = modelMapper.map(savedUser, UserDto.class);
+            UserDto userDto = userMapper.toDto(savedUser);
             
             return ApiResponse.success("Profile updated successfully", userDto);
             
@@ -142,7 +142,7 @@ public class AuthService {
             user.setRole(UserRole.ADMIN);
             
             User savedUser = userRepository.save(user);
-            UserDto userDto = modelMapper.map(savedUser, UserDto.class);
+            UserDto userDto = userMapper.toDto(savedUser);
             
             return ApiResponse.success("Admin user created successfully", userDto);
             
@@ -0,0 +1,68 @@
+package com.fitness_application.benchmarks;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.CatalogFoodDto;
+import com.fitness_application.nutrition.dto.FoodCatalogStatsDto;
+import com.fitness_application.nutrition.service.FoodCatalogService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Barcode lookups against a generated catalog file, with the catalog's memory per product printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class FoodCatalogBenchmark {
+
+    private static final long FIRST_BARCODE = 5_000_000_000_000L;
+
+    @Param({"1000000"})
+    private int products;
+
+    private Path catalogFile;
+    private FoodCatalogService foodCatalogService;
+    private String[] barcodes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        catalogFile = Files.createTempFile("food-catalog", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(catalogFile)) {
+            writer.write("barcode,food_name,brand,serving_unit,calories,protein,carbs,fat,fiber,sugar,sodium\n");
+            for (int i = 0; i < products; i++) {
+                writer.write((FIRST_BARCODE + i * 7L) + ",Product " + i + ",Brand " + (i % 500)
+                        + ",100 g," + (50 + i % 400) + ",3.5,12.25,4,1.5,6,140\n");
+            }
+        }
+        foodCatalogService = new FoodCatalogService(catalogFile.toString());
+        FoodCatalogStatsDto stats = foodCatalogService.reload().getData();
+        System.out.printf("%nCatalog: %d products, %d bytes, %.1f bytes per product, loaded in %d ms%n",
+                stats.getProducts(), stats.getMemoryBytes(), stats.getBytesPerProduct(), stats.getLoadMillis());
+
+        // Mix hits and misses so the branch predictor cannot learn the outcome
+        barcodes = new String[1024];
+        for (int i = 0; i < barcodes.length; i++) {
+            long offset = (long) (i * 104_729L % products) * 7L + (i % 4 == 0 ? 3 : 0);
+            barcodes[i] = Long.toString(FIRST_BARCODE + offset);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(catalogFile);
+    }
+
+    @Benchmark
+    public ApiResponse<CatalogFoodDto> lookup() {
+        return foodCatalogService.lookup(barcodes[next++ & (barcodes.length - 1)]);
+    }
+}
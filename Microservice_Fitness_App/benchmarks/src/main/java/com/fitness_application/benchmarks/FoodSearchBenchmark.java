@@ -0,0 +1,104 @@
+package com.fitness_application.benchmarks;
+
+import com.fitness_application.nutrition.NutritionServiceApplication;
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.FoodSearchResultDto;
+import com.fitness_application.nutrition.service.FoodSearchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Food name search over a generated catalog, ranked top 10 on one thread.
+ * <p>
+ * Names draw words from a Zipf-like vocabulary of random letter strings with a few real food words mixed in,
+ * which gives gram frequencies closer to a real product database than repeating a handful of words would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class FoodSearchBenchmark {
+
+    private static final String LETTERS = "eeeeeeeeeeeeaaaaaaaaarrrrrrrriiiiiiiioooooooottttttttnnnnnnnsssssssllllllccccuuuuddddppphhhgggbbbffyywkvxzjq";
+    private static final String[] FOOD_WORDS = {"greek", "yogurt", "fage", "chicken", "milk", "peanut", "butter",
+            "chocolate", "oat", "rice", "banana", "protein", "bar"};
+
+    @Param({"2000000"})
+    private int products;
+
+    @Param({"greek yog fage", "chicken", "peanut butter", "oat milk chocolate"})
+    private String query;
+
+    private Path catalogFile;
+    private ConfigurableApplicationContext context;
+    private FoodSearchService foodSearchService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        catalogFile = Files.createTempFile("food-search", ".csv");
+        writeCatalog();
+
+        // The index is built from the catalog when the context is ready; keep the scheduled rebuild out of the run
+        System.setProperty("nutrition.catalog.path", catalogFile.toString());
+        System.setProperty("nutrition.search.rebuild-ms", "86400000");
+        context = ServiceContexts.start("benchmark-food-search", NutritionServiceApplication.class);
+        foodSearchService = context.getBean(FoodSearchService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        System.clearProperty("nutrition.catalog.path");
+        System.clearProperty("nutrition.search.rebuild-ms");
+        Files.deleteIfExists(catalogFile);
+    }
+
+    @Benchmark
+    public ApiResponse<List<FoodSearchResultDto>> search() {
+        return foodSearchService.search(null, query, 10);
+    }
+
+    private void writeCatalog() throws IOException {
+        Random random = new Random(42);
+        String[] vocabulary = new String[30_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 3 + random.nextInt(8); length > 0; length--) {
+                word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            vocabulary[i] = word.toString();
+        }
+        for (int i = 0; i < FOOD_WORDS.length; i++) {
+            vocabulary[50 + i * 97] = FOOD_WORDS[i];
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(catalogFile)) {
+            writer.write("barcode,food_name,brand,serving_unit,calories,protein,carbs,fat,fiber,sugar,sodium\n");
+            for (int i = 0; i < products; i++) {
+                StringBuilder name = new StringBuilder();
+                for (int words = 2 + random.nextInt(4); words > 0; words--) {
+                    name.append(zipf(vocabulary, random)).append(' ');
+                }
+                name.append(i % 1000);
+                writer.write((5_000_000_000_000L + i) + "," + name + "," + zipf(vocabulary, random)
+                        + " foods,100 g,120,3.5,12.25,4,1.5,6,140\n");
+            }
+        }
+    }
+
+    // Log-uniform rank, so word frequency falls off roughly as 1 / rank
+    private static String zipf(String[] vocabulary, Random random) {
+        int rank = (int) Math.exp(random.nextDouble() * Math.log(vocabulary.length + 1)) - 1;
+        return vocabulary[Math.min(rank, vocabulary.length - 1)];
+    }
+}
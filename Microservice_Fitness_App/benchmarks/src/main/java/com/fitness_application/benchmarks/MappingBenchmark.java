@@ -0,0 +1,149 @@
+package com.fitness_application.benchmarks;
+
+import com.fitness_application.nutrition.dto.NutritionLogDto;
+import com.fitness_application.nutrition.mapper.NutritionMapper;
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import com.fitness_application.user.dto.UserProfileDto;
+import com.fitness_application.user.mapper.UserProfileMapper;
+import com.fitness_application.user.model.UserProfile;
+import com.fitness_application.workout.dto.ExerciseDto;
+import com.fitness_application.workout.dto.WorkoutDto;
+import com.fitness_application.workout.mapper.WorkoutMapper;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping through the services' explicit mappers against the reflective ModelMapper they replaced,
+ * configured the way the services used to configure it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"5", "20"})
+    private int children;
+
+    private ModelMapper workoutModelMapper;
+    private ModelMapper defaultModelMapper;
+    private WorkoutMapper workoutMapper;
+    private NutritionMapper nutritionMapper;
+    private UserProfileMapper userProfileMapper;
+    private Workout workout;
+    private List<Exercise> exercises;
+    private NutritionLog nutritionLog;
+    private UserProfile userProfile;
+
+    @Setup
+    public void setUp() {
+        workoutModelMapper = new ModelMapper();
+        workoutModelMapper.typeMap(Workout.class, WorkoutDto.class)
+                .addMappings(mapper -> mapper.skip(WorkoutDto::setExercises));
+        defaultModelMapper = new ModelMapper();
+        workoutMapper = new WorkoutMapper();
+        nutritionMapper = new NutritionMapper();
+        userProfileMapper = new UserProfileMapper();
+
+        workout = new Workout();
+        workout.setId(1L);
+        workout.setUserId(1L);
+        workout.setName("Push day");
+        workout.setType(Workout.WorkoutType.STRENGTH);
+        workout.setIntensity(Workout.IntensityLevel.HIGH);
+        workout.setDurationMinutes(60);
+        workout.setCaloriesBurned(450);
+        workout.setWorkoutDate(LocalDateTime.of(2024, 3, 15, 18, 0));
+        exercises = new ArrayList<>();
+        for (int i = 0; i < children; i++) {
+            Exercise exercise = new Exercise();
+            exercise.setId((long) i);
+            exercise.setName("Exercise " + i);
+            exercise.setCategory(Exercise.ExerciseCategory.STRENGTH);
+            exercise.setSets(4);
+            exercise.setReps(8);
+            exercise.setWeight(80.0 + i);
+            exercise.setWorkout(workout);
+            exercises.add(exercise);
+        }
+        workout.setExercises(exercises);
+
+        nutritionLog = new NutritionLog();
+        nutritionLog.setId(1L);
+        nutritionLog.setUserId(1L);
+        nutritionLog.setLogDate(LocalDate.of(2024, 3, 15));
+        nutritionLog.setMealType(NutritionLog.MealType.LUNCH);
+        List<FoodEntry> entries = new ArrayList<>();
+        for (int i = 0; i < children; i++) {
+            entries.add(NutritionTotalsBenchmark.foodEntry(i, nutritionLog));
+        }
+        nutritionLog.setFoodEntries(entries);
+        nutritionLog.calculateTotals();
+
+        userProfile = new UserProfile();
+        userProfile.setUserId(1L);
+        userProfile.setEmail("bench@example.com");
+        userProfile.setFirstName("Bench");
+        userProfile.setLastName("Mark");
+        userProfile.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        userProfile.setGender(UserProfile.Gender.FEMALE);
+        userProfile.setHeight(170.0);
+        userProfile.setWeight(65.0);
+        userProfile.setActivityLevel(UserProfile.ActivityLevel.MODERATELY_ACTIVE);
+        userProfile.setFitnessGoal(UserProfile.FitnessGoal.MAINTAIN_WEIGHT);
+    }
+
+    @Benchmark
+    public WorkoutDto workoutModelMapper() {
+        // Same shape as WorkoutService.toWorkoutDto before the mapper
+        WorkoutDto dto = workoutModelMapper.map(workout, WorkoutDto.class);
+        List<ExerciseDto> exerciseDtos = new ArrayList<>(exercises.size());
+        for (Exercise exercise : exercises) {
+            exerciseDtos.add(workoutModelMapper.map(exercise, ExerciseDto.class));
+        }
+        dto.setExercises(exerciseDtos);
+        return dto;
+    }
+
+    @Benchmark
+    public WorkoutDto workoutMapper() {
+        WorkoutDto dto = workoutMapper.toDto(workout);
+        List<ExerciseDto> exerciseDtos = new ArrayList<>(exercises.size());
+        for (Exercise exercise : exercises) {
+            exerciseDtos.add(workoutMapper.toDto(exercise));
+        }
+        dto.setExercises(exerciseDtos);
+        return dto;
+    }
+
+    @Benchmark
+    public NutritionLogDto nutritionLogModelMapper() {
+        return defaultModelMapper.map(nutritionLog, NutritionLogDto.class);
+    }
+
+    @Benchmark
+    public NutritionLogDto nutritionLogMapper() {
+        return nutritionMapper.toDto(nutritionLog);
+    }
+
+    @Benchmark
+    public UserProfileDto userProfileModelMapper() {
+        return defaultModelMapper.map(userProfile, UserProfileDto.class);
+    }
+
+    @Benchmark
+    public UserProfileDto userProfileMapper() {
+        return userProfileMapper.toDto(userProfile);
+    }
+}
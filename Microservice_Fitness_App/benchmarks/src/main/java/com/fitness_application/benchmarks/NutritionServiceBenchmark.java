@@ -0,0 +1,126 @@
+package com.fitness_application.benchmarks;
+
+import com.fitness_application.nutrition.NutritionServiceApplication;
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.CursorPage;
+import com.fitness_application.nutrition.dto.FoodEntryDto;
+import com.fitness_application.nutrition.dto.MealPlanDto;
+import com.fitness_application.nutrition.dto.MealPlanRequestDto;
+import com.fitness_application.nutrition.dto.NutritionLogDto;
+import com.fitness_application.nutrition.dto.NutritionTrendDto;
+import com.fitness_application.nutrition.model.NutritionRollup;
+import com.fitness_application.nutrition.service.MealPlanService;
+import com.fitness_application.nutrition.service.NutritionRollupService;
+import com.fitness_application.nutrition.service.NutritionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link NutritionService} calls against a seeded in-memory database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NutritionServiceBenchmark {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    @Param({"200"})
+    private int logsPerUser;
+
+    @Param({"8"})
+    private int entriesPerLog;
+
+    private ConfigurableApplicationContext context;
+    private NutritionService nutritionService;
+    private NutritionRollupService nutritionRollupService;
+    private MealPlanService mealPlanService;
+    private NutritionLogDto latestLog;
+    private MealPlanRequestDto mealPlanRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start("benchmark-nutrition", NutritionServiceApplication.class);
+        nutritionService = context.getBean(NutritionService.class);
+        nutritionRollupService = context.getBean(NutritionRollupService.class);
+        mealPlanService = context.getBean(MealPlanService.class);
+        for (int day = 0; day < logsPerUser; day++) {
+            NutritionLogDto log = new NutritionLogDto();
+            log.setLogDate(FIRST_DAY.plusDays(day));
+            Long logId = nutritionService.createNutritionLog(USER_ID, log).getData().getId();
+
+            // Entries go through the update path, which inserts them against the saved log
+            NutritionLogDto withEntries = new NutritionLogDto();
+            withEntries.setFoodEntries(foodEntries());
+            latestLog = nutritionService.updateNutritionLog(logId, USER_ID, withEntries).getData();
+        }
+        mealPlanRequest = new MealPlanRequestDto();
+        mealPlanRequest.setDailyCalories(2400);
+        mealPlanRequest.setGoal("BUILD_MUSCLE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ApiResponse<List<NutritionLogDto>> getNutritionLogs() {
+        return nutritionService.getNutritionLogs(USER_ID, 0, 20);
+    }
+
+    @Benchmark
+    public ApiResponse<CursorPage<NutritionLogDto>> getNutritionLogFeed() {
+        return nutritionService.getNutritionLogFeed(USER_ID, null, 20);
+    }
+
+    @Benchmark
+    public ApiResponse<NutritionLogDto> getNutritionLogByDate() {
+        return nutritionService.getNutritionLogByDate(USER_ID, latestLog.getLogDate());
+    }
+
+    @Benchmark
+    public ApiResponse<NutritionTrendDto> getDailyTrendForAYear() {
+        return nutritionRollupService.getTrend(USER_ID, NutritionRollup.Period.DAY,
+                latestLog.getLogDate().minusDays(364), latestLog.getLogDate());
+    }
+
+    @Benchmark
+    public ApiResponse<MealPlanDto> generateWeeklyMealPlan() {
+        return mealPlanService.generatePlan(USER_ID, mealPlanRequest);
+    }
+
+    @Benchmark
+    public ApiResponse<NutritionLogDto> updateNutritionLog() {
+        // Resubmits the same entries by id, exercising reconciliation and totals without growing the log
+        NutritionLogDto update = new NutritionLogDto();
+        update.setFoodEntries(latestLog.getFoodEntries());
+        return nutritionService.updateNutritionLog(latestLog.getId(), USER_ID, update);
+    }
+
+    private List<FoodEntryDto> foodEntries() {
+        List<FoodEntryDto> entries = new ArrayList<>(entriesPerLog);
+        for (int i = 0; i < entriesPerLog; i++) {
+            FoodEntryDto entry = new FoodEntryDto();
+            entry.setFoodName("Food " + i);
+            entry.setBrand("Generic");
+            entry.setQuantity(1.0);
+            entry.setUnit("serving");
+            entry.setCalories(150 + i * 10);
+            entry.setProtein(8.0);
+            entry.setCarbs(20.0);
+            entry.setFat(5.0);
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,69 @@
+package com.fitness_application.benchmarks;
+
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import com.fitness_application.nutrition.service.NutrientTotals;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NutritionLog#calculateTotals}, which the reconciliation job runs over the whole log, against the
+ * per-write delta that {@code NutritionTotalsService} derives from the one entry that changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NutritionTotalsBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int entries;
+
+    private NutritionLog nutritionLog;
+    private FoodEntry changedEntry;
+    private NutrientTotals before;
+
+    @Setup
+    public void setUp() {
+        nutritionLog = new NutritionLog();
+        List<FoodEntry> foodEntries = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            foodEntries.add(foodEntry(i, nutritionLog));
+        }
+        nutritionLog.setFoodEntries(foodEntries);
+        changedEntry = foodEntries.get(0);
+        before = NutrientTotals.of(changedEntry);
+    }
+
+    @Benchmark
+    public NutritionLog calculateTotals() {
+        nutritionLog.calculateTotals();
+        return nutritionLog;
+    }
+
+    @Benchmark
+    public NutrientTotals delta() {
+        return NutrientTotals.of(changedEntry).minus(before);
+    }
+
+    static FoodEntry foodEntry(int i, NutritionLog nutritionLog) {
+        FoodEntry entry = new FoodEntry();
+        entry.setId((long) i);
+        entry.setFoodName("Food " + i);
+        entry.setQuantity(1.0 + i % 3);
+        entry.setCalories(100 + i);
+        entry.setProtein(5.0 + i % 7);
+        entry.setCarbs(12.5);
+        entry.setFat(i % 2 == 0 ? 3.0 : null);
+        entry.setFiber(1.5);
+        entry.setSugar(4.0);
+        entry.setSodium(120.0);
+        entry.setNutritionLog(nutritionLog);
+        return entry;
+    }
+}
@@ -0,0 +1,57 @@
+package com.fitness_application.benchmarks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Boots a service's Spring context without the web layer against its own in-memory H2 database. Actuator is not on
+ * the classpath here, so the {@link MeterRegistry} the services' caches record into is a plain in-memory one.
+ */
+final class ServiceContexts {
+
+    private ServiceContexts() {
+    }
+
+    static ConfigurableApplicationContext start(String database, Class<?>... sources) {
+        return startAt("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", sources);
+    }
+
+    // An H2 file database at the given path, for benchmarks whose targets are stated against disk
+    static ConfigurableApplicationContext startOnDisk(Path database, Class<?>... sources) {
+        return startAt("jdbc:h2:file:" + database.toAbsolutePath(), sources);
+    }
+
+    private static ConfigurableApplicationContext startAt(String url, Class<?>... sources) {
+        return new SpringApplicationBuilder(sources)
+                .sources(Metrics.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.jpa.properties.hibernate.order_updates=true",
+                        // Per-call INFO logging would dominate the measurements
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
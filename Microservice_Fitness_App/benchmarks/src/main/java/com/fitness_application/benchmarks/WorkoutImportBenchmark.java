@@ -0,0 +1,98 @@
+package com.fitness_application.benchmarks;
+
+import com.fitness_application.workout.WorkoutServiceApplication;
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.BulkImportResultDto;
+import com.fitness_application.workout.service.WorkoutImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link WorkoutImportService} throughput in workouts per second, the unit of the 10k workouts/s import target.
+ * Each invocation imports {@value #WORKOUTS} NDJSON workouts for a fresh user through the chunked, batched write
+ * path, on the in-memory database the other benchmarks use and on an H2 file database as the target is stated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(WorkoutImportBenchmark.WORKOUTS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WorkoutImportBenchmark {
+
+    static final int WORKOUTS = 10_000;
+
+    @Param({"mem", "file"})
+    private String storage;
+
+    @Param({"3"})
+    private int exercisesPerWorkout;
+
+    private ConfigurableApplicationContext context;
+    private WorkoutImportService workoutImportService;
+    private Path databaseDirectory;
+    private byte[] body;
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("file".equals(storage)) {
+            databaseDirectory = Files.createTempDirectory("benchmark-workout-import");
+            context = ServiceContexts.startOnDisk(databaseDirectory.resolve("workouts"), WorkoutServiceApplication.class);
+        } else {
+            context = ServiceContexts.start("benchmark-workout-import", WorkoutServiceApplication.class);
+        }
+        workoutImportService = context.getBean(WorkoutImportService.class);
+        body = ndjson();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (databaseDirectory != null) {
+            try (Stream<Path> files = Files.walk(databaseDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public BulkImportResultDto importWorkouts() {
+        // A new user per invocation, so every import starts without records or rollups, like a migration
+        ApiResponse<BulkImportResultDto> response = workoutImportService.importWorkouts(++userId, new ByteArrayInputStream(body));
+        if (!response.isSuccess() || response.getData().getImportedWorkouts() != WORKOUTS) {
+            throw new IllegalStateException("Import failed: " + response.getError());
+        }
+        return response.getData();
+    }
+
+    private byte[] ndjson() {
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 18, 0);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < WORKOUTS; i++) {
+            ndjson.append("{\"name\":\"Strength session\",\"type\":\"STRENGTH\",\"durationMinutes\":60,")
+                    .append("\"caloriesBurned\":400,\"completed\":true,\"workoutDate\":\"")
+                    .append(start.plusHours(i * 7L)).append("\",\"exercises\":[");
+            for (int j = 0; j < exercisesPerWorkout; j++) {
+                ndjson.append(j == 0 ? "" : ",")
+                        .append("{\"name\":\"Lift ").append(j).append("\",\"category\":\"STRENGTH\",")
+                        .append("\"sets\":4,\"reps\":8,\"weight\":").append(60.0 + (i + j) % 40).append('}');
+            }
+            ndjson.append("]}\n");
+        }
+        return ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.fitness_application.benchmarks;
+
+import com.fitness_application.workout.WorkoutServiceApplication;
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.CursorPage;
+import com.fitness_application.workout.dto.ExerciseDto;
+import com.fitness_application.workout.dto.WorkoutDto;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.service.WorkoutService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link WorkoutService} calls (transaction, JPA, H2, mapping) against a seeded in-memory database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WorkoutServiceBenchmark {
+
+    private static final Long READER_ID = 1L;
+    // Writes go to their own user so the read benchmarks see a fixed data set
+    private static final Long WRITER_ID = 2L;
+
+    @Param({"200"})
+    private int workoutsPerUser;
+
+    @Param({"5"})
+    private int exercisesPerWorkout;
+
+    private ConfigurableApplicationContext context;
+    private WorkoutService workoutService;
+    private Long workoutId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start("benchmark-workouts", WorkoutServiceApplication.class);
+        workoutService = context.getBean(WorkoutService.class);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 18, 0);
+        for (int i = 0; i < workoutsPerUser; i++) {
+            workoutId = workoutService.createWorkout(READER_ID, workout(start.plusDays(i))).getData().getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ApiResponse<List<WorkoutDto>> getUserWorkouts() {
+        return workoutService.getUserWorkouts(READER_ID, 0, 20);
+    }
+
+    @Benchmark
+    public ApiResponse<CursorPage<WorkoutDto>> getUserWorkoutFeed() {
+        return workoutService.getUserWorkoutFeed(READER_ID, null, 20);
+    }
+
+    @Benchmark
+    public ApiResponse<WorkoutDto> getWorkoutById() {
+        return workoutService.getWorkoutById(READER_ID, workoutId);
+    }
+
+    @Benchmark
+    public ApiResponse<WorkoutDto> createWorkout() {
+        return workoutService.createWorkout(WRITER_ID, workout(LocalDateTime.now()));
+    }
+
+    private WorkoutDto workout(LocalDateTime workoutDate) {
+        WorkoutDto workout = new WorkoutDto();
+        workout.setName("Strength session");
+        workout.setType(Workout.WorkoutType.STRENGTH);
+        workout.setDurationMinutes(60);
+        workout.setCaloriesBurned(400);
+        workout.setWorkoutDate(workoutDate);
+        List<ExerciseDto> exercises = new ArrayList<>(exercisesPerWorkout);
+        for (int i = 0; i < exercisesPerWorkout; i++) {
+            ExerciseDto exercise = new ExerciseDto();
+            exercise.setName("Lift " + i);
+            exercise.setCategory(Exercise.ExerciseCategory.STRENGTH);
+            exercise.setSets(4);
+            exercise.setReps(8);
+            exercise.setWeight(60.0 + i * 5);
+            exercises.add(exercise);
+        }
+        workout.setExercises(exercises);
+        return workout;
+    }
+}
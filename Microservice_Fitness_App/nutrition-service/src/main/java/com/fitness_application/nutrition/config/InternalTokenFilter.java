@@ -0,0 +1,52 @@
+package com.fitness_application.nutrition.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Admits requests to the service-to-service endpoints under {@code /api/nutrition/internal/} only when they carry
+ * the shared {@code nutrition.internal.token} in the {@value #HEADER} header. With no token configured every such
+ * request is rejected.
+ */
+@Component
+@Slf4j
+public class InternalTokenFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Internal-Token";
+    static final String PATH_PREFIX = "/api/nutrition/internal/";
+
+    private final byte[] token;
+
+    public InternalTokenFilter(@Value("${nutrition.internal.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String presented = request.getHeader(HEADER);
+        // Constant-time comparison so the token can't be guessed byte by byte from response times
+        if (token.length == 0 || presented == null
+                || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Rejected internal request to {} from {}", request.getRequestURI(), request.getRemoteAddr());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,38 +1,138 @@
 package com.fitness_application.nutrition.controller;
 
 import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.CatalogFoodDto;
+import com.fitness_application.nutrition.dto.CursorPage;
+import com.fitness_application.nutrition.dto.FoodCatalogStatsDto;
 import com.fitness_application.nutrition.dto.FoodEntryDto;
+import com.fitness_application.nutrition.dto.FoodSearchResultDto;
+import com.fitness_application.nutrition.dto.MealPlanDto;
+import com.fitness_application.nutrition.dto.MealPlanRequestDto;
 import com.fitness_application.nutrition.dto.NutritionLogDto;
+import com.fitness_application.nutrition.dto.NutritionTrendDto;
+import com.fitness_application.nutrition.dto.ProfileChangedEventDto;
+import com.fitness_application.nutrition.model.NutritionRollup;
+import com.fitness_application.nutrition.model.UserDataVersion;
+import com.fitness_application.nutrition.service.DataVersionService;
+import com.fitness_application.nutrition.service.FoodCatalogService;
+import com.fitness_application.nutrition.service.FoodSearchService;
+import com.fitness_application.nutrition.service.MealPlanService;
+import com.fitness_application.nutrition.service.NutritionExportService;
+import com.fitness_application.nutrition.service.NutritionRollupService;
 import com.fitness_application.nutrition.service.NutritionService;
+import com.fitness_application.nutrition.service.ProfileReplicaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/nutrition")
 public class NutritionController {
 
+    // Clients may keep log responses but must revalidate them, which the per-user data version makes cheap
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private NutritionService nutritionService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private FoodCatalogService foodCatalogService;
+
+    @Autowired
+    private FoodSearchService foodSearchService;
+
+    @Autowired
+    private NutritionRollupService nutritionRollupService;
+
+    @Autowired
+    private MealPlanService mealPlanService;
+
+    @Autowired
+    private NutritionExportService nutritionExportService;
+
+    @Autowired
+    private ProfileReplicaService profileReplicaService;
+
     @GetMapping("/logs/{userId}")
-    public ResponseEntity<List<NutritionLogDto>> getNutritionLogs(@PathVariable Long userId) {
+    public ResponseEntity<List<NutritionLogDto>> getNutritionLogs(@PathVariable Long userId, WebRequest webRequest) {
         try {
+            if (notModified(userId, webRequest)) {
+                return null;
+            }
             List<NutritionLogDto> logs = nutritionService.getNutritionLogsForUser(userId);
-            return ResponseEntity.ok(logs);
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(logs);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @GetMapping("/logs/{userId}/feed")
+    public ResponseEntity<CursorPage<NutritionLogDto>> getNutritionLogFeed(@PathVariable Long userId,
+                                                                         @RequestParam(required = false) String after,
+                                                                         @RequestParam(defaultValue = "20") int size,
+                                                                         WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
+        ApiResponse<CursorPage<NutritionLogDto>> response = nutritionService.getNutritionLogFeed(userId, after, size);
+        if (response.isSuccess()) {
+            return ResponseEntity.ok().cacheControl(REVALIDATE).body(response.getData());
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/logs/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportNutritionLogs(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        NutritionExportService.Format exportFormat;
+        try {
+            exportFormat = NutritionExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean csv = exportFormat == NutritionExportService.Format.CSV;
+        StreamingResponseBody body = outputStream ->
+                nutritionExportService.exportNutritionLogs(userId, from, to, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"nutrition-" + userId + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+
     @GetMapping("/logs/{userId}/date/{date}")
-    public ResponseEntity<NutritionLogDto> getNutritionLogByDate(@PathVariable Long userId, @PathVariable String date) {
+    public ResponseEntity<NutritionLogDto> getNutritionLogByDate(@PathVariable Long userId, @PathVariable String date,
+                                                                 WebRequest webRequest) {
         try {
+            if (notModified(userId, webRequest)) {
+                return null;
+            }
             NutritionLogDto log = nutritionService.getNutritionLogByUserAndDate(userId, date);
             if (log != null) {
-                return ResponseEntity.ok(log);
+                return ResponseEntity.ok().cacheControl(REVALIDATE).body(log);
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -42,10 +142,22 @@ public class NutritionController {
     }
 
     @PostMapping("/logs")
-    public ResponseEntity<NutritionLogDto> createNutritionLog(@RequestBody NutritionLogDto nutritionLogDto) {
+    public ResponseEntity<NutritionLogDto> createNutritionLog(@RequestBody NutritionLogDto nutritionLogDto,
+                                                             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            NutritionLogDto createdLog = nutritionService.createNutritionLog(nutritionLogDto);
+            NutritionLogDto createdLog = nutritionService.createNutritionLog(nutritionLogDto, idempotencyKey);
             return ResponseEntity.ok(createdLog);
+        } catch (DataIntegrityViolationException e) {
+            // The create rolled back; a retry gets the log its first attempt made, anything else a conflict
+            ApiResponse<NutritionLogDto> resolved = nutritionService.resolveCreateConflict(
+                    nutritionLogDto.getUserId(), nutritionLogDto.getLogDate(), idempotencyKey);
+            if (resolved.isSuccess()) {
+                return ResponseEntity.ok(resolved.getData());
+            } else if (resolved.getData() != null) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(resolved.getData());
+            } else {
+                return ResponseEntity.badRequest().build();
+            }
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -116,4 +228,84 @@ public class NutritionController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @GetMapping("/catalog/{barcode}")
+    public ResponseEntity<CatalogFoodDto> lookupCatalogFood(@PathVariable String barcode) {
+        ApiResponse<CatalogFoodDto> response = foodCatalogService.lookup(barcode);
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response.getData());
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/catalog/stats")
+    public ResponseEntity<FoodCatalogStatsDto> getCatalogStats() {
+        return ResponseEntity.ok(foodCatalogService.getStats().getData());
+    }
+
+    @PostMapping("/catalog/reload")
+    public ResponseEntity<FoodCatalogStatsDto> reloadCatalog() {
+        ApiResponse<FoodCatalogStatsDto> response = foodCatalogService.reload();
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response.getData());
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/foods/search")
+    public ResponseEntity<List<FoodSearchResultDto>> searchFoods(@RequestParam String q,
+                                                                 @RequestParam(required = false) Long userId,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        ApiResponse<List<FoodSearchResultDto>> response = foodSearchService.search(userId, q, limit);
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response.getData());
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/trends/{userId}")
+    public ResponseEntity<NutritionTrendDto> getNutritionTrend(@PathVariable Long userId,
+                                                               @RequestParam(defaultValue = "DAY") NutritionRollup.Period period,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        ApiResponse<NutritionTrendDto> response = nutritionRollupService.getTrend(userId, period, start, end);
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response.getData());
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/meal-plans/{userId}")
+    public ResponseEntity<MealPlanDto> generateMealPlan(@PathVariable Long userId, @RequestBody MealPlanRequestDto request) {
+        ApiResponse<MealPlanDto> response = mealPlanService.generatePlan(userId, request);
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response.getData());
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Receives user-service's profile change events, behind InternalTokenFilter; any non-2xx makes user-service
+    // resend the batch
+    @PostMapping("/internal/profile-events")
+    public ResponseEntity<Integer> receiveProfileEvents(@RequestBody List<ProfileChangedEventDto> events) {
+        ApiResponse<Integer> response = profileReplicaService.applyEvents(events);
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response.getData());
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Checks If-None-Match / If-Modified-Since against the user's data version without loading any logs
+    private boolean notModified(Long userId, WebRequest webRequest) {
+        UserDataVersion version = dataVersionService.current(userId);
+        return webRequest.checkNotModified(DataVersionService.etag(version), DataVersionService.lastModified(version));
+    }
 }
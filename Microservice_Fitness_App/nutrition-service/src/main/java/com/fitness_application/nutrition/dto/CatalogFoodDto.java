@@ -0,0 +1,23 @@
+package com.fitness_application.nutrition.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogFoodDto {
+    private String barcode;
+    private String foodName;
+    private String brand;
+    private String unit;
+    private Integer calories; // Per serving, like the other nutrient values
+    private Double protein;
+    private Double carbs;
+    private Double fat;
+    private Double fiber;
+    private Double sugar;
+    private Double sodium; // in mg
+    private String catalogVersion;
+}
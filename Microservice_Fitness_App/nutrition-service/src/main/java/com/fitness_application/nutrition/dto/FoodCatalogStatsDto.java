@@ -0,0 +1,19 @@
+package com.fitness_application.nutrition.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodCatalogStatsDto {
+    private String version;
+    private int products;
+    private long memoryBytes; // Heap held by the catalog arrays
+    private double bytesPerProduct;
+    private long loadMillis;
+    private LocalDateTime loadedAt;
+}
@@ -0,0 +1,16 @@
+package com.fitness_application.nutrition.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodSearchResultDto {
+    private String foodName;
+    private String brand;
+    private String barcode; // Set for catalog products, resolvable through the catalog lookup
+    private double score;
+    private boolean recentlyLogged;
+}
@@ -0,0 +1,20 @@
+package com.fitness_application.nutrition.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanDayDto {
+    private LocalDate date;
+    private List<PlannedMealDto> meals;
+    private int calories;
+    private double protein; // in grams
+    private double carbs; // in grams
+    private double fat; // in grams
+}
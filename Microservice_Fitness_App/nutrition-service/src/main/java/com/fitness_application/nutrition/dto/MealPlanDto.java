@@ -0,0 +1,22 @@
+package com.fitness_application.nutrition.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanDto {
+    private int dailyCalories;
+    private double proteinGrams;
+    private double carbsGrams;
+    private double fatGrams;
+    private double tolerance;
+    private boolean withinTolerance; // Every planned meal is within tolerance of its targets
+    private List<MealPlanDayDto> days;
+    private long nodesExplored;
+    private long solveMillis;
+}
@@ -0,0 +1,23 @@
+package com.fitness_application.nutrition.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanRequestDto {
+    private Integer dailyCalories;
+    private Double proteinGrams; // Left out macros are split from the calories by goal
+    private Double carbsGrams;
+    private Double fatGrams;
+    private String goal; // LOSE_WEIGHT, GAIN_WEIGHT, BUILD_MUSCLE, IMPROVE_ENDURANCE, ...; balanced if absent
+    private LocalDate startDate; // Defaults to today
+    private Integer days; // Defaults to 7
+    private Double tolerance; // Allowed miss per meal as a fraction of each target, defaults to 0.10
+    private List<String> mealTypes; // Defaults to BREAKFAST, LUNCH, DINNER and SNACK
+}
@@ -0,0 +1,29 @@
+package com.fitness_application.nutrition.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Nutrient totals per period as parallel arrays: index i of every array belongs to {@code periodStarts[i]}.
+ * Periods without any logged food are left out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionTrendDto {
+    private String period; // DAY, WEEK or MONTH
+    private LocalDate from;
+    private LocalDate to;
+    private LocalDate[] periodStarts;
+    private int[] logCounts;
+    private long[] calories;
+    private double[] protein; // in grams
+    private double[] carbs; // in grams
+    private double[] fat; // in grams
+    private double[] fiber; // in grams
+    private double[] sugar; // in grams
+    private double[] sodium; // in mg
+}
@@ -0,0 +1,20 @@
+package com.fitness_application.nutrition.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlannedFoodDto {
+    private String foodName;
+    private String brand;
+    private String unit; // What one serving is, e.g. "100 g" or "1 cup"
+    private double servings;
+    private int calories; // For all servings
+    private double protein; // in grams
+    private double carbs; // in grams
+    private double fat; // in grams
+    private boolean fromHistory; // Logged by the user before, rather than taken from the reference foods
+}
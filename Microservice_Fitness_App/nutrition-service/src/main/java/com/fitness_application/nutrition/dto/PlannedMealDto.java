@@ -0,0 +1,24 @@
+package com.fitness_application.nutrition.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlannedMealDto {
+    private String mealType;
+    private int targetCalories;
+    private double targetProtein;
+    private double targetCarbs;
+    private double targetFat;
+    private List<PlannedFoodDto> foods;
+    private int calories;
+    private double protein; // in grams
+    private double carbs; // in grams
+    private double fat; // in grams
+    private boolean withinTolerance;
+}
@@ -0,0 +1,33 @@
+package com.fitness_application.nutrition.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A profile change as published by user-service. A user's events have increasing ids; DELETED events carry no
+ * profile fields.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileChangedEventDto {
+    
+    public static final String UPSERTED = "UPSERTED";
+    public static final String DELETED = "DELETED";
+    
+    private Long eventId;
+    private Long userId;
+    private String type;
+    private Long version;
+    private Double height;
+    private Double weight;
+    private String gender;
+    private LocalDate dateOfBirth;
+    private String activityLevel;
+    private String fitnessGoal;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,159 @@
+package com.fitness_application.nutrition.mapper;
+
+import com.fitness_application.nutrition.dto.FoodEntryDto;
+import com.fitness_application.nutrition.dto.NutritionLogDto;
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Field-by-field conversions between nutrition logs, food entries and their DTOs.
+ */
+@Component
+public class NutritionMapper {
+
+    /**
+     * Copies the log together with whatever food entries the entity carries.
+     */
+    public NutritionLogDto toDto(NutritionLog nutritionLog) {
+        if (nutritionLog == null) {
+            return null;
+        }
+        return toDto(nutritionLog, nutritionLog.getFoodEntries());
+    }
+
+    /**
+     * Copies the log with entries the caller has already loaded, leaving the entity's lazy collection untouched.
+     */
+    public NutritionLogDto toDto(NutritionLog nutritionLog, List<FoodEntry> foodEntries) {
+        NutritionLogDto dto = new NutritionLogDto();
+        dto.setId(nutritionLog.getId());
+        dto.setUserId(nutritionLog.getUserId());
+        dto.setLogDate(nutritionLog.getLogDate());
+        dto.setMealType(nutritionLog.getMealType() != null ? nutritionLog.getMealType().name() : null);
+        dto.setTotalCalories(nutritionLog.getTotalCalories());
+        dto.setTotalProtein(nutritionLog.getTotalProtein());
+        dto.setTotalCarbs(nutritionLog.getTotalCarbs());
+        dto.setTotalFat(nutritionLog.getTotalFat());
+        dto.setTotalFiber(nutritionLog.getTotalFiber());
+        dto.setTotalSugar(nutritionLog.getTotalSugar());
+        dto.setTotalSodium(nutritionLog.getTotalSodium());
+        dto.setNotes(nutritionLog.getNotes());
+        dto.setCreatedAt(nutritionLog.getCreatedAt());
+        dto.setUpdatedAt(nutritionLog.getUpdatedAt());
+        if (foodEntries != null) {
+            dto.setFoodEntries(toDtos(foodEntries));
+        }
+        return dto;
+    }
+
+    public FoodEntryDto toDto(FoodEntry foodEntry) {
+        if (foodEntry == null) {
+            return null;
+        }
+        FoodEntryDto dto = new FoodEntryDto();
+        dto.setId(foodEntry.getId());
+        dto.setFoodName(foodEntry.getFoodName());
+        dto.setBrand(foodEntry.getBrand());
+        dto.setBarcode(foodEntry.getBarcode());
+        dto.setQuantity(foodEntry.getQuantity());
+        dto.setUnit(foodEntry.getUnit());
+        dto.setCalories(foodEntry.getCalories());
+        dto.setProtein(foodEntry.getProtein());
+        dto.setCarbs(foodEntry.getCarbs());
+        dto.setFat(foodEntry.getFat());
+        dto.setFiber(foodEntry.getFiber());
+        dto.setSugar(foodEntry.getSugar());
+        dto.setSodium(foodEntry.getSodium());
+        dto.setCholesterol(foodEntry.getCholesterol());
+        dto.setVitaminC(foodEntry.getVitaminC());
+        dto.setCalcium(foodEntry.getCalcium());
+        dto.setIron(foodEntry.getIron());
+        dto.setNotes(foodEntry.getNotes());
+        dto.setCreatedAt(foodEntry.getCreatedAt());
+        dto.setUpdatedAt(foodEntry.getUpdatedAt());
+        // Reading the id of a lazy proxy does not initialize it
+        if (foodEntry.getNutritionLog() != null) {
+            dto.setNutritionLogId(foodEntry.getNutritionLog().getId());
+        }
+        return dto;
+    }
+
+    public List<FoodEntryDto> toDtos(List<FoodEntry> foodEntries) {
+        List<FoodEntryDto> dtos = new ArrayList<>(foodEntries.size());
+        for (FoodEntry foodEntry : foodEntries) {
+            dtos.add(toDto(foodEntry));
+        }
+        return dtos;
+    }
+
+    /**
+     * Builds a new log from the fields a client may set. Ids, owner, audit timestamps and food entries are
+     * assigned by the service; totals keep their zero defaults unless the request supplies them.
+     *
+     * @throws IllegalArgumentException if the meal type is not a {@link NutritionLog.MealType} name
+     */
+    public NutritionLog toEntity(NutritionLogDto dto) {
+        NutritionLog nutritionLog = new NutritionLog();
+        nutritionLog.setLogDate(dto.getLogDate());
+        if (dto.getMealType() != null) {
+            nutritionLog.setMealType(NutritionLog.MealType.valueOf(dto.getMealType()));
+        }
+        if (dto.getTotalCalories() != null) {
+            nutritionLog.setTotalCalories(dto.getTotalCalories());
+        }
+        if (dto.getTotalProtein() != null) {
+            nutritionLog.setTotalProtein(dto.getTotalProtein());
+        }
+        if (dto.getTotalCarbs() != null) {
+            nutritionLog.setTotalCarbs(dto.getTotalCarbs());
+        }
+        if (dto.getTotalFat() != null) {
+            nutritionLog.setTotalFat(dto.getTotalFat());
+        }
+        if (dto.getTotalFiber() != null) {
+            nutritionLog.setTotalFiber(dto.getTotalFiber());
+        }
+        if (dto.getTotalSugar() != null) {
+            nutritionLog.setTotalSugar(dto.getTotalSugar());
+        }
+        if (dto.getTotalSodium() != null) {
+            nutritionLog.setTotalSodium(dto.getTotalSodium());
+        }
+        nutritionLog.setNotes(dto.getNotes());
+        return nutritionLog;
+    }
+
+    public FoodEntry toEntity(FoodEntryDto dto, NutritionLog nutritionLog) {
+        FoodEntry foodEntry = new FoodEntry();
+        update(dto, foodEntry);
+        foodEntry.setNutritionLog(nutritionLog);
+        return foodEntry;
+    }
+
+    /**
+     * Copies the client-editable fields of {@code dto} onto an existing entry.
+     */
+    public void update(FoodEntryDto dto, FoodEntry foodEntry) {
+        foodEntry.setFoodName(dto.getFoodName());
+        foodEntry.setBrand(dto.getBrand());
+        foodEntry.setQuantity(dto.getQuantity());
+        foodEntry.setUnit(dto.getUnit());
+        foodEntry.setCalories(dto.getCalories());
+        foodEntry.setProtein(dto.getProtein());
+        foodEntry.setCarbs(dto.getCarbs());
+        foodEntry.setFat(dto.getFat());
+        foodEntry.setFiber(dto.getFiber());
+        foodEntry.setSugar(dto.getSugar());
+        foodEntry.setSodium(dto.getSodium());
+        foodEntry.setCholesterol(dto.getCholesterol());
+        foodEntry.setVitaminC(dto.getVitaminC());
+        foodEntry.setCalcium(dto.getCalcium());
+        foodEntry.setIron(dto.getIron());
+        foodEntry.setBarcode(dto.getBarcode());
+        foodEntry.setNotes(dto.getNotes());
+    }
+}
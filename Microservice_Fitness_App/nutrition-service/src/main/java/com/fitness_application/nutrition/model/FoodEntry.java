@@ -8,14 +8,19 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "food_entries")
+// Entries are always read by log in id order: log pages, today's log and the ordered export join
+@Table(name = "food_entries", indexes = {
+    @Index(name = "idx_food_entries_nutrition_log_id", columnList = "nutrition_log_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class FoodEntry {
     
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "food_entry_seq")
+    @SequenceGenerator(name = "food_entry_seq", sequenceName = "food_entry_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
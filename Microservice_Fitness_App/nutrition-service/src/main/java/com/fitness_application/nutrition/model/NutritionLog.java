@@ -10,14 +10,22 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "nutrition_logs")
+// One log per user and day, enforced by the database so concurrent creates cannot both succeed
+@Table(name = "nutrition_logs", indexes = {
+    @Index(name = "idx_nutrition_logs_user_date_id", columnList = "user_id, log_date, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_nutrition_logs_user_date", columnNames = {"user_id", "log_date"}),
+    @UniqueConstraint(name = "uk_nutrition_logs_user_idempotency_key", columnNames = {"user_id", "idempotency_key"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class NutritionLog {
     
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "nutrition_log_seq")
+    @SequenceGenerator(name = "nutrition_log_seq", sequenceName = "nutrition_log_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -39,12 +47,21 @@ public class NutritionLog {
     
     private String notes;
     
+    // Idempotency-Key of the request that created the log, so a retry of that request can be told apart
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    // Bumped by every write, including the delta updates in NutritionTotalsService, so a full-entity save
+    // never overwrites totals it did not read
+    @Version
+    private Long version;
+    
     @OneToMany(mappedBy = "nutritionLog", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<FoodEntry> foodEntries;
     
@@ -53,17 +70,28 @@ public class NutritionLog {
         updatedAt = LocalDateTime.now();
     }
     
-    // Business logic to calculate totals from food entries
+    // Recomputes every total from the loaded food entries in one pass, scaled by each entry's quantity
     public void calculateTotals() {
-        if (foodEntries != null && !foodEntries.isEmpty()) {
-            totalCalories = foodEntries.stream().mapToInt(entry -> entry.getCalories() != null ? entry.getCalories() : 0).sum();
-            totalProtein = foodEntries.stream().mapToDouble(entry -> entry.getProtein() != null ? entry.getProtein() : 0.0).sum();
-            totalCarbs = foodEntries.stream().mapToDouble(entry -> entry.getCarbs() != null ? entry.getCarbs() : 0.0).sum();
-            totalFat = foodEntries.stream().mapToDouble(entry -> entry.getFat() != null ? entry.getFat() : 0.0).sum();
-            totalFiber = foodEntries.stream().mapToDouble(entry -> entry.getFiber() != null ? entry.getFiber() : 0.0).sum();
-            totalSugar = foodEntries.stream().mapToDouble(entry -> entry.getSugar() != null ? entry.getSugar() : 0.0).sum();
-            totalSodium = foodEntries.stream().mapToDouble(entry -> entry.getSodium() != null ? entry.getSodium() : 0.0).sum();
+        int calories = 0;
+        double protein = 0.0, carbs = 0.0, fat = 0.0, fiber = 0.0, sugar = 0.0, sodium = 0.0;
+        if (foodEntries != null) {
+            for (FoodEntry entry : foodEntries) {
+                calories += entry.getTotalCalories();
+                protein += entry.getTotalProtein();
+                carbs += entry.getTotalCarbs();
+                fat += entry.getTotalFat();
+                fiber += entry.getTotalFiber();
+                sugar += entry.getTotalSugar();
+                sodium += entry.getTotalSodium();
+            }
         }
+        totalCalories = calories;
+        totalProtein = protein;
+        totalCarbs = carbs;
+        totalFat = fat;
+        totalFiber = fiber;
+        totalSugar = sugar;
+        totalSodium = sodium;
     }
     
     public enum MealType {
@@ -0,0 +1,87 @@
+package com.fitness_application.nutrition.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Per-user nutrient totals over one day, ISO week or calendar month of nutrition logs, maintained incrementally
+ * by NutritionRollupService. The unique key doubles as the index every trend range read walks.
+ */
+@Entity
+@Table(name = "nutrition_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_nutrition_rollups_user_period_start", columnNames = {"user_id", "period", "period_start"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NutritionRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "nutrition_rollup_seq")
+    @SequenceGenerator(name = "nutrition_rollup_seq", sequenceName = "nutrition_rollup_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", nullable = false, length = 5)
+    private Period period;
+    
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+    
+    @Column(name = "log_count", nullable = false)
+    private int logCount;
+    
+    @Column(name = "total_calories", nullable = false)
+    private long totalCalories;
+    
+    @Column(name = "total_protein", nullable = false)
+    private double totalProtein; // in grams
+    
+    @Column(name = "total_carbs", nullable = false)
+    private double totalCarbs; // in grams
+    
+    @Column(name = "total_fat", nullable = false)
+    private double totalFat; // in grams
+    
+    @Column(name = "total_fiber", nullable = false)
+    private double totalFiber; // in grams
+    
+    @Column(name = "total_sugar", nullable = false)
+    private double totalSugar; // in grams
+    
+    @Column(name = "total_sodium", nullable = false)
+    private double totalSodium; // in mg
+    
+    public enum Period {
+        DAY, WEEK, MONTH;
+        
+        // First day of the period containing date; weeks start on Monday
+        public LocalDate startOf(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+        
+        // Number of periods touched by from..to inclusive
+        public long count(LocalDate from, LocalDate to) {
+            ChronoUnit unit = switch (this) {
+                case DAY -> ChronoUnit.DAYS;
+                case WEEK -> ChronoUnit.WEEKS;
+                case MONTH -> ChronoUnit.MONTHS;
+            };
+            return unit.between(startOf(from), startOf(to)) + 1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.fitness_application.nutrition.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Local copy of the user-service profile fields nutrition needs, kept current from user-service's profile change
+ * events. A deleted profile stays as a tombstone holding the last event id, so a redelivered older event cannot
+ * bring it back.
+ */
+@Entity
+@Table(name = "profile_replicas")
+@Data
+@NoArgsConstructor
+public class ProfileReplica {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    // Id of the last event applied; events for this user with a lower or equal id are duplicates
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+    
+    @Column(nullable = false)
+    private boolean deleted;
+    
+    private Double height; // in cm
+    private Double weight; // in kg
+    
+    // Enum names as user-service sends them, so a value added there doesn't break replication here
+    private String gender;
+    private LocalDate dateOfBirth;
+    private String activityLevel;
+    private String fitnessGoal;
+    
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -1,26 +1,67 @@
 package com.fitness_application.nutrition.repository;
 
 import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface FoodEntryRepository extends JpaRepository<FoodEntry, Long> {
     
+    interface FoodName {
+        String getFoodName();
+        String getBrand();
+    }
+    
+    interface LoggedFood {
+        String getFoodName();
+        String getBrand();
+        String getUnit();
+        Integer getCalories();
+        Double getProtein();
+        Double getCarbs();
+        Double getFat();
+        NutritionLog.MealType getMealType();
+        long getTimesLogged();
+    }
+    
     List<FoodEntry> findByNutritionLogId(Long nutritionLogId);
     
     @Query("SELECT f FROM FoodEntry f WHERE f.nutritionLog.id = :nutritionLogId ORDER BY f.id")
     List<FoodEntry> findByNutritionLogIdOrderById(@Param("nutritionLogId") Long nutritionLogId);
     
+    @Query("SELECT f FROM FoodEntry f WHERE f.nutritionLog.id IN :nutritionLogIds ORDER BY f.nutritionLog.id, f.id")
+    List<FoodEntry> findByNutritionLogIdInOrderById(@Param("nutritionLogIds") Collection<Long> nutritionLogIds);
+    
     @Query("SELECT f FROM FoodEntry f WHERE f.nutritionLog.userId = :userId")
     List<FoodEntry> findByNutritionLogUserId(@Param("userId") Long userId);
     
+    // Streamed so building the food search index never holds every distinct name in memory twice
+    @Query("SELECT DISTINCT f.foodName AS foodName, f.brand AS brand FROM FoodEntry f")
+    Stream<FoodName> streamDistinctFoodNames();
+    
+    @Query("SELECT f.foodName AS foodName, f.brand AS brand FROM FoodEntry f WHERE f.nutritionLog.userId = :userId ORDER BY f.createdAt DESC, f.id DESC")
+    List<FoodName> findRecentFoodNames(@Param("userId") Long userId, Pageable pageable);
+    
+    // One row per distinct food and meal type the user has logged it under, most often logged first
+    @Query("SELECT f.foodName AS foodName, f.brand AS brand, f.unit AS unit, f.calories AS calories, f.protein AS protein, f.carbs AS carbs, f.fat AS fat, " +
+           "l.mealType AS mealType, COUNT(f) AS timesLogged FROM FoodEntry f JOIN f.nutritionLog l WHERE l.userId = :userId AND f.calories > 0 " +
+           "GROUP BY f.foodName, f.brand, f.unit, f.calories, f.protein, f.carbs, f.fat, l.mealType ORDER BY COUNT(f) DESC")
+    List<LoggedFood> findLoggedFoods(@Param("userId") Long userId, Pageable pageable);
+    
     @Query("SELECT COUNT(f) FROM FoodEntry f WHERE f.nutritionLog.id = :nutritionLogId")
     long countByNutritionLogId(@Param("nutritionLogId") Long nutritionLogId);
     
-    void deleteByNutritionLogId(Long nutritionLogId);
+    // Single bulk DELETE; the derived variant would load and remove each entry individually
+    @Modifying
+    @Query("DELETE FROM FoodEntry f WHERE f.nutritionLog.id = :nutritionLogId")
+    int deleteByNutritionLogId(@Param("nutritionLogId") Long nutritionLogId);
 }
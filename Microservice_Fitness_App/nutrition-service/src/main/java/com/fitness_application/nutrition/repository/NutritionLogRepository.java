@@ -1,38 +1,89 @@
 package com.fitness_application.nutrition.repository;
 
 import com.fitness_application.nutrition.model.NutritionLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NutritionLogRepository extends JpaRepository<NutritionLog, Long> {
     
+    int EXPORT_FETCH_SIZE = 500;
+    
     List<NutritionLog> findByUserIdOrderByLogDateDesc(Long userId);
     
     Page<NutritionLog> findByUserIdOrderByLogDateDesc(Long userId, Pageable pageable);
     
+    // Keyset feed queries: no OFFSET and no COUNT, so cost does not grow with depth. Undated logs come last.
+    @Query("SELECT n FROM NutritionLog n WHERE n.userId = :userId ORDER BY n.logDate DESC NULLS LAST, n.id DESC")
+    List<NutritionLog> findFeedByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT n FROM NutritionLog n WHERE n.userId = :userId AND (n.logDate < :logDate OR (n.logDate = :logDate AND n.id < :id) OR n.logDate IS NULL) ORDER BY n.logDate DESC NULLS LAST, n.id DESC")
+    List<NutritionLog> findFeedByUserIdAfter(@Param("userId") Long userId, @Param("logDate") LocalDate logDate, @Param("id") Long id, Pageable pageable);
+    
+    // Continues the feed once the cursor is already among the undated logs
+    @Query("SELECT n FROM NutritionLog n WHERE n.userId = :userId AND n.logDate IS NULL AND n.id < :id ORDER BY n.id DESC")
+    List<NutritionLog> findUndatedFeedByUserIdAfter(@Param("userId") Long userId, @Param("id") Long id, Pageable pageable);
+    
     List<NutritionLog> findByUserIdAndLogDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
     
     Optional<NutritionLog> findByUserIdAndLogDate(Long userId, LocalDate logDate);
     
+    Optional<NutritionLog> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+    
     @Query("SELECT n FROM NutritionLog n WHERE n.userId = :userId AND n.logDate = :logDate")
     Optional<NutritionLog> findByUserAndDate(@Param("userId") Long userId, @Param("logDate") LocalDate logDate);
     
     @Query("SELECT SUM(n.totalCalories) FROM NutritionLog n WHERE n.userId = :userId AND n.logDate BETWEEN :startDate AND :endDate")
     Double totalCaloriesByUserAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
+    // Each row is a log and one of its entries, oldest log first; a log without entries comes once with a null entry.
+    // Must be consumed inside a transaction and closed; rows are pulled from the driver EXPORT_FETCH_SIZE at a time
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT n, f FROM NutritionLog n LEFT JOIN n.foodEntries f WHERE n.userId = :userId AND n.logDate BETWEEN :from AND :to ORDER BY n.logDate, n.id, f.id")
+    Stream<Object[]> streamWithEntries(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
     @Query("SELECT COUNT(n) FROM NutritionLog n WHERE n.userId = :userId")
     long countNutritionLogsByUser(@Param("userId") Long userId);
     
     Optional<NutritionLog> findByIdAndUserId(Long id, Long userId);
     
+    // Adds one food entry's contribution to the totals in a single statement; matches no row if the version moved on
+    @Modifying
+    @Query("UPDATE NutritionLog n SET " +
+           "n.totalCalories = COALESCE(n.totalCalories, 0) + :calories, " +
+           "n.totalProtein = COALESCE(n.totalProtein, 0) + :protein, " +
+           "n.totalCarbs = COALESCE(n.totalCarbs, 0) + :carbs, " +
+           "n.totalFat = COALESCE(n.totalFat, 0) + :fat, " +
+           "n.totalFiber = COALESCE(n.totalFiber, 0) + :fiber, " +
+           "n.totalSugar = COALESCE(n.totalSugar, 0) + :sugar, " +
+           "n.totalSodium = COALESCE(n.totalSodium, 0) + :sodium, " +
+           "n.updatedAt = :updatedAt, n.version = n.version + 1 " +
+           "WHERE n.id = :id AND n.version = :version")
+    int applyTotalsDelta(@Param("id") Long id, @Param("version") Long version,
+                         @Param("calories") int calories, @Param("protein") double protein,
+                         @Param("carbs") double carbs, @Param("fat") double fat, @Param("fiber") double fiber,
+                         @Param("sugar") double sugar, @Param("sodium") double sodium,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Query("SELECT DISTINCT n.userId FROM NutritionLog n")
+    List<Long> findDistinctUserIds();
+    
     void deleteByIdAndUserId(Long id, Long userId);
 }
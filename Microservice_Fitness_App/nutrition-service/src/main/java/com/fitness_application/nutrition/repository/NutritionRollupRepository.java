@@ -0,0 +1,41 @@
+package com.fitness_application.nutrition.repository;
+
+import com.fitness_application.nutrition.model.NutritionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface NutritionRollupRepository extends JpaRepository<NutritionRollup, Long> {
+    
+    List<NutritionRollup> findByUserId(Long userId);
+    
+    List<NutritionRollup> findByUserIdAndPeriodAndPeriodStartBetweenOrderByPeriodStart(Long userId, NutritionRollup.Period period,
+                                                                                       LocalDate start, LocalDate end);
+    
+    // Atomic increment so concurrent writers for the same period never lose an update; returns 0 if the row does not exist yet
+    @Modifying
+    @Query("UPDATE NutritionRollup r SET r.logCount = r.logCount + :logCount, " +
+           "r.totalCalories = r.totalCalories + :calories, r.totalProtein = r.totalProtein + :protein, " +
+           "r.totalCarbs = r.totalCarbs + :carbs, r.totalFat = r.totalFat + :fat, " +
+           "r.totalFiber = r.totalFiber + :fiber, r.totalSugar = r.totalSugar + :sugar, " +
+           "r.totalSodium = r.totalSodium + :sodium " +
+           "WHERE r.userId = :userId AND r.period = :period AND r.periodStart = :periodStart")
+    int applyDelta(@Param("userId") Long userId, @Param("period") NutritionRollup.Period period,
+                   @Param("periodStart") LocalDate periodStart, @Param("logCount") int logCount,
+                   @Param("calories") long calories, @Param("protein") double protein, @Param("carbs") double carbs,
+                   @Param("fat") double fat, @Param("fiber") double fiber, @Param("sugar") double sugar,
+                   @Param("sodium") double sodium);
+    
+    @Query("SELECT DISTINCT r.userId FROM NutritionRollup r")
+    List<Long> findDistinctUserIds();
+    
+    @Modifying
+    @Query("DELETE FROM NutritionRollup r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
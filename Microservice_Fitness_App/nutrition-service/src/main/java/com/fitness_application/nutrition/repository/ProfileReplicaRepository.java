@@ -0,0 +1,9 @@
+package com.fitness_application.nutrition.repository;
+
+import com.fitness_application.nutrition.model.ProfileReplica;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProfileReplicaRepository extends JpaRepository<ProfileReplica, Long> {
+}
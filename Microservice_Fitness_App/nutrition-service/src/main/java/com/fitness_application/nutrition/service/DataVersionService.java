@@ -0,0 +1,84 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.model.UserDataVersion;
+import com.fitness_application.nutrition.repository.UserDataVersionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Per-user version of nutrition data, bumped by NutritionService in the same transaction as each log or entry change.
+ * The controller reads it before loading any logs, so the ETag it serves is never newer than the body.
+ * <p>
+ * A user's first bump creates their row at version 0 in a transaction of its own, so two first writes racing to
+ * create it cannot fail each other, and then increments it like any other bump.
+ */
+@Service
+@Transactional
+@Slf4j
+public class DataVersionService {
+
+    private final UserDataVersionRepository versionRepository;
+    private final TransactionTemplate newTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DataVersionService(UserDataVersionRepository versionRepository, PlatformTransactionManager transactionManager) {
+        this.versionRepository = versionRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void bump(Long userId) {
+        // HTTP dates have second precision, so store what If-Modified-Since can actually match
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        if (versionRepository.increment(userId, now) == 0) {
+            createInitialVersion(userId, now);
+            if (versionRepository.increment(userId, now) == 0) {
+                throw new IllegalStateException("Data version for user " + userId + " is missing after creation");
+            }
+        }
+    }
+
+    /**
+     * Returns the user's current version; users with no writes since versioning was introduced are at version 0
+     * with no modification time.
+     */
+    @Transactional(readOnly = true)
+    public UserDataVersion current(Long userId) {
+        return versionRepository.findById(userId)
+                .orElseGet(() -> new UserDataVersion(userId, 0, null));
+    }
+
+    // Commits on its own; losing the insert race to another writer is fine, the row exists either way. Persisted
+    // rather than saved: save merges an entity with an assigned id, which would reset a concurrently created row
+    private void createInitialVersion(Long userId, Instant now) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                entityManager.persist(new UserDataVersion(userId, 0, now));
+                entityManager.flush();
+            });
+        } catch (ConstraintViolationException e) {
+            log.debug("Data version for user {} was created concurrently", userId);
+        }
+    }
+
+    public static String etag(UserDataVersion version) {
+        return "W/\"" + version.getUserId() + "-" + version.getVersion() + "\"";
+    }
+
+    public static long lastModified(UserDataVersion version) {
+        // A version 0 row is only left behind by a first write that rolled back, so it has no modification either
+        return version.getVersion() > 0 && version.getUpdatedAt() != null ? version.getUpdatedAt().toEpochMilli() : -1;
+    }
+}
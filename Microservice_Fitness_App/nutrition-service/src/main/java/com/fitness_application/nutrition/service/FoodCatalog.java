@@ -0,0 +1,231 @@
+package com.fitness_application.nutrition.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of the barcode food catalog, laid out as a handful of primitive arrays.
+ * <p>
+ * Barcodes are held as GTIN numbers in one sorted {@code long[]}, so a lookup is a binary search with no
+ * hashing or boxing, and row {@code i} of every other array belongs to {@code barcodes[i]}. Names, brands and
+ * units are UTF-8 bytes in a single blob addressed by offsets. A catalog of millions of products is therefore
+ * about a dozen objects, which the collector never has to trace and frees in one go when a reload replaces it.
+ */
+final class FoodCatalog {
+
+    static final FoodCatalog EMPTY = new Builder().build("empty");
+
+    // Protein, carbs, fat, fiber, sugar and sodium per product, interleaved so one lookup reads one cache line
+    static final int NUTRIENTS = 6;
+    // Food name, brand and serving unit per product
+    private static final int TEXTS = 3;
+    // Object header plus length field of an array on a 64-bit JVM with compressed oops
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final String version;
+    private final long[] barcodes;
+    private final int[] calories;
+    private final float[] nutrients;
+    private final int[] textOffsets;
+    private final byte[] text;
+
+    private FoodCatalog(String version, long[] barcodes, int[] calories, float[] nutrients,
+                        int[] textOffsets, byte[] text) {
+        this.version = version;
+        this.barcodes = barcodes;
+        this.calories = calories;
+        this.nutrients = nutrients;
+        this.textOffsets = textOffsets;
+        this.text = text;
+    }
+
+    /**
+     * Parses a UPC, EAN or GTIN-14 into its numeric value, or returns -1 if it is not 8 to 14 digits.
+     * Leading zeros are not significant, so a UPC-A and its zero-padded EAN-13 form find the same product.
+     */
+    static long parseBarcode(String barcode) {
+        if (barcode == null) {
+            return -1;
+        }
+        String digits = barcode.trim();
+        if (digits.length() < 8 || digits.length() > 14) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the row of {@code barcode}, or a negative number if the catalog does not contain it.
+     */
+    int indexOf(long barcode) {
+        return barcode < 0 ? -1 : Arrays.binarySearch(barcodes, barcode);
+    }
+
+    String version() {
+        return version;
+    }
+
+    int size() {
+        return barcodes.length;
+    }
+
+    long barcode(int row) {
+        return barcodes[row];
+    }
+
+    int calories(int row) {
+        return calories[row];
+    }
+
+    /**
+     * Returns nutrient {@code nutrient} (0 = protein ... 5 = sodium) of the product at {@code row}.
+     */
+    float nutrient(int row, int nutrient) {
+        return nutrients[row * NUTRIENTS + nutrient];
+    }
+
+    String foodName(int row) {
+        return text(row, 0);
+    }
+
+    String brand(int row) {
+        return text(row, 1);
+    }
+
+    String unit(int row) {
+        return text(row, 2);
+    }
+
+    /**
+     * Heap retained by this snapshot's arrays, which is everything the catalog holds.
+     */
+    long memoryBytes() {
+        return arrayBytes(barcodes.length, Long.BYTES)
+                + arrayBytes(calories.length, Integer.BYTES)
+                + arrayBytes(nutrients.length, Float.BYTES)
+                + arrayBytes(textOffsets.length, Integer.BYTES)
+                + arrayBytes(text.length, Byte.BYTES);
+    }
+
+    private String text(int row, int field) {
+        int start = textOffsets[row * TEXTS + field];
+        int end = textOffsets[row * TEXTS + field + 1];
+        return new String(text, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        // Arrays are padded to 8-byte boundaries
+        return (ARRAY_HEADER_BYTES + (long) length * elementBytes + 7) & ~7L;
+    }
+
+    /**
+     * Collects products in any order into growable primitive arrays. {@link #build} sorts them by barcode;
+     * when a barcode appears more than once the last row added wins, so later rows of a dataset act as corrections.
+     */
+    static final class Builder {
+
+        private long[] barcodes = new long[1024];
+        private int[] calories = new int[1024];
+        private float[] nutrients = new float[1024 * NUTRIENTS];
+        private int[] textOffsets = new int[1024 * TEXTS + 1];
+        private byte[] text = new byte[1024 * 32];
+        private int size;
+        private int textLength;
+
+        /**
+         * @param nutrientValues protein, carbs, fat, fiber and sugar in grams and sodium in milligrams
+         */
+        Builder add(long barcode, String foodName, String brand, String unit, int kcal, float... nutrientValues) {
+            if (barcode < 0) {
+                throw new IllegalArgumentException("Invalid barcode: " + barcode);
+            }
+            if (nutrientValues.length != NUTRIENTS) {
+                throw new IllegalArgumentException("Expected " + NUTRIENTS + " nutrient values");
+            }
+            if (size == barcodes.length) {
+                int capacity = size * 2;
+                barcodes = Arrays.copyOf(barcodes, capacity);
+                calories = Arrays.copyOf(calories, capacity);
+                nutrients = Arrays.copyOf(nutrients, capacity * NUTRIENTS);
+                textOffsets = Arrays.copyOf(textOffsets, capacity * TEXTS + 1);
+            }
+            barcodes[size] = barcode;
+            calories[size] = kcal;
+            System.arraycopy(nutrientValues, 0, nutrients, size * NUTRIENTS, NUTRIENTS);
+            appendText(size * TEXTS, foodName);
+            appendText(size * TEXTS + 1, brand);
+            appendText(size * TEXTS + 2, unit);
+            size++;
+            return this;
+        }
+
+        int size() {
+            return size;
+        }
+
+        FoodCatalog build(String version) {
+            long[] sorted = Arrays.copyOf(barcodes, size);
+            Arrays.sort(sorted);
+            int unique = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[unique++] = sorted[i];
+                }
+            }
+            long[] keys = Arrays.copyOf(sorted, unique);
+
+            // Input order is preserved in rowForSlot so the last duplicate overwrites earlier ones
+            int[] rowForSlot = new int[unique];
+            for (int row = 0; row < size; row++) {
+                rowForSlot[Arrays.binarySearch(keys, barcodes[row])] = row;
+            }
+
+            int[] slotCalories = new int[unique];
+            float[] slotNutrients = new float[unique * NUTRIENTS];
+            int[] slotOffsets = new int[unique * TEXTS + 1];
+            byte[] slotText = new byte[textBytes(rowForSlot)];
+            int written = 0;
+            for (int slot = 0; slot < unique; slot++) {
+                int row = rowForSlot[slot];
+                slotCalories[slot] = calories[row];
+                System.arraycopy(nutrients, row * NUTRIENTS, slotNutrients, slot * NUTRIENTS, NUTRIENTS);
+                int start = textOffsets[row * TEXTS];
+                int length = textOffsets[row * TEXTS + TEXTS] - start;
+                System.arraycopy(text, start, slotText, written, length);
+                for (int field = 0; field < TEXTS; field++) {
+                    slotOffsets[slot * TEXTS + field] = written + textOffsets[row * TEXTS + field] - start;
+                }
+                written += length;
+            }
+            slotOffsets[unique * TEXTS] = written;
+            return new FoodCatalog(version, keys, slotCalories, slotNutrients, slotOffsets, slotText);
+        }
+
+        private int textBytes(int[] rowForSlot) {
+            int total = 0;
+            for (int row : rowForSlot) {
+                total += textOffsets[row * TEXTS + TEXTS] - textOffsets[row * TEXTS];
+            }
+            return total;
+        }
+
+        private void appendText(int field, String value) {
+            byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            if (textLength + bytes.length > text.length) {
+                text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + bytes.length));
+            }
+            textOffsets[field] = textLength;
+            System.arraycopy(bytes, 0, text, textLength, bytes.length);
+            textLength += bytes.length;
+            textOffsets[field + 1] = textLength;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.fitness_application.nutrition.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a product dataset in CSV form into a {@link FoodCatalog}.
+ * <p>
+ * The first line names the columns; {@code barcode} and {@code food_name} are required, and {@code brand},
+ * {@code serving_unit}, {@code calories}, {@code protein}, {@code carbs}, {@code fat}, {@code fiber},
+ * {@code sugar} and {@code sodium} are read when present. Values are per serving, sodium in milligrams.
+ * Fields may be double-quoted with {@code ""} as an escaped quote, but may not span lines. Rows with an
+ * invalid barcode or number are skipped and counted rather than failing the whole load.
+ */
+@Slf4j
+final class FoodCatalogLoader {
+
+    private static final String[] NUTRIENT_COLUMNS = {"protein", "carbs", "fat", "fiber", "sugar", "sodium"};
+
+    private FoodCatalogLoader() {
+    }
+
+    static FoodCatalog load(Path path, String version) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return load(reader, version);
+        }
+    }
+
+    static FoodCatalog load(Reader source, String version) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        String header = reader.readLine();
+        if (header == null) {
+            return new FoodCatalog.Builder().build(version);
+        }
+        Map<String, Integer> columns = columns(splitLine(header));
+        int barcodeColumn = required(columns, "barcode");
+        int nameColumn = required(columns, "food_name");
+        int brandColumn = columns.getOrDefault("brand", -1);
+        int unitColumn = columns.getOrDefault("serving_unit", -1);
+        int caloriesColumn = columns.getOrDefault("calories", -1);
+        int[] nutrientColumns = new int[FoodCatalog.NUTRIENTS];
+        for (int i = 0; i < NUTRIENT_COLUMNS.length; i++) {
+            nutrientColumns[i] = columns.getOrDefault(NUTRIENT_COLUMNS[i], -1);
+        }
+
+        FoodCatalog.Builder builder = new FoodCatalog.Builder();
+        float[] nutrients = new float[FoodCatalog.NUTRIENTS];
+        long skipped = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitLine(line);
+            try {
+                long barcode = FoodCatalog.parseBarcode(field(fields, barcodeColumn));
+                String foodName = field(fields, nameColumn);
+                if (barcode < 0 || foodName == null || foodName.isBlank()) {
+                    skipped++;
+                    continue;
+                }
+                int calories = (int) Math.round(number(fields, caloriesColumn));
+                for (int i = 0; i < nutrients.length; i++) {
+                    nutrients[i] = (float) number(fields, nutrientColumns[i]);
+                }
+                builder.add(barcode, foodName.trim(), field(fields, brandColumn), field(fields, unitColumn),
+                        calories, nutrients);
+            } catch (NumberFormatException e) {
+                skipped++;
+            }
+        }
+
+        if (skipped > 0) {
+            log.warn("Skipped {} invalid rows while loading food catalog {}", skipped, version);
+        }
+        return builder.build(version);
+    }
+
+    /**
+     * Splits one CSV line on commas outside double quotes.
+     */
+    static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static int required(Map<String, Integer> columns, String name) {
+        Integer column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("Food catalog is missing the " + name + " column");
+        }
+        return column;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    private static double number(List<String> fields, int column) {
+        String value = field(fields, column);
+        return value == null || value.isBlank() ? 0.0 : Double.parseDouble(value.trim());
+    }
+}
@@ -0,0 +1,148 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.CatalogFoodDto;
+import com.fitness_application.nutrition.dto.FoodCatalogStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+
+/**
+ * Resolves barcodes to per-serving nutrition data from an in-memory {@link FoodCatalog}.
+ * <p>
+ * The catalog file named by {@code nutrition.catalog.path} is loaded once the application is ready and again
+ * whenever its modification time changes. A reload builds the new snapshot next to the one being served and
+ * then swaps a single reference, so lookups never block and never see a half-loaded catalog.
+ */
+@Service
+@Slf4j
+public class FoodCatalogService {
+
+    private final String catalogPath;
+
+    private volatile Snapshot current = new Snapshot(FoodCatalog.EMPTY, 0, null, 0);
+
+    public FoodCatalogService(@Value("${nutrition.catalog.path:}") String catalogPath) {
+        this.catalogPath = catalogPath;
+    }
+
+    // Runs before the other ready listeners so the food search index is built with the catalog in it
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void load() {
+        if (catalogPath.isBlank()) {
+            log.info("No food catalog configured, barcode lookups will find nothing");
+            return;
+        }
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${nutrition.catalog.refresh-ms:60000}")
+    public void reloadIfChanged() {
+        if (catalogPath.isBlank()) {
+            return;
+        }
+        try {
+            Path path = Paths.get(catalogPath);
+            if (Files.exists(path) && Files.getLastModifiedTime(path).toMillis() != current.sourceModified()) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.error("Error checking food catalog {} for changes: {}", catalogPath, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads the configured catalog file and starts serving it. The previous catalog keeps serving if the load fails.
+     */
+    public synchronized ApiResponse<FoodCatalogStatsDto> reload() {
+        try {
+            Path path = Paths.get(catalogPath);
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            String version = path.getFileName() + "@" + modified;
+
+            long started = System.nanoTime();
+            FoodCatalog catalog = FoodCatalogLoader.load(path, version);
+            long loadMillis = (System.nanoTime() - started) / 1_000_000;
+            current = new Snapshot(catalog, loadMillis, LocalDateTime.now(), modified);
+
+            FoodCatalogStatsDto stats = stats(current);
+            log.info("Loaded food catalog {} with {} products in {} ms, {} bytes ({} per product)",
+                    version, stats.getProducts(), loadMillis, stats.getMemoryBytes(),
+                    String.format("%.1f", stats.getBytesPerProduct()));
+            return ApiResponse.success("Food catalog reloaded successfully", stats);
+
+        } catch (Exception e) {
+            log.error("Error loading food catalog {}: {}", catalogPath, e.getMessage(), e);
+            return ApiResponse.error("Failed to reload food catalog: " + e.getMessage());
+        }
+    }
+
+    public ApiResponse<CatalogFoodDto> lookup(String barcode) {
+        long gtin = FoodCatalog.parseBarcode(barcode);
+        if (gtin < 0) {
+            return ApiResponse.error("Invalid barcode: " + barcode);
+        }
+        // Read the reference once so the whole lookup is answered from one catalog version
+        FoodCatalog catalog = current.catalog();
+        int row = catalog.indexOf(gtin);
+        if (row < 0) {
+            return ApiResponse.error("No catalog food found for barcode: " + barcode);
+        }
+        return ApiResponse.success("Catalog food retrieved successfully", toDto(catalog, row, barcode.trim()));
+    }
+
+    public ApiResponse<FoodCatalogStatsDto> getStats() {
+        return ApiResponse.success("Food catalog stats retrieved successfully", stats(current));
+    }
+
+    FoodCatalog currentCatalog() {
+        return current.catalog();
+    }
+
+    private static CatalogFoodDto toDto(FoodCatalog catalog, int row, String barcode) {
+        CatalogFoodDto dto = new CatalogFoodDto();
+        dto.setBarcode(barcode);
+        dto.setFoodName(catalog.foodName(row));
+        dto.setBrand(emptyToNull(catalog.brand(row)));
+        dto.setUnit(emptyToNull(catalog.unit(row)));
+        dto.setCalories(catalog.calories(row));
+        dto.setProtein(toDouble(catalog.nutrient(row, 0)));
+        dto.setCarbs(toDouble(catalog.nutrient(row, 1)));
+        dto.setFat(toDouble(catalog.nutrient(row, 2)));
+        dto.setFiber(toDouble(catalog.nutrient(row, 3)));
+        dto.setSugar(toDouble(catalog.nutrient(row, 4)));
+        dto.setSodium(toDouble(catalog.nutrient(row, 5)));
+        dto.setCatalogVersion(catalog.version());
+        return dto;
+    }
+
+    private static FoodCatalogStatsDto stats(Snapshot snapshot) {
+        FoodCatalog catalog = snapshot.catalog();
+        long memoryBytes = catalog.memoryBytes();
+        double bytesPerProduct = catalog.size() > 0 ? (double) memoryBytes / catalog.size() : 0.0;
+        return new FoodCatalogStatsDto(catalog.version(), catalog.size(), memoryBytes, bytesPerProduct,
+                snapshot.loadMillis(), snapshot.loadedAt());
+    }
+
+    // Widening 2.1f directly gives 2.0999999046325684; label values have at most three decimals, so round back to them
+    private static double toDouble(float value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private record Snapshot(FoodCatalog catalog, long loadMillis, LocalDateTime loadedAt, long sourceModified) {
+    }
+}
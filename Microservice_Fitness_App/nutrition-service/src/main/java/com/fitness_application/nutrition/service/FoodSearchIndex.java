@@ -0,0 +1,726 @@
+package com.fitness_application.nutrition.service;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable trigram inverted index over food names and brands, ranked with BM25.
+ * <p>
+ * Every word of a document is prefixed with {@code $} and cut into overlapping three-character grams, so
+ * "yog" matches "yogurt" and a typo only costs the grams it touches. Each gram's posting list is stored as
+ * varint-encoded document id gaps (low bit set when a term frequency follows) in blocks of {@value #BLOCK_SIZE},
+ * and the last document id of every block is kept aside so a list can skip whole blocks without decoding them.
+ * <p>
+ * Queries run document-at-a-time with MaxScore pruning: once the result list is full, grams whose best possible
+ * contributions together cannot lift a document past the current {@code limit}-th score stop producing
+ * candidates and are only probed, by skipping, for documents the rarer grams already found. Each block also
+ * records its own best contribution, so blocks that cannot beat the threshold are skipped without being decoded.
+ * Short, common grams like "$ch" therefore cost a few block skips rather than a pass over most of the index.
+ */
+final class FoodSearchIndex {
+
+    static final FoodSearchIndex EMPTY = new Builder().build();
+
+    static final int BLOCK_SIZE = 128;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Sorted packed grams; gram g owns blocks gramBlocks[g] until gramBlocks[g + 1]
+    private final long[] grams;
+    private final int[] gramBlocks;
+    private final int[] documentFrequencies;
+    // Highest tf-and-length factor any posting of the gram reaches, the per-gram score bound before idf
+    private final float[] maxFactors;
+    // Block b holds postings up to document blockLastDocuments[b], starting at byte blockOffsets[b]
+    private final int[] blockLastDocuments;
+    private final int[] blockOffsets;
+    // Same bound as maxFactors, per block
+    private final float[] blockMaxFactors;
+    private final byte[] postings;
+
+    // K1 * (1 - B + B * length / averageLength) per document, precomputed for scoring
+    private final float[] lengthNorms;
+    private final int[] keyHashes;
+    private final long[] barcodes;
+    private final int[] textOffsets;
+    private final byte[] text;
+
+    private FoodSearchIndex(long[] grams, int[] gramBlocks, int[] documentFrequencies, int[] blockLastDocuments,
+                            int[] blockOffsets, byte[] postings, short[] documentLengths, int[] keyHashes,
+                            long[] barcodes, int[] textOffsets, byte[] text) {
+        this.grams = grams;
+        this.gramBlocks = gramBlocks;
+        this.documentFrequencies = documentFrequencies;
+        this.blockLastDocuments = blockLastDocuments;
+        this.blockOffsets = blockOffsets;
+        this.postings = postings;
+        this.keyHashes = keyHashes;
+        this.barcodes = barcodes;
+        this.textOffsets = textOffsets;
+        this.text = text;
+
+        long totalLength = 0;
+        for (short length : documentLengths) {
+            totalLength += length;
+        }
+        float averageLength = documentLengths.length > 0 ? (float) totalLength / documentLengths.length : 1f;
+        this.lengthNorms = new float[documentLengths.length];
+        for (int document = 0; document < documentLengths.length; document++) {
+            lengthNorms[document] = K1 * (1 - B + B * documentLengths[document] / averageLength);
+        }
+
+        this.maxFactors = new float[grams.length];
+        this.blockMaxFactors = new float[blockLastDocuments.length];
+        PostingCursor cursor = new PostingCursor();
+        for (int gram = 0; gram < grams.length; gram++) {
+            cursor.reset(gram, 1f);
+            while (cursor.document != PostingCursor.EXHAUSTED) {
+                float factor = factor(cursor.frequency(), cursor.document);
+                blockMaxFactors[cursor.block] = Math.max(blockMaxFactors[cursor.block], factor);
+                maxFactors[gram] = Math.max(maxFactors[gram], factor);
+                cursor.next();
+            }
+        }
+    }
+
+    /**
+     * Lowercases, strips accents and turns every run of non-alphanumeric characters into a single space.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        return length > 0 && normalized.charAt(length - 1) == ' ' ? normalized.substring(0, length - 1) : normalized.toString();
+    }
+
+    /**
+     * Identifies a name and brand pair independent of case, accents and punctuation; used for boosting.
+     */
+    static int keyHash(String foodName, String brand) {
+        return (normalize(foodName) + '\u0000' + normalize(brand)).hashCode();
+    }
+
+    /**
+     * Cuts normalized text into packed grams: each word is prefixed with {@code $}, words of one character
+     * give a single two-character gram, and longer words every three-character window.
+     */
+    static long[] grams(String normalized) {
+        long[] result = new long[normalized.length() + 1];
+        int count = 0;
+        int wordStart = 0;
+        for (int i = 0; i <= normalized.length(); i++) {
+            if (i < normalized.length() && normalized.charAt(i) != ' ') {
+                continue;
+            }
+            int wordLength = i - wordStart;
+            if (wordLength == 1) {
+                result[count++] = pack('$', normalized.charAt(wordStart), (char) 0);
+            } else if (wordLength > 1) {
+                result[count++] = pack('$', normalized.charAt(wordStart), normalized.charAt(wordStart + 1));
+                for (int k = wordStart + 2; k < i; k++) {
+                    result[count++] = pack(normalized.charAt(k - 2), normalized.charAt(k - 1), normalized.charAt(k));
+                }
+            }
+            wordStart = i + 1;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    int size() {
+        return lengthNorms.length;
+    }
+
+    String foodName(int document) {
+        return text(document, 0);
+    }
+
+    String brand(int document) {
+        return text(document, 1);
+    }
+
+    /**
+     * Returns the GTIN of a catalog product, or -1 for a name that has only been logged.
+     */
+    long barcode(int document) {
+        return barcodes[document];
+    }
+
+    /**
+     * Returns up to {@code limit} documents matching {@code query}, best first. Documents whose
+     * {@link #keyHash} is in the sorted {@code boostedKeys} have their score multiplied by {@code boost}.
+     */
+    List<Hit> search(String query, int limit, int[] boostedKeys, float boost) {
+        PostingCursor[] cursors = cursors(query);
+        if (cursors.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        float maxBoost = boostedKeys.length > 0 ? Math.max(1f, boost) : 1f;
+
+        // Ascending by bound, so cursors[0..i] are the cheapest to give up on; boundSums[i] covers cursors[0..i]
+        Arrays.sort(cursors, (a, b) -> Float.compare(a.bound, b.bound));
+        float[] boundSums = new float[cursors.length];
+        float sum = 0f;
+        for (int i = 0; i < cursors.length; i++) {
+            sum += cursors[i].bound;
+            boundSums[i] = sum * maxBoost;
+        }
+
+        TopHits top = new TopHits(limit);
+        int firstEssential = 0;
+        while (firstEssential < cursors.length) {
+            int document = PostingCursor.EXHAUSTED;
+            int blocksEnd = PostingCursor.EXHAUSTED;
+            float blocksBound = firstEssential > 0 ? boundSums[firstEssential - 1] : 0f;
+            for (int i = firstEssential; i < cursors.length; i++) {
+                PostingCursor cursor = cursors[i];
+                document = Math.min(document, cursor.document);
+                if (cursor.document != PostingCursor.EXHAUSTED) {
+                    blocksEnd = Math.min(blocksEnd, blockLastDocuments[cursor.block]);
+                    blocksBound += cursor.blockBound() * maxBoost;
+                }
+            }
+            if (document == PostingCursor.EXHAUSTED) {
+                break;
+            }
+            // No document before the first of the current blocks ends can beat the threshold: jump past it
+            if (blocksBound <= top.threshold()) {
+                for (int i = firstEssential; i < cursors.length; i++) {
+                    cursors[i].advance(blocksEnd + 1);
+                }
+                continue;
+            }
+
+            float score = 0f;
+            for (int i = firstEssential; i < cursors.length; i++) {
+                PostingCursor cursor = cursors[i];
+                if (cursor.document == document) {
+                    score += cursor.weight * factor(cursor.frequency(), document);
+                    cursor.next();
+                }
+            }
+            boolean candidate = true;
+            for (int i = firstEssential - 1; i >= 0; i--) {
+                if (score * maxBoost + boundSums[i] <= top.threshold()) {
+                    candidate = false;
+                    break;
+                }
+                // Tighten the gram's bound to the block that would hold the document before decoding it
+                PostingCursor cursor = cursors[i];
+                float rest = i > 0 ? boundSums[i - 1] : 0f;
+                if ((score + cursor.blockBoundAt(document)) * maxBoost + rest <= top.threshold()) {
+                    candidate = false;
+                    break;
+                }
+                cursor.advance(document);
+                if (cursor.document == document) {
+                    score += cursor.weight * factor(cursor.frequency(), document);
+                }
+            }
+            if (!candidate) {
+                continue;
+            }
+
+            if (boostedKeys.length > 0 && Arrays.binarySearch(boostedKeys, keyHashes[document]) >= 0) {
+                score *= boost;
+            }
+            if (top.offer(document, score)) {
+                while (firstEssential < cursors.length && boundSums[firstEssential] <= top.threshold()) {
+                    firstEssential++;
+                }
+            }
+        }
+        return top.hits();
+    }
+
+    private float factor(int frequency, int document) {
+        return frequency * (K1 + 1) / (frequency + lengthNorms[document]);
+    }
+
+    private PostingCursor[] cursors(String query) {
+        long[] queryGrams = grams(normalize(query));
+        Arrays.sort(queryGrams);
+        List<PostingCursor> cursors = new ArrayList<>();
+        for (int i = 0; i < queryGrams.length; ) {
+            int j = i;
+            while (j < queryGrams.length && queryGrams[j] == queryGrams[i]) {
+                j++;
+            }
+            int gram = Arrays.binarySearch(grams, queryGrams[i]);
+            if (gram >= 0) {
+                int documentFrequency = documentFrequencies[gram];
+                float idf = (float) Math.log(1 + (size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                PostingCursor cursor = new PostingCursor();
+                cursor.reset(gram, idf * (j - i));
+                cursors.add(cursor);
+            }
+            i = j;
+        }
+        return cursors.toArray(new PostingCursor[0]);
+    }
+
+    private static long pack(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private String text(int document, int field) {
+        int start = textOffsets[document * 2 + field];
+        int end = textOffsets[document * 2 + field + 1];
+        return new String(text, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    record Hit(int document, float score) {
+    }
+
+    /**
+     * Walks one gram's posting list a block at a time.
+     */
+    private final class PostingCursor {
+
+        static final int EXHAUSTED = Integer.MAX_VALUE;
+
+        private final int[] documents = new int[BLOCK_SIZE];
+        private final int[] frequencies = new int[BLOCK_SIZE];
+        private int firstBlock;
+        private int block;
+        private int endBlock;
+        private int count;
+        private int position;
+        private int document;
+        private float weight;
+        private float bound;
+
+        private void reset(int gram, float weight) {
+            this.weight = weight;
+            this.bound = weight * maxFactors[gram];
+            firstBlock = gramBlocks[gram];
+            block = firstBlock;
+            endBlock = gramBlocks[gram + 1];
+            decode();
+        }
+
+        private int frequency() {
+            return frequencies[position];
+        }
+
+        private float blockBound() {
+            return weight * blockMaxFactors[block];
+        }
+
+        /**
+         * Bound of the block {@code target} would be in, found without decoding; zero past the end of the list.
+         */
+        private float blockBoundAt(int target) {
+            int candidate = block;
+            while (candidate < endBlock && blockLastDocuments[candidate] < target) {
+                candidate++;
+            }
+            return candidate < endBlock ? weight * blockMaxFactors[candidate] : 0f;
+        }
+
+        private void next() {
+            if (++position < count) {
+                document = documents[position];
+            } else {
+                block++;
+                decode();
+            }
+        }
+
+        /**
+         * Moves to the first posting at or after {@code target}, skipping blocks that end before it.
+         */
+        private void advance(int target) {
+            if (document >= target) {
+                return;
+            }
+            if (blockLastDocuments[block] < target) {
+                do {
+                    block++;
+                } while (block < endBlock && blockLastDocuments[block] < target);
+                decode();
+            }
+            while (document < target) {
+                next();
+            }
+        }
+
+        private void decode() {
+            position = 0;
+            if (block >= endBlock) {
+                count = 0;
+                document = EXHAUSTED;
+                return;
+            }
+            int offset = blockOffsets[block];
+            int end = blockOffsets[block + 1];
+            int previous = block > firstBlock ? blockLastDocuments[block - 1] : 0;
+            count = 0;
+            while (offset < end) {
+                int value = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = postings[offset++];
+                    value |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                int frequency = 1;
+                if ((value & 1) != 0) {
+                    frequency = 0;
+                    shift = 0;
+                    do {
+                        b = postings[offset++];
+                        frequency |= (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                }
+                previous += value >>> 1;
+                documents[count] = previous;
+                frequencies[count] = frequency;
+                count++;
+            }
+            document = documents[0];
+        }
+    }
+
+    /**
+     * Bounded min-heap of the best hits so far. Ties go to the lower document id, which arrives first,
+     * so results are stable across calls.
+     */
+    private static final class TopHits {
+        private final int[] documents;
+        private final float[] scores;
+        private int size;
+
+        private TopHits(int limit) {
+            documents = new int[limit];
+            scores = new float[limit];
+        }
+
+        /**
+         * Score a document must beat to enter; zero until the heap is full, and scores are always positive.
+         */
+        private float threshold() {
+            return size == scores.length ? scores[0] : 0f;
+        }
+
+        private boolean offer(int document, float score) {
+            if (size < scores.length) {
+                documents[size] = document;
+                scores[size] = score;
+                siftUp(size++);
+                return size == scores.length;
+            }
+            if (score <= scores[0]) {
+                return false;
+            }
+            documents[0] = document;
+            scores[0] = score;
+            siftDown(0);
+            return true;
+        }
+
+        private List<Hit> hits() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                    ? Float.compare(scores[b], scores[a])
+                    : Integer.compare(documents[a], documents[b]));
+            List<Hit> hits = new ArrayList<>(size);
+            for (int i : order) {
+                hits.add(new Hit(documents[i], scores[i]));
+            }
+            return hits;
+        }
+
+        // The root is the worst hit: lowest score, and among equal scores the highest document id
+        private boolean worse(int a, int b) {
+            return scores[a] < scores[b] || (scores[a] == scores[b] && documents[a] > documents[b]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!worse(index, parent)) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = index * 2 + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && worse(child + 1, child)) {
+                    child++;
+                }
+                if (!worse(child, index)) {
+                    return;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int document = documents[a];
+            documents[a] = documents[b];
+            documents[b] = document;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    /**
+     * Collects documents in id order. A name and brand pair that normalizes to one already added is skipped,
+     * so adding catalog products before logged names keeps the entry that carries a barcode.
+     */
+    static final class Builder {
+
+        private final LongIntMap gramIds = new LongIntMap();
+        private final List<PostingList> postingLists = new ArrayList<>();
+        private final LongIntMap seenKeys = new LongIntMap();
+
+        private short[] documentLengths = new short[1024];
+        private int[] keyHashes = new int[1024];
+        private long[] barcodes = new long[1024];
+        private int[] textOffsets = new int[1024 * 2 + 1];
+        private byte[] text = new byte[1024 * 32];
+        private int size;
+        private int textLength;
+
+        Builder add(String foodName, String brand, long barcode) {
+            String normalizedName = normalize(foodName);
+            if (normalizedName.isEmpty()) {
+                return this;
+            }
+            String normalizedBrand = normalize(brand);
+            String key = normalizedName + '\u0000' + normalizedBrand;
+            long key64 = ((long) key.hashCode() << 32) | (fnv(key) & 0xFFFFFFFFL);
+            if (seenKeys.putIfAbsent(key64, size) >= 0) {
+                return this;
+            }
+
+            if (size == documentLengths.length) {
+                int capacity = size * 2;
+                documentLengths = Arrays.copyOf(documentLengths, capacity);
+                keyHashes = Arrays.copyOf(keyHashes, capacity);
+                barcodes = Arrays.copyOf(barcodes, capacity);
+                textOffsets = Arrays.copyOf(textOffsets, capacity * 2 + 1);
+            }
+            int document = size++;
+            keyHashes[document] = key.hashCode();
+            barcodes[document] = barcode;
+            appendText(document * 2, foodName.trim());
+            appendText(document * 2 + 1, brand != null ? brand.trim() : "");
+
+            long[] documentGrams = grams(normalizedBrand.isEmpty() ? normalizedName : normalizedName + ' ' + normalizedBrand);
+            documentLengths[document] = (short) Math.min(documentGrams.length, Short.MAX_VALUE);
+            Arrays.sort(documentGrams);
+            for (int i = 0; i < documentGrams.length; ) {
+                int j = i;
+                while (j < documentGrams.length && documentGrams[j] == documentGrams[i]) {
+                    j++;
+                }
+                int gramId = gramIds.putIfAbsent(documentGrams[i], postingLists.size());
+                if (gramId < 0) {
+                    gramId = postingLists.size();
+                    postingLists.add(new PostingList(documentGrams[i]));
+                }
+                postingLists.get(gramId).add(document, j - i);
+                i = j;
+            }
+            return this;
+        }
+
+        int size() {
+            return size;
+        }
+
+        FoodSearchIndex build() {
+            List<PostingList> sorted = new ArrayList<>(postingLists);
+            sorted.sort((a, b) -> Long.compare(a.gram, b.gram));
+            long totalBytes = 0;
+            int totalBlocks = 0;
+            for (PostingList postingList : sorted) {
+                totalBytes += postingList.length;
+                totalBlocks += postingList.blocks;
+            }
+            if (totalBytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Food search postings exceed 2 GB");
+            }
+
+            long[] grams = new long[sorted.size()];
+            int[] gramBlocks = new int[sorted.size() + 1];
+            int[] documentFrequencies = new int[sorted.size()];
+            int[] blockLastDocuments = new int[totalBlocks];
+            int[] blockOffsets = new int[totalBlocks + 1];
+            byte[] postings = new byte[(int) totalBytes];
+            int block = 0;
+            int offset = 0;
+            for (int i = 0; i < sorted.size(); i++) {
+                PostingList postingList = sorted.get(i);
+                grams[i] = postingList.gram;
+                gramBlocks[i] = block;
+                documentFrequencies[i] = postingList.documentFrequency;
+                for (int b = 0; b < postingList.blocks; b++) {
+                    blockLastDocuments[block] = postingList.blockLastDocuments[b];
+                    blockOffsets[block] = offset + postingList.blockOffsets[b];
+                    block++;
+                }
+                System.arraycopy(postingList.bytes, 0, postings, offset, postingList.length);
+                offset += postingList.length;
+            }
+            gramBlocks[sorted.size()] = block;
+            blockOffsets[totalBlocks] = offset;
+            return new FoodSearchIndex(grams, gramBlocks, documentFrequencies, blockLastDocuments, blockOffsets,
+                    postings, Arrays.copyOf(documentLengths, size), Arrays.copyOf(keyHashes, size),
+                    Arrays.copyOf(barcodes, size), Arrays.copyOf(textOffsets, size * 2 + 1),
+                    Arrays.copyOf(text, textLength));
+        }
+
+        private void appendText(int field, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (textLength + bytes.length > text.length) {
+                text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + bytes.length));
+            }
+            textOffsets[field] = textLength;
+            System.arraycopy(bytes, 0, text, textLength, bytes.length);
+            textLength += bytes.length;
+            textOffsets[field + 1] = textLength;
+        }
+
+        private static int fnv(String value) {
+            int hash = 0x811C9DC5;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x01000193;
+            }
+            return hash;
+        }
+    }
+
+    private static final class PostingList {
+        private final long gram;
+        private byte[] bytes = new byte[8];
+        private int length;
+        private int[] blockLastDocuments = new int[1];
+        private int[] blockOffsets = new int[1];
+        private int blocks;
+        private int lastDocument;
+        private int documentFrequency;
+
+        private PostingList(long gram) {
+            this.gram = gram;
+        }
+
+        private void add(int document, int frequency) {
+            if (documentFrequency % BLOCK_SIZE == 0) {
+                if (blocks == blockOffsets.length) {
+                    blockOffsets = Arrays.copyOf(blockOffsets, blocks * 2);
+                    blockLastDocuments = Arrays.copyOf(blockLastDocuments, blocks * 2);
+                }
+                blockOffsets[blocks++] = length;
+            }
+            int gap = document - lastDocument;
+            lastDocument = document;
+            blockLastDocuments[blocks - 1] = document;
+            documentFrequency++;
+            writeVarint((gap << 1) | (frequency > 1 ? 1 : 0));
+            if (frequency > 1) {
+                writeVarint(frequency);
+            }
+        }
+
+        private void writeVarint(int value) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+    }
+
+    // Open-addressing long to int map; avoids boxing millions of grams and keys while building
+    private static final class LongIntMap {
+        private long[] keys = new long[1024];
+        private int[] values = new int[1024];
+        private boolean[] used = new boolean[1024];
+        private int size;
+
+        /**
+         * Returns the existing value for {@code key}, or stores {@code value} and returns -1.
+         */
+        private int putIfAbsent(long key, int value) {
+            if (size * 2 >= keys.length) {
+                grow();
+            }
+            int slot = slot(key, keys.length);
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+            return -1;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(oldKeys[i], keys.length);
+                    while (used[slot]) {
+                        slot = (slot + 1) & (keys.length - 1);
+                    }
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(long key, int capacity) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed >>> 32) & (capacity - 1);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.FoodSearchResultDto;
+import com.fitness_application.nutrition.repository.FoodEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Ranked full-text search over every food name and brand that has been logged, plus the barcode catalog.
+ * <p>
+ * The index is rebuilt in the background and swapped in whole, so names logged since the last rebuild show up
+ * after the next one. The user's own recently logged foods rank above equally good matches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FoodSearchService {
+
+    static final int MAX_RESULTS = 50;
+    // How many of the user's latest food entries count as "recent" for ranking
+    static final int RECENT_FOODS = 50;
+    static final float RECENT_BOOST = 1.5f;
+
+    private final FoodEntryRepository foodEntryRepository;
+    private final FoodCatalogService foodCatalogService;
+
+    private volatile FoodSearchIndex index = FoodSearchIndex.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Indexes the current catalog and every distinct logged name and brand, then starts serving the new index.
+     */
+    @Scheduled(initialDelayString = "${nutrition.search.rebuild-ms:300000}", fixedDelayString = "${nutrition.search.rebuild-ms:300000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try {
+            long started = System.nanoTime();
+            FoodSearchIndex.Builder builder = new FoodSearchIndex.Builder();
+
+            // Catalog products go first so a logged name that matches one keeps the product's barcode
+            FoodCatalog catalog = foodCatalogService.currentCatalog();
+            for (int row = 0; row < catalog.size(); row++) {
+                builder.add(catalog.foodName(row), catalog.brand(row), catalog.barcode(row));
+            }
+            try (Stream<FoodEntryRepository.FoodName> names = foodEntryRepository.streamDistinctFoodNames()) {
+                names.forEach(name -> builder.add(name.getFoodName(), name.getBrand(), -1));
+            }
+
+            index = builder.build();
+            log.info("Built food search index over {} foods in {} ms",
+                    index.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Error building food search index: {}", e.getMessage(), e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<List<FoodSearchResultDto>> search(Long userId, String query, int limit) {
+        try {
+            int size = Math.max(1, Math.min(limit, MAX_RESULTS));
+            int[] recentKeys = recentKeys(userId);
+
+            // Read the reference once so document ids and text come from the same index
+            FoodSearchIndex current = index;
+            List<FoodSearchResultDto> results = new ArrayList<>(size);
+            for (FoodSearchIndex.Hit hit : current.search(query, size, recentKeys, RECENT_BOOST)) {
+                results.add(toDto(current, hit, recentKeys));
+            }
+            return ApiResponse.success("Food search results retrieved successfully", results);
+
+        } catch (Exception e) {
+            log.error("Error searching foods for user {}: {}", userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to search foods: " + e.getMessage());
+        }
+    }
+
+    private int[] recentKeys(Long userId) {
+        if (userId == null) {
+            return new int[0];
+        }
+        int[] keys = foodEntryRepository.findRecentFoodNames(userId, PageRequest.of(0, RECENT_FOODS)).stream()
+                .mapToInt(name -> FoodSearchIndex.keyHash(name.getFoodName(), name.getBrand()))
+                .distinct()
+                .toArray();
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static FoodSearchResultDto toDto(FoodSearchIndex index, FoodSearchIndex.Hit hit, int[] recentKeys) {
+        String foodName = index.foodName(hit.document());
+        String brand = index.brand(hit.document());
+        long barcode = index.barcode(hit.document());
+        boolean recent = Arrays.binarySearch(recentKeys, FoodSearchIndex.keyHash(foodName, brand)) >= 0;
+        return new FoodSearchResultDto(foodName, brand.isEmpty() ? null : brand,
+                barcode >= 0 ? String.format("%013d", barcode) : null, hit.score(), recent);
+    }
+}
@@ -0,0 +1,313 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.MealPlanDayDto;
+import com.fitness_application.nutrition.dto.MealPlanDto;
+import com.fitness_application.nutrition.dto.MealPlanRequestDto;
+import com.fitness_application.nutrition.dto.PlannedFoodDto;
+import com.fitness_application.nutrition.dto.PlannedMealDto;
+import com.fitness_application.nutrition.model.NutritionLog.MealType;
+import com.fitness_application.nutrition.repository.FoodEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Turns daily calorie and macro targets into a multi-day meal plan built from foods the user has logged before,
+ * topped up with a bundled set of reference foods.
+ * <p>
+ * Each meal type is one {@link MealPlanSolver} problem with its share of the daily targets. Every day has the same
+ * targets, so each meal type is solved once for as many different food combinations as there are days, and day
+ * {@code i} gets the {@code i}-th best of those within tolerance.
+ */
+@Service
+@Slf4j
+public class MealPlanService {
+
+    static final int DEFAULT_DAYS = 7;
+    static final int MAX_DAYS = 14;
+    static final double DEFAULT_TOLERANCE = 0.10;
+    // Candidate foods per meal type; the search grows roughly with the fourth power of this
+    static final int MAX_CANDIDATES = 24;
+    static final int MAX_FAMILIAR_CANDIDATES = 12;
+    // Distinct (food, meal type) rows read from the user's history
+    static final int LOGGED_FOODS = 200;
+    // Logged foods are planned in half servings up to twice what one entry holds
+    static final double LOGGED_SERVING_STEP = 0.5;
+    static final double LOGGED_MAX_SERVINGS = 2.0;
+
+    static final String REFERENCE_FOODS = "meal-planner/reference-foods.csv";
+
+    private static final List<MealType> DEFAULT_MEAL_TYPES =
+            List.of(MealType.BREAKFAST, MealType.LUNCH, MealType.DINNER, MealType.SNACK);
+    // Relative share of the day's targets; normalized over the meal types actually planned
+    private static final Map<MealType, Double> MEAL_SHARES = new EnumMap<>(Map.of(
+            MealType.BREAKFAST, 0.25,
+            MealType.LUNCH, 0.35,
+            MealType.DINNER, 0.30,
+            MealType.SNACK, 0.10,
+            MealType.PRE_WORKOUT, 0.10,
+            MealType.POST_WORKOUT, 0.15));
+    // Protein, carbs and fat as shares of calories, the same split FitnessGoal recommends in the monolith
+    private static final Map<String, double[]> MACRO_SPLITS = Map.of(
+            "LOSE_WEIGHT", new double[]{0.35, 0.35, 0.30},
+            "GAIN_WEIGHT", new double[]{0.25, 0.50, 0.25},
+            "BUILD_MUSCLE", new double[]{0.30, 0.40, 0.30},
+            "IMPROVE_ENDURANCE", new double[]{0.20, 0.60, 0.20});
+    private static final double[] BALANCED_MACRO_SPLIT = {0.25, 0.45, 0.30};
+    private static final Set<String> OTHER_GOALS = Set.of("MAINTAIN_WEIGHT", "GENERAL_FITNESS");
+
+    private final FoodEntryRepository foodEntryRepository;
+    private final MealPlanSolver solver;
+    private final Map<MealType, List<MealPlanSolver.Food>> referenceFoods;
+
+    public MealPlanService(FoodEntryRepository foodEntryRepository,
+                           @Value("${nutrition.meal-plan.node-budget:2000000}") long nodeBudget) {
+        this.foodEntryRepository = foodEntryRepository;
+        this.solver = new MealPlanSolver(ForkJoinPool.commonPool(), nodeBudget);
+        this.referenceFoods = loadReferenceFoods(REFERENCE_FOODS);
+    }
+
+    // Not transactional: the one history query runs on its own, so no connection is held while the solver runs
+    public ApiResponse<MealPlanDto> generatePlan(Long userId, MealPlanRequestDto request) {
+        try {
+            long started = System.nanoTime();
+            Integer dailyCalories = request.getDailyCalories();
+            if (dailyCalories == null || dailyCalories <= 0) {
+                return ApiResponse.error("Daily calories must be positive");
+            }
+            int days = request.getDays() != null ? request.getDays() : DEFAULT_DAYS;
+            if (days < 1 || days > MAX_DAYS) {
+                return ApiResponse.error("Days must be between 1 and " + MAX_DAYS);
+            }
+            double tolerance = request.getTolerance() != null ? request.getTolerance() : DEFAULT_TOLERANCE;
+            if (tolerance <= 0 || tolerance > 1) {
+                return ApiResponse.error("Tolerance must be greater than 0 and at most 1");
+            }
+            MealPlanSolver.Targets daily = dailyTargets(request);
+            List<MealType> mealTypes = mealTypes(request.getMealTypes());
+            LocalDate startDate = request.getStartDate() != null ? request.getStartDate() : LocalDate.now();
+
+            Map<MealType, List<MealPlanSolver.Food>> familiarFoods = familiarFoods(userId, mealTypes);
+            double totalShare = mealTypes.stream().mapToDouble(MEAL_SHARES::get).sum();
+            List<MealPlanSolver.Problem> problems = new ArrayList<>(mealTypes.size());
+            for (MealType mealType : mealTypes) {
+                double share = MEAL_SHARES.get(mealType) / totalShare;
+                MealPlanSolver.Targets targets = new MealPlanSolver.Targets(daily.calories() * share,
+                        daily.protein() * share, daily.carbs() * share, daily.fat() * share);
+                problems.add(new MealPlanSolver.Problem(candidates(mealType, familiarFoods.get(mealType)), targets, days));
+            }
+
+            MealPlanSolver.Solution solution = solver.solve(problems);
+
+            // Meals that miss the tolerance are only used when a meal type has nothing better; fewer distinct
+            // meals than days means some repeat
+            List<List<PlannedMealDto>> options = new ArrayList<>(mealTypes.size());
+            for (int m = 0; m < mealTypes.size(); m++) {
+                List<PlannedMealDto> planned = new ArrayList<>();
+                for (MealPlanSolver.Meal meal : solution.meals().get(m)) {
+                    planned.add(toDto(mealTypes.get(m), problems.get(m), meal, tolerance));
+                }
+                List<PlannedMealDto> within = planned.stream().filter(PlannedMealDto::isWithinTolerance).toList();
+                if (planned.isEmpty()) {
+                    planned.add(toDto(mealTypes.get(m), problems.get(m), null, tolerance));
+                }
+                options.add(within.isEmpty() ? planned : within);
+            }
+
+            List<MealPlanDayDto> planDays = new ArrayList<>(days);
+            boolean withinTolerance = true;
+            for (int day = 0; day < days; day++) {
+                List<PlannedMealDto> meals = new ArrayList<>(mealTypes.size());
+                for (List<PlannedMealDto> mealOptions : options) {
+                    PlannedMealDto meal = mealOptions.get(day % mealOptions.size());
+                    withinTolerance &= meal.isWithinTolerance();
+                    meals.add(meal);
+                }
+                planDays.add(toDayDto(startDate.plusDays(day), meals));
+            }
+
+            long solveMillis = (System.nanoTime() - started) / 1_000_000;
+            log.info("Generated {}-day meal plan for user {} in {} ms ({} nodes)", days, userId, solveMillis, solution.nodes());
+            return ApiResponse.success("Meal plan generated successfully", new MealPlanDto(dailyCalories,
+                    daily.protein(), daily.carbs(), daily.fat(), tolerance, withinTolerance, planDays,
+                    solution.nodes(), solveMillis));
+
+        } catch (Exception e) {
+            log.error("Error generating meal plan for user {}: {}", userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to generate meal plan: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grams of each macro: as requested where given, otherwise the goal's share of the calories.
+     */
+    static MealPlanSolver.Targets dailyTargets(MealPlanRequestDto request) {
+        double[] split = BALANCED_MACRO_SPLIT;
+        if (request.getGoal() != null) {
+            String goal = request.getGoal().trim().toUpperCase(Locale.ROOT);
+            if (!MACRO_SPLITS.containsKey(goal) && !OTHER_GOALS.contains(goal)) {
+                throw new IllegalArgumentException("Unknown goal: " + request.getGoal());
+            }
+            split = MACRO_SPLITS.getOrDefault(goal, BALANCED_MACRO_SPLIT);
+        }
+        double calories = request.getDailyCalories();
+        return new MealPlanSolver.Targets(calories,
+                request.getProteinGrams() != null ? request.getProteinGrams() : calories * split[0] / 4,
+                request.getCarbsGrams() != null ? request.getCarbsGrams() : calories * split[1] / 4,
+                request.getFatGrams() != null ? request.getFatGrams() : calories * split[2] / 9);
+    }
+
+    private static List<MealType> mealTypes(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return DEFAULT_MEAL_TYPES;
+        }
+        List<MealType> mealTypes = new ArrayList<>(names.size());
+        for (String name : names) {
+            MealType mealType = MealType.valueOf(name.trim().toUpperCase(Locale.ROOT));
+            if (!mealTypes.contains(mealType)) {
+                mealTypes.add(mealType);
+            }
+        }
+        return mealTypes;
+    }
+
+    /**
+     * The user's logged foods per planned meal type, most often logged first. Foods logged under no meal type
+     * count for every meal type.
+     */
+    private Map<MealType, List<MealPlanSolver.Food>> familiarFoods(Long userId, List<MealType> mealTypes) {
+        Map<MealType, List<MealPlanSolver.Food>> foods = new EnumMap<>(MealType.class);
+        Map<MealType, Set<String>> seen = new EnumMap<>(MealType.class);
+        for (MealType mealType : mealTypes) {
+            foods.put(mealType, new ArrayList<>());
+            seen.put(mealType, new HashSet<>());
+        }
+        List<FoodEntryRepository.LoggedFood> logged =
+                foodEntryRepository.findLoggedFoods(userId, PageRequest.of(0, LOGGED_FOODS));
+        for (FoodEntryRepository.LoggedFood row : logged) {
+            MealPlanSolver.Food food = new MealPlanSolver.Food(row.getFoodName(), row.getBrand(), row.getUnit(),
+                    row.getCalories(), orZero(row.getProtein()), orZero(row.getCarbs()), orZero(row.getFat()),
+                    LOGGED_SERVING_STEP, LOGGED_MAX_SERVINGS, true);
+            for (MealType mealType : mealTypes) {
+                if (row.getMealType() != null && row.getMealType() != mealType) {
+                    continue;
+                }
+                // The same food logged with slightly different labels is offered once
+                if (foods.get(mealType).size() < MAX_FAMILIAR_CANDIDATES && seen.get(mealType).add(key(food))) {
+                    foods.get(mealType).add(food);
+                }
+            }
+        }
+        return foods;
+    }
+
+    private List<MealPlanSolver.Food> candidates(MealType mealType, List<MealPlanSolver.Food> familiar) {
+        List<MealPlanSolver.Food> candidates = new ArrayList<>(familiar);
+        Set<String> names = new HashSet<>();
+        familiar.forEach(food -> names.add(food.foodName().toLowerCase(Locale.ROOT)));
+        for (MealPlanSolver.Food food : referenceFoods.getOrDefault(mealType, List.of())) {
+            if (candidates.size() == MAX_CANDIDATES) {
+                break;
+            }
+            if (!names.contains(food.foodName().toLowerCase(Locale.ROOT))) {
+                candidates.add(food);
+            }
+        }
+        return candidates;
+    }
+
+    private static PlannedMealDto toDto(MealType mealType, MealPlanSolver.Problem problem, MealPlanSolver.Meal meal,
+                                        double tolerance) {
+        MealPlanSolver.Targets targets = problem.targets();
+        List<PlannedFoodDto> foods = new ArrayList<>();
+        double[] amounts = new double[4];
+        if (meal != null) {
+            for (int i = 0; i < meal.foods().length; i++) {
+                MealPlanSolver.Food food = problem.candidates().get(meal.foods()[i]);
+                double servings = meal.servings()[i];
+                PlannedFoodDto planned = new PlannedFoodDto(food.foodName(), food.brand(), food.unit(), servings,
+                        (int) Math.round(food.calories() * servings), round(food.protein() * servings),
+                        round(food.carbs() * servings), round(food.fat() * servings), food.familiar());
+                amounts[0] += food.calories() * servings;
+                amounts[1] += food.protein() * servings;
+                amounts[2] += food.carbs() * servings;
+                amounts[3] += food.fat() * servings;
+                foods.add(planned);
+            }
+        }
+        return new PlannedMealDto(mealType.name(), (int) Math.round(targets.calories()), round(targets.protein()),
+                round(targets.carbs()), round(targets.fat()), foods, (int) Math.round(amounts[0]), round(amounts[1]),
+                round(amounts[2]), round(amounts[3]),
+                meal != null && MealPlanSolver.withinTolerance(amounts, targets, tolerance));
+    }
+
+    private static MealPlanDayDto toDayDto(LocalDate date, List<PlannedMealDto> meals) {
+        int calories = 0;
+        double protein = 0, carbs = 0, fat = 0;
+        for (PlannedMealDto meal : meals) {
+            calories += meal.getCalories();
+            protein += meal.getProtein();
+            carbs += meal.getCarbs();
+            fat += meal.getFat();
+        }
+        return new MealPlanDayDto(date, meals, calories, round(protein), round(carbs), round(fat));
+    }
+
+    /**
+     * Reads the bundled reference foods, grouped by the meal types each is suited to.
+     */
+    static Map<MealType, List<MealPlanSolver.Food>> loadReferenceFoods(String resource) {
+        Map<MealType, List<MealPlanSolver.Food>> foods = new EnumMap<>(MealType.class);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8))) {
+            // food_name,unit,calories,protein,carbs,fat,serving_step,max_servings,meal_types
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                MealPlanSolver.Food food = new MealPlanSolver.Food(fields[0], null, fields[1],
+                        Double.parseDouble(fields[2]), Double.parseDouble(fields[3]), Double.parseDouble(fields[4]),
+                        Double.parseDouble(fields[5]), Double.parseDouble(fields[6]), Double.parseDouble(fields[7]),
+                        false);
+                for (String mealType : fields[8].split("\\|")) {
+                    foods.computeIfAbsent(MealType.valueOf(mealType), type -> new ArrayList<>()).add(food);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read reference foods from " + resource, e);
+        }
+        return foods;
+    }
+
+    private static String key(MealPlanSolver.Food food) {
+        return (food.foodName() + "|" + food.brand() + "|" + food.unit()).toLowerCase(Locale.ROOT);
+    }
+
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,353 @@
+package com.fitness_application.nutrition.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Branch-and-bound search for the servings of up to {@link #MAX_FOODS_PER_MEAL} foods that come closest to a meal's
+ * calorie, protein, carb and fat targets.
+ * <p>
+ * A meal's cost is the weighted sum of squared relative misses on the four targets plus a small charge per food.
+ * Servings only ever add nutrients, so the overshoot part of the cost can only grow further down a branch; once
+ * it alone reaches the cost of the worst meal still worth keeping, the branch and every larger serving of the same
+ * food are cut. Each meal's first food choice is forked as its own fork-join task, and all tasks of a meal share
+ * the list of best combinations found so far, so a good meal found by one thread tightens the bound for the rest.
+ * Every problem also has a node budget, so the search is bounded even for long candidate lists.
+ */
+final class MealPlanSolver {
+
+    static final int MAX_FOODS_PER_MEAL = 4;
+
+    // Calories, protein, carbs, fat
+    private static final int NUTRIENTS = 4;
+    private static final double[] WEIGHTS = {2.0, 1.5, 1.0, 1.0};
+    // Small targets are measured against these instead, so missing a 3 g fat target by 2 g is not a 66% miss
+    private static final double[] SCALE_FLOORS = {50.0, 5.0, 5.0, 5.0};
+    // Charged per food so fewer foods win ties; foods the user has never logged cost a little more
+    static final double FOOD_COST = 0.001;
+    static final double UNFAMILIAR_FOOD_COST = 0.003;
+    // Nodes between updates of the shared node count
+    private static final int BUDGET_CHECK_INTERVAL = 4096;
+
+    private final ForkJoinPool pool;
+    private final long nodeBudget;
+
+    MealPlanSolver(ForkJoinPool pool, long nodeBudget) {
+        this.pool = pool;
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * A food the planner may use, with nutrients per serving. It is planned in whole multiples of
+     * {@code servingStep}, up to {@code maxServings}.
+     */
+    record Food(String foodName, String brand, String unit, double calories, double protein, double carbs, double fat,
+                double servingStep, double maxServings, boolean familiar) {
+    }
+
+    record Targets(double calories, double protein, double carbs, double fat) {
+
+        double get(int nutrient) {
+            return switch (nutrient) {
+                case 0 -> calories;
+                case 1 -> protein;
+                case 2 -> carbs;
+                default -> fat;
+            };
+        }
+    }
+
+    /**
+     * One meal to plan: the foods to pick from, the targets to hit and how many meals with different food sets to return.
+     */
+    record Problem(List<Food> candidates, Targets targets, int alternatives) {
+    }
+
+    /**
+     * Indexes into the problem's candidates and the servings of each.
+     */
+    record Meal(int[] foods, double[] servings, double cost) {
+    }
+
+    record Solution(List<List<Meal>> meals, long nodes) {
+    }
+
+    /**
+     * Solves every problem in parallel. The meals for each problem come best first, each with a different set of foods.
+     */
+    Solution solve(List<Problem> problems) {
+        List<Search> searches = new ArrayList<>(problems.size());
+        for (Problem problem : problems) {
+            searches.add(new Search(problem, nodeBudget));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<RecursiveAction> roots = new ArrayList<>();
+                for (Search search : searches) {
+                    roots.addAll(search.branches());
+                }
+                invokeAll(roots);
+            }
+        });
+
+        List<List<Meal>> meals = new ArrayList<>(searches.size());
+        long nodes = 0;
+        for (Search search : searches) {
+            meals.add(search.best.meals());
+            nodes += search.nodes.get();
+        }
+        return new Solution(meals, nodes);
+    }
+
+    /**
+     * Whether every nutrient is within {@code tolerance} of its target, measured like the cost.
+     */
+    static boolean withinTolerance(double[] amounts, Targets targets, double tolerance) {
+        for (int n = 0; n < NUTRIENTS; n++) {
+            if (Math.abs(amounts[n] - targets.get(n)) > tolerance * scale(targets, n)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double scale(Targets targets, int nutrient) {
+        return Math.max(targets.get(nutrient), SCALE_FLOORS[nutrient]);
+    }
+
+    /**
+     * The state of one problem's search: candidates flattened into per-step nutrient arrays, the shared
+     * best-meals list and the node count.
+     */
+    private static final class Search {
+
+        private final int size;
+        private final double[] stepNutrients;
+        private final int[] maxSteps;
+        private final double[] servingSteps;
+        private final double[] foodCosts;
+        private final double[] targets = new double[NUTRIENTS];
+        private final double[] weightOverScaleSquared = new double[NUTRIENTS];
+        private final BestMeals best;
+        private final AtomicLong nodes = new AtomicLong();
+        private final long nodeBudget;
+
+        Search(Problem problem, long nodeBudget) {
+            List<Food> candidates = problem.candidates();
+            // Masks of chosen foods are longs
+            size = Math.min(candidates.size(), Long.SIZE);
+            stepNutrients = new double[size * NUTRIENTS];
+            maxSteps = new int[size];
+            servingSteps = new double[size];
+            foodCosts = new double[size];
+            for (int i = 0; i < size; i++) {
+                Food food = candidates.get(i);
+                double step = food.servingStep();
+                stepNutrients[i * NUTRIENTS] = food.calories() * step;
+                stepNutrients[i * NUTRIENTS + 1] = food.protein() * step;
+                stepNutrients[i * NUTRIENTS + 2] = food.carbs() * step;
+                stepNutrients[i * NUTRIENTS + 3] = food.fat() * step;
+                maxSteps[i] = Math.max(1, (int) Math.round(food.maxServings() / step));
+                servingSteps[i] = step;
+                foodCosts[i] = food.familiar() ? FOOD_COST : UNFAMILIAR_FOOD_COST;
+            }
+            for (int n = 0; n < NUTRIENTS; n++) {
+                targets[n] = problem.targets().get(n);
+                double scale = scale(problem.targets(), n);
+                weightOverScaleSquared[n] = WEIGHTS[n] / (scale * scale);
+            }
+            best = new BestMeals(problem.alternatives());
+            this.nodeBudget = nodeBudget;
+        }
+
+        /**
+         * One task per first food and serving count; each explores every meal that starts with that choice.
+         */
+        List<RecursiveAction> branches() {
+            List<RecursiveAction> branches = new ArrayList<>();
+            for (int food = 0; food < size; food++) {
+                for (int steps = 1; steps <= maxSteps[food]; steps++) {
+                    int first = food;
+                    int firstSteps = steps;
+                    branches.add(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            new Walker(Search.this).start(first, firstSteps);
+                        }
+                    });
+                }
+            }
+            return branches;
+        }
+    }
+
+    /**
+     * Depth-first walk of one branch, keeping the chosen foods and running nutrient sums on its own stacks.
+     */
+    private static final class Walker {
+
+        private final Search search;
+        private final int[] foods = new int[MAX_FOODS_PER_MEAL];
+        private final int[] steps = new int[MAX_FOODS_PER_MEAL];
+        // amounts[depth * NUTRIENTS + n] holds nutrient n after the first depth foods
+        private final double[] amounts = new double[(MAX_FOODS_PER_MEAL + 1) * NUTRIENTS];
+        private long pendingNodes;
+        private boolean exhausted;
+
+        Walker(Search search) {
+            this.search = search;
+        }
+
+        void start(int food, int foodSteps) {
+            if (search.nodes.get() >= search.nodeBudget) {
+                return;
+            }
+            double foodCost = search.foodCosts[food];
+            if (visit(0, foodCost, food, foodSteps) && !exhausted) {
+                walk(1, food + 1, foodCost);
+            }
+            search.nodes.addAndGet(pendingNodes);
+        }
+
+        /**
+         * Extends the meal in {@code foods[0..depth)} with each later food at each serving count.
+         */
+        private void walk(int depth, int from, double foodCost) {
+            for (int food = from; food < search.size && !exhausted; food++) {
+                double cost = foodCost + search.foodCosts[food];
+                for (int s = 1; s <= search.maxSteps[food]; s++) {
+                    // More of the same food only overshoots further, so the first cut ends the serving loop
+                    if (!visit(depth, cost, food, s)) {
+                        break;
+                    }
+                    if (depth + 1 < MAX_FOODS_PER_MEAL && !exhausted) {
+                        walk(depth + 1, food + 1, cost);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Places {@code food} at {@code depth} and records the resulting meal if it is good enough. Returns false
+         * when the meal's overshoot already rules out both it and everything built on it.
+         */
+        private boolean visit(int depth, double foodCost, int food, int foodSteps) {
+            if (++pendingNodes == BUDGET_CHECK_INTERVAL) {
+                if (search.nodes.addAndGet(pendingNodes) >= search.nodeBudget) {
+                    exhausted = true;
+                }
+                pendingNodes = 0;
+            }
+
+            int base = depth * NUTRIENTS;
+            int next = base + NUTRIENTS;
+            double overshoot = 0;
+            double miss = 0;
+            for (int n = 0; n < NUTRIENTS; n++) {
+                double amount = amounts[base + n] + search.stepNutrients[food * NUTRIENTS + n] * foodSteps;
+                amounts[next + n] = amount;
+                double delta = amount - search.targets[n];
+                double weighted = search.weightOverScaleSquared[n] * delta * delta;
+                miss += weighted;
+                if (delta > 0) {
+                    overshoot += weighted;
+                }
+            }
+
+            double threshold = search.best.threshold();
+            if (foodCost + overshoot >= threshold) {
+                return false;
+            }
+            foods[depth] = food;
+            steps[depth] = foodSteps;
+            double cost = foodCost + miss;
+            if (cost < threshold) {
+                search.best.offer(foods, steps, depth + 1, search.servingSteps, cost);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The best meals found so far for one problem, at most one per set of foods, shared by all of its tasks.
+     */
+    private static final class BestMeals {
+
+        private final int capacity;
+        private final List<Candidate> meals = new ArrayList<>();
+        private volatile double threshold = Double.POSITIVE_INFINITY;
+
+        BestMeals(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Cost a meal must beat to be kept: the worst kept meal's once the list is full.
+         */
+        double threshold() {
+            return threshold;
+        }
+
+        synchronized void offer(int[] foods, int[] steps, int count, double[] servingSteps, double cost) {
+            long mask = 0;
+            for (int i = 0; i < count; i++) {
+                mask |= 1L << foods[i];
+            }
+            for (int i = 0; i < meals.size(); i++) {
+                if (meals.get(i).mask() == mask) {
+                    if (cost < meals.get(i).meal().cost()) {
+                        meals.set(i, candidate(mask, foods, steps, count, servingSteps, cost));
+                        updateThreshold();
+                    }
+                    return;
+                }
+            }
+            if (meals.size() == capacity) {
+                if (cost >= threshold) {
+                    return;
+                }
+                meals.remove(worst());
+            }
+            meals.add(candidate(mask, foods, steps, count, servingSteps, cost));
+            updateThreshold();
+        }
+
+        synchronized List<Meal> meals() {
+            return meals.stream()
+                    .map(Candidate::meal)
+                    .sorted((a, b) -> Double.compare(a.cost(), b.cost()))
+                    .toList();
+        }
+
+        private int worst() {
+            int worst = 0;
+            for (int i = 1; i < meals.size(); i++) {
+                if (meals.get(i).meal().cost() > meals.get(worst).meal().cost()) {
+                    worst = i;
+                }
+            }
+            return worst;
+        }
+
+        private void updateThreshold() {
+            threshold = meals.size() < capacity ? Double.POSITIVE_INFINITY : meals.get(worst()).meal().cost();
+        }
+
+        private static Candidate candidate(long mask, int[] foods, int[] steps, int count, double[] servingSteps,
+                                           double cost) {
+            double[] servings = new double[count];
+            for (int i = 0; i < count; i++) {
+                servings[i] = steps[i] * servingSteps[foods[i]];
+            }
+            return new Candidate(mask, new Meal(Arrays.copyOf(foods, count), servings, cost));
+        }
+
+        private record Candidate(long mask, Meal meal) {
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+
+import java.util.Collection;
+
+/**
+ * The seven quantity-scaled nutrients a nutrition log keeps totals for, used both as a food entry's
+ * contribution and as the difference between two contributions.
+ */
+public record NutrientTotals(int calories, double protein, double carbs, double fat,
+                             double fiber, double sugar, double sodium) {
+
+    public static final NutrientTotals ZERO = new NutrientTotals(0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0);
+
+    public static NutrientTotals of(FoodEntry entry) {
+        return new NutrientTotals(entry.getTotalCalories(), entry.getTotalProtein(), entry.getTotalCarbs(),
+                entry.getTotalFat(), entry.getTotalFiber(), entry.getTotalSugar(), entry.getTotalSodium());
+    }
+
+    public static NutrientTotals of(NutritionLog nutritionLog) {
+        return new NutrientTotals(orZero(nutritionLog.getTotalCalories()), orZero(nutritionLog.getTotalProtein()),
+                orZero(nutritionLog.getTotalCarbs()), orZero(nutritionLog.getTotalFat()),
+                orZero(nutritionLog.getTotalFiber()), orZero(nutritionLog.getTotalSugar()),
+                orZero(nutritionLog.getTotalSodium()));
+    }
+
+    public static NutrientTotals sum(Collection<FoodEntry> entries) {
+        NutrientTotals total = ZERO;
+        for (FoodEntry entry : entries) {
+            total = total.plus(of(entry));
+        }
+        return total;
+    }
+
+    public NutrientTotals plus(NutrientTotals other) {
+        return new NutrientTotals(calories + other.calories, protein + other.protein, carbs + other.carbs,
+                fat + other.fat, fiber + other.fiber, sugar + other.sugar, sodium + other.sodium);
+    }
+
+    public NutrientTotals minus(NutrientTotals other) {
+        return new NutrientTotals(calories - other.calories, protein - other.protein, carbs - other.carbs,
+                fat - other.fat, fiber - other.fiber, sugar - other.sugar, sodium - other.sodium);
+    }
+
+    public boolean isZero() {
+        return calories == 0 && protein == 0.0 && carbs == 0.0 && fat == 0.0
+                && fiber == 0.0 && sugar == 0.0 && sodium == 0.0;
+    }
+
+    /**
+     * Compares with {@code tolerance} on the gram and milligram totals, which accumulate floating-point
+     * rounding under repeated deltas; calories are whole numbers and must match exactly.
+     */
+    public boolean matches(NutrientTotals other, double tolerance) {
+        return calories == other.calories
+                && Math.abs(protein - other.protein) <= tolerance
+                && Math.abs(carbs - other.carbs) <= tolerance
+                && Math.abs(fat - other.fat) <= tolerance
+                && Math.abs(fiber - other.fiber) <= tolerance
+                && Math.abs(sugar - other.sugar) <= tolerance
+                && Math.abs(sodium - other.sodium) <= tolerance;
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
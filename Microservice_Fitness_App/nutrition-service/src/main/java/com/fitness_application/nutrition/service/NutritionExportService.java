@@ -0,0 +1,245 @@
+package com.fitness_application.nutrition.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fitness_application.nutrition.mapper.NutritionMapper;
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import com.fitness_application.nutrition.repository.NutritionLogRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's nutrition logs with their food entries as CSV (one line per entry) or newline-delimited JSON
+ * (one object per log).
+ * <p>
+ * Logs and entries come from a single ordered join, pulled from a database cursor one fetch window at a time.
+ * Output is flushed and the persistence context cleared after every window, so memory stays bounded by
+ * {@link NutritionLogRepository#EXPORT_FETCH_SIZE} rows plus the entries of one log, however long the history is.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NutritionExportService {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * @throws IllegalArgumentException if {@code name} is neither format, ignoring case
+         */
+        public static Format parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // Widest range every supported database can store; used for a missing bound
+    static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    static final String CSV_HEADER = "log_id,log_date,meal_type,log_calories,log_protein,log_carbs,log_fat,"
+            + "log_fiber,log_sugar,log_sodium,log_notes,entry_id,food_name,brand,barcode,quantity,unit,calories,"
+            + "protein,carbs,fat,fiber,sugar,sodium,entry_notes";
+
+    private final NutritionLogRepository nutritionLogRepository;
+    private final NutritionMapper nutritionMapper;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Writes every log of the user dated within {@code from}..{@code to} (either bound may be null) and returns
+     * how many logs were written.
+     */
+    @Transactional(readOnly = true)
+    public long exportNutritionLogs(Long userId, LocalDate from, LocalDate to, Format format, OutputStream out)
+            throws IOException {
+        log.info("Exporting {} nutrition logs for user {} from {} to {}", format, userId, from, to);
+
+        LogSink sink = format == Format.CSV ? new CsvSink(out) : new NdjsonSink(out);
+        long exported = 0;
+        try (Stream<Object[]> rows = nutritionLogRepository.streamWithEntries(userId,
+                from != null ? from : EARLIEST, to != null ? to : LATEST)) {
+            Iterator<Object[]> iterator = rows.iterator();
+            NutritionLog current = null;
+            List<FoodEntry> entries = new ArrayList<>();
+            int windowRows = 0;
+
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                NutritionLog nutritionLog = (NutritionLog) row[0];
+                // Rows of one log are adjacent; the log instance may differ across a cleared window, its id does not
+                if (current != null && !current.getId().equals(nutritionLog.getId())) {
+                    sink.write(current, entries);
+                    exported++;
+                    entries = new ArrayList<>();
+                }
+                current = nutritionLog;
+                if (row[1] != null) {
+                    entries.add((FoodEntry) row[1]);
+                }
+
+                if (++windowRows == NutritionLogRepository.EXPORT_FETCH_SIZE) {
+                    sink.flush();
+                    // Drop the window's entities so the persistence context does not grow with the export
+                    entityManager.clear();
+                    windowRows = 0;
+                }
+            }
+            if (current != null) {
+                sink.write(current, entries);
+                exported++;
+            }
+        }
+        sink.finish(exported);
+
+        log.info("Exported {} nutrition logs for user {}", exported, userId);
+        return exported;
+    }
+
+    private interface LogSink {
+
+        void write(NutritionLog nutritionLog, List<FoodEntry> entries) throws IOException;
+
+        void flush() throws IOException;
+
+        // Writes whatever is buffered; the response stream itself is left for the container to close
+        void finish(long exported) throws IOException;
+    }
+
+    private final class NdjsonSink implements LogSink {
+
+        private final OutputStream out;
+        private final SequenceWriter writer;
+
+        NdjsonSink(OutputStream out) throws IOException {
+            this.out = out;
+            this.writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+        }
+
+        @Override
+        public void write(NutritionLog nutritionLog, List<FoodEntry> entries) throws IOException {
+            writer.write(nutritionMapper.toDto(nutritionLog, entries));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish(long exported) throws IOException {
+            writer.flush();
+            // Terminate the last record
+            if (exported > 0) {
+                out.write('\n');
+            }
+            out.flush();
+        }
+    }
+
+    private static final class CsvSink implements LogSink {
+
+        private final Writer writer;
+
+        CsvSink(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(NutritionLog nutritionLog, List<FoodEntry> entries) throws IOException {
+            if (entries.isEmpty()) {
+                writeLine(nutritionLog, null);
+            }
+            for (FoodEntry entry : entries) {
+                writeLine(nutritionLog, entry);
+            }
+        }
+
+        private void writeLine(NutritionLog n, FoodEntry f) throws IOException {
+            field(n.getId());
+            field(n.getLogDate());
+            field(n.getMealType());
+            field(n.getTotalCalories());
+            field(n.getTotalProtein());
+            field(n.getTotalCarbs());
+            field(n.getTotalFat());
+            field(n.getTotalFiber());
+            field(n.getTotalSugar());
+            field(n.getTotalSodium());
+            field(n.getNotes());
+            if (f != null) {
+                field(f.getId());
+                field(f.getFoodName());
+                field(f.getBrand());
+                field(f.getBarcode());
+                field(f.getQuantity());
+                field(f.getUnit());
+                field(f.getCalories());
+                field(f.getProtein());
+                field(f.getCarbs());
+                field(f.getFat());
+                field(f.getFiber());
+                field(f.getSugar());
+                field(f.getSodium());
+                writer.write(escape(f.getNotes()));
+            } else {
+                // One separator per empty entry column
+                writer.write(",,,,,,,,,,,,,");
+            }
+            writer.write('\n');
+        }
+
+        private void field(Object value) throws IOException {
+            writer.write(escape(value));
+            writer.write(',');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish(long exported) throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Quotes a CSV value (RFC 4180) when it holds a separator, quote or line break; null becomes an empty field.
+     */
+    static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+        }
+        return text;
+    }
+}
@@ -0,0 +1,53 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.model.NutritionLog;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the nutrition log feed: the (logDate, id) of the last log a client has seen. An undated
+ * log is encoded with an empty date.
+ */
+final class NutritionFeedCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate logDate;
+    private final Long id;
+
+    private NutritionFeedCursor(LocalDate logDate, Long id) {
+        this.logDate = logDate;
+        this.id = id;
+    }
+
+    static NutritionFeedCursor of(NutritionLog nutritionLog) {
+        return new NutritionFeedCursor(nutritionLog.getLogDate(), nutritionLog.getId());
+    }
+
+    static NutritionFeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String date = raw.substring(0, separator);
+            return new NutritionFeedCursor(date.isEmpty() ? null : LocalDate.parse(date),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    String encode() {
+        String raw = (logDate != null ? logDate.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDate getLogDate() {
+        return logDate;
+    }
+
+    Long getId() {
+        return id;
+    }
+}
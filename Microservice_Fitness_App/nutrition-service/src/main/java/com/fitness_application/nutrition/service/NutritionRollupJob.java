@@ -0,0 +1,79 @@
+package com.fitness_application.nutrition.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Backfill and drift repair for the day, week and month nutrition rollups.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NutritionRollupJob {
+
+    private final NutritionRollupService nutritionRollupService;
+
+    // Off by default: a full rebuild reads every user's logs, so it is enabled for the one deployment that backfills
+    @Value("${nutrition.rollup.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Recomputes the rollups of every user from their nutrition logs; used to backfill after deployment. Returns
+     * the number of users rebuilt; a user that fails is logged and skipped so the rest still run.
+     */
+    public int rebuildAll() {
+        List<Long> userIds = nutritionRollupService.findUserIds();
+        int failed = 0;
+        for (Long userId : userIds) {
+            try {
+                nutritionRollupService.rebuild(userId);
+            } catch (Exception e) {
+                log.error("Error rebuilding nutrition rollups for user {}: {}", userId, e.getMessage(), e);
+                failed++;
+            }
+        }
+        log.info("Rebuilt nutrition rollups for {} users, {} failed", userIds.size() - failed, failed);
+        return userIds.size() - failed;
+    }
+
+    /**
+     * Compares every user's rollups with a full recomputation and rebuilds the users that drifted. Runs after
+     * the totals check so logs it repaired are already correct. A user whose check or rebuild fails is logged
+     * and left for the next run.
+     */
+    @Scheduled(cron = "${nutrition.rollup.check-cron:0 15 4 * * *}")
+    public int checkConsistency() {
+        int repaired = 0;
+        int failed = 0;
+        for (Long userId : nutritionRollupService.findUserIds()) {
+            try {
+                List<String> inconsistentPeriods = nutritionRollupService.findInconsistentPeriods(userId);
+                if (!inconsistentPeriods.isEmpty()) {
+                    log.warn("Nutrition rollups for user {} drifted on {} periods (first: {}), rebuilding",
+                            userId, inconsistentPeriods.size(), inconsistentPeriods.get(0));
+                    nutritionRollupService.rebuild(userId);
+                    repaired++;
+                }
+            } catch (Exception e) {
+                log.error("Error checking nutrition rollups for user {}: {}", userId, e.getMessage(), e);
+                failed++;
+            }
+        }
+        log.info("Nutrition rollup consistency check finished, {} users repaired, {} failed", repaired, failed);
+        return repaired;
+    }
+}
@@ -0,0 +1,245 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.NutritionTrendDto;
+import com.fitness_application.nutrition.model.NutritionLog;
+import com.fitness_application.nutrition.model.NutritionRollup;
+import com.fitness_application.nutrition.repository.NutritionLogRepository;
+import com.fitness_application.nutrition.repository.NutritionRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-user day, week and month nutrient rollups of the nutrition logs and serves trend ranges from them.
+ * <p>
+ * Every change to a log's totals is applied to the three rollups covering its date, in the same transaction:
+ * {@link #add} and {@link #remove} when a log is created or deleted, {@link #replace} when a log is saved with
+ * recomputed totals or moved to another date, and {@link #applyTotals} for the food entry deltas applied by
+ * {@link NutritionTotalsService}.
+ * <p>
+ * Each change is an atomic increment of the rollup row. A period's first change creates its row with zero totals
+ * in a transaction of its own, so writers racing to create it cannot fail each other's transactions, and a caller
+ * that later rolls back leaves only a zero row behind, which trends and the consistency check already skip.
+ */
+@Service
+@Transactional
+@Slf4j
+public class NutritionRollupService {
+
+    // Most points one trend request may return, e.g. a year of days or seven years of weeks
+    static final int MAX_POINTS = 366;
+    // Rollups sum many logs' double totals, each already carrying delta rounding residue
+    static final double TOLERANCE = 0.01;
+
+    private final NutritionRollupRepository rollupRepository;
+    private final NutritionLogRepository nutritionLogRepository;
+    private final TransactionTemplate newTransaction;
+
+    public NutritionRollupService(NutritionRollupRepository rollupRepository,
+                                  NutritionLogRepository nutritionLogRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.nutritionLogRepository = nutritionLogRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void add(NutritionLog nutritionLog) {
+        apply(nutritionLog.getUserId(), nutritionLog.getLogDate(), 1, NutrientTotals.of(nutritionLog));
+    }
+
+    public void remove(NutritionLog nutritionLog) {
+        apply(nutritionLog.getUserId(), nutritionLog.getLogDate(), -1, NutrientTotals.ZERO.minus(NutrientTotals.of(nutritionLog)));
+    }
+
+    /**
+     * Moves a saved log's contribution from what it was before the save to what it is now.
+     */
+    public void replace(LocalDate dateBefore, NutrientTotals totalsBefore, NutritionLog after) {
+        NutrientTotals totalsAfter = NutrientTotals.of(after);
+        if (Objects.equals(dateBefore, after.getLogDate())) {
+            apply(after.getUserId(), dateBefore, 0, totalsAfter.minus(totalsBefore));
+        } else {
+            apply(after.getUserId(), dateBefore, -1, NutrientTotals.ZERO.minus(totalsBefore));
+            apply(after.getUserId(), after.getLogDate(), 1, totalsAfter);
+        }
+    }
+
+    public void applyTotals(NutritionLog nutritionLog, NutrientTotals delta) {
+        apply(nutritionLog.getUserId(), nutritionLog.getLogDate(), 0, delta);
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<NutritionTrendDto> getTrend(Long userId, NutritionRollup.Period period, LocalDate from, LocalDate to) {
+        try {
+            if (from.isAfter(to)) {
+                return ApiResponse.error("Range start must not be after range end");
+            }
+            if (period.count(from, to) > MAX_POINTS) {
+                return ApiResponse.error("Range must not exceed " + MAX_POINTS + " " + period.name().toLowerCase() + "s");
+            }
+
+            // One range read over the (user, period, start) key, whatever the period
+            List<NutritionRollup> rollups = rollupRepository.findByUserIdAndPeriodAndPeriodStartBetweenOrderByPeriodStart(
+                    userId, period, period.startOf(from), to).stream()
+                    .filter(rollup -> rollup.getLogCount() > 0)
+                    .collect(Collectors.toList());
+
+            int size = rollups.size();
+            NutritionTrendDto trend = new NutritionTrendDto(period.name(), from, to, new LocalDate[size], new int[size],
+                    new long[size], new double[size], new double[size], new double[size], new double[size],
+                    new double[size], new double[size]);
+            for (int i = 0; i < size; i++) {
+                NutritionRollup rollup = rollups.get(i);
+                trend.getPeriodStarts()[i] = rollup.getPeriodStart();
+                trend.getLogCounts()[i] = rollup.getLogCount();
+                trend.getCalories()[i] = rollup.getTotalCalories();
+                trend.getProtein()[i] = round(rollup.getTotalProtein());
+                trend.getCarbs()[i] = round(rollup.getTotalCarbs());
+                trend.getFat()[i] = round(rollup.getTotalFat());
+                trend.getFiber()[i] = round(rollup.getTotalFiber());
+                trend.getSugar()[i] = round(rollup.getTotalSugar());
+                trend.getSodium()[i] = round(rollup.getTotalSodium());
+            }
+
+            return ApiResponse.success("Nutrition trend retrieved successfully", trend);
+
+        } catch (Exception e) {
+            log.error("Error fetching nutrition trend for user {}: {}", userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to fetch nutrition trend: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces a user's rollups with totals recomputed from their nutrition logs.
+     */
+    public void rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        Map<String, NutritionRollup> expected = expectedRollups(userId);
+        rollupRepository.saveAll(expected.values());
+        log.info("Rebuilt {} nutrition rollups for user {}", expected.size(), userId);
+    }
+
+    /**
+     * Returns the periods, as "PERIOD start", whose stored rollup differs from a recomputation over the user's logs.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findInconsistentPeriods(Long userId) {
+        Map<String, NutritionRollup> expected = expectedRollups(userId);
+        Map<String, NutritionRollup> actual = rollupRepository.findByUserId(userId).stream()
+                .filter(rollup -> rollup.getLogCount() != 0 || !totalsOf(rollup).isZero())
+                .collect(Collectors.toMap(NutritionRollupService::keyOf, Function.identity()));
+
+        TreeSet<String> keys = new TreeSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        return keys.stream()
+                .filter(key -> !sameTotals(expected.get(key), actual.get(key)))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findUserIds() {
+        TreeSet<Long> userIds = new TreeSet<>(nutritionLogRepository.findDistinctUserIds());
+        userIds.addAll(rollupRepository.findDistinctUserIds());
+        return new ArrayList<>(userIds);
+    }
+
+    private void apply(Long userId, LocalDate date, int logCount, NutrientTotals delta) {
+        if (date == null || (logCount == 0 && delta.isZero())) {
+            return;
+        }
+        for (NutritionRollup.Period period : NutritionRollup.Period.values()) {
+            LocalDate periodStart = period.startOf(date);
+            if (increment(userId, period, periodStart, logCount, delta) == 0) {
+                createEmptyRollup(userId, period, periodStart);
+                if (increment(userId, period, periodStart, logCount, delta) == 0) {
+                    throw new IllegalStateException(period + " nutrition rollup for user " + userId + " starting "
+                            + periodStart + " is missing after creation");
+                }
+            }
+        }
+    }
+
+    private int increment(Long userId, NutritionRollup.Period period, LocalDate periodStart, int logCount, NutrientTotals delta) {
+        return rollupRepository.applyDelta(userId, period, periodStart, logCount, delta.calories(),
+                delta.protein(), delta.carbs(), delta.fat(), delta.fiber(), delta.sugar(), delta.sodium());
+    }
+
+    // Commits on its own; losing the insert race to another writer is fine, the row exists either way
+    private void createEmptyRollup(Long userId, NutritionRollup.Period period, LocalDate periodStart) {
+        try {
+            newTransaction.executeWithoutResult(status -> rollupRepository.saveAndFlush(new NutritionRollup(
+                    null, userId, period, periodStart, 0, 0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("{} nutrition rollup for user {} starting {} was created concurrently", period, userId, periodStart);
+        }
+    }
+
+    // Keyed "PERIOD start" so days, weeks and months of one user sort apart
+    private Map<String, NutritionRollup> expectedRollups(Long userId) {
+        return aggregate(nutritionLogRepository.findByUserIdOrderByLogDateDesc(userId));
+    }
+
+    private Map<String, NutritionRollup> aggregate(Collection<NutritionLog> nutritionLogs) {
+        Map<String, NutritionRollup> rollups = new TreeMap<>();
+        for (NutritionLog nutritionLog : nutritionLogs) {
+            if (nutritionLog.getLogDate() == null) {
+                continue;
+            }
+            NutrientTotals totals = NutrientTotals.of(nutritionLog);
+            for (NutritionRollup.Period period : NutritionRollup.Period.values()) {
+                NutritionRollup empty = new NutritionRollup(null, nutritionLog.getUserId(), period,
+                        period.startOf(nutritionLog.getLogDate()), 0, 0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0);
+                NutritionRollup rollup = rollups.computeIfAbsent(keyOf(empty), key -> empty);
+                rollup.setLogCount(rollup.getLogCount() + 1);
+                rollup.setTotalCalories(rollup.getTotalCalories() + totals.calories());
+                rollup.setTotalProtein(rollup.getTotalProtein() + totals.protein());
+                rollup.setTotalCarbs(rollup.getTotalCarbs() + totals.carbs());
+                rollup.setTotalFat(rollup.getTotalFat() + totals.fat());
+                rollup.setTotalFiber(rollup.getTotalFiber() + totals.fiber());
+                rollup.setTotalSugar(rollup.getTotalSugar() + totals.sugar());
+                rollup.setTotalSodium(rollup.getTotalSodium() + totals.sodium());
+            }
+        }
+        return rollups;
+    }
+
+    private boolean sameTotals(NutritionRollup expected, NutritionRollup actual) {
+        if (expected == null || actual == null) {
+            return Objects.equals(expected, actual);
+        }
+        return expected.getLogCount() == actual.getLogCount()
+                && expected.getTotalCalories() == actual.getTotalCalories()
+                && totalsOf(expected).matches(totalsOf(actual), TOLERANCE);
+    }
+
+    private static String keyOf(NutritionRollup rollup) {
+        return rollup.getPeriod() + " " + rollup.getPeriodStart();
+    }
+
+    // Calories are compared separately as a long; a month of them can outgrow NutrientTotals' int
+    private static NutrientTotals totalsOf(NutritionRollup rollup) {
+        return new NutrientTotals(0, rollup.getTotalProtein(), rollup.getTotalCarbs(), rollup.getTotalFat(),
+                rollup.getTotalFiber(), rollup.getTotalSugar(), rollup.getTotalSodium());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
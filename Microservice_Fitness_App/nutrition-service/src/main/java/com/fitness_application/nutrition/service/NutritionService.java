@@ -1,15 +1,17 @@
 package com.fitness_application.nutrition.service;
 
 import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.CursorPage;
 import com.fitness_application.nutrition.dto.NutritionLogDto;
 import com.fitness_application.nutrition.dto.FoodEntryDto;
+import com.fitness_application.nutrition.mapper.NutritionMapper;
 import com.fitness_application.nutrition.model.NutritionLog;
 import com.fitness_application.nutrition.model.FoodEntry;
 import com.fitness_application.nutrition.repository.NutritionLogRepository;
 import com.fitness_application.nutrition.repository.FoodEntryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,7 +20,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,31 +33,45 @@ import java.util.stream.Collectors;
 @Slf4j
 public class NutritionService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     private final NutritionLogRepository nutritionLogRepository;
     private final FoodEntryRepository foodEntryRepository;
-    private final ModelMapper modelMapper;
+    private final NutritionMapper nutritionMapper;
+    private final DataVersionService dataVersionService;
+    private final NutritionTotalsService nutritionTotalsService;
+    private final NutritionRollupService nutritionRollupService;
+    private final TodayLogCache todayLogCache;
 
     @Transactional
     public ApiResponse<NutritionLogDto> createNutritionLog(Long userId, NutritionLogDto nutritionLogDto) {
+        return createNutritionLog(userId, nutritionLogDto, null);
+    }
+
+    /**
+     * Inserts the log without checking for an existing one first: the unique constraints on (user, date) and
+     * (user, idempotency key) decide in the INSERT itself. A rejected insert leaves the transaction unusable, so
+     * the {@link DataIntegrityViolationException} is rethrown for the caller to roll back and then resolve with
+     * {@link #resolveCreateConflict}.
+     */
+    @Transactional
+    public ApiResponse<NutritionLogDto> createNutritionLog(Long userId, NutritionLogDto nutritionLogDto, String idempotencyKey) {
         try {
             log.info("Creating nutrition log for user: {}", userId);
 
-            // Check if log already exists for this date
-            if (nutritionLogRepository.findByUserIdAndLogDate(userId, nutritionLogDto.getLogDate()).isPresent()) {
-                return new ApiResponse<>(false, "Nutrition log already exists for this date", null);
-            }
-
-            NutritionLog nutritionLog = modelMapper.map(nutritionLogDto, NutritionLog.class);
+            NutritionLog nutritionLog = nutritionMapper.toEntity(nutritionLogDto);
             nutritionLog.setUserId(userId);
+            nutritionLog.setIdempotencyKey(idempotencyKey);
 
-            NutritionLog savedLog = nutritionLogRepository.save(nutritionLog);
+            // Flushed right away so a conflict surfaces before the food entries are written
+            NutritionLog savedLog = nutritionLogRepository.saveAndFlush(nutritionLog);
 
             // Handle food entries if provided
             if (nutritionLogDto.getFoodEntries() != null && !nutritionLogDto.getFoodEntries().isEmpty()) {
                 List<FoodEntry> foodEntries = new ArrayList<>();
                 
                 for (FoodEntryDto foodDto : nutritionLogDto.getFoodEntries()) {
-                    FoodEntry foodEntry = convertDtoToFoodEntry(foodDto, savedLog);
+                    FoodEntry foodEntry = nutritionMapper.toEntity(foodDto, savedLog);
                     foodEntries.add(foodEntry);
                 }
 
@@ -61,16 +81,47 @@ public class NutritionService {
                 savedLog = nutritionLogRepository.save(savedLog);
             }
 
+            nutritionRollupService.add(savedLog);
+            dataVersionService.bump(userId);
             NutritionLogDto responseDto = convertToNutritionLogDto(savedLog);
 
             return new ApiResponse<>(true, "Nutrition log created successfully", responseDto);
 
+        } catch (DataIntegrityViolationException e) {
+            log.info("Nutrition log for user {} on {} rejected by a unique constraint", userId, nutritionLogDto.getLogDate());
+            throw e;
         } catch (Exception e) {
             log.error("Error creating nutrition log for user {}: {}", userId, e.getMessage(), e);
             return new ApiResponse<>(false, "Error creating nutrition log: " + e.getMessage(), null);
         }
     }
 
+    /**
+     * Looks up the log a rejected create collided with. A log created under the same idempotency key is the
+     * result of an earlier attempt of the same request and is returned as a success; a different log for the
+     * date is returned as a failure with the existing log as data. No data means the conflict was something else.
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<NutritionLogDto> resolveCreateConflict(Long userId, LocalDate logDate, String idempotencyKey) {
+        try {
+            if (idempotencyKey != null) {
+                Optional<NutritionLog> replayed = nutritionLogRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+                if (replayed.isPresent()) {
+                    return new ApiResponse<>(true, "Nutrition log already created for this request",
+                            convertToNutritionLogDto(replayed.get()));
+                }
+            }
+            return nutritionLogRepository.findByUserIdAndLogDate(userId, logDate)
+                    .map(existing -> new ApiResponse<>(false, "Nutrition log already exists for this date",
+                            convertToNutritionLogDto(existing)))
+                    .orElseGet(() -> new ApiResponse<>(false, "Error creating nutrition log", null));
+
+        } catch (Exception e) {
+            log.error("Error resolving nutrition log conflict for user {}: {}", userId, e.getMessage(), e);
+            return new ApiResponse<>(false, "Error creating nutrition log: " + e.getMessage(), null);
+        }
+    }
+
     @Transactional(readOnly = true)
     public ApiResponse<List<NutritionLogDto>> getNutritionLogs(Long userId, int page, int size) {
         try {
@@ -79,12 +130,7 @@ public class NutritionService {
             Pageable pageable = PageRequest.of(page, size);
             Page<NutritionLog> logPage = nutritionLogRepository.findByUserIdOrderByLogDateDesc(userId, pageable);
 
-            List<NutritionLogDto> nutritionLogDtos = logPage.getContent().stream()
-                    .map(nutritionLog -> {
-                        List<FoodEntry> foodEntries = foodEntryRepository.findByNutritionLogIdOrderById(nutritionLog.getId());
-                        return convertToNutritionLogDtoWithEntries(nutritionLog, foodEntries);
-                    })
-                    .collect(Collectors.toList());
+            List<NutritionLogDto> nutritionLogDtos = convertToNutritionLogDtos(logPage.getContent());
 
             return new ApiResponse<>(true, "Nutrition logs retrieved successfully", nutritionLogDtos);
 
@@ -94,6 +140,40 @@ public class NutritionService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public ApiResponse<CursorPage<NutritionLogDto>> getNutritionLogFeed(Long userId, String after, int size) {
+        try {
+            log.info("Fetching nutrition log feed for user: {}, after: {}, size: {}", userId, after, size);
+
+            int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+            // Fetch one extra row to learn whether another page exists without a COUNT query
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+
+            List<NutritionLog> logs;
+            if (after == null || after.isBlank()) {
+                logs = nutritionLogRepository.findFeedByUserId(userId, limit);
+            } else {
+                NutritionFeedCursor cursor = NutritionFeedCursor.decode(after);
+                logs = cursor.getLogDate() != null
+                        ? nutritionLogRepository.findFeedByUserIdAfter(userId, cursor.getLogDate(), cursor.getId(), limit)
+                        : nutritionLogRepository.findUndatedFeedByUserIdAfter(userId, cursor.getId(), limit);
+            }
+
+            boolean hasMore = logs.size() > pageSize;
+            List<NutritionLog> pageContent = hasMore ? logs.subList(0, pageSize) : logs;
+            String nextCursor = hasMore ? NutritionFeedCursor.of(pageContent.get(pageSize - 1)).encode() : null;
+
+            List<NutritionLogDto> nutritionLogDtos = convertToNutritionLogDtos(pageContent);
+
+            return new ApiResponse<>(true, "Nutrition logs retrieved successfully",
+                    new CursorPage<>(nutritionLogDtos, nextCursor, hasMore));
+
+        } catch (Exception e) {
+            log.error("Error fetching nutrition log feed for user {}: {}", userId, e.getMessage(), e);
+            return new ApiResponse<>(false, "Error fetching nutrition logs: " + e.getMessage(), null);
+        }
+    }
+
     @Transactional(readOnly = true)
     public ApiResponse<NutritionLogDto> getNutritionLogById(Long userId, Long logId) {
         try {
@@ -118,11 +198,9 @@ public class NutritionService {
         try {
             log.info("Fetching nutrition log for user: {} on date: {}", userId, date);
 
-            NutritionLog nutritionLogEntity = nutritionLogRepository.findByUserIdAndLogDate(userId, date)
-                    .orElseThrow(() -> new RuntimeException("Nutrition log not found for date: " + date));
-
-            List<FoodEntry> foodEntries = foodEntryRepository.findByNutritionLogIdOrderById(nutritionLogEntity.getId());
-            NutritionLogDto nutritionLogDto = convertToNutritionLogDtoWithEntries(nutritionLogEntity, foodEntries);
+            NutritionLogDto nutritionLogDto = todayLogCache.isToday(date)
+                    ? todayLogCache.get(userId, date, () -> loadNutritionLogByDate(userId, date))
+                    : loadNutritionLogByDate(userId, date);
 
             return new ApiResponse<>(true, "Nutrition log retrieved successfully", nutritionLogDto);
 
@@ -132,6 +210,14 @@ public class NutritionService {
         }
     }
 
+    private NutritionLogDto loadNutritionLogByDate(Long userId, LocalDate date) {
+        NutritionLog nutritionLogEntity = nutritionLogRepository.findByUserIdAndLogDate(userId, date)
+                .orElseThrow(() -> new RuntimeException("Nutrition log not found for date: " + date));
+
+        List<FoodEntry> foodEntries = foodEntryRepository.findByNutritionLogIdOrderById(nutritionLogEntity.getId());
+        return convertToNutritionLogDtoWithEntries(nutritionLogEntity, foodEntries);
+    }
+
     @Transactional
     public ApiResponse<NutritionLogDto> updateNutritionLog(Long logId, Long userId, NutritionLogDto updatedNutritionLogDto) {
         try {
@@ -139,6 +225,8 @@ public class NutritionService {
 
             NutritionLog nutritionLog = nutritionLogRepository.findByIdAndUserId(logId, userId)
                     .orElseThrow(() -> new RuntimeException("Nutrition log not found"));
+            LocalDate dateBefore = nutritionLog.getLogDate();
+            NutrientTotals totalsBefore = NutrientTotals.of(nutritionLog);
 
             // Update basic fields
             if (updatedNutritionLogDto.getLogDate() != null) {
@@ -150,22 +238,15 @@ public class NutritionService {
 
             // Handle food entries update
             if (updatedNutritionLogDto.getFoodEntries() != null) {
-                // Delete existing food entries
-                foodEntryRepository.deleteByNutritionLogId(logId);
-
-                // Add new food entries
-                List<FoodEntry> newFoodEntries = new ArrayList<>();
-                for (FoodEntryDto foodDto : updatedNutritionLogDto.getFoodEntries()) {
-                    FoodEntry foodEntry = convertDtoToFoodEntry(foodDto, nutritionLog);
-                    newFoodEntries.add(foodEntry);
-                }
-
-                foodEntryRepository.saveAll(newFoodEntries);
-                nutritionLog.setFoodEntries(newFoodEntries);
+                List<FoodEntry> foodEntries = reconcileFoodEntries(nutritionLog, updatedNutritionLogDto.getFoodEntries());
+                nutritionLog.setFoodEntries(foodEntries);
                 nutritionLog.calculateTotals();
             }
 
             NutritionLog savedLog = nutritionLogRepository.save(nutritionLog);
+            nutritionRollupService.replace(dateBefore, totalsBefore, savedLog);
+            dataVersionService.bump(userId);
+            todayLogCache.invalidate(userId);
             NutritionLogDto responseDto = convertToNutritionLogDto(savedLog);
 
             return new ApiResponse<>(true, "Nutrition log updated successfully", responseDto);
@@ -189,6 +270,9 @@ public class NutritionService {
             
             // Delete log
             nutritionLogRepository.delete(nutritionLogEntity);
+            nutritionRollupService.remove(nutritionLogEntity);
+            dataVersionService.bump(userId);
+            todayLogCache.invalidate(userId);
 
         } catch (Exception e) {
             log.error("Error deleting nutrition log {} for user {}: {}", logId, userId, e.getMessage(), e);
@@ -230,8 +314,8 @@ public class NutritionService {
     }
 
     @Transactional
-    public NutritionLogDto createNutritionLog(NutritionLogDto nutritionLogDto) {
-        ApiResponse<NutritionLogDto> response = createNutritionLog(nutritionLogDto.getUserId(), nutritionLogDto);
+    public NutritionLogDto createNutritionLog(NutritionLogDto nutritionLogDto, String idempotencyKey) {
+        ApiResponse<NutritionLogDto> response = createNutritionLog(nutritionLogDto.getUserId(), nutritionLogDto, idempotencyKey);
         if (!response.isSuccess()) {
             throw new RuntimeException("Failed to create nutrition log");
         }
@@ -251,12 +335,12 @@ public class NutritionService {
             NutritionLog nutritionLog = nutritionLogRepository.findById(foodEntryDto.getNutritionLogId())
                     .orElseThrow(() -> new RuntimeException("Nutrition log not found"));
 
-            FoodEntry foodEntry = convertDtoToFoodEntry(foodEntryDto, nutritionLog);
+            FoodEntry foodEntry = nutritionMapper.toEntity(foodEntryDto, nutritionLog);
             FoodEntry savedEntry = foodEntryRepository.save(foodEntry);
 
-            // Recalculate totals
-            nutritionLog.calculateTotals();
-            nutritionLogRepository.save(nutritionLog);
+            nutritionTotalsService.add(nutritionLog, savedEntry);
+            dataVersionService.bump(nutritionLog.getUserId());
+            todayLogCache.invalidate(nutritionLog.getUserId());
 
             return convertToFoodEntryDto(savedEntry);
         } catch (Exception e) {
@@ -269,6 +353,7 @@ public class NutritionService {
         try {
             FoodEntry foodEntry = foodEntryRepository.findById(entryId)
                     .orElseThrow(() -> new RuntimeException("Food entry not found"));
+            NutrientTotals before = NutrientTotals.of(foodEntry);
 
             // Update fields
             foodEntry.setFoodName(foodEntryDto.getFoodName());
@@ -285,10 +370,10 @@ public class NutritionService {
 
             FoodEntry savedEntry = foodEntryRepository.save(foodEntry);
 
-            // Recalculate totals
             NutritionLog nutritionLog = savedEntry.getNutritionLog();
-            nutritionLog.calculateTotals();
-            nutritionLogRepository.save(nutritionLog);
+            nutritionTotalsService.replace(nutritionLog, before, savedEntry);
+            dataVersionService.bump(nutritionLog.getUserId());
+            todayLogCache.invalidate(nutritionLog.getUserId());
 
             return convertToFoodEntryDto(savedEntry);
         } catch (Exception e) {
@@ -305,9 +390,9 @@ public class NutritionService {
             NutritionLog nutritionLog = foodEntry.getNutritionLog();
             foodEntryRepository.delete(foodEntry);
 
-            // Recalculate totals
-            nutritionLog.calculateTotals();
-            nutritionLogRepository.save(nutritionLog);
+            nutritionTotalsService.remove(nutritionLog, foodEntry);
+            dataVersionService.bump(nutritionLog.getUserId());
+            todayLogCache.invalidate(nutritionLog.getUserId());
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete food entry");
@@ -316,50 +401,63 @@ public class NutritionService {
 
     // Helper methods for conversion
     private NutritionLogDto convertToNutritionLogDto(NutritionLog nutritionLog) {
-        NutritionLogDto dto = modelMapper.map(nutritionLog, NutritionLogDto.class);
-        if (nutritionLog.getMealType() != null) {
-            dto.setMealType(nutritionLog.getMealType().toString());
-        }
-        return dto;
+        return nutritionMapper.toDto(nutritionLog);
     }
 
     private NutritionLogDto convertToNutritionLogDtoWithEntries(NutritionLog nutritionLog, List<FoodEntry> foodEntries) {
-        NutritionLogDto dto = convertToNutritionLogDto(nutritionLog);
-        List<FoodEntryDto> foodEntryDtos = foodEntries.stream()
-                .map(this::convertToFoodEntryDto)
+        return nutritionMapper.toDto(nutritionLog, foodEntries);
+    }
+
+    // Loads the food entries for every log in one query instead of one query per log
+    private List<NutritionLogDto> convertToNutritionLogDtos(List<NutritionLog> nutritionLogs) {
+        if (nutritionLogs.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> logIds = nutritionLogs.stream()
+                .map(NutritionLog::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<FoodEntry>> entriesByLogId = foodEntryRepository.findByNutritionLogIdInOrderById(logIds).stream()
+                .collect(Collectors.groupingBy(entry -> entry.getNutritionLog().getId()));
+
+        return nutritionLogs.stream()
+                .map(nutritionLog -> convertToNutritionLogDtoWithEntries(nutritionLog,
+                        entriesByLogId.getOrDefault(nutritionLog.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
-        dto.setFoodEntries(foodEntryDtos);
-        return dto;
     }
 
     private FoodEntryDto convertToFoodEntryDto(FoodEntry foodEntry) {
-        FoodEntryDto dto = modelMapper.map(foodEntry, FoodEntryDto.class);
-        if (foodEntry.getNutritionLog() != null) {
-            dto.setNutritionLogId(foodEntry.getNutritionLog().getId());
-        }
-        return dto;
+        return nutritionMapper.toDto(foodEntry);
     }
 
-    private FoodEntry convertDtoToFoodEntry(FoodEntryDto foodDto, NutritionLog nutritionLog) {
-        FoodEntry foodEntry = new FoodEntry();
-        foodEntry.setFoodName(foodDto.getFoodName());
-        foodEntry.setBrand(foodDto.getBrand());
-        foodEntry.setQuantity(foodDto.getQuantity());
-        foodEntry.setUnit(foodDto.getUnit());
-        foodEntry.setCalories(foodDto.getCalories());
-        foodEntry.setProtein(foodDto.getProtein());
-        foodEntry.setCarbs(foodDto.getCarbs());
-        foodEntry.setFat(foodDto.getFat());
-        foodEntry.setFiber(foodDto.getFiber());
-        foodEntry.setSugar(foodDto.getSugar());
-        foodEntry.setSodium(foodDto.getSodium());
-        foodEntry.setCholesterol(foodDto.getCholesterol());
-        foodEntry.setVitaminC(foodDto.getVitaminC());
-        foodEntry.setCalcium(foodDto.getCalcium());
-        foodEntry.setIron(foodDto.getIron());
-        foodEntry.setBarcode(foodDto.getBarcode());
-        foodEntry.setNotes(foodDto.getNotes());
-        foodEntry.setNutritionLog(nutritionLog);
-        return foodEntry;
+    /**
+     * Brings the log's stored food entries in line with {@code foodDtos}, matching on id.
+     * Matched rows are updated in place (Hibernate only writes the ones that actually changed),
+     * unmatched incoming entries are inserted, and rows missing from the request are deleted in one statement.
+     */
+    private List<FoodEntry> reconcileFoodEntries(NutritionLog nutritionLog, List<FoodEntryDto> foodDtos) {
+        Map<Long, FoodEntry> existingById = foodEntryRepository.findByNutritionLogIdOrderById(nutritionLog.getId()).stream()
+                .collect(Collectors.toMap(FoodEntry::getId, entry -> entry, (a, b) -> a, LinkedHashMap::new));
+
+        List<FoodEntry> reconciled = new ArrayList<>(foodDtos.size());
+        List<FoodEntry> inserts = new ArrayList<>();
+        for (FoodEntryDto foodDto : foodDtos) {
+            FoodEntry foodEntry = foodDto.getId() != null ? existingById.remove(foodDto.getId()) : null;
+            if (foodEntry == null) {
+                foodEntry = nutritionMapper.toEntity(foodDto, nutritionLog);
+                inserts.add(foodEntry);
+            } else {
+                nutritionMapper.update(foodDto, foodEntry);
+            }
+            reconciled.add(foodEntry);
+        }
+
+        if (!existingById.isEmpty()) {
+            foodEntryRepository.deleteAllByIdInBatch(existingById.keySet());
+        }
+        if (!inserts.isEmpty()) {
+            foodEntryRepository.saveAll(inserts);
+        }
+        return reconciled;
     }
 }
@@ -0,0 +1,58 @@
+package com.fitness_application.nutrition.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drift repair for the delta-maintained nutrition log totals.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NutritionTotalsJob {
+
+    // A rebuild saves versioned logs, so a user editing a log meanwhile fails it; the retry sees their edit
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final NutritionTotalsService nutritionTotalsService;
+
+    /**
+     * Recomputes, from their food entries, the totals of every log that no longer matches them. A user whose
+     * rebuild keeps failing is logged and left for the next run, so the rest are still checked.
+     */
+    @Scheduled(cron = "${nutrition.totals.check-cron:0 45 3 * * *}")
+    public int checkConsistency() {
+        int repairedLogs = 0;
+        int failed = 0;
+        for (Long userId : nutritionTotalsService.findUserIds()) {
+            try {
+                int repaired = rebuild(userId);
+                if (repaired > 0) {
+                    log.warn("Nutrition totals for user {} drifted on {} logs, recomputed", userId, repaired);
+                    repairedLogs += repaired;
+                }
+            } catch (Exception e) {
+                log.error("Error checking nutrition totals for user {}: {}", userId, e.getMessage(), e);
+                failed++;
+            }
+        }
+        log.info("Nutrition totals consistency check finished, {} logs repaired, {} users failed", repairedLogs, failed);
+        return repairedLogs;
+    }
+
+    private int rebuild(Long userId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return nutritionTotalsService.rebuild(userId);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Nutrition log of user {} changed during rebuild, retrying", userId);
+            }
+        }
+    }
+}
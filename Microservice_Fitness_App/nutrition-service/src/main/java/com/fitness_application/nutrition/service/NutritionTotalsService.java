@@ -0,0 +1,118 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import com.fitness_application.nutrition.repository.FoodEntryRepository;
+import com.fitness_application.nutrition.repository.NutritionLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a nutrition log's totals in step with single food entry changes without reloading the log's entries.
+ * <p>
+ * Each change is applied as the difference between the entry's quantity-scaled contribution before and after,
+ * in one UPDATE that also checks and bumps the log's version. Callers capture the old contribution with
+ * {@link NutrientTotals#of(FoodEntry)} before mutating the entry. A nightly job compares the stored totals with a full
+ * recomputation and repairs any log that drifted. Every delta is passed on to the day, week and month rollups.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class NutritionTotalsService {
+
+    // Gram and milligram totals are doubles, so repeated add/subtract cycles can leave rounding residue
+    static final double TOLERANCE = 0.001;
+
+    private final NutritionLogRepository nutritionLogRepository;
+    private final FoodEntryRepository foodEntryRepository;
+    private final NutritionRollupService nutritionRollupService;
+
+    public void add(NutritionLog nutritionLog, FoodEntry foodEntry) {
+        apply(nutritionLog, NutrientTotals.of(foodEntry));
+    }
+
+    public void remove(NutritionLog nutritionLog, FoodEntry foodEntry) {
+        apply(nutritionLog, NutrientTotals.ZERO.minus(NutrientTotals.of(foodEntry)));
+    }
+
+    public void replace(NutritionLog nutritionLog, NutrientTotals before, FoodEntry after) {
+        apply(nutritionLog, NutrientTotals.of(after).minus(before));
+    }
+
+    /**
+     * Returns the ids of the user's logs whose stored totals differ from a recomputation over their entries.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findInconsistentLogIds(Long userId) {
+        return findInconsistentLogs(userId).stream()
+                .map(NutritionLog::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recomputes the totals of every drifted log of the user and returns how many were repaired.
+     */
+    public int rebuild(Long userId) {
+        List<NutritionLog> inconsistent = findInconsistentLogs(userId);
+        if (inconsistent.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<FoodEntry>> entriesByLogId = entriesByLogId(userId);
+        for (NutritionLog nutritionLog : inconsistent) {
+            NutrientTotals before = NutrientTotals.of(nutritionLog);
+            nutritionLog.setFoodEntries(entriesByLogId.getOrDefault(nutritionLog.getId(), Collections.emptyList()));
+            nutritionLog.calculateTotals();
+            nutritionRollupService.replace(nutritionLog.getLogDate(), before, nutritionLog);
+        }
+        nutritionLogRepository.saveAll(inconsistent);
+        log.info("Recomputed totals for {} nutrition logs of user {}", inconsistent.size(), userId);
+        return inconsistent.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findUserIds() {
+        return nutritionLogRepository.findDistinctUserIds();
+    }
+
+    private void apply(NutritionLog nutritionLog, NutrientTotals delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        int updated = nutritionLogRepository.applyTotalsDelta(nutritionLog.getId(), nutritionLog.getVersion(),
+                delta.calories(), delta.protein(), delta.carbs(), delta.fat(), delta.fiber(), delta.sugar(),
+                delta.sodium(), LocalDateTime.now());
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(NutritionLog.class, nutritionLog.getId());
+        }
+        nutritionRollupService.applyTotals(nutritionLog, delta);
+    }
+
+    private List<NutritionLog> findInconsistentLogs(Long userId) {
+        Map<Long, List<FoodEntry>> entriesByLogId = entriesByLogId(userId);
+        List<NutritionLog> inconsistent = new ArrayList<>();
+        for (NutritionLog nutritionLog : nutritionLogRepository.findByUserIdOrderByLogDateDesc(userId)) {
+            NutrientTotals expected = NutrientTotals.sum(
+                    entriesByLogId.getOrDefault(nutritionLog.getId(), Collections.emptyList()));
+            if (!expected.matches(NutrientTotals.of(nutritionLog), TOLERANCE)) {
+                inconsistent.add(nutritionLog);
+            }
+        }
+        return inconsistent;
+    }
+
+    private Map<Long, List<FoodEntry>> entriesByLogId(Long userId) {
+        return foodEntryRepository.findByNutritionLogUserId(userId).stream()
+                .collect(Collectors.groupingBy(entry -> entry.getNutritionLog().getId()));
+    }
+}
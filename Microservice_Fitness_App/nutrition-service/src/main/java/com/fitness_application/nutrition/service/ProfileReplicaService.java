@@ -0,0 +1,82 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.ProfileChangedEventDto;
+import com.fitness_application.nutrition.model.ProfileReplica;
+import com.fitness_application.nutrition.repository.ProfileReplicaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the local profile replicas in step with user-service's profile change events, so nutrition code reads a
+ * user's height, weight and goal from its own database. Events arrive at least once and, per user, in order; applying
+ * one is idempotent.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class ProfileReplicaService {
+
+    private final ProfileReplicaRepository profileReplicaRepository;
+
+    /**
+     * Applies a batch of events in order and returns how many changed a replica; events already applied are skipped.
+     */
+    public ApiResponse<Integer> applyEvents(List<ProfileChangedEventDto> events) {
+        try {
+            int applied = 0;
+            for (ProfileChangedEventDto event : events) {
+                if (apply(event)) {
+                    applied++;
+                }
+            }
+            log.info("Applied {} of {} profile events", applied, events.size());
+            return ApiResponse.success("Profile events applied", applied);
+            
+        } catch (Exception e) {
+            log.error("Error applying profile events: {}", e.getMessage(), e);
+            return ApiResponse.error("Failed to apply profile events: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the user's replicated profile, or empty if user-service has none or hasn't published it yet.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProfileReplica> find(Long userId) {
+        return profileReplicaRepository.findById(userId).filter(replica -> !replica.isDeleted());
+    }
+
+    private boolean apply(ProfileChangedEventDto event) {
+        if (event.getEventId() == null || event.getUserId() == null) {
+            throw new IllegalArgumentException("Profile event without an event or user ID");
+        }
+        ProfileReplica replica = profileReplicaRepository.findById(event.getUserId()).orElse(null);
+        if (replica != null && replica.getLastEventId() >= event.getEventId()) {
+            return false;
+        }
+        if (replica == null) {
+            replica = new ProfileReplica();
+            replica.setUserId(event.getUserId());
+        }
+        
+        replica.setLastEventId(event.getEventId());
+        replica.setDeleted(ProfileChangedEventDto.DELETED.equals(event.getType()));
+        replica.setHeight(event.getHeight());
+        replica.setWeight(event.getWeight());
+        replica.setGender(event.getGender());
+        replica.setDateOfBirth(event.getDateOfBirth());
+        replica.setActivityLevel(event.getActivityLevel());
+        replica.setFitnessGoal(event.getFitnessGoal());
+        replica.setUpdatedAt(Instant.now());
+        profileReplicaRepository.save(replica);
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.NutritionLogDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of today's nutrition log, the one the home screen re-reads after every entry.
+ * <p>
+ * Holds at most {@code nutrition.today-cache.max-users} users, least recently read evicted first. An entry only
+ * answers for the date it was loaded on, so everything rolls over at local midnight without a sweep. Writes
+ * invalidate after their transaction commits; a load that started before an invalidation is not stored, so a
+ * reader racing a writer can't put the old log back.
+ */
+@Component
+public class TodayLogCache {
+
+    private final int maxUsers;
+    private final Clock clock;
+
+    private final Map<Long, Entry> entries;
+    // Orders loads against invalidations; an entry or tombstone carries the value current when it was written
+    private final AtomicLong stamps = new AtomicLong();
+    // Newest stamp pushed out by the size bound, standing in for a tombstone that is no longer there
+    private long evictedStamp;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer hitLatency;
+    private final Timer missLatency;
+
+    @Autowired
+    public TodayLogCache(@Value("${nutrition.today-cache.max-users:10000}") int maxUsers, MeterRegistry meterRegistry) {
+        this(maxUsers, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    TodayLogCache(int maxUsers, MeterRegistry meterRegistry, Clock clock) {
+        this.maxUsers = maxUsers;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() <= TodayLogCache.this.maxUsers) {
+                    return false;
+                }
+                evictedStamp = Math.max(evictedStamp, eldest.getValue().stamp());
+                return true;
+            }
+        };
+
+        hits = meterRegistry.counter("nutrition.today_cache.requests", "result", "hit");
+        misses = meterRegistry.counter("nutrition.today_cache.requests", "result", "miss");
+        hitLatency = meterRegistry.timer("nutrition.today_cache.latency", "result", "hit");
+        missLatency = meterRegistry.timer("nutrition.today_cache.latency", "result", "miss");
+        meterRegistry.gaugeMapSize("nutrition.today_cache.size", List.of(), entries);
+    }
+
+    public boolean isToday(LocalDate date) {
+        return date != null && date.equals(LocalDate.now(clock));
+    }
+
+    /**
+     * Returns the user's cached log for {@code date}, or loads it and caches the result. Only today's date is
+     * cached; if {@code loader} throws, nothing is stored. The returned DTO is shared between callers.
+     */
+    public NutritionLogDto get(Long userId, LocalDate date, Supplier<NutritionLogDto> loader) {
+        long started = System.nanoTime();
+        long stamp;
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.log() != null && entry.date().equals(date)) {
+                hits.increment();
+                hitLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return entry.log();
+            }
+            stamp = stamps.get();
+        }
+
+        try {
+            NutritionLogDto log = loader.get();
+            if (log != null && isToday(date)) {
+                synchronized (entries) {
+                    Entry entry = entries.get(userId);
+                    if ((entry != null ? entry.stamp() : evictedStamp) <= stamp) {
+                        entries.put(userId, new Entry(date, log, stamp));
+                    }
+                }
+            }
+            return log;
+        } finally {
+            misses.increment();
+            missLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Drops the user's cached log once the current transaction commits, or right away outside a transaction.
+     */
+    public void invalidate(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evict(Long userId) {
+        synchronized (entries) {
+            // Leave a tombstone rather than removing, so an older in-flight load sees it and skips its put
+            entries.put(userId, new Entry(LocalDate.MIN, null, stamps.incrementAndGet()));
+        }
+    }
+
+    private record Entry(LocalDate date, NutritionLogDto log, long stamp) {
+    }
+}
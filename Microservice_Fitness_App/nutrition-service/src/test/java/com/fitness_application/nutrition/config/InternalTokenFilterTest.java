@@ -0,0 +1,74 @@
+package com.fitness_application.nutrition.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternalTokenFilterTest {
+
+    private static final String EVENTS_PATH = "/api/nutrition/internal/profile-events";
+
+    private final InternalTokenFilter filter = new InternalTokenFilter("s3cret");
+
+    @Test
+    void internalPost_WithoutToken_IsRejected() throws Exception {
+        // When
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = post(EVENTS_PATH, null, filter, chain);
+
+        // Then
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void internalPost_WithWrongToken_IsRejected() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = post(EVENTS_PATH, "s3cre", filter, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void internalPost_WithToken_IsPassedOn() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = post(EVENTS_PATH, "s3cret", filter, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void internalPost_NoTokenConfigured_RejectsEverything() throws Exception {
+        InternalTokenFilter unconfigured = new InternalTokenFilter("");
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = post(EVENTS_PATH, "", unconfigured, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void publicEndpoint_IsNotFiltered() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        post("/api/nutrition/logs", null, filter, chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    private MockHttpServletResponse post(String path, String token, InternalTokenFilter filter, MockFilterChain chain)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        if (token != null) {
+            request.addHeader(InternalTokenFilter.HEADER, token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
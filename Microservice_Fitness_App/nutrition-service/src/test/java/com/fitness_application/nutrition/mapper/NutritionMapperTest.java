@@ -0,0 +1,154 @@
+package com.fitness_application.nutrition.mapper;
+
+import com.fitness_application.nutrition.dto.FoodEntryDto;
+import com.fitness_application.nutrition.dto.NutritionLogDto;
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the entity-to-DTO direction against a default ModelMapper, which is what the service used before.
+ */
+class NutritionMapperTest {
+
+    private NutritionMapper nutritionMapper;
+    private ModelMapper modelMapper;
+
+    @BeforeEach
+    void setUp() {
+        nutritionMapper = new NutritionMapper();
+        modelMapper = new ModelMapper();
+    }
+
+    @Test
+    void toDto_FoodEntry_MatchesModelMapperIncludingLogId() {
+        // Given
+        NutritionLog nutritionLog = nutritionLog();
+        FoodEntry foodEntry = foodEntry(nutritionLog);
+
+        // When
+        FoodEntryDto dto = nutritionMapper.toDto(foodEntry);
+
+        // Then
+        assertEquals(modelMapper.map(foodEntry, FoodEntryDto.class), dto);
+        assertEquals(3L, dto.getNutritionLogId());
+    }
+
+    @Test
+    void toDto_NutritionLog_MatchesModelMapperIncludingEntries() {
+        // Given
+        NutritionLog nutritionLog = nutritionLog();
+        nutritionLog.getFoodEntries().add(foodEntry(nutritionLog));
+
+        // When
+        NutritionLogDto dto = nutritionMapper.toDto(nutritionLog);
+
+        // Then
+        NutritionLogDto expected = modelMapper.map(nutritionLog, NutritionLogDto.class);
+        assertEquals(expected, dto);
+        assertEquals("LUNCH", dto.getMealType());
+        assertEquals(1, dto.getFoodEntries().size());
+    }
+
+    @Test
+    void toDto_WithLoadedEntries_UsesThemInsteadOfTheCollection() {
+        // Given
+        NutritionLog nutritionLog = nutritionLog();
+        nutritionLog.setFoodEntries(null);
+        FoodEntry foodEntry = foodEntry(nutritionLog);
+
+        // When
+        NutritionLogDto dto = nutritionMapper.toDto(nutritionLog, List.of(foodEntry));
+
+        // Then
+        assertEquals(List.of(nutritionMapper.toDto(foodEntry)), dto.getFoodEntries());
+    }
+
+    @Test
+    void toEntity_NutritionLog_CopiesClientFieldsAndKeepsDefaults() {
+        // Given
+        NutritionLogDto dto = new NutritionLogDto();
+        dto.setId(99L);
+        dto.setLogDate(LocalDate.of(2024, 1, 15));
+        dto.setMealType("DINNER");
+        dto.setTotalCalories(650);
+        dto.setNotes("Late dinner");
+
+        // When
+        NutritionLog nutritionLog = nutritionMapper.toEntity(dto);
+
+        // Then
+        assertNull(nutritionLog.getId());
+        assertEquals(LocalDate.of(2024, 1, 15), nutritionLog.getLogDate());
+        assertEquals(NutritionLog.MealType.DINNER, nutritionLog.getMealType());
+        assertEquals(650, nutritionLog.getTotalCalories());
+        assertEquals(0.0, nutritionLog.getTotalProtein());
+        assertEquals("Late dinner", nutritionLog.getNotes());
+        assertNotNull(nutritionLog.getCreatedAt());
+    }
+
+    @Test
+    void toEntity_UnknownMealType_Throws() {
+        // Given
+        NutritionLogDto dto = new NutritionLogDto();
+        dto.setMealType("BRUNCH");
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> nutritionMapper.toEntity(dto));
+    }
+
+    private NutritionLog nutritionLog() {
+        NutritionLog nutritionLog = new NutritionLog();
+        nutritionLog.setId(3L);
+        nutritionLog.setUserId(100L);
+        nutritionLog.setLogDate(LocalDate.of(2024, 1, 15));
+        nutritionLog.setMealType(NutritionLog.MealType.LUNCH);
+        nutritionLog.setTotalCalories(540);
+        nutritionLog.setTotalProtein(32.5);
+        nutritionLog.setTotalCarbs(61.0);
+        nutritionLog.setTotalFat(14.2);
+        nutritionLog.setTotalFiber(7.5);
+        nutritionLog.setTotalSugar(9.0);
+        nutritionLog.setTotalSodium(820.0);
+        nutritionLog.setNotes("Office lunch");
+        nutritionLog.setCreatedAt(LocalDateTime.of(2024, 1, 15, 12, 30));
+        nutritionLog.setUpdatedAt(LocalDateTime.of(2024, 1, 15, 12, 45));
+        nutritionLog.setFoodEntries(new ArrayList<>());
+        return nutritionLog;
+    }
+
+    private FoodEntry foodEntry(NutritionLog nutritionLog) {
+        FoodEntry foodEntry = new FoodEntry();
+        foodEntry.setId(8L);
+        foodEntry.setFoodName("Chicken Wrap");
+        foodEntry.setBrand("Deli");
+        foodEntry.setBarcode("0123456789012");
+        foodEntry.setQuantity(1.5);
+        foodEntry.setUnit("serving");
+        foodEntry.setCalories(540);
+        foodEntry.setProtein(32.5);
+        foodEntry.setCarbs(61.0);
+        foodEntry.setFat(14.2);
+        foodEntry.setFiber(7.5);
+        foodEntry.setSugar(9.0);
+        foodEntry.setSodium(820.0);
+        foodEntry.setCholesterol(75.0);
+        foodEntry.setVitaminC(4.0);
+        foodEntry.setCalcium(120.0);
+        foodEntry.setIron(2.1);
+        foodEntry.setNotes("No sauce");
+        foodEntry.setCreatedAt(LocalDateTime.of(2024, 1, 15, 12, 31));
+        foodEntry.setUpdatedAt(LocalDateTime.of(2024, 1, 15, 12, 40));
+        foodEntry.setNutritionLog(nutritionLog);
+        return foodEntry;
+    }
+}
@@ -0,0 +1,94 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.CatalogFoodDto;
+import com.fitness_application.nutrition.dto.FoodCatalogStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoodCatalogServiceTest {
+
+    private static final String HEADER = "barcode,food_name,brand,serving_unit,calories,protein,carbs,fat,fiber,sugar,sodium\n";
+
+    @TempDir
+    Path tempDir;
+
+    private Path catalogFile;
+    private FoodCatalogService foodCatalogService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        catalogFile = tempDir.resolve("catalog.csv");
+        Files.writeString(catalogFile, HEADER + "737628064502,Thai Peanut Noodles,Simply Asia,1 package,420,9.1,70,11,2,6,790\n");
+        foodCatalogService = new FoodCatalogService(catalogFile.toString());
+        foodCatalogService.load();
+    }
+
+    @Test
+    void lookup_KnownBarcode_ReturnsPerServingValues() {
+        // When
+        ApiResponse<CatalogFoodDto> response = foodCatalogService.lookup("0737628064502");
+
+        // Then
+        assertTrue(response.isSuccess());
+        CatalogFoodDto food = response.getData();
+        assertEquals("0737628064502", food.getBarcode());
+        assertEquals("Thai Peanut Noodles", food.getFoodName());
+        assertEquals(420, food.getCalories());
+        assertEquals(9.1, food.getProtein());
+        assertEquals(790.0, food.getSodium());
+        assertTrue(food.getCatalogVersion().startsWith("catalog.csv@"));
+    }
+
+    @Test
+    void lookup_UnknownOrInvalidBarcode_ReturnsError() {
+        assertFalse(foodCatalogService.lookup("40822938").isSuccess());
+        assertFalse(foodCatalogService.lookup("abc").isSuccess());
+    }
+
+    @Test
+    void reloadIfChanged_SwapsInNewVersion() throws Exception {
+        // Given
+        Files.writeString(catalogFile, HEADER + "40822938,Greek Yogurt,Dairy Co,170 g,100,17,6,0.7,0,4,60\n");
+        Files.setLastModifiedTime(catalogFile, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        // When
+        foodCatalogService.reloadIfChanged();
+
+        // Then
+        assertEquals("Greek Yogurt", foodCatalogService.lookup("40822938").getData().getFoodName());
+        assertFalse(foodCatalogService.lookup("737628064502").isSuccess());
+    }
+
+    @Test
+    void reload_BrokenFile_KeepsServingPreviousCatalog() throws Exception {
+        // Given
+        Files.writeString(catalogFile, "food_name,calories\nApple,52\n");
+
+        // When
+        ApiResponse<FoodCatalogStatsDto> response = foodCatalogService.reload();
+
+        // Then
+        assertFalse(response.isSuccess());
+        assertTrue(foodCatalogService.lookup("737628064502").isSuccess());
+    }
+
+    @Test
+    void getStats_ReportsMemoryPerProduct() {
+        // When
+        FoodCatalogStatsDto stats = foodCatalogService.getStats().getData();
+
+        // Then
+        assertEquals(1, stats.getProducts());
+        assertTrue(stats.getMemoryBytes() > 0);
+        assertEquals((double) stats.getMemoryBytes(), stats.getBytesPerProduct());
+        assertNotNull(stats.getLoadedAt());
+    }
+}
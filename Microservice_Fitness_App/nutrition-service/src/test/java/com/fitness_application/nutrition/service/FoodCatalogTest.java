@@ -0,0 +1,119 @@
+package com.fitness_application.nutrition.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoodCatalogTest {
+
+    @Test
+    void build_SortsByBarcodeAndKeepsRowsTogether() {
+        // Given
+        FoodCatalog.Builder builder = new FoodCatalog.Builder()
+                .add(5000112637922L, "Cola", "Fizz Co", "330 ml can", 139, 0f, 35f, 0f, 0f, 35f, 10f)
+                .add(737628064502L, "Thai Peanut Noodles", "Simply Asia", "1 package", 420, 9f, 70f, 11f, 2f, 6f, 790f)
+                .add(40822938L, "Crème Fraîche", "Laiterie", "30 g", 88, 0.7f, 0.8f, 9f, 0f, 0.8f, 10f);
+
+        // When
+        FoodCatalog catalog = builder.build("v1");
+
+        // Then
+        assertEquals(3, catalog.size());
+        int row = catalog.indexOf(737628064502L);
+        assertTrue(row >= 0);
+        assertEquals("Thai Peanut Noodles", catalog.foodName(row));
+        assertEquals("Simply Asia", catalog.brand(row));
+        assertEquals("1 package", catalog.unit(row));
+        assertEquals(420, catalog.calories(row));
+        assertEquals(790f, catalog.nutrient(row, 5));
+        assertEquals("Crème Fraîche", catalog.foodName(catalog.indexOf(40822938L)));
+        assertTrue(catalog.indexOf(12345678L) < 0);
+    }
+
+    @Test
+    void build_DuplicateBarcode_LastRowWins() {
+        // Given
+        FoodCatalog.Builder builder = new FoodCatalog.Builder()
+                .add(40822938L, "Old Name", "Brand", "", 100, 1f, 2f, 3f, 4f, 5f, 6f)
+                .add(5000112637922L, "Cola", "Fizz Co", "", 139, 0f, 35f, 0f, 0f, 35f, 10f)
+                .add(40822938L, "New Name", "Brand", "", 110, 1f, 2f, 3f, 4f, 5f, 6f);
+
+        // When
+        FoodCatalog catalog = builder.build("v1");
+
+        // Then
+        assertEquals(2, catalog.size());
+        int row = catalog.indexOf(40822938L);
+        assertEquals("New Name", catalog.foodName(row));
+        assertEquals(110, catalog.calories(row));
+        assertEquals("Cola", catalog.foodName(catalog.indexOf(5000112637922L)));
+    }
+
+    @Test
+    void build_GrowsPastInitialCapacity() {
+        // Given
+        FoodCatalog.Builder builder = new FoodCatalog.Builder();
+        for (int i = 0; i < 5000; i++) {
+            builder.add(10_000_000L + (4999 - i), "Food " + i, "Brand", "serving", i, 1f, 2f, 3f, 4f, 5f, 6f);
+        }
+
+        // When
+        FoodCatalog catalog = builder.build("v1");
+
+        // Then
+        assertEquals(5000, catalog.size());
+        assertEquals("Food 0", catalog.foodName(catalog.indexOf(10_004_999L)));
+        assertEquals("Food 4999", catalog.foodName(catalog.indexOf(10_000_000L)));
+        assertTrue(catalog.memoryBytes() / catalog.size() < 96);
+    }
+
+    @Test
+    void parseBarcode_NormalizesLeadingZerosAndRejectsInvalid() {
+        assertEquals(FoodCatalog.parseBarcode("737628064502"), FoodCatalog.parseBarcode("0737628064502"));
+        assertEquals(40822938L, FoodCatalog.parseBarcode(" 40822938 "));
+        assertEquals(-1, FoodCatalog.parseBarcode("1234567"));
+        assertEquals(-1, FoodCatalog.parseBarcode("123456789012345"));
+        assertEquals(-1, FoodCatalog.parseBarcode("73762806450X"));
+        assertEquals(-1, FoodCatalog.parseBarcode(null));
+    }
+
+    @Test
+    void load_ReadsCsvAndSkipsInvalidRows() throws Exception {
+        // Given
+        String csv = """
+                barcode,food_name,brand,serving_unit,calories,protein,carbs,fat,fiber,sugar,sodium
+                737628064502,"Noodles, Thai Peanut",Simply Asia,1 package,420,9,70,11,2,6,790
+                not-a-barcode,Broken,Brand,1 cup,100,1,1,1,1,1,1
+                40822938,"Say ""cheese""\",,30 g,110.6,7,0.4,9,0,0.4,180
+                5000112637922,Cola,Fizz Co,330 ml,lots,0,35,0,0,35,10
+                """;
+
+        // When
+        FoodCatalog catalog = FoodCatalogLoader.load(new StringReader(csv), "test");
+
+        // Then
+        assertEquals(2, catalog.size());
+        int noodles = catalog.indexOf(737628064502L);
+        assertEquals("Noodles, Thai Peanut", catalog.foodName(noodles));
+        assertEquals("Simply Asia", catalog.brand(noodles));
+        int cheese = catalog.indexOf(40822938L);
+        assertEquals("Say \"cheese\"", catalog.foodName(cheese));
+        assertEquals("", catalog.brand(cheese));
+        assertEquals(111, catalog.calories(cheese));
+        assertEquals(0.4f, catalog.nutrient(cheese, 1));
+    }
+
+    @Test
+    void load_MissingBarcodeColumn_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FoodCatalogLoader.load(new StringReader("food_name,calories\nApple,52\n"), "test"));
+    }
+
+    @Test
+    void splitLine_HandlesQuotedCommasAndEmptyFields() {
+        assertEquals(List.of("a", "b, c", "", "d\"e"), FoodCatalogLoader.splitLine("a,\"b, c\",,\"d\"\"e\""));
+    }
+}
@@ -0,0 +1,122 @@
+package com.fitness_application.nutrition.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoodSearchIndexTest {
+
+    private static final int[] NO_BOOST = new int[0];
+
+    private FoodSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FoodSearchIndex.Builder()
+                .add("Greek Yogurt Plain", "Fage", 5201054017012L)
+                .add("Greek Yogurt Honey", "Chobani", -1)
+                .add("Yogurt Drink", "Danone", -1)
+                .add("Greek Salad", "Deli", -1)
+                .add("Crème Fraîche", "Président", -1)
+                .add("Fage Total 0%", "Fage", -1)
+                .add("Peanut Butter", null, -1)
+                .build();
+    }
+
+    @Test
+    void search_MultiWordPartialQuery_RanksDocumentMatchingAllWordsFirst() {
+        // When
+        List<FoodSearchIndex.Hit> hits = index.search("greek yog fage", 10, NO_BOOST, 1f);
+
+        // Then
+        assertEquals("Greek Yogurt Plain", index.foodName(hits.get(0).document()));
+        assertEquals("Fage", index.brand(hits.get(0).document()));
+        assertEquals(5201054017012L, index.barcode(hits.get(0).document()));
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).score() >= hits.get(i).score());
+        }
+    }
+
+    @Test
+    void search_IgnoresCaseAccentsAndPunctuation() {
+        List<FoodSearchIndex.Hit> hits = index.search("CREME-fraiche", 1, NO_BOOST, 1f);
+
+        assertEquals("Crème Fraîche", index.foodName(hits.get(0).document()));
+    }
+
+    @Test
+    void search_ToleratesTypo() {
+        List<FoodSearchIndex.Hit> hits = index.search("peanut buttre", 1, NO_BOOST, 1f);
+
+        assertEquals("Peanut Butter", index.foodName(hits.get(0).document()));
+        assertEquals("", index.brand(hits.get(0).document()));
+    }
+
+    @Test
+    void search_BoostedKeyOutranksEqualMatch() {
+        // Given
+        int[] boosted = {FoodSearchIndex.keyHash("greek yogurt honey", "CHOBANI")};
+
+        // When
+        String withoutBoost = index.foodName(index.search("greek yogurt", 1, NO_BOOST, 1f).get(0).document());
+        String withBoost = index.foodName(index.search("greek yogurt", 1, boosted, 1.5f).get(0).document());
+
+        // Then
+        assertEquals("Greek Yogurt Plain", withoutBoost);
+        assertEquals("Greek Yogurt Honey", withBoost);
+    }
+
+    @Test
+    void search_NoMatchingGramsOrBlankQuery_ReturnsEmpty() {
+        assertTrue(index.search("zzzz", 10, NO_BOOST, 1f).isEmpty());
+        assertTrue(index.search("  ", 10, NO_BOOST, 1f).isEmpty());
+        assertTrue(FoodSearchIndex.EMPTY.search("yogurt", 10, NO_BOOST, 1f).isEmpty());
+    }
+
+    @Test
+    void builder_SkipsNormalizedDuplicatesKeepingTheFirst() {
+        // Given
+        FoodSearchIndex deduplicated = new FoodSearchIndex.Builder()
+                .add("Greek Yogurt", "Fage", 5201054017012L)
+                .add("greek  yogurt!", "FAGE", -1)
+                .build();
+
+        // Then
+        assertEquals(1, deduplicated.size());
+        assertEquals(5201054017012L, deduplicated.barcode(0));
+    }
+
+    @Test
+    void search_PrunedTopKMatchesUnprunedRanking() {
+        // Given
+        String[] words = {"greek", "yogurt", "honey", "oat", "milk", "chocolate", "chicken", "rice", "bar", "protein"};
+        FoodSearchIndex.Builder builder = new FoodSearchIndex.Builder();
+        for (int i = 0; i < 20_000; i++) {
+            builder.add(words[i % 10] + " " + words[(i / 10) % 10] + " " + words[(i / 100) % 10] + " " + i,
+                    "Brand " + (i % 37), -1);
+        }
+        FoodSearchIndex large = builder.build();
+
+        // When
+        List<FoodSearchIndex.Hit> top = large.search("greek yogurt choc", 5, NO_BOOST, 1f);
+        List<FoodSearchIndex.Hit> all = large.search("greek yogurt choc", 20_000, NO_BOOST, 1f);
+
+        // Then
+        // Pruned documents sum their grams in a different order, so scores may differ in the last float bit
+        assertEquals(5, top.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(all.get(i).score(), top.get(i).score(), 1e-4f);
+        }
+    }
+
+    @Test
+    void grams_PrefixEachWordAndCoverShortWords() {
+        assertEquals(2, FoodSearchIndex.grams("oat").length);
+        assertEquals(1, FoodSearchIndex.grams("a").length);
+        assertEquals(3, FoodSearchIndex.grams("oat a").length);
+        assertEquals("greek yogurt 0", FoodSearchIndex.normalize("  Greek   Yogurt, 0%"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.FoodSearchResultDto;
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({FoodSearchService.class, FoodCatalogService.class})
+class FoodSearchServiceTest {
+
+    @Autowired
+    private FoodSearchService foodSearchService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        persistEntry(1L, LocalDate.of(2024, 6, 1), "Greek Yogurt Honey", "Chobani");
+        persistEntry(2L, LocalDate.of(2024, 6, 1), "Greek Yogurt Plain", "Fage");
+        persistEntry(2L, LocalDate.of(2024, 6, 2), "greek yogurt plain", "FAGE");
+        foodSearchService.rebuild();
+    }
+
+    @Test
+    void search_RanksUsersRecentFoodFirstAndFlagsIt() {
+        // When
+        ApiResponse<List<FoodSearchResultDto>> forFirstUser = foodSearchService.search(1L, "greek yogurt", 10);
+        ApiResponse<List<FoodSearchResultDto>> forSecondUser = foodSearchService.search(2L, "greek yogurt", 10);
+
+        // Then
+        assertTrue(forFirstUser.isSuccess());
+        assertEquals(2, forFirstUser.getData().size());
+        assertEquals("Greek Yogurt Honey", forFirstUser.getData().get(0).getFoodName());
+        assertTrue(forFirstUser.getData().get(0).isRecentlyLogged());
+        assertFalse(forFirstUser.getData().get(1).isRecentlyLogged());
+
+        assertEquals("Greek Yogurt Plain", forSecondUser.getData().get(0).getFoodName());
+        assertTrue(forSecondUser.getData().get(0).isRecentlyLogged());
+    }
+
+    @Test
+    void search_WithoutUserOrQuery_ReturnsUnboostedOrEmptyResults() {
+        // When
+        ApiResponse<List<FoodSearchResultDto>> anonymous = foodSearchService.search(null, "yog", 1);
+        ApiResponse<List<FoodSearchResultDto>> blank = foodSearchService.search(1L, " ", 10);
+
+        // Then
+        assertEquals(1, anonymous.getData().size());
+        assertFalse(anonymous.getData().get(0).isRecentlyLogged());
+        assertNull(anonymous.getData().get(0).getBarcode());
+        assertTrue(blank.isSuccess());
+        assertTrue(blank.getData().isEmpty());
+    }
+
+    private void persistEntry(Long userId, LocalDate logDate, String foodName, String brand) {
+        NutritionLog nutritionLog = new NutritionLog();
+        nutritionLog.setUserId(userId);
+        nutritionLog.setLogDate(logDate);
+        nutritionLog.setMealType(NutritionLog.MealType.BREAKFAST);
+        entityManager.persist(nutritionLog);
+
+        FoodEntry foodEntry = new FoodEntry();
+        foodEntry.setFoodName(foodName);
+        foodEntry.setBrand(brand);
+        foodEntry.setCalories(100);
+        foodEntry.setNutritionLog(nutritionLog);
+        entityManager.persistAndFlush(foodEntry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.MealPlanDayDto;
+import com.fitness_application.nutrition.dto.MealPlanDto;
+import com.fitness_application.nutrition.dto.MealPlanRequestDto;
+import com.fitness_application.nutrition.dto.PlannedMealDto;
+import com.fitness_application.nutrition.model.NutritionLog;
+import com.fitness_application.nutrition.repository.FoodEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MealPlanServiceTest {
+
+    @Mock
+    private FoodEntryRepository foodEntryRepository;
+
+    private MealPlanService mealPlanService;
+
+    @BeforeEach
+    void setUp() {
+        mealPlanService = new MealPlanService(foodEntryRepository, 2_000_000);
+    }
+
+    @Test
+    void generatePlan_SevenDaysOfMealsWithinTolerance() {
+        // Given
+        when(foodEntryRepository.findLoggedFoods(eq(1L), any())).thenReturn(List.of());
+        MealPlanRequestDto request = new MealPlanRequestDto();
+        request.setDailyCalories(2200);
+        request.setGoal("BUILD_MUSCLE");
+        request.setStartDate(LocalDate.of(2024, 6, 3));
+
+        // When
+        ApiResponse<MealPlanDto> response = mealPlanService.generatePlan(1L, request);
+
+        // Then
+        assertTrue(response.isSuccess());
+        MealPlanDto plan = response.getData();
+        assertEquals(7, plan.getDays().size());
+        assertEquals(LocalDate.of(2024, 6, 9), plan.getDays().get(6).getDate());
+        assertTrue(plan.isWithinTolerance());
+        for (MealPlanDayDto day : plan.getDays()) {
+            assertEquals(List.of("BREAKFAST", "LUNCH", "DINNER", "SNACK"),
+                    day.getMeals().stream().map(PlannedMealDto::getMealType).toList());
+            assertEquals(2200, day.getCalories(), 2200 * 0.10);
+        }
+        // Consecutive days get different meals
+        assertNotEquals(plan.getDays().get(0).getMeals().get(1).getFoods(), plan.getDays().get(1).getMeals().get(1).getFoods());
+    }
+
+    @Test
+    void generatePlan_PrefersFoodsTheUserLoggedForThatMeal() {
+        // Given
+        // 550 kcal with 41 g protein, 55 g carbs and 18 g fat is breakfast's share of 2200 kcal for BUILD_MUSCLE
+        when(foodEntryRepository.findLoggedFoods(eq(1L), any())).thenReturn(List.of(
+                new LoggedFood("Protein overnight oats", "Homemade", "1 jar", 550, 41.0, 55.0, 18.0,
+                        NutritionLog.MealType.BREAKFAST, 12)));
+        MealPlanRequestDto request = new MealPlanRequestDto();
+        request.setDailyCalories(2200);
+        request.setGoal("BUILD_MUSCLE");
+        request.setDays(1);
+
+        // When
+        MealPlanDto plan = mealPlanService.generatePlan(1L, request).getData();
+
+        // Then
+        PlannedMealDto breakfast = plan.getDays().get(0).getMeals().get(0);
+        assertEquals("Protein overnight oats", breakfast.getFoods().get(0).getFoodName());
+        assertTrue(breakfast.getFoods().get(0).isFromHistory());
+        plan.getDays().get(0).getMeals().subList(1, 4).forEach(meal ->
+                meal.getFoods().forEach(food -> assertNotEquals("Protein overnight oats", food.getFoodName())));
+    }
+
+    @Test
+    void dailyTargets_FillsMissingMacrosFromGoalSplit() {
+        // Given
+        MealPlanRequestDto request = new MealPlanRequestDto();
+        request.setDailyCalories(2000);
+        request.setGoal("lose_weight");
+        request.setFatGrams(50.0);
+
+        // When
+        MealPlanSolver.Targets targets = MealPlanService.dailyTargets(request);
+
+        // Then
+        assertEquals(175.0, targets.protein(), 1e-9);
+        assertEquals(175.0, targets.carbs(), 1e-9);
+        assertEquals(50.0, targets.fat(), 1e-9);
+    }
+
+    @Test
+    void generatePlan_InvalidRequest_ReturnsError() {
+        MealPlanRequestDto noCalories = new MealPlanRequestDto();
+        MealPlanRequestDto tooManyDays = new MealPlanRequestDto();
+        tooManyDays.setDailyCalories(2000);
+        tooManyDays.setDays(MealPlanService.MAX_DAYS + 1);
+        MealPlanRequestDto unknownGoal = new MealPlanRequestDto();
+        unknownGoal.setDailyCalories(2000);
+        unknownGoal.setGoal("GET_SHREDDED");
+
+        assertFalse(mealPlanService.generatePlan(1L, noCalories).isSuccess());
+        assertFalse(mealPlanService.generatePlan(1L, tooManyDays).isSuccess());
+        assertFalse(mealPlanService.generatePlan(1L, unknownGoal).isSuccess());
+    }
+
+    private record LoggedFood(String getFoodName, String getBrand, String getUnit, Integer getCalories,
+                              Double getProtein, Double getCarbs, Double getFat,
+                              NutritionLog.MealType getMealType, long getTimesLogged)
+            implements FoodEntryRepository.LoggedFood {
+    }
+}
@@ -0,0 +1,117 @@
+package com.fitness_application.nutrition.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MealPlanSolverTest {
+
+    private static final MealPlanSolver.Targets TARGETS = new MealPlanSolver.Targets(600, 40, 60, 20);
+
+    private final MealPlanSolver solver = new MealPlanSolver(ForkJoinPool.commonPool(), 10_000_000);
+
+    @Test
+    void solve_ExactCombinationExists_FindsIt() {
+        // Given
+        // 2 x chicken + 1 x rice + 1 x oil is exactly 600 kcal, 40 g protein, 60 g carbs, 20 g fat
+        List<MealPlanSolver.Food> foods = List.of(
+                food("Broccoli", 30, 2.5, 6, 0.3, false),
+                food("Chicken", 140, 20, 0, 1.5, false),
+                food("Rice", 200, 0, 50, 0, false),
+                food("Oil", 120, 0, 10, 17, false),
+                food("Cheese", 110, 7, 0.5, 9, false));
+
+        // When
+        MealPlanSolver.Meal best = solver.solve(List.of(new MealPlanSolver.Problem(foods, TARGETS, 1)))
+                .meals().get(0).get(0);
+
+        // Then
+        assertArrayEquals(new int[]{1, 2, 3}, best.foods());
+        assertArrayEquals(new double[]{2, 1, 1}, best.servings());
+        assertEquals(3 * MealPlanSolver.UNFAMILIAR_FOOD_COST, best.cost(), 1e-9);
+    }
+
+    @Test
+    void solve_ReturnsAlternativesBestFirstWithDistinctFoodSets() {
+        // When
+        List<MealPlanSolver.Meal> meals = solver.solve(List.of(new MealPlanSolver.Problem(mixedFoods(), TARGETS, 7)))
+                .meals().get(0);
+
+        // Then
+        assertEquals(7, meals.size());
+        Set<String> foodSets = new HashSet<>();
+        for (int i = 0; i < meals.size(); i++) {
+            assertTrue(foodSets.add(Arrays.toString(meals.get(i).foods())));
+            assertTrue(meals.get(i).foods().length <= MealPlanSolver.MAX_FOODS_PER_MEAL);
+            if (i > 0) {
+                assertTrue(meals.get(i - 1).cost() <= meals.get(i).cost());
+            }
+        }
+    }
+
+    @Test
+    void solve_ParallelSearchMatchesSingleThreadedSearch() {
+        // Given
+        List<MealPlanSolver.Problem> problems = List.of(
+                new MealPlanSolver.Problem(mixedFoods(), TARGETS, 5),
+                new MealPlanSolver.Problem(mixedFoods(), new MealPlanSolver.Targets(250, 20, 25, 8), 5));
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+
+        // When
+        MealPlanSolver.Solution parallel = solver.solve(problems);
+        MealPlanSolver.Solution sequential = new MealPlanSolver(singleThread, 10_000_000).solve(problems);
+        singleThread.shutdown();
+
+        // Then
+        // Tasks finish in a different order, so only the costs have to agree; ties may pick different foods
+        for (int p = 0; p < problems.size(); p++) {
+            assertEquals(costs(sequential.meals().get(p)), costs(parallel.meals().get(p)));
+        }
+    }
+
+    @Test
+    void solve_NodeBudgetStopsSearchEarly() {
+        // When
+        MealPlanSolver.Solution complete = solver.solve(List.of(new MealPlanSolver.Problem(mixedFoods(), TARGETS, 1)));
+        MealPlanSolver.Solution bounded = new MealPlanSolver(ForkJoinPool.commonPool(), 10_000)
+                .solve(List.of(new MealPlanSolver.Problem(mixedFoods(), TARGETS, 1)));
+
+        // Then
+        assertTrue(bounded.nodes() < complete.nodes());
+        assertFalse(bounded.meals().get(0).isEmpty());
+        assertTrue(bounded.meals().get(0).get(0).cost() >= complete.meals().get(0).get(0).cost());
+    }
+
+    @Test
+    void withinTolerance_UsesFloorForSmallTargets() {
+        MealPlanSolver.Targets targets = new MealPlanSolver.Targets(200, 10, 30, 2);
+
+        // 2.4 g fat against a 2 g target is a 20% miss, but only 8% of the 5 g floor
+        assertTrue(MealPlanSolver.withinTolerance(new double[]{210, 10.5, 28, 2.4}, targets, 0.10));
+        assertFalse(MealPlanSolver.withinTolerance(new double[]{230, 10.5, 28, 2.4}, targets, 0.10));
+    }
+
+    private static List<MealPlanSolver.Food> mixedFoods() {
+        List<MealPlanSolver.Food> foods = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            foods.add(food("Food " + i, 60 + 13 * i, (i * 7) % 25, (i * 11) % 40, (i * 5) % 15, i % 3 == 0));
+        }
+        return foods;
+    }
+
+    private static List<Double> costs(List<MealPlanSolver.Meal> meals) {
+        return meals.stream().map(meal -> Math.round(meal.cost() * 1e9) / 1e9).toList();
+    }
+
+    private static MealPlanSolver.Food food(String name, double calories, double protein, double carbs, double fat,
+                                            boolean familiar) {
+        return new MealPlanSolver.Food(name, null, "serving", calories, protein, carbs, fat, 0.5, 2, familiar);
+    }
+}
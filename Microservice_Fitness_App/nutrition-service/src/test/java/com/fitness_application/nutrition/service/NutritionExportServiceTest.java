@@ -0,0 +1,154 @@
+package com.fitness_application.nutrition.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness_application.nutrition.mapper.NutritionMapper;
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({NutritionExportService.class, NutritionMapper.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class NutritionExportServiceTest {
+
+    @Autowired
+    private NutritionExportService nutritionExportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Long userId = 1L;
+    private final LocalDate day = LocalDate.of(2024, 5, 31);
+
+    @Test
+    void exportCsv_WritesOneRowPerEntryAndQuotesSpecialCharacters() throws Exception {
+        // Given
+        NutritionLog breakfast = log(userId, day, NutritionLog.MealType.BREAKFAST);
+        FoodEntry oats = entry(breakfast, "Oats", "Generic", null);
+        FoodEntry milk = entry(breakfast, "Milk, whole", "Farm \"Fresh\"", "cold\nfrom the fridge");
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = nutritionExportService.exportNutritionLogs(userId, null, null,
+                NutritionExportService.Format.CSV, out);
+
+        // Then
+        assertEquals(1, exported);
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith(NutritionExportService.CSV_HEADER + "\n"));
+        assertTrue(csv.contains("," + oats.getId() + ",Oats,Generic,"));
+        assertTrue(csv.contains("," + milk.getId() + ",\"Milk, whole\",\"Farm \"\"Fresh\"\"\","));
+        assertTrue(csv.endsWith(",\"cold\nfrom the fridge\"\n"));
+    }
+
+    @Test
+    void exportCsv_LogWithoutEntries_WritesRowWithEmptyEntryColumns() throws Exception {
+        // Given
+        NutritionLog snack = log(userId, day, NutritionLog.MealType.SNACK);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        nutritionExportService.exportNutritionLogs(userId, null, null, NutritionExportService.Format.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith(snack.getId() + "," + day + ",SNACK,"));
+        assertEquals(NutritionExportService.CSV_HEADER.split(",", -1).length, lines[1].split(",", -1).length);
+        assertTrue(lines[1].endsWith(",,,,,,,,,,,,,"));
+    }
+
+    @Test
+    void exportNdjson_GroupsEntriesPerLogOldestFirstWithinDateRange() throws Exception {
+        // Given
+        NutritionLog tooEarly = log(userId, day.minusDays(10), NutritionLog.MealType.LUNCH);
+        entry(tooEarly, "Rice", "Generic", null);
+        NutritionLog later = log(userId, day.plusDays(1), NutritionLog.MealType.DINNER);
+        entry(later, "Salmon", "Generic", null);
+        NutritionLog earlier = log(userId, day, NutritionLog.MealType.LUNCH);
+        entry(earlier, "Bread", "Generic", null);
+        entry(earlier, "Cheese", "Generic", null);
+        log(2L, day, NutritionLog.MealType.LUNCH);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = nutritionExportService.exportNutritionLogs(userId, day, day.plusDays(1),
+                NutritionExportService.Format.NDJSON, out);
+
+        // Then
+        assertEquals(2, exported);
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("\n"));
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(earlier.getId().longValue(), first.get("id").asLong());
+        assertEquals(2, first.get("foodEntries").size());
+        assertEquals("Bread", first.get("foodEntries").get(0).get("foodName").asText());
+        assertEquals("Cheese", first.get("foodEntries").get(1).get("foodName").asText());
+
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(later.getId().longValue(), second.get("id").asLong());
+        assertEquals(1, second.get("foodEntries").size());
+    }
+
+    @Test
+    void exportNdjson_NoLogs_WritesNothing() throws Exception {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = nutritionExportService.exportNutritionLogs(userId, null, null,
+                NutritionExportService.Format.NDJSON, out);
+
+        // Then
+        assertEquals(0, exported);
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void formatParse_IgnoresCaseAndRejectsUnknownNames() {
+        assertEquals(NutritionExportService.Format.CSV, NutritionExportService.Format.parse("csv"));
+        assertEquals(NutritionExportService.Format.NDJSON, NutritionExportService.Format.parse(" NDJson "));
+        assertThrows(IllegalArgumentException.class, () -> NutritionExportService.Format.parse("xml"));
+    }
+
+    private NutritionLog log(Long userId, LocalDate logDate, NutritionLog.MealType mealType) {
+        NutritionLog nutritionLog = new NutritionLog();
+        nutritionLog.setUserId(userId);
+        nutritionLog.setLogDate(logDate);
+        nutritionLog.setMealType(mealType);
+        return entityManager.persist(nutritionLog);
+    }
+
+    private FoodEntry entry(NutritionLog nutritionLog, String foodName, String brand, String notes) {
+        FoodEntry foodEntry = new FoodEntry();
+        foodEntry.setNutritionLog(nutritionLog);
+        foodEntry.setFoodName(foodName);
+        foodEntry.setBrand(brand);
+        foodEntry.setCalories(100);
+        foodEntry.setNotes(notes);
+        return entityManager.persist(foodEntry);
+    }
+}
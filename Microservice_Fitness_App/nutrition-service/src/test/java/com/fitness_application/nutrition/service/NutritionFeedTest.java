@@ -0,0 +1,121 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.CursorPage;
+import com.fitness_application.nutrition.dto.NutritionLogDto;
+import com.fitness_application.nutrition.mapper.NutritionMapper;
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({NutritionService.class, DataVersionService.class, NutritionTotalsService.class,
+        NutritionRollupService.class, TodayLogCache.class, SimpleMeterRegistry.class, NutritionMapper.class})
+class NutritionFeedTest {
+
+    @Autowired
+    private NutritionService nutritionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final Long userId = 1L;
+    private final LocalDate day = LocalDate.of(2024, 6, 30);
+
+    @Test
+    void getNutritionLogFeed_WalksNewestFirstWithEntries() {
+        // Given
+        Long oldest = persist(userId, day.minusDays(2));
+        Long newest = persist(userId, day);
+        Long middle = persist(userId, day.minusDays(1));
+        persist(2L, day);
+
+        // When
+        List<NutritionLogDto> logs = walkFeed(2);
+
+        // Then
+        assertEquals(List.of(newest, middle, oldest), logs.stream().map(NutritionLogDto::getId).toList());
+        assertEquals("Oats", logs.get(0).getFoodEntries().get(0).getFoodName());
+    }
+
+    @Test
+    void getNutritionLogFeed_ReturnsUndatedLogsLastNewestIdFirstAcrossPages() {
+        // Dates are unique per user, so the only ties are between undated logs
+        // Given
+        Long undatedLow = persist(userId, null);
+        Long dated = persist(userId, day);
+        Long undatedMid = persist(userId, null);
+        Long undatedHigh = persist(userId, null);
+
+        // When
+        List<Long> pageOfOne = walkFeed(1).stream().map(NutritionLogDto::getId).toList();
+        List<Long> pageOfTwo = walkFeed(2).stream().map(NutritionLogDto::getId).toList();
+
+        // Then
+        List<Long> expected = List.of(dated, undatedHigh, undatedMid, undatedLow);
+        assertEquals(expected, pageOfOne);
+        assertEquals(expected, pageOfTwo);
+    }
+
+    @Test
+    void getNutritionLogFeed_RejectsInvalidCursor() {
+        ApiResponse<CursorPage<NutritionLogDto>> response = nutritionService.getNutritionLogFeed(userId, "not-a-cursor", 10);
+
+        assertFalse(response.isSuccess());
+    }
+
+    @Test
+    void feedCursor_RoundTripsUndatedLog() {
+        NutritionLog nutritionLog = new NutritionLog();
+        nutritionLog.setId(42L);
+
+        NutritionFeedCursor cursor = NutritionFeedCursor.decode(NutritionFeedCursor.of(nutritionLog).encode());
+
+        assertNull(cursor.getLogDate());
+        assertEquals(42L, cursor.getId());
+    }
+
+    // Follows next cursors to the end, failing if the walk doesn't terminate
+    private List<NutritionLogDto> walkFeed(int pageSize) {
+        List<NutritionLogDto> logs = new ArrayList<>();
+        String after = null;
+        for (int page = 0; page < 20; page++) {
+            ApiResponse<CursorPage<NutritionLogDto>> response = nutritionService.getNutritionLogFeed(userId, after, pageSize);
+            assertTrue(response.isSuccess(), response.getMessage());
+            logs.addAll(response.getData().getItems());
+            if (!response.getData().isHasMore()) {
+                return logs;
+            }
+            after = response.getData().getNextCursor();
+        }
+        return fail("Feed did not end");
+    }
+
+    private Long persist(Long userId, LocalDate logDate) {
+        NutritionLog nutritionLog = new NutritionLog();
+        nutritionLog.setUserId(userId);
+        nutritionLog.setLogDate(logDate);
+        nutritionLog.setMealType(NutritionLog.MealType.LUNCH);
+        entityManager.persist(nutritionLog);
+
+        FoodEntry foodEntry = new FoodEntry();
+        foodEntry.setFoodName("Oats");
+        foodEntry.setBrand("Generic");
+        foodEntry.setCalories(150);
+        foodEntry.setNutritionLog(nutritionLog);
+        entityManager.persist(foodEntry);
+        entityManager.flush();
+        return nutritionLog.getId();
+    }
+}
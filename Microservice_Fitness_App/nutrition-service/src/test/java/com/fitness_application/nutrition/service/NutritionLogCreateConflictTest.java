@@ -0,0 +1,93 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.NutritionLogDto;
+import com.fitness_application.nutrition.mapper.NutritionMapper;
+import com.fitness_application.nutrition.repository.FoodEntryRepository;
+import com.fitness_application.nutrition.repository.NutritionLogRepository;
+import com.fitness_application.nutrition.repository.NutritionRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each create commits or rolls back on its own, as it does behind the controller
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({NutritionService.class, DataVersionService.class, NutritionTotalsService.class,
+        NutritionRollupService.class, TodayLogCache.class, SimpleMeterRegistry.class, NutritionMapper.class})
+class NutritionLogCreateConflictTest {
+
+    @Autowired
+    private NutritionService nutritionService;
+
+    @Autowired
+    private NutritionLogRepository nutritionLogRepository;
+
+    @Autowired
+    private FoodEntryRepository foodEntryRepository;
+
+    @Autowired
+    private NutritionRollupRepository rollupRepository;
+
+    private final Long userId = 1L;
+    private final LocalDate day = LocalDate.of(2024, 6, 1);
+
+    @AfterEach
+    void tearDown() {
+        foodEntryRepository.deleteAll();
+        nutritionLogRepository.deleteAll();
+        rollupRepository.deleteAll();
+    }
+
+    @Test
+    void create_RetriedWithSameKey_ReturnsTheLogTheFirstAttemptCreated() {
+        // Given
+        Long createdId = nutritionService.createNutritionLog(userId, log(day), "retry-key").getData().getId();
+
+        // When
+        assertThrows(DataIntegrityViolationException.class,
+                () -> nutritionService.createNutritionLog(userId, log(day), "retry-key"));
+        ApiResponse<NutritionLogDto> resolved = nutritionService.resolveCreateConflict(userId, day, "retry-key");
+
+        // Then
+        assertTrue(resolved.isSuccess());
+        assertEquals(createdId, resolved.getData().getId());
+        assertEquals(1, nutritionLogRepository.count());
+    }
+
+    @Test
+    void create_SameDateFromAnotherRequest_IsRejectedWithTheExistingLog() {
+        // Given
+        Long createdId = nutritionService.createNutritionLog(userId, log(day), "first").getData().getId();
+
+        // When
+        assertThrows(DataIntegrityViolationException.class,
+                () -> nutritionService.createNutritionLog(userId, log(day), "second"));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> nutritionService.createNutritionLog(userId, log(day), null));
+        ApiResponse<NutritionLogDto> resolved = nutritionService.resolveCreateConflict(userId, day, "second");
+
+        // Then
+        assertFalse(resolved.isSuccess());
+        assertEquals(createdId, resolved.getData().getId());
+        assertEquals(1, nutritionLogRepository.count());
+        assertTrue(nutritionService.createNutritionLog(userId, log(day.plusDays(1)), null).isSuccess());
+    }
+
+    private NutritionLogDto log(LocalDate logDate) {
+        NutritionLogDto nutritionLogDto = new NutritionLogDto();
+        nutritionLogDto.setLogDate(logDate);
+        nutritionLogDto.setMealType("LUNCH");
+        return nutritionLogDto;
+    }
+}
@@ -0,0 +1,103 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.model.NutritionLog;
+import com.fitness_application.nutrition.model.NutritionRollup;
+import com.fitness_application.nutrition.repository.NutritionRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each writer commits or rolls back on its own, as it does behind the controller
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(NutritionRollupService.class)
+class NutritionRollupConcurrencyTest {
+
+    private static final int WRITERS = 8;
+    private static final int DAYS = 7;
+
+    @Autowired
+    private NutritionRollupService nutritionRollupService;
+
+    @Autowired
+    private NutritionRollupRepository rollupRepository;
+
+    private final Long userId = 7L;
+    // A Monday, so the seven days share one week and one month
+    private final LocalDate monday = LocalDate.of(2024, 6, 3);
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+    }
+
+    @Test
+    void add_ConcurrentFirstWritesForAPeriod_AllLand() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+
+        try {
+            for (int d = 0; d < DAYS; d++) {
+                LocalDate day = monday.plusDays(d);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> writes = new ArrayList<>();
+                for (int i = 0; i < WRITERS; i++) {
+                    writes.add(executor.submit(() -> {
+                        start.await();
+                        nutritionRollupService.add(log(day));
+                        return null;
+                    }));
+                }
+
+                // When
+                start.countDown();
+                for (Future<?> write : writes) {
+                    write.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        Map<NutritionRollup.Period, List<NutritionRollup>> byPeriod = rollupRepository.findByUserId(userId).stream()
+                .collect(Collectors.groupingBy(NutritionRollup::getPeriod));
+        assertEquals(DAYS, byPeriod.get(NutritionRollup.Period.DAY).size());
+        byPeriod.get(NutritionRollup.Period.DAY).forEach(rollup -> {
+            assertEquals(WRITERS, rollup.getLogCount());
+            assertEquals(WRITERS * 500L, rollup.getTotalCalories());
+        });
+        NutritionRollup week = byPeriod.get(NutritionRollup.Period.WEEK).get(0);
+        assertEquals(1, byPeriod.get(NutritionRollup.Period.WEEK).size());
+        assertEquals(DAYS * WRITERS, week.getLogCount());
+        NutritionRollup month = byPeriod.get(NutritionRollup.Period.MONTH).get(0);
+        assertEquals(1, byPeriod.get(NutritionRollup.Period.MONTH).size());
+        assertEquals(DAYS * WRITERS * 500L, month.getTotalCalories());
+    }
+
+    private NutritionLog log(LocalDate logDate) {
+        NutritionLog nutritionLog = new NutritionLog();
+        nutritionLog.setUserId(userId);
+        nutritionLog.setLogDate(logDate);
+        nutritionLog.setMealType(NutritionLog.MealType.LUNCH);
+        nutritionLog.setTotalCalories(500);
+        nutritionLog.setTotalProtein(30.0);
+        return nutritionLog;
+    }
+}
@@ -0,0 +1,58 @@
+package com.fitness_application.nutrition.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NutritionRollupJobTest {
+
+    @Mock
+    private NutritionRollupService nutritionRollupService;
+
+    @InjectMocks
+    private NutritionRollupJob nutritionRollupJob;
+
+    @Test
+    void rebuildAll_FailingUserDoesNotStopTheRest() {
+        // Given
+        when(nutritionRollupService.findUserIds()).thenReturn(List.of(1L, 2L, 3L));
+        doNothing().when(nutritionRollupService).rebuild(anyLong());
+        doThrow(new DataIntegrityViolationException("duplicate rollup")).when(nutritionRollupService).rebuild(2L);
+
+        // When
+        int rebuilt = nutritionRollupJob.rebuildAll();
+
+        // Then
+        assertEquals(2, rebuilt);
+        verify(nutritionRollupService).rebuild(1L);
+        verify(nutritionRollupService).rebuild(3L);
+    }
+
+    @Test
+    void checkConsistency_FailingUserDoesNotStopTheRest() {
+        // Given
+        when(nutritionRollupService.findUserIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(nutritionRollupService.findInconsistentPeriods(1L)).thenThrow(new IllegalStateException("query failed"));
+        when(nutritionRollupService.findInconsistentPeriods(2L)).thenReturn(List.of("DAY 2024-03-15"));
+        when(nutritionRollupService.findInconsistentPeriods(3L)).thenReturn(List.of("DAY 2024-03-15"));
+        doNothing().when(nutritionRollupService).rebuild(anyLong());
+        doThrow(new DataIntegrityViolationException("duplicate rollup")).when(nutritionRollupService).rebuild(2L);
+
+        // When
+        int repaired = nutritionRollupJob.checkConsistency();
+
+        // Then
+        assertEquals(1, repaired);
+        verify(nutritionRollupService).rebuild(3L);
+    }
+}
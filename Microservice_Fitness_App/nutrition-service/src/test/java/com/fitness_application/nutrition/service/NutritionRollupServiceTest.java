@@ -0,0 +1,125 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.NutritionTrendDto;
+import com.fitness_application.nutrition.model.NutritionLog;
+import com.fitness_application.nutrition.model.NutritionRollup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(NutritionRollupService.class)
+class NutritionRollupServiceTest {
+
+    @Autowired
+    private NutritionRollupService nutritionRollupService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final Long userId = 1L;
+    // A Friday, so the week starts on 2024-05-27 and the month on 2024-05-01
+    private final LocalDate day = LocalDate.of(2024, 5, 31);
+
+    @Test
+    void addReplaceAndRemove_MaintainDayWeekAndMonthRollups() {
+        // Given
+        NutritionLog friday = log(day, 2000, 100.0);
+        NutritionLog saturday = log(day.plusDays(1), 1500, 80.0);
+        NutritionLog sunday = log(day.plusDays(2), 1800, 90.0);
+        nutritionRollupService.add(friday);
+        nutritionRollupService.add(saturday);
+        nutritionRollupService.add(sunday);
+
+        // When
+        NutrientTotals before = NutrientTotals.of(saturday);
+        saturday.setTotalCalories(1700);
+        nutritionRollupService.replace(saturday.getLogDate(), before, saturday);
+        nutritionRollupService.applyTotals(friday, new NutrientTotals(100, 5.0, 0.0, 0.0, 0.0, 0.0, 0.0));
+        nutritionRollupService.remove(sunday);
+
+        // Then
+        NutritionTrendDto days = trend(NutritionRollup.Period.DAY, day.minusDays(6), day.plusDays(6));
+        assertArrayEquals(new LocalDate[]{day, day.plusDays(1)}, days.getPeriodStarts());
+        assertArrayEquals(new long[]{2100, 1700}, days.getCalories());
+        assertArrayEquals(new double[]{105.0, 80.0}, days.getProtein());
+
+        NutritionTrendDto weeks = trend(NutritionRollup.Period.WEEK, day, day.plusDays(6));
+        assertArrayEquals(new LocalDate[]{LocalDate.of(2024, 5, 27)}, weeks.getPeriodStarts());
+        assertArrayEquals(new int[]{2}, weeks.getLogCounts());
+        assertArrayEquals(new long[]{3800}, weeks.getCalories());
+
+        NutritionTrendDto months = trend(NutritionRollup.Period.MONTH, day, day.plusDays(6));
+        assertArrayEquals(new LocalDate[]{LocalDate.of(2024, 5, 1), LocalDate.of(2024, 6, 1)}, months.getPeriodStarts());
+        assertArrayEquals(new long[]{2100, 1700}, months.getCalories());
+    }
+
+    @Test
+    void replace_MovedLog_LeavesOldPeriodsAndCountsInNewOnes() {
+        // Given
+        NutritionLog nutritionLog = log(day, 2000, 100.0);
+        nutritionRollupService.add(nutritionLog);
+
+        // When
+        nutritionLog.setLogDate(day.plusDays(1));
+        nutritionRollupService.replace(day, NutrientTotals.of(nutritionLog), nutritionLog);
+
+        // Then
+        NutritionTrendDto months = trend(NutritionRollup.Period.MONTH, day, day.plusDays(1));
+        assertArrayEquals(new LocalDate[]{LocalDate.of(2024, 6, 1)}, months.getPeriodStarts());
+        assertArrayEquals(new int[]{1}, months.getLogCounts());
+    }
+
+    @Test
+    void getTrend_RejectsInvertedOrTooLongRanges() {
+        assertFalse(nutritionRollupService.getTrend(userId, NutritionRollup.Period.DAY, day, day.minusDays(1)).isSuccess());
+        assertFalse(nutritionRollupService.getTrend(userId, NutritionRollup.Period.DAY, day.minusDays(400), day).isSuccess());
+        assertTrue(nutritionRollupService.getTrend(userId, NutritionRollup.Period.WEEK, day.minusDays(400), day).isSuccess());
+    }
+
+    @Test
+    void findInconsistentPeriods_DetectsDriftAndRebuildRepairsIt() {
+        // Given
+        NutritionLog nutritionLog = log(day, 2000, 100.0);
+        entityManager.persist(nutritionLog);
+        entityManager.flush();
+
+        // Rollups never told about the log
+        assertEquals(List.of("DAY 2024-05-31", "MONTH 2024-05-01", "WEEK 2024-05-27"),
+                nutritionRollupService.findInconsistentPeriods(userId));
+
+        // When
+        nutritionRollupService.rebuild(userId);
+
+        // Then
+        assertTrue(nutritionRollupService.findInconsistentPeriods(userId).isEmpty());
+        assertArrayEquals(new long[]{2000}, trend(NutritionRollup.Period.DAY, day, day).getCalories());
+    }
+
+    private NutritionTrendDto trend(NutritionRollup.Period period, LocalDate from, LocalDate to) {
+        // Reads run in their own transaction in the service; drop rows the bulk updates have made stale
+        entityManager.flush();
+        entityManager.clear();
+        ApiResponse<NutritionTrendDto> response = nutritionRollupService.getTrend(userId, period, from, to);
+        assertTrue(response.isSuccess());
+        return response.getData();
+    }
+
+    private NutritionLog log(LocalDate logDate, int calories, double protein) {
+        NutritionLog nutritionLog = new NutritionLog();
+        nutritionLog.setUserId(userId);
+        nutritionLog.setLogDate(logDate);
+        nutritionLog.setMealType(NutritionLog.MealType.BREAKFAST);
+        nutritionLog.setTotalCalories(calories);
+        nutritionLog.setTotalProtein(protein);
+        return nutritionLog;
+    }
+}
@@ -0,0 +1,138 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.CursorPage;
+import com.fitness_application.nutrition.dto.NutritionLogDto;
+import com.fitness_application.nutrition.mapper.NutritionMapper;
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({NutritionService.class, DataVersionService.class, NutritionTotalsService.class,
+        NutritionRollupService.class, TodayLogCache.class, SimpleMeterRegistry.class, NutritionMapper.class})
+class NutritionServiceQueryCountTest {
+
+    // Page select + page count + one batched food entry select
+    private static final long EXPECTED_QUERIES_PER_PAGE = 3;
+    // Keyset select + one batched food entry select
+    private static final long EXPECTED_QUERIES_PER_FEED_PAGE = 2;
+
+    @Autowired
+    private NutritionService nutritionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final Long userId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < 120; i++) {
+            NutritionLog nutritionLog = new NutritionLog();
+            nutritionLog.setUserId(userId);
+            nutritionLog.setLogDate(LocalDate.of(2024, 6, 30).minusDays(i));
+            nutritionLog.setMealType(NutritionLog.MealType.LUNCH);
+            entityManager.persist(nutritionLog);
+
+            for (int j = 0; j < 3; j++) {
+                FoodEntry foodEntry = new FoodEntry();
+                foodEntry.setFoodName("Food " + j);
+                foodEntry.setBrand("Generic");
+                foodEntry.setCalories(100 + j);
+                foodEntry.setNutritionLog(nutritionLog);
+                entityManager.persist(foodEntry);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getNutritionLogs_QueryCountIndependentOfPageSize() {
+        long smallPageQueries = countQueries(5);
+        long largePageQueries = countQueries(100);
+
+        assertEquals(EXPECTED_QUERIES_PER_PAGE, smallPageQueries);
+        assertEquals(EXPECTED_QUERIES_PER_PAGE, largePageQueries);
+    }
+
+    @Test
+    void getNutritionLogFeed_QueryCountIndependentOfPageSize() {
+        for (int size : new int[]{5, 100}) {
+            entityManager.clear();
+            statistics.clear();
+
+            ApiResponse<CursorPage<NutritionLogDto>> response = nutritionService.getNutritionLogFeed(userId, null, size);
+
+            assertTrue(response.isSuccess());
+            assertEquals(size, response.getData().getItems().size());
+            assertEquals(EXPECTED_QUERIES_PER_FEED_PAGE, statistics.getPrepareStatementCount());
+        }
+    }
+
+    @Test
+    void getNutritionLogs_GroupsFoodEntriesByLog() {
+        ApiResponse<List<NutritionLogDto>> response = nutritionService.getNutritionLogs(userId, 0, 20);
+
+        assertTrue(response.isSuccess());
+        assertEquals(20, response.getData().size());
+        response.getData().forEach(dto -> {
+            assertEquals(3, dto.getFoodEntries().size());
+            dto.getFoodEntries().forEach(entry -> assertEquals(dto.getId(), entry.getNutritionLogId()));
+        });
+    }
+
+    @Test
+    void getNutritionLogByDate_TodayServedFromCacheOnRepeat() {
+        // Given
+        NutritionLog today = new NutritionLog();
+        today.setUserId(userId);
+        today.setLogDate(LocalDate.now());
+        entityManager.persist(today);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        statistics.clear();
+        NutritionLogDto first = nutritionService.getNutritionLogByDate(userId, LocalDate.now()).getData();
+        long firstQueries = statistics.getPrepareStatementCount();
+        NutritionLogDto second = nutritionService.getNutritionLogByDate(userId, LocalDate.now()).getData();
+
+        // Then
+        assertEquals(today.getId(), first.getId());
+        assertSame(first, second);
+        assertEquals(firstQueries, statistics.getPrepareStatementCount());
+    }
+
+    private long countQueries(int pageSize) {
+        entityManager.clear();
+        statistics.clear();
+
+        ApiResponse<List<NutritionLogDto>> response = nutritionService.getNutritionLogs(userId, 0, pageSize);
+
+        assertTrue(response.isSuccess());
+        assertEquals(pageSize, response.getData().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
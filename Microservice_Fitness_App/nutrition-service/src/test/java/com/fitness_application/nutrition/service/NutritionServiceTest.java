@@ -3,6 +3,7 @@ package com.fitness_application.nutrition.service;
 import com.fitness_application.nutrition.dto.ApiResponse;
 import com.fitness_application.nutrition.dto.FoodEntryDto;
 import com.fitness_application.nutrition.dto.NutritionLogDto;
+import com.fitness_application.nutrition.mapper.NutritionMapper;
 import com.fitness_application.nutrition.model.FoodEntry;
 import com.fitness_application.nutrition.model.NutritionLog;
 import com.fitness_application.nutrition.repository.FoodEntryRepository;
@@ -13,7 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -40,7 +41,19 @@ class NutritionServiceTest {
     private FoodEntryRepository foodEntryRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private NutritionMapper nutritionMapper;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private NutritionTotalsService nutritionTotalsService;
+
+    @Mock
+    private NutritionRollupService nutritionRollupService;
+
+    @Mock
+    private TodayLogCache todayLogCache;
 
     @InjectMocks
     private NutritionService nutritionService;
@@ -55,18 +68,18 @@ class NutritionServiceTest {
         nutritionLog = new NutritionLog();
         nutritionLog.setId(1L);
         nutritionLog.setUserId(100L);
-        nutritionLog.setDate("2024-01-15");
-        nutritionLog.setTotalCalories(2000.0);
-        nutritionLog.setTotalCarbohydrates(250.0);
+        nutritionLog.setLogDate(LocalDate.of(2024, 1, 15));
+        nutritionLog.setTotalCalories(2000);
+        nutritionLog.setTotalCarbs(250.0);
         nutritionLog.setTotalProtein(150.0);
         nutritionLog.setTotalFat(70.0);
 
         nutritionLogDto = new NutritionLogDto();
         nutritionLogDto.setId(1L);
         nutritionLogDto.setUserId(100L);
-        nutritionLogDto.setDate("2024-01-15");
-        nutritionLogDto.setTotalCalories(2000.0);
-        nutritionLogDto.setTotalCarbohydrates(250.0);
+        nutritionLogDto.setLogDate(LocalDate.of(2024, 1, 15));
+        nutritionLogDto.setTotalCalories(2000);
+        nutritionLogDto.setTotalCarbs(250.0);
         nutritionLogDto.setTotalProtein(150.0);
         nutritionLogDto.setTotalFat(70.0);
 
@@ -74,34 +87,32 @@ class NutritionServiceTest {
         foodEntry.setId(1L);
         foodEntry.setFoodName("Apple");
         foodEntry.setCalories(95);
-        foodEntry.setCarbohydrates(25.0);
+        foodEntry.setCarbs(25.0);
         foodEntry.setProtein(0.5);
         foodEntry.setFat(0.3);
-        foodEntry.setServingSize(1.0);
+        foodEntry.setQuantity(1.0);
         foodEntry.setUnit("medium");
-        foodEntry.setBrandName("Generic");
+        foodEntry.setBrand("Generic");
         foodEntry.setNutritionLog(nutritionLog);
 
         foodEntryDto = new FoodEntryDto();
         foodEntryDto.setId(1L);
         foodEntryDto.setFoodName("Apple");
         foodEntryDto.setCalories(95);
-        foodEntryDto.setCarbohydrates(25.0);
+        foodEntryDto.setCarbs(25.0);
         foodEntryDto.setProtein(0.5);
         foodEntryDto.setFat(0.3);
-        foodEntryDto.setServingSize(1.0);
+        foodEntryDto.setQuantity(1.0);
         foodEntryDto.setUnit("medium");
-        foodEntryDto.setBrandName("Generic");
+        foodEntryDto.setBrand("Generic");
     }
 
     @Test
     void testCreateNutritionLogSuccess() {
         // Arrange
-        when(nutritionLogRepository.findByUserIdAndDate(100L, "2024-01-15"))
-                .thenReturn(Optional.empty());
-        when(modelMapper.map(nutritionLogDto, NutritionLog.class)).thenReturn(nutritionLog);
-        when(nutritionLogRepository.save(any(NutritionLog.class))).thenReturn(nutritionLog);
-        when(modelMapper.map(nutritionLog, NutritionLogDto.class)).thenReturn(nutritionLogDto);
+        when(nutritionMapper.toEntity(nutritionLogDto)).thenReturn(nutritionLog);
+        when(nutritionLogRepository.saveAndFlush(any(NutritionLog.class))).thenReturn(nutritionLog);
+        when(nutritionMapper.toDto(nutritionLog)).thenReturn(nutritionLogDto);
 
         // Act
         ApiResponse<NutritionLogDto> response = nutritionService.createNutritionLog(100L, nutritionLogDto);
@@ -109,24 +120,21 @@ class NutritionServiceTest {
         // Assert
         assertTrue(response.isSuccess());
         assertEquals(nutritionLogDto, response.getData());
-        verify(nutritionLogRepository).findByUserIdAndDate(100L, "2024-01-15");
-        verify(nutritionLogRepository).save(any(NutritionLog.class));
+        verify(nutritionLogRepository, never()).findByUserIdAndLogDate(any(), any());
+        verify(nutritionLogRepository).saveAndFlush(any(NutritionLog.class));
     }
 
     @Test
     void testCreateNutritionLogAlreadyExists() {
         // Arrange
-        when(nutritionLogRepository.findByUserIdAndDate(100L, "2024-01-15"))
-                .thenReturn(Optional.of(nutritionLog));
+        when(nutritionMapper.toEntity(nutritionLogDto)).thenReturn(nutritionLog);
+        when(nutritionLogRepository.saveAndFlush(any(NutritionLog.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_nutrition_logs_user_date"));
 
-        // Act
-        ApiResponse<NutritionLogDto> response = nutritionService.createNutritionLog(100L, nutritionLogDto);
-
-        // Assert
-        assertFalse(response.isSuccess());
-        assertEquals("Nutrition log already exists for this date", response.getMessage());
-        verify(nutritionLogRepository).findByUserIdAndDate(100L, "2024-01-15");
-        verify(nutritionLogRepository, never()).save(any(NutritionLog.class));
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> nutritionService.createNutritionLog(100L, nutritionLogDto));
+        verify(nutritionLogRepository, never()).findByUserIdAndLogDate(any(), any());
     }
 
     @Test
@@ -134,8 +142,9 @@ class NutritionServiceTest {
         // Arrange
         List<NutritionLog> logs = List.of(nutritionLog);
         Page<NutritionLog> logPage = new PageImpl<>(logs);
-        when(nutritionLogRepository.findByUserId(eq(100L), any(Pageable.class))).thenReturn(logPage);
-        when(modelMapper.map(nutritionLog, NutritionLogDto.class)).thenReturn(nutritionLogDto);
+        when(nutritionLogRepository.findByUserIdOrderByLogDateDesc(eq(100L), any(Pageable.class))).thenReturn(logPage);
+        when(foodEntryRepository.findByNutritionLogIdInOrderById(List.of(1L))).thenReturn(List.of(foodEntry));
+        when(nutritionMapper.toDto(nutritionLog, List.of(foodEntry))).thenReturn(nutritionLogDto);
 
         // Act
         ApiResponse<List<NutritionLogDto>> response = nutritionService.getNutritionLogs(100L, 0, 10);
@@ -144,14 +153,15 @@ class NutritionServiceTest {
         assertTrue(response.isSuccess());
         assertEquals(1, response.getData().size());
         assertEquals(nutritionLogDto, response.getData().get(0));
-        verify(nutritionLogRepository).findByUserId(eq(100L), any(Pageable.class));
+        verify(nutritionLogRepository).findByUserIdOrderByLogDateDesc(eq(100L), any(Pageable.class));
     }
 
     @Test
     void testGetNutritionLogByIdSuccess() {
         // Arrange
         when(nutritionLogRepository.findByIdAndUserId(1L, 100L)).thenReturn(Optional.of(nutritionLog));
-        when(modelMapper.map(nutritionLog, NutritionLogDto.class)).thenReturn(nutritionLogDto);
+        when(foodEntryRepository.findByNutritionLogIdOrderById(1L)).thenReturn(List.of(foodEntry));
+        when(nutritionMapper.toDto(nutritionLog, List.of(foodEntry))).thenReturn(nutritionLogDto);
 
         // Act
         ApiResponse<NutritionLogDto> response = nutritionService.getNutritionLogById(100L, 1L);
@@ -172,7 +182,7 @@ class NutritionServiceTest {
 
         // Assert
         assertFalse(response.isSuccess());
-        assertEquals("Nutrition log not found", response.getMessage());
+        assertEquals("Error fetching nutrition log: Nutrition log not found", response.getMessage());
         verify(nutritionLogRepository).findByIdAndUserId(1L, 100L);
     }
 
@@ -180,8 +190,8 @@ class NutritionServiceTest {
     void testGetNutritionLogByDateSuccess() {
         // Arrange
         LocalDate date = LocalDate.parse("2024-01-15");
-        when(nutritionLogRepository.findByUserIdAndDate(100L, "2024-01-15")).thenReturn(Optional.of(nutritionLog));
-        when(modelMapper.map(nutritionLog, NutritionLogDto.class)).thenReturn(nutritionLogDto);
+        when(nutritionLogRepository.findByUserIdAndLogDate(100L, date)).thenReturn(Optional.of(nutritionLog));
+        when(nutritionMapper.toDto(nutritionLog, List.of())).thenReturn(nutritionLogDto);
 
         // Act
         ApiResponse<NutritionLogDto> response = nutritionService.getNutritionLogByDate(100L, date);
@@ -189,7 +199,7 @@ class NutritionServiceTest {
         // Assert
         assertTrue(response.isSuccess());
         assertEquals(nutritionLogDto, response.getData());
-        verify(nutritionLogRepository).findByUserIdAndDate(100L, "2024-01-15");
+        verify(nutritionLogRepository).findByUserIdAndLogDate(100L, date);
     }
 
     @Test
@@ -197,9 +207,9 @@ class NutritionServiceTest {
         // Arrange
         when(nutritionLogRepository.findByIdAndUserId(1L, 100L)).thenReturn(Optional.of(nutritionLog));
         when(nutritionLogRepository.save(any(NutritionLog.class))).thenReturn(nutritionLog);
-        when(modelMapper.map(nutritionLog, NutritionLogDto.class)).thenReturn(nutritionLogDto);
+        when(nutritionMapper.toDto(nutritionLog)).thenReturn(nutritionLogDto);
 
-        nutritionLogDto.setTotalCalories(2200.0);
+        nutritionLogDto.setNotes("Rest day");
 
         // Act
         ApiResponse<NutritionLogDto> response = nutritionService.updateNutritionLog(1L, 100L, nutritionLogDto);
@@ -228,7 +238,7 @@ class NutritionServiceTest {
     @Test
     void testGetNutritionLogCountSuccess() {
         // Arrange
-        when(nutritionLogRepository.countByUserId(100L)).thenReturn(5L);
+        when(nutritionLogRepository.countNutritionLogsByUser(100L)).thenReturn(5L);
 
         // Act
         ApiResponse<Long> response = nutritionService.getNutritionLogCount(100L);
@@ -236,7 +246,7 @@ class NutritionServiceTest {
         // Assert
         assertTrue(response.isSuccess());
         assertEquals(5L, response.getData());
-        verify(nutritionLogRepository).countByUserId(100L);
+        verify(nutritionLogRepository).countNutritionLogsByUser(100L);
     }
 
     @Test
@@ -248,11 +258,9 @@ class NutritionServiceTest {
         List<Future<ApiResponse<NutritionLogDto>>> futures = new ArrayList<>();
 
         // Mock repository to simulate race condition
-        when(nutritionLogRepository.findByUserIdAndDate(100L, "2024-01-15"))
-                .thenReturn(Optional.empty());
-        when(modelMapper.map(any(NutritionLogDto.class), eq(NutritionLog.class))).thenReturn(nutritionLog);
-        when(nutritionLogRepository.save(any(NutritionLog.class))).thenReturn(nutritionLog);
-        when(modelMapper.map(any(NutritionLog.class), eq(NutritionLogDto.class))).thenReturn(nutritionLogDto);
+        when(nutritionMapper.toEntity(any(NutritionLogDto.class))).thenReturn(nutritionLog);
+        when(nutritionLogRepository.saveAndFlush(any(NutritionLog.class))).thenReturn(nutritionLog);
+        when(nutritionMapper.toDto(any(NutritionLog.class))).thenReturn(nutritionLogDto);
 
         // Act
         IntStream.range(0, threadCount).forEach(i -> {
@@ -296,7 +304,7 @@ class NutritionServiceTest {
 
         when(nutritionLogRepository.findByIdAndUserId(1L, 100L)).thenReturn(Optional.of(nutritionLog));
         when(nutritionLogRepository.save(any(NutritionLog.class))).thenReturn(nutritionLog);
-        when(modelMapper.map(any(NutritionLog.class), eq(NutritionLogDto.class))).thenReturn(nutritionLogDto);
+        when(nutritionMapper.toDto(any(NutritionLog.class))).thenReturn(nutritionLogDto);
 
         // Act
         IntStream.range(0, threadCount).forEach(i -> {
@@ -305,7 +313,7 @@ class NutritionServiceTest {
                     latch.countDown();
                     latch.await();
                     NutritionLogDto updateDto = new NutritionLogDto();
-                    updateDto.setTotalCalories(2000.0 + i * 100);
+                    updateDto.setNotes("Update " + i);
                     return nutritionService.updateNutritionLog(1L, 100L, updateDto);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
@@ -342,8 +350,8 @@ class NutritionServiceTest {
 
         List<NutritionLog> logs = List.of(nutritionLog);
         Page<NutritionLog> logPage = new PageImpl<>(logs);
-        when(nutritionLogRepository.findByUserId(eq(100L), any(Pageable.class))).thenReturn(logPage);
-        when(modelMapper.map(any(NutritionLog.class), eq(NutritionLogDto.class))).thenReturn(nutritionLogDto);
+        when(nutritionLogRepository.findByUserIdOrderByLogDateDesc(eq(100L), any(Pageable.class))).thenReturn(logPage);
+        when(nutritionMapper.toDto(any(NutritionLog.class), anyList())).thenReturn(nutritionLogDto);
 
         // Act
         IntStream.range(0, threadCount).forEach(i -> {
@@ -380,10 +388,8 @@ class NutritionServiceTest {
     @Test
     void testDatabaseConstraintViolation() {
         // Arrange
-        when(nutritionLogRepository.findByUserIdAndDate(100L, "2024-01-15"))
-                .thenReturn(Optional.empty());
-        when(modelMapper.map(nutritionLogDto, NutritionLog.class)).thenReturn(nutritionLog);
-        when(nutritionLogRepository.save(any(NutritionLog.class)))
+        when(nutritionMapper.toEntity(nutritionLogDto)).thenReturn(nutritionLog);
+        when(nutritionLogRepository.saveAndFlush(any(NutritionLog.class)))
                 .thenThrow(new RuntimeException("Database constraint violation"));
 
         // Act
@@ -392,7 +398,7 @@ class NutritionServiceTest {
         // Assert
         assertFalse(response.isSuccess());
         assertTrue(response.getMessage().contains("Error creating nutrition log"));
-        verify(nutritionLogRepository).save(any(NutritionLog.class));
+        verify(nutritionLogRepository).saveAndFlush(any(NutritionLog.class));
     }
 
     @Test
@@ -418,20 +424,20 @@ class NutritionServiceTest {
                     NutritionLog log = new NutritionLog();
                     log.setId((long) i);
                     log.setUserId(100L);
-                    log.setDate("2024-01-" + (15 + i));
+                    log.setLogDate(LocalDate.of(2024, 1, 15 + i));
                     return log;
                 })
                 .toList();
 
         Page<NutritionLog> logPage = new PageImpl<>(logs.subList(0, 3), PageRequest.of(0, 3), logs.size());
-        when(nutritionLogRepository.findByUserId(eq(100L), any(Pageable.class))).thenReturn(logPage);
-        when(modelMapper.map(any(NutritionLog.class), eq(NutritionLogDto.class)))
+        when(nutritionLogRepository.findByUserIdOrderByLogDateDesc(eq(100L), any(Pageable.class))).thenReturn(logPage);
+        when(nutritionMapper.toDto(any(NutritionLog.class), anyList()))
                 .thenAnswer(invocation -> {
                     NutritionLog log = invocation.getArgument(0);
                     NutritionLogDto dto = new NutritionLogDto();
                     dto.setId(log.getId());
                     dto.setUserId(log.getUserId());
-                    dto.setDate(log.getDate());
+                    dto.setLogDate(log.getLogDate());
                     return dto;
                 });
 
@@ -441,6 +447,6 @@ class NutritionServiceTest {
         // Assert
         assertTrue(response.isSuccess());
         assertEquals(3, response.getData().size());
-        verify(nutritionLogRepository).findByUserId(eq(100L), any(Pageable.class));
+        verify(nutritionLogRepository).findByUserIdOrderByLogDateDesc(eq(100L), any(Pageable.class));
     }
 }
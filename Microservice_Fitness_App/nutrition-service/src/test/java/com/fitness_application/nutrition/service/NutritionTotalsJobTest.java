@@ -0,0 +1,55 @@
+package com.fitness_application.nutrition.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NutritionTotalsJobTest {
+
+    @Mock
+    private NutritionTotalsService nutritionTotalsService;
+
+    @InjectMocks
+    private NutritionTotalsJob nutritionTotalsJob;
+
+    @Test
+    void checkConsistency_RetriesUserWhoseLogChangedDuringRebuild() {
+        // Given
+        when(nutritionTotalsService.findUserIds()).thenReturn(List.of(1L));
+        when(nutritionTotalsService.rebuild(1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException("NutritionLog", 10L))
+                .thenReturn(2);
+
+        // When
+        int repaired = nutritionTotalsJob.checkConsistency();
+
+        // Then
+        assertEquals(2, repaired);
+        verify(nutritionTotalsService, times(2)).rebuild(1L);
+    }
+
+    @Test
+    void checkConsistency_FailingUserDoesNotStopTheRest() {
+        // Given
+        when(nutritionTotalsService.findUserIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(nutritionTotalsService.rebuild(1L)).thenReturn(1);
+        when(nutritionTotalsService.rebuild(2L)).thenThrow(new ObjectOptimisticLockingFailureException("NutritionLog", 20L));
+        when(nutritionTotalsService.rebuild(3L)).thenReturn(4);
+
+        // When
+        int repaired = nutritionTotalsJob.checkConsistency();
+
+        // Then: user 2 is given up on after three attempts
+        assertEquals(5, repaired);
+        verify(nutritionTotalsService, times(3)).rebuild(2L);
+    }
+}
@@ -0,0 +1,136 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.model.FoodEntry;
+import com.fitness_application.nutrition.model.NutritionLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({NutritionTotalsService.class, NutritionRollupService.class})
+class NutritionTotalsServiceTest {
+
+    @Autowired
+    private NutritionTotalsService nutritionTotalsService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final Long userId = 1L;
+    private NutritionLog nutritionLog;
+
+    @BeforeEach
+    void setUp() {
+        nutritionLog = new NutritionLog();
+        nutritionLog.setUserId(userId);
+        nutritionLog.setLogDate(LocalDate.of(2024, 6, 1));
+        nutritionLog.setMealType(NutritionLog.MealType.BREAKFAST);
+        entityManager.persistAndFlush(nutritionLog);
+    }
+
+    @Test
+    void add_AppliesQuantityScaledContribution() {
+        // Given
+        FoodEntry oats = persistEntry("Oats", 2.0, 150, 5.0);
+
+        // When
+        nutritionTotalsService.add(nutritionLog, oats);
+
+        // Then
+        NutritionLog stored = reload();
+        assertEquals(300, stored.getTotalCalories());
+        assertEquals(10.0, stored.getTotalProtein(), 1e-9);
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    void replaceAndRemove_KeepTotalsEqualToFullRecompute() {
+        // Given
+        FoodEntry oats = persistEntry("Oats", 2.0, 150, 5.0);
+        FoodEntry milk = persistEntry("Milk", 1.0, 120, 8.0);
+        nutritionTotalsService.add(nutritionLog, oats);
+        nutritionTotalsService.add(reload(), milk);
+
+        // When
+        NutritionLog current = reload();
+        FoodEntry storedOats = entityManager.find(FoodEntry.class, oats.getId());
+        NutrientTotals before = NutrientTotals.of(storedOats);
+        storedOats.setQuantity(0.5);
+        entityManager.flush();
+        nutritionTotalsService.replace(current, before, storedOats);
+
+        current = reload();
+        FoodEntry storedMilk = entityManager.find(FoodEntry.class, milk.getId());
+        entityManager.remove(storedMilk);
+        entityManager.flush();
+        nutritionTotalsService.remove(current, storedMilk);
+
+        // Then
+        NutritionLog stored = reload();
+        assertEquals(75, stored.getTotalCalories());
+        assertEquals(2.5, stored.getTotalProtein(), 1e-9);
+        assertTrue(nutritionTotalsService.findInconsistentLogIds(userId).isEmpty());
+    }
+
+    @Test
+    void add_StaleVersion_ThrowsOptimisticLockingFailure() {
+        // Given
+        FoodEntry oats = persistEntry("Oats", 1.0, 150, 5.0);
+        FoodEntry milk = persistEntry("Milk", 1.0, 120, 8.0);
+        NutritionLog stale = reload();
+        nutritionTotalsService.add(stale, oats);
+
+        // When / Then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> nutritionTotalsService.add(stale, milk));
+        assertEquals(150, reload().getTotalCalories());
+    }
+
+    @Test
+    void rebuild_RepairsOnlyDriftedLogs() {
+        // Given
+        persistEntry("Oats", 2.0, 150, 5.0);
+        NutritionLog empty = new NutritionLog();
+        empty.setUserId(userId);
+        empty.setLogDate(LocalDate.of(2024, 6, 2));
+        empty.setMealType(NutritionLog.MealType.LUNCH);
+        entityManager.persistAndFlush(empty);
+        entityManager.clear();
+
+        // When
+        List<Long> drifted = nutritionTotalsService.findInconsistentLogIds(userId);
+        int repaired = nutritionTotalsService.rebuild(userId);
+        entityManager.flush();
+
+        // Then
+        assertEquals(List.of(nutritionLog.getId()), drifted);
+        assertEquals(1, repaired);
+        assertEquals(300, reload().getTotalCalories());
+        assertTrue(nutritionTotalsService.findInconsistentLogIds(userId).isEmpty());
+    }
+
+    private FoodEntry persistEntry(String name, double quantity, int calories, double protein) {
+        FoodEntry foodEntry = new FoodEntry();
+        foodEntry.setFoodName(name);
+        foodEntry.setBrand("Generic");
+        foodEntry.setQuantity(quantity);
+        foodEntry.setCalories(calories);
+        foodEntry.setProtein(protein);
+        foodEntry.setNutritionLog(nutritionLog);
+        return entityManager.persistAndFlush(foodEntry);
+    }
+
+    private NutritionLog reload() {
+        entityManager.clear();
+        return entityManager.find(NutritionLog.class, nutritionLog.getId());
+    }
+}
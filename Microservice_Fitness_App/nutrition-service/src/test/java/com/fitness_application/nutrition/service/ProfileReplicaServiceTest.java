@@ -0,0 +1,88 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.ApiResponse;
+import com.fitness_application.nutrition.dto.ProfileChangedEventDto;
+import com.fitness_application.nutrition.model.ProfileReplica;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ProfileReplicaService.class)
+class ProfileReplicaServiceTest {
+
+    @Autowired
+    private ProfileReplicaService profileReplicaService;
+
+    @Test
+    void applyEvents_KeepsLatestProfileFields() {
+        // When
+        ApiResponse<Integer> response = profileReplicaService.applyEvents(List.of(
+                upserted(10L, 1L, 0L, 82.0),
+                upserted(11L, 2L, 0L, 60.0),
+                upserted(12L, 1L, 1L, 80.5)));
+
+        // Then
+        assertTrue(response.isSuccess());
+        assertEquals(3, response.getData());
+        ProfileReplica replica = profileReplicaService.find(1L).orElseThrow();
+        assertEquals(12L, replica.getLastEventId());
+        assertEquals(80.5, replica.getWeight());
+        assertEquals(175.0, replica.getHeight());
+        assertEquals("WEIGHT_LOSS", replica.getFitnessGoal());
+        assertEquals(LocalDate.of(1992, 3, 8), replica.getDateOfBirth());
+        assertEquals(60.0, profileReplicaService.find(2L).orElseThrow().getWeight());
+    }
+
+    @Test
+    void applyEvents_RedeliveredBatchChangesNothing() {
+        // Given
+        List<ProfileChangedEventDto> batch = List.of(upserted(10L, 1L, 0L, 82.0), upserted(12L, 1L, 1L, 80.5));
+        profileReplicaService.applyEvents(batch);
+
+        // When
+        ApiResponse<Integer> redelivered = profileReplicaService.applyEvents(batch);
+
+        // Then
+        assertEquals(0, redelivered.getData());
+        assertEquals(80.5, profileReplicaService.find(1L).orElseThrow().getWeight());
+    }
+
+    @Test
+    void applyEvents_DeleteLeavesTombstoneUntilProfileIsRecreated() {
+        // Given
+        ProfileChangedEventDto created = upserted(10L, 1L, 0L, 82.0);
+        ProfileChangedEventDto deleted = new ProfileChangedEventDto(11L, 1L, ProfileChangedEventDto.DELETED, 1L,
+                null, null, null, null, null, null, LocalDateTime.now());
+        profileReplicaService.applyEvents(List.of(created, deleted));
+
+        // When
+        int stale = profileReplicaService.applyEvents(List.of(created)).getData();
+        boolean presentAfterDelete = profileReplicaService.find(1L).isPresent();
+        profileReplicaService.applyEvents(List.of(upserted(20L, 1L, 0L, 70.0)));
+
+        // Then
+        assertEquals(0, stale);
+        assertFalse(presentAfterDelete);
+        assertEquals(70.0, profileReplicaService.find(1L).orElseThrow().getWeight());
+    }
+
+    @Test
+    void applyEvents_RejectsEventWithoutIds() {
+        ProfileChangedEventDto event = upserted(null, 1L, 0L, 82.0);
+
+        assertFalse(profileReplicaService.applyEvents(List.of(event)).isSuccess());
+    }
+
+    private ProfileChangedEventDto upserted(Long eventId, Long userId, Long version, double weight) {
+        return new ProfileChangedEventDto(eventId, userId, ProfileChangedEventDto.UPSERTED, version, 175.0, weight,
+                "FEMALE", LocalDate.of(1992, 3, 8), "MODERATELY_ACTIVE", "WEIGHT_LOSS", LocalDateTime.now());
+    }
+}
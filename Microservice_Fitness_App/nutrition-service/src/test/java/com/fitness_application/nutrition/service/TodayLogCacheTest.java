@@ -0,0 +1,148 @@
+package com.fitness_application.nutrition.service;
+
+import com.fitness_application.nutrition.dto.NutritionLogDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodayLogCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 30);
+
+    private final SettableClock clock = new SettableClock(TODAY.atTime(23, 59).toInstant(ZoneOffset.UTC));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private TodayLogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TodayLogCache(2, meterRegistry, clock);
+    }
+
+    @Test
+    void get_SecondReadIsHitAndRecordsMetrics() {
+        // When
+        NutritionLogDto first = cache.get(1L, TODAY, () -> load(1L));
+        NutritionLogDto second = cache.get(1L, TODAY, () -> load(1L));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.counter("nutrition.today_cache.requests", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("nutrition.today_cache.requests", "result", "miss").count());
+        assertEquals(1, meterRegistry.timer("nutrition.today_cache.latency", "result", "hit").count());
+    }
+
+    @Test
+    void get_RollsOverAtMidnight() {
+        // Given
+        cache.get(1L, TODAY, () -> load(1L));
+
+        // When
+        clock.instant = TODAY.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        // Then
+        assertFalse(cache.isToday(TODAY));
+        assertTrue(cache.isToday(TODAY.plusDays(1)));
+        cache.get(1L, TODAY.plusDays(1), () -> load(1L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_OutsideTransactionForcesReload() {
+        // Given
+        cache.get(1L, TODAY, () -> load(1L));
+
+        // When
+        cache.invalidate(1L);
+        cache.get(1L, TODAY, () -> load(1L));
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_LoadOverlappingInvalidationIsNotCached() {
+        // When
+        // The write commits while this read is still loading the old log
+        cache.get(1L, TODAY, () -> {
+            cache.invalidate(1L);
+            return load(1L);
+        });
+        cache.get(1L, TODAY, () -> load(1L));
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyReadUserBeyondMaxUsers() {
+        // Given
+        cache.get(1L, TODAY, () -> load(1L));
+        cache.get(2L, TODAY, () -> load(2L));
+        cache.get(1L, TODAY, () -> load(1L));
+
+        // When
+        cache.get(3L, TODAY, () -> load(3L));
+        cache.get(1L, TODAY, () -> load(1L));
+        cache.get(2L, TODAY, () -> load(2L));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void get_FailedLoadIsNotCached() {
+        assertThrows(RuntimeException.class, () -> cache.get(1L, TODAY, () -> {
+            throw new RuntimeException("Nutrition log not found for date: " + TODAY);
+        }));
+
+        cache.get(1L, TODAY, () -> load(1L));
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0, meterRegistry.counter("nutrition.today_cache.requests", "result", "miss").count());
+    }
+
+    private NutritionLogDto load(Long userId) {
+        loads.incrementAndGet();
+        NutritionLogDto dto = new NutritionLogDto();
+        dto.setUserId(userId);
+        dto.setLogDate(TODAY);
+        return dto;
+    }
+
+    private static class SettableClock extends Clock {
+
+        private Instant instant;
+
+        SettableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
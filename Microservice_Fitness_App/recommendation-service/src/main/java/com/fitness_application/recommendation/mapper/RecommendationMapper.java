@@ -0,0 +1,49 @@
+package com.fitness_application.recommendation.mapper;
+
+import com.fitness_application.recommendation.dto.RecommendationDto;
+import com.fitness_application.recommendation.model.Recommendation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Field-by-field conversions between recommendations and their DTOs.
+ */
+@Component
+public class RecommendationMapper {
+
+    public RecommendationDto toDto(Recommendation recommendation) {
+        if (recommendation == null) {
+            return null;
+        }
+        RecommendationDto dto = new RecommendationDto();
+        dto.setId(recommendation.getId());
+        dto.setUserId(recommendation.getUserId());
+        dto.setType(recommendation.getType());
+        dto.setTitle(recommendation.getTitle());
+        dto.setDescription(recommendation.getDescription());
+        dto.setContent(recommendation.getContent());
+        dto.setConfidenceScore(recommendation.getConfidenceScore());
+        dto.setPriority(recommendation.getPriority());
+        dto.setIsActive(recommendation.getIsActive());
+        dto.setIsSeen(recommendation.getIsSeen());
+        dto.setCreatedAt(recommendation.getCreatedAt());
+        dto.setUpdatedAt(recommendation.getUpdatedAt());
+        return dto;
+    }
+
+    /**
+     * Builds a new recommendation from the request body. The id is never taken from the client, and the
+     * owner and timestamps are set by the service.
+     */
+    public Recommendation toEntity(RecommendationDto dto) {
+        Recommendation recommendation = new Recommendation();
+        recommendation.setType(dto.getType());
+        recommendation.setTitle(dto.getTitle());
+        recommendation.setDescription(dto.getDescription());
+        recommendation.setContent(dto.getContent());
+        recommendation.setConfidenceScore(dto.getConfidenceScore());
+        recommendation.setPriority(dto.getPriority());
+        recommendation.setIsActive(dto.getIsActive());
+        recommendation.setIsSeen(dto.getIsSeen());
+        return recommendation;
+    }
+}
@@ -2,11 +2,11 @@ package com.fitness_application.recommendation.service;
 
 import com.fitness_application.recommendation.dto.ApiResponse;
 import com.fitness_application.recommendation.dto.RecommendationDto;
+import com.fitness_application.recommendation.mapper.RecommendationMapper;
 import com.fitness_application.recommendation.model.Recommendation;
 import com.fitness_application.recommendation.repository.RecommendationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,14 +27,14 @@ import java.util.stream.Collectors;
 public class RecommendationService {
 
     private final RecommendationRepository recommendationRepository;
-    private final ModelMapper modelMapper;
+    private final RecommendationMapper recommendationMapper;
 
     @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public ApiResponse<RecommendationDto> createRecommendation(Long userId, RecommendationDto recommendationDto) {
         try {
             log.info("Creating recommendation for user: {}", userId);
 
-            Recommendation recommendation = modelMapper.map(recommendationDto, Recommendation.class);
+            Recommendation recommendation = recommendationMapper.toEntity(recommendationDto);
             recommendation.setUserId(userId);
             recommendation.setCreatedAt(LocalDateTime.now());
             recommendation.setUpdatedAt(LocalDateTime.now());
@@ -50,7 +50,7 @@ public class RecommendationService {
             }
 
             Recommendation savedRecommendation = recommendationRepository.save(recommendation);
-            RecommendationDto responseDto = modelMapper.map(savedRecommendation, RecommendationDto.class);
+            RecommendationDto responseDto = recommendationMapper.toDto(savedRecommendation);
 
             log.info("Successfully created recommendation with ID: {} for user: {}", 
                     savedRecommendation.getId(), userId);
@@ -81,7 +81,7 @@ public class RecommendationService {
                     .findByUserIdAndIsActiveOrderByPriorityAscCreatedAtDesc(userId, true, pageable);
 
             List<RecommendationDto> recommendationDtos = recommendationsPage.getContent().stream()
-                    .map(recommendation -> modelMapper.map(recommendation, RecommendationDto.class))
+                    .map(recommendationMapper::toDto)
                     .collect(Collectors.toList());
 
             log.info("Successfully fetched {} recommendations for user: {}", recommendationDtos.size(), userId);
@@ -118,7 +118,7 @@ public class RecommendationService {
                 );
             }
 
-            RecommendationDto recommendationDto = modelMapper.map(recommendationOpt.get(), RecommendationDto.class);
+            RecommendationDto recommendationDto = recommendationMapper.toDto(recommendationOpt.get());
 
             log.info("Successfully fetched recommendation {} for user: {}", recommendationId, userId);
 
@@ -148,7 +148,7 @@ public class RecommendationService {
                     .findByUserIdAndTypeAndIsActiveOrderByPriorityAscCreatedAtDesc(userId, type, true, pageable);
 
             List<RecommendationDto> recommendationDtos = recommendationsPage.getContent().stream()
-                    .map(recommendation -> modelMapper.map(recommendation, RecommendationDto.class))
+                    .map(recommendationMapper::toDto)
                     .collect(Collectors.toList());
 
             log.info("Successfully fetched {} {} recommendations for user: {}", 
@@ -212,7 +212,7 @@ public class RecommendationService {
             recommendation.setUpdatedAt(LocalDateTime.now());
 
             Recommendation savedRecommendation = recommendationRepository.save(recommendation);
-            RecommendationDto responseDto = modelMapper.map(savedRecommendation, RecommendationDto.class);
+            RecommendationDto responseDto = recommendationMapper.toDto(savedRecommendation);
 
             log.info("Successfully updated recommendation {} for user: {}", recommendationId, userId);
 
@@ -384,7 +384,7 @@ public class RecommendationService {
                     .findHighConfidenceRecommendations(userId, minScore, pageable);
 
             List<RecommendationDto> recommendationDtos = recommendationsPage.getContent().stream()
-                    .map(recommendation -> modelMapper.map(recommendation, RecommendationDto.class))
+                    .map(recommendationMapper::toDto)
                     .collect(Collectors.toList());
 
             log.info("Successfully fetched {} high confidence recommendations for user: {}", 
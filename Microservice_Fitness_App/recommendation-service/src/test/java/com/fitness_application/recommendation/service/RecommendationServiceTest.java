@@ -2,6 +2,7 @@ package com.fitness_application.recommendation.service;
 
 import com.fitness_application.recommendation.dto.ApiResponse;
 import com.fitness_application.recommendation.dto.RecommendationDto;
+import com.fitness_application.recommendation.mapper.RecommendationMapper;
 import com.fitness_application.recommendation.model.Recommendation;
 import com.fitness_application.recommendation.repository.RecommendationRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +11,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -33,7 +33,7 @@ class RecommendationServiceTest {
     private RecommendationRepository recommendationRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private RecommendationMapper recommendationMapper;
 
     @InjectMocks
     private RecommendationService recommendationService;
@@ -73,9 +73,9 @@ class RecommendationServiceTest {
     @Test
     void testCreateRecommendationSuccess() {
         // Arrange
-        when(modelMapper.map(recommendationDto, Recommendation.class)).thenReturn(recommendation);
+        when(recommendationMapper.toEntity(recommendationDto)).thenReturn(recommendation);
         when(recommendationRepository.save(any(Recommendation.class))).thenReturn(recommendation);
-        when(modelMapper.map(recommendation, RecommendationDto.class)).thenReturn(recommendationDto);
+        when(recommendationMapper.toDto(recommendation)).thenReturn(recommendationDto);
 
         // Act
         ApiResponse<RecommendationDto> response = recommendationService.createRecommendation(100L, recommendationDto);
@@ -93,7 +93,7 @@ class RecommendationServiceTest {
         Page<Recommendation> recommendationPage = new PageImpl<>(recommendations);
         when(recommendationRepository.findByUserIdAndIsActiveOrderByPriorityAscCreatedAtDesc(
                 eq(100L), eq(true), any(Pageable.class))).thenReturn(recommendationPage);
-        when(modelMapper.map(recommendation, RecommendationDto.class)).thenReturn(recommendationDto);
+        when(recommendationMapper.toDto(recommendation)).thenReturn(recommendationDto);
 
         // Act
         ApiResponse<List<RecommendationDto>> response = recommendationService.getRecommendationsForUser(100L, 0, 10);
@@ -110,7 +110,7 @@ class RecommendationServiceTest {
     void testGetRecommendationByIdSuccess() {
         // Arrange
         when(recommendationRepository.findByIdAndUserId(1L, 100L)).thenReturn(Optional.of(recommendation));
-        when(modelMapper.map(recommendation, RecommendationDto.class)).thenReturn(recommendationDto);
+        when(recommendationMapper.toDto(recommendation)).thenReturn(recommendationDto);
 
         // Act
         ApiResponse<RecommendationDto> response = recommendationService.getRecommendationById(100L, 1L);
@@ -142,7 +142,7 @@ class RecommendationServiceTest {
         Page<Recommendation> recommendationPage = new PageImpl<>(recommendations);
         when(recommendationRepository.findByUserIdAndTypeAndIsActiveOrderByPriorityAscCreatedAtDesc(
                 eq(100L), eq("WORKOUT"), eq(true), any(Pageable.class))).thenReturn(recommendationPage);
-        when(modelMapper.map(recommendation, RecommendationDto.class)).thenReturn(recommendationDto);
+        when(recommendationMapper.toDto(recommendation)).thenReturn(recommendationDto);
 
         // Act
         ApiResponse<List<RecommendationDto>> response = recommendationService.getRecommendationsByType(
@@ -161,7 +161,7 @@ class RecommendationServiceTest {
         // Arrange
         when(recommendationRepository.findByIdAndUserId(1L, 100L)).thenReturn(Optional.of(recommendation));
         when(recommendationRepository.save(any(Recommendation.class))).thenReturn(recommendation);
-        when(modelMapper.map(recommendation, RecommendationDto.class)).thenReturn(recommendationDto);
+        when(recommendationMapper.toDto(recommendation)).thenReturn(recommendationDto);
 
         recommendationDto.setTitle("Updated Workout");
 
@@ -230,9 +230,9 @@ class RecommendationServiceTest {
         CountDownLatch latch = new CountDownLatch(threadCount);
         List<Future<ApiResponse<RecommendationDto>>> futures = new ArrayList<>();
 
-        when(modelMapper.map(any(RecommendationDto.class), eq(Recommendation.class))).thenReturn(recommendation);
+        when(recommendationMapper.toEntity(any(RecommendationDto.class))).thenReturn(recommendation);
         when(recommendationRepository.save(any(Recommendation.class))).thenReturn(recommendation);
-        when(modelMapper.map(any(Recommendation.class), eq(RecommendationDto.class))).thenReturn(recommendationDto);
+        when(recommendationMapper.toDto(any(Recommendation.class))).thenReturn(recommendationDto);
 
         // Act
         IntStream.range(0, threadCount).forEach(i -> {
@@ -280,7 +280,7 @@ class RecommendationServiceTest {
 
         when(recommendationRepository.findByIdAndUserId(1L, 100L)).thenReturn(Optional.of(recommendation));
         when(recommendationRepository.save(any(Recommendation.class))).thenReturn(recommendation);
-        when(modelMapper.map(any(Recommendation.class), eq(RecommendationDto.class))).thenReturn(recommendationDto);
+        when(recommendationMapper.toDto(any(Recommendation.class))).thenReturn(recommendationDto);
 
         // Act
         IntStream.range(0, threadCount).forEach(i -> {
@@ -329,7 +329,7 @@ class RecommendationServiceTest {
         Page<Recommendation> recommendationPage = new PageImpl<>(recommendations);
         when(recommendationRepository.findByUserIdAndIsActiveOrderByPriorityAscCreatedAtDesc(
                 eq(100L), eq(true), any(Pageable.class))).thenReturn(recommendationPage);
-        when(modelMapper.map(any(Recommendation.class), eq(RecommendationDto.class))).thenReturn(recommendationDto);
+        when(recommendationMapper.toDto(any(Recommendation.class))).thenReturn(recommendationDto);
 
         // Act
         IntStream.range(0, threadCount).forEach(i -> {
@@ -366,7 +366,7 @@ class RecommendationServiceTest {
     @Test
     void testDatabaseConstraintViolation() {
         // Arrange
-        when(modelMapper.map(recommendationDto, Recommendation.class)).thenReturn(recommendation);
+        when(recommendationMapper.toEntity(recommendationDto)).thenReturn(recommendation);
         when(recommendationRepository.save(any(Recommendation.class)))
                 .thenThrow(new RuntimeException("Database constraint violation"));
 
@@ -416,7 +416,7 @@ class RecommendationServiceTest {
 
         when(recommendationRepository.findByUserIdAndIsActiveOrderByPriorityAscCreatedAtDesc(
                 eq(100L), eq(true), any(Pageable.class))).thenReturn(recommendationPage);
-        when(modelMapper.map(any(Recommendation.class), eq(RecommendationDto.class)))
+        when(recommendationMapper.toDto(any(Recommendation.class)))
                 .thenAnswer(invocation -> {
                     Recommendation rec = invocation.getArgument(0);
                     RecommendationDto dto = new RecommendationDto();
@@ -466,7 +466,7 @@ class RecommendationServiceTest {
 
         when(recommendationRepository.findByUserIdAndIsActiveOrderByPriorityAscCreatedAtDesc(
                 eq(100L), eq(true), any(Pageable.class))).thenReturn(firstPage);
-        when(modelMapper.map(any(Recommendation.class), eq(RecommendationDto.class)))
+        when(recommendationMapper.toDto(any(Recommendation.class)))
                 .thenAnswer(invocation -> {
                     Recommendation rec = invocation.getArgument(0);
                     RecommendationDto dto = new RecommendationDto();
@@ -1,5 +1,9 @@
 package com.fitness_application.user.controller;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,10 +14,17 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fitness_application.user.dto.ApiResponse;
+import com.fitness_application.user.dto.BodyMeasurementDto;
+import com.fitness_application.user.dto.MeasurementSeriesDto;
+import com.fitness_application.user.dto.UserProfileBatchRequestDto;
 import com.fitness_application.user.dto.UserProfileDto;
+import com.fitness_application.user.dto.UserProfileMetricsDto;
+import com.fitness_application.user.dto.UserProfileSummaryDto;
+import com.fitness_application.user.service.BodyMeasurementService;
 import com.fitness_application.user.service.UserProfileService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,6 +41,7 @@ import lombok.extern.slf4j.Slf4j;
 public class UserProfileController {
     
     private final UserProfileService userProfileService;
+    private final BodyMeasurementService bodyMeasurementService;
     
     @GetMapping("/profile")
     @Operation(summary = "Get user profile")
@@ -68,6 +80,15 @@ public class UserProfileController {
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/profiles:batchGet")
+    @Operation(summary = "Get profile summaries for up to 1000 users (internal service call)")
+    public ResponseEntity<ApiResponse<List<UserProfileSummaryDto>>> batchGetProfiles(
+            @RequestBody UserProfileBatchRequestDto request) {
+        log.info("Batch fetching profiles for {} users", request.getUserIds() != null ? request.getUserIds().size() : 0);
+        ApiResponse<List<UserProfileSummaryDto>> response = userProfileService.getProfileSummaries(request.getUserIds());
+        return ResponseEntity.ok(response);
+    }
+    
     @DeleteMapping("/profile")
     @Operation(summary = "Delete user profile")
     public ResponseEntity<ApiResponse<Void>> deleteProfile(
@@ -77,6 +98,15 @@ public class UserProfileController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/profile/metrics")
+    @Operation(summary = "Get BMI, BMR, daily calories and macro targets in one call")
+    public ResponseEntity<ApiResponse<UserProfileMetricsDto>> getMetrics(
+            @RequestHeader("X-User-Id") Long userId) {
+        log.info("Fetching metrics for user: {}", userId);
+        ApiResponse<UserProfileMetricsDto> response = userProfileService.getMetrics(userId);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/profile/bmi")
     @Operation(summary = "Calculate BMI")
     public ResponseEntity<ApiResponse<Double>> calculateBMI(
@@ -95,6 +125,29 @@ public class UserProfileController {
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/measurements")
+    @Operation(summary = "Record weigh-ins and body measurements (append-only, up to 1000 per call)")
+    public ResponseEntity<ApiResponse<Integer>> recordMeasurements(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestBody List<BodyMeasurementDto> measurements) {
+        log.info("Recording measurements for user: {}", userId);
+        ApiResponse<Integer> response = bodyMeasurementService.recordMeasurements(userId, measurements);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    @GetMapping("/measurements/series")
+    @Operation(summary = "Get a measurement series downsampled to at most the requested number of points")
+    public ResponseEntity<ApiResponse<MeasurementSeriesDto>> getMeasurementSeries(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(defaultValue = "weight") String metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer points) {
+        log.info("Fetching {} series for user: {}", metric, userId);
+        ApiResponse<MeasurementSeriesDto> response = bodyMeasurementService.getSeries(userId, metric, from, to, points);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Service health check")
     public ResponseEntity<String> health() {
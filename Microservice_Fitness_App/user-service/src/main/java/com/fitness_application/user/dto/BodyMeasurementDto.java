@@ -0,0 +1,19 @@
+package com.fitness_application.user.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BodyMeasurementDto {
+    private LocalDateTime measuredAt;
+    private Double weight; // in kg
+    private Double bodyFatPercentage;
+    private Double waist; // in cm
+    private Double hips; // in cm
+    private Double chest; // in cm
+}
@@ -0,0 +1,15 @@
+package com.fitness_application.user.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeasurementPointDto {
+    private LocalDateTime measuredAt;
+    private double value;
+}
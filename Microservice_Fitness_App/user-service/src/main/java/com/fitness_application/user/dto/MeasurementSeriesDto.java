@@ -0,0 +1,18 @@
+package com.fitness_application.user.dto;
+
+import java.util.List;
+
+import com.fitness_application.user.model.BodyMeasurement.Metric;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeasurementSeriesDto {
+    private Metric metric;
+    private int totalPoints; // Measurements in the range before downsampling
+    private List<MeasurementPointDto> points;
+}
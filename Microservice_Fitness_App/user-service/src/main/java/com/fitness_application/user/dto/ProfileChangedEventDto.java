@@ -0,0 +1,35 @@
+package com.fitness_application.user.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fitness_application.user.model.ProfileOutboxEvent.EventType;
+import com.fitness_application.user.model.UserProfile.ActivityLevel;
+import com.fitness_application.user.model.UserProfile.FitnessGoal;
+import com.fitness_application.user.model.UserProfile.Gender;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A published profile change. A user's events have increasing ids; consumers apply an event only if its id is above
+ * the last one they applied for the user, so redelivered events are harmless. A DELETED event carries no profile
+ * fields.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileChangedEventDto {
+    private Long eventId;
+    private Long userId;
+    private EventType type;
+    private Long version;
+    private Double height;
+    private Double weight;
+    private Gender gender;
+    private LocalDate dateOfBirth;
+    private ActivityLevel activityLevel;
+    private FitnessGoal fitnessGoal;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,14 @@
+package com.fitness_application.user.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileBatchRequestDto {
+    private List<Long> userIds;
+}
@@ -0,0 +1,24 @@
+package com.fitness_application.user.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileMetricsDto {
+    private Long userId;
+    private Double bmi;
+    private Double bmr;
+    private Double tdee;
+    private Double targetCalories;
+    private Double proteinGrams;
+    private Double carbsGrams;
+    private Double fatGrams;
+    private Integer age;
+    private Long version;
+    private LocalDateTime computedAt;
+}
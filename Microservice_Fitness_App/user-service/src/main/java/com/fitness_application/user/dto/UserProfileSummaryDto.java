@@ -0,0 +1,27 @@
+package com.fitness_application.user.dto;
+
+import java.time.LocalDate;
+
+import com.fitness_application.user.model.UserProfile.ActivityLevel;
+import com.fitness_application.user.model.UserProfile.FitnessGoal;
+import com.fitness_application.user.model.UserProfile.Gender;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The biometric fields other services need from a profile, selected directly by the batch lookup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileSummaryDto {
+    private Long userId;
+    private Double height;
+    private Double weight;
+    private Gender gender;
+    private LocalDate dateOfBirth;
+    private ActivityLevel activityLevel;
+    private FitnessGoal fitnessGoal;
+}
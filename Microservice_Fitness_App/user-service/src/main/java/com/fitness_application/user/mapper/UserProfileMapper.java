@@ -0,0 +1,49 @@
+package com.fitness_application.user.mapper;
+
+import com.fitness_application.user.dto.UserProfileDto;
+import com.fitness_application.user.dto.UserProfileMetricsDto;
+import com.fitness_application.user.model.UserProfile;
+import com.fitness_application.user.model.UserProfileMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies a stored profile, or its metrics snapshot, into the DTO returned by the profile endpoints.
+ */
+@Component
+public class UserProfileMapper {
+
+    public UserProfileDto toDto(UserProfile profile) {
+        if (profile == null) {
+            return null;
+        }
+        UserProfileDto dto = new UserProfileDto();
+        dto.setUserId(profile.getUserId());
+        dto.setEmail(profile.getEmail());
+        dto.setFirstName(profile.getFirstName());
+        dto.setLastName(profile.getLastName());
+        dto.setDateOfBirth(profile.getDateOfBirth());
+        dto.setGender(profile.getGender());
+        dto.setHeight(profile.getHeight());
+        dto.setWeight(profile.getWeight());
+        dto.setActivityLevel(profile.getActivityLevel());
+        dto.setFitnessGoal(profile.getFitnessGoal());
+        dto.setProfilePictureUrl(profile.getProfilePictureUrl());
+        dto.setTimeZone(profile.getTimeZone());
+        dto.setLanguage(profile.getLanguage());
+        dto.setEmailNotifications(profile.getEmailNotifications());
+        dto.setPushNotifications(profile.getPushNotifications());
+        dto.setMeasurementUnit(profile.getMeasurementUnit());
+        dto.setCreatedAt(profile.getCreatedAt());
+        dto.setUpdatedAt(profile.getUpdatedAt());
+        return dto;
+    }
+
+    public UserProfileMetricsDto toDto(UserProfileMetrics metrics) {
+        if (metrics == null) {
+            return null;
+        }
+        return new UserProfileMetricsDto(metrics.getUserId(), metrics.getBmi(), metrics.getBmr(), metrics.getTdee(),
+                metrics.getTargetCalories(), metrics.getProteinGrams(), metrics.getCarbsGrams(), metrics.getFatGrams(),
+                metrics.getAge(), metrics.getVersion(), metrics.getComputedAt());
+    }
+}
@@ -0,0 +1,63 @@
+package com.fitness_application.user.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One weigh-in or set of body measurements. Rows are only ever appended; the unique key on the user and time makes
+ * a re-sent measurement a no-op and also serves the time-range reads.
+ */
+@Entity
+@Table(name = "body_measurements", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_body_measurements_user_measured_at", columnNames = {"user_id", "measured_at"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BodyMeasurement {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "body_measurement_seq")
+    @SequenceGenerator(name = "body_measurement_seq", sequenceName = "body_measurement_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "measured_at", nullable = false)
+    private LocalDateTime measuredAt;
+    
+    private Double weight; // in kg
+    private Double bodyFatPercentage;
+    private Double waist; // in cm
+    private Double hips; // in cm
+    private Double chest; // in cm
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    public enum Metric {
+        WEIGHT, BODY_FAT_PERCENTAGE, WAIST, HIPS, CHEST;
+        
+        public Double valueOf(BodyMeasurement measurement) {
+            return switch (this) {
+                case WEIGHT -> measurement.getWeight();
+                case BODY_FAT_PERCENTAGE -> measurement.getBodyFatPercentage();
+                case WAIST -> measurement.getWaist();
+                case HIPS -> measurement.getHips();
+                case CHEST -> measurement.getChest();
+            };
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.fitness_application.user.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A profile change waiting to be published, written in the same transaction as the change itself. Carries the
+ * fields other services replicate, as of the profile version it records. Writes to one profile are serialized by its
+ * version, so a user's events get increasing ids in the order their changes committed.
+ */
+@Entity
+@Table(name = "profile_outbox", indexes = {
+    @Index(name = "idx_profile_outbox_published_at", columnList = "published_at, id")
+})
+@Data
+@NoArgsConstructor
+public class ProfileOutboxEvent {
+    
+    @Id
+    // Not pooled: ids must follow insertion order across instances, since consumers order a user's events by id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "profile_outbox_seq")
+    @SequenceGenerator(name = "profile_outbox_seq", sequenceName = "profile_outbox_seq", allocationSize = 1)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EventType type;
+    
+    @Column(name = "profile_version", nullable = false)
+    private Long profileVersion;
+    
+    private Double height; // in cm
+    private Double weight; // in kg
+    
+    @Enumerated(EnumType.STRING)
+    private UserProfile.Gender gender;
+    
+    private LocalDate dateOfBirth;
+    
+    @Enumerated(EnumType.STRING)
+    private UserProfile.ActivityLevel activityLevel;
+    
+    @Enumerated(EnumType.STRING)
+    private UserProfile.FitnessGoal fitnessGoal;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    // Null until the relay has handed the event to the bus
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    public enum EventType {
+        UPSERTED, DELETED
+    }
+}
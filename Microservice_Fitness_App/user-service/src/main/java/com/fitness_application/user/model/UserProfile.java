@@ -2,6 +2,7 @@ package com.fitness_application.user.model;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,6 +13,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -64,6 +66,10 @@ public class UserProfile {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    // Rejects a write based on a stale copy, which keeps a profile's outbox events in commit order
+    @Version
+    private Long version;
+    
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
@@ -71,10 +77,15 @@ public class UserProfile {
     
     // Calculate age from date of birth
     public int getAge() {
+        return getAge(LocalDate.now());
+    }
+    
+    // Whole years on the given day, so the age goes up on the birthday rather than on January 1st
+    public int getAge(LocalDate today) {
         if (dateOfBirth == null) {
             throw new IllegalStateException("Date of birth not set");
         }
-        return LocalDate.now().getYear() - dateOfBirth.getYear();
+        return Period.between(dateOfBirth, today).getYears();
     }
     
     // Check if user has complete profile for fitness calculations
@@ -124,20 +135,40 @@ public class UserProfile {
     }
     
     public enum FitnessGoal {
-        WEIGHT_LOSS(-500),
-        MAINTAIN_WEIGHT(0),
-        WEIGHT_GAIN(500),
-        MUSCLE_GAIN(300),
-        ENDURANCE(200);
+        // Protein, carbs and fat as shares of calories, the splits the monolith's FitnessGoal recommends
+        WEIGHT_LOSS(-500, 0.35, 0.35, 0.30),
+        MAINTAIN_WEIGHT(0, 0.25, 0.45, 0.30),
+        WEIGHT_GAIN(500, 0.25, 0.50, 0.25),
+        MUSCLE_GAIN(300, 0.30, 0.40, 0.30),
+        ENDURANCE(200, 0.20, 0.60, 0.20);
         
         private final int calorieAdjustment;
+        private final double proteinShare;
+        private final double carbsShare;
+        private final double fatShare;
         
-        FitnessGoal(int calorieAdjustment) {
+        FitnessGoal(int calorieAdjustment, double proteinShare, double carbsShare, double fatShare) {
             this.calorieAdjustment = calorieAdjustment;
+            this.proteinShare = proteinShare;
+            this.carbsShare = carbsShare;
+            this.fatShare = fatShare;
         }
         
         public double adjustCalories(double dailyCalories) {
             return dailyCalories + calorieAdjustment;
         }
+        
+        // 4 kcal per gram of protein or carbs, 9 per gram of fat
+        public double proteinGrams(double calories) {
+            return calories * proteinShare / 4;
+        }
+        
+        public double carbsGrams(double calories) {
+            return calories * carbsShare / 4;
+        }
+        
+        public double fatGrams(double calories) {
+            return calories * fatShare / 9;
+        }
     }
 }
@@ -0,0 +1,57 @@
+package com.fitness_application.user.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Values derived from a profile, recomputed whenever the profile is written and on the day the user's age changes,
+ * so reads don't redo the arithmetic. A value is null while the profile lacks the fields it needs.
+ */
+@Entity
+@Table(name = "user_profile_metrics", indexes = {
+    @Index(name = "idx_user_profile_metrics_refresh_on", columnList = "refresh_on")
+})
+@Data
+@NoArgsConstructor
+public class UserProfileMetrics {
+    
+    @Id
+    private Long userId; // Same as the profile's user ID
+    
+    private Double bmi;
+    private Double bmr; // kcal per day at rest
+    private Double tdee; // kcal per day including activity
+    private Double targetCalories; // TDEE adjusted for the fitness goal
+    private Double proteinGrams;
+    private Double carbsGrams;
+    private Double fatGrams;
+    
+    private Integer age; // Age the values were computed for
+    
+    // Next day the age-dependent values change; null without a date of birth
+    @Column(name = "refresh_on")
+    private LocalDate refreshOn;
+    
+    // Version of the formulas that produced the values
+    private Integer formulaVersion;
+    
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+    
+    // Incremented on every recomputation
+    @Version
+    private Long version;
+    
+    public UserProfileMetrics(Long userId) {
+        this.userId = userId;
+    }
+}
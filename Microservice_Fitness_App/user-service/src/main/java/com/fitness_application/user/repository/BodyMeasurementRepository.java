@@ -0,0 +1,37 @@
+package com.fitness_application.user.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fitness_application.user.model.BodyMeasurement;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface BodyMeasurementRepository extends JpaRepository<BodyMeasurement, Long> {
+    
+    int SERIES_FETCH_SIZE = 1000;
+    
+    // Oldest first, over the user and time unique key; must be consumed inside a transaction and closed
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + SERIES_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT m FROM BodyMeasurement m WHERE m.userId = :userId AND m.measuredAt >= :from AND m.measuredAt < :to "
+            + "ORDER BY m.measuredAt")
+    Stream<BodyMeasurement> streamRange(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+    
+    @Query("SELECT m.measuredAt FROM BodyMeasurement m WHERE m.userId = :userId AND m.measuredAt IN :times")
+    List<LocalDateTime> findExistingTimes(@Param("userId") Long userId, @Param("times") Collection<LocalDateTime> times);
+    
+    @Query("SELECT MAX(m.measuredAt) FROM BodyMeasurement m WHERE m.userId = :userId AND m.weight IS NOT NULL")
+    LocalDateTime findLatestWeightTime(@Param("userId") Long userId);
+}
@@ -0,0 +1,29 @@
+package com.fitness_application.user.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fitness_application.user.model.ProfileOutboxEvent;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ProfileOutboxRepository extends JpaRepository<ProfileOutboxEvent, Long> {
+    
+    // Oldest first; locked so a relay on another instance waits rather than publishing the same events out of order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM ProfileOutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<ProfileOutboxEvent> findUnpublished(Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM ProfileOutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,27 @@
+package com.fitness_application.user.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fitness_application.user.model.UserProfileMetrics;
+
+@Repository
+public interface UserProfileMetricsRepository extends JpaRepository<UserProfileMetrics, Long> {
+    
+    // Snapshots whose age-dependent values are due, or that older formulas produced
+    @Query("SELECT m.userId FROM UserProfileMetrics m WHERE m.refreshOn <= :today OR m.formulaVersion < :formulaVersion "
+            + "ORDER BY m.userId")
+    List<Long> findUserIdsDueForRefresh(@Param("today") LocalDate today, @Param("formulaVersion") int formulaVersion,
+                                        Pageable pageable);
+    
+    // Profiles written before snapshots existed
+    @Query("SELECT p.userId FROM UserProfile p WHERE NOT EXISTS "
+            + "(SELECT m.userId FROM UserProfileMetrics m WHERE m.userId = p.userId) ORDER BY p.userId")
+    List<Long> findUserIdsWithoutMetrics(Pageable pageable);
+}
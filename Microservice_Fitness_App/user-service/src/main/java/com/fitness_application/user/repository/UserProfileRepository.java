@@ -1,10 +1,15 @@
 package com.fitness_application.user.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.fitness_application.user.dto.UserProfileSummaryDto;
 import com.fitness_application.user.model.UserProfile;
 
 @Repository
@@ -13,4 +18,9 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
     boolean existsByEmail(String email);
     Optional<UserProfile> findByUserId(Long userId);
     boolean existsByUserId(Long userId);
+
+    // Selects only the summary columns, in one IN query, without loading entities
+    @Query("SELECT new com.fitness_application.user.dto.UserProfileSummaryDto(p.userId, p.height, p.weight, p.gender, "
+            + "p.dateOfBirth, p.activityLevel, p.fitnessGoal) FROM UserProfile p WHERE p.userId IN :userIds")
+    List<UserProfileSummaryDto> findSummariesByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
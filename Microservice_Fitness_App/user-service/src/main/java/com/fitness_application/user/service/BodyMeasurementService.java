@@ -0,0 +1,202 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ApiResponse;
+import com.fitness_application.user.dto.BodyMeasurementDto;
+import com.fitness_application.user.dto.MeasurementPointDto;
+import com.fitness_application.user.dto.MeasurementSeriesDto;
+import com.fitness_application.user.model.BodyMeasurement;
+import com.fitness_application.user.repository.BodyMeasurementRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Append-only store of weigh-ins and body measurements, read back as downsampled series for progress charts.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class BodyMeasurementService {
+    
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int DEFAULT_POINTS = 300;
+    static final int MAX_POINTS = 5000;
+    
+    private final BodyMeasurementRepository bodyMeasurementRepository;
+    private final UserProfileService userProfileService;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Appends the measurements, skipping any whose time the user already has a measurement at, and returns how
+     * many were stored. A weight newer than every stored one also becomes the profile's current weight.
+     */
+    public ApiResponse<Integer> recordMeasurements(Long userId, List<BodyMeasurementDto> measurementDtos) {
+        try {
+            log.info("Recording {} measurements for user: {}", measurementDtos != null ? measurementDtos.size() : 0, userId);
+            
+            if (measurementDtos == null || measurementDtos.isEmpty()) {
+                return ApiResponse.error("At least one measurement is required");
+            }
+            if (measurementDtos.size() > MAX_BATCH_SIZE) {
+                return ApiResponse.error("At most " + MAX_BATCH_SIZE + " measurements can be recorded at once");
+            }
+            
+            // Later duplicates within the request lose, like later requests do
+            Map<LocalDateTime, BodyMeasurementDto> byTime = new LinkedHashMap<>();
+            for (BodyMeasurementDto dto : measurementDtos) {
+                String problem = validate(dto);
+                if (problem != null) {
+                    return ApiResponse.error(problem);
+                }
+                byTime.putIfAbsent(dto.getMeasuredAt(), dto);
+            }
+            Set<LocalDateTime> existing = new HashSet<>(
+                    bodyMeasurementRepository.findExistingTimes(userId, byTime.keySet()));
+            LocalDateTime latestWeightTime = bodyMeasurementRepository.findLatestWeightTime(userId);
+            
+            List<BodyMeasurement> measurements = new ArrayList<>(byTime.size());
+            BodyMeasurementDto newestWeight = null;
+            for (BodyMeasurementDto dto : byTime.values()) {
+                if (existing.contains(dto.getMeasuredAt())) {
+                    continue;
+                }
+                measurements.add(toEntity(userId, dto));
+                if (dto.getWeight() != null
+                        && (latestWeightTime == null || dto.getMeasuredAt().isAfter(latestWeightTime))
+                        && (newestWeight == null || dto.getMeasuredAt().isAfter(newestWeight.getMeasuredAt()))) {
+                    newestWeight = dto;
+                }
+            }
+            bodyMeasurementRepository.saveAll(measurements);
+            if (newestWeight != null) {
+                userProfileService.applyMeasuredWeight(userId, newestWeight.getWeight());
+            }
+            
+            return ApiResponse.success("Measurements recorded successfully", measurements.size());
+            
+        } catch (Exception e) {
+            log.error("Error recording measurements for user {}: {}", userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to record measurements: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * The user's values of the named metric, case-insensitive, measured in {@code from}..{@code to} (exclusive), downsampled with LTTB to
+     * at most {@code points} points. Null bounds leave the range open.
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<MeasurementSeriesDto> getSeries(Long userId, String metricName,
+                                                       LocalDateTime from, LocalDateTime to, Integer points) {
+        try {
+            log.info("Fetching {} series for user: {}", metricName, userId);
+            
+            BodyMeasurement.Metric metric;
+            try {
+                metric = BodyMeasurement.Metric.valueOf(metricName.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ApiResponse.error("Unknown metric: " + metricName);
+            }
+            int threshold = points != null ? points : DEFAULT_POINTS;
+            if (threshold < 3 || threshold > MAX_POINTS) {
+                return ApiResponse.error("Points must be between 3 and " + MAX_POINTS);
+            }
+            
+            // Times as epoch seconds and values, in primitive arrays grown as the cursor is read
+            long[] times = new long[256];
+            double[] values = new double[256];
+            int count = 0;
+            int windowRows = 0;
+            try (Stream<BodyMeasurement> rows = bodyMeasurementRepository.streamRange(userId,
+                    from != null ? from : LocalDateTime.of(1, 1, 1, 0, 0),
+                    to != null ? to : LocalDateTime.of(9999, 12, 31, 0, 0))) {
+                Iterator<BodyMeasurement> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    BodyMeasurement measurement = iterator.next();
+                    Double value = metric.valueOf(measurement);
+                    if (value != null) {
+                        if (count == times.length) {
+                            times = Arrays.copyOf(times, count * 2);
+                            values = Arrays.copyOf(values, count * 2);
+                        }
+                        times[count] = measurement.getMeasuredAt().toEpochSecond(ZoneOffset.UTC);
+                        values[count] = value;
+                        count++;
+                    }
+                    if (++windowRows == BodyMeasurementRepository.SERIES_FETCH_SIZE) {
+                        entityManager.clear();
+                        windowRows = 0;
+                    }
+                }
+            }
+            
+            double[] x = new double[count];
+            for (int i = 0; i < count; i++) {
+                x[i] = times[i];
+            }
+            int[] kept = Lttb.downsample(x, values, count, threshold);
+            List<MeasurementPointDto> series = new ArrayList<>(kept.length);
+            for (int i : kept) {
+                series.add(new MeasurementPointDto(LocalDateTime.ofEpochSecond(times[i], 0, ZoneOffset.UTC), values[i]));
+            }
+            return ApiResponse.success("Series retrieved successfully", new MeasurementSeriesDto(metric, count, series));
+            
+        } catch (Exception e) {
+            log.error("Error fetching {} series for user {}: {}", metricName, userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to fetch series: " + e.getMessage());
+        }
+    }
+    
+    private static String validate(BodyMeasurementDto dto) {
+        if (dto == null || dto.getMeasuredAt() == null) {
+            return "Every measurement needs a measuredAt time";
+        }
+        Double[] values = {dto.getWeight(), dto.getBodyFatPercentage(), dto.getWaist(), dto.getHips(), dto.getChest()};
+        boolean any = false;
+        for (Double value : values) {
+            if (value != null) {
+                if (!(value > 0) || value.isInfinite()) {
+                    return "Measurement values must be positive: " + dto.getMeasuredAt();
+                }
+                any = true;
+            }
+        }
+        if (!any) {
+            return "Measurement at " + dto.getMeasuredAt() + " has no values";
+        }
+        if (dto.getBodyFatPercentage() != null && dto.getBodyFatPercentage() >= 100) {
+            return "Body fat percentage must be below 100: " + dto.getMeasuredAt();
+        }
+        return null;
+    }
+    
+    private static BodyMeasurement toEntity(Long userId, BodyMeasurementDto dto) {
+        BodyMeasurement measurement = new BodyMeasurement();
+        measurement.setUserId(userId);
+        measurement.setMeasuredAt(dto.getMeasuredAt());
+        measurement.setWeight(dto.getWeight());
+        measurement.setBodyFatPercentage(dto.getBodyFatPercentage());
+        measurement.setWaist(dto.getWaist());
+        measurement.setHips(dto.getHips());
+        measurement.setChest(dto.getChest());
+        return measurement;
+    }
+}
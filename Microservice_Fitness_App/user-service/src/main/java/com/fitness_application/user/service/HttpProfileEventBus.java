@@ -0,0 +1,55 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ProfileChangedEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts each batch of profile change events to every URL in {@code user.events.subscribers}, e.g. the nutrition
+ * service's {@code /api/nutrition/internal/profile-events}, authenticated with the shared {@code user.events.token}.
+ * A failed post throws, so subscribers that already got the batch receive it again on the retry.
+ * <p>
+ * The relay posts while it holds its transaction and the locks on the pending outbox rows, so every post is bounded
+ * by {@code user.events.connect-timeout} and {@code user.events.read-timeout}; a hung subscriber fails the batch
+ * instead of stalling every later relay run.
+ */
+@Component
+@ConditionalOnProperty(name = "user.events.bus", havingValue = "http")
+public class HttpProfileEventBus implements ProfileEventBus {
+
+    static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private final RestClient restClient;
+    private final List<String> subscribers;
+
+    public HttpProfileEventBus(RestClient.Builder restClientBuilder,
+                               @Value("${user.events.subscribers:}") List<String> subscribers,
+                               @Value("${user.events.token:}") String token,
+                               @Value("${user.events.connect-timeout:2s}") Duration connectTimeout,
+                               @Value("${user.events.read-timeout:5s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).defaultHeader(TOKEN_HEADER, token).build();
+        this.subscribers = subscribers;
+    }
+
+    @Override
+    public void publish(List<ProfileChangedEventDto> events) {
+        for (String subscriber : subscribers) {
+            restClient.post()
+                    .uri(subscriber)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(events)
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ProfileChangedEventDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers profile change events to subscribers in this JVM, on the relay's thread. The default bus, for tests and
+ * for running user-service on its own.
+ */
+@Component
+@ConditionalOnProperty(name = "user.events.bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessProfileEventBus implements ProfileEventBus {
+
+    private final List<Consumer<ProfileChangedEventDto>> subscribers = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<ProfileChangedEventDto> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<ProfileChangedEventDto> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void publish(List<ProfileChangedEventDto> events) {
+        for (ProfileChangedEventDto event : events) {
+            for (Consumer<ProfileChangedEventDto> subscriber : subscribers) {
+                subscriber.accept(event);
+            }
+        }
+    }
+}
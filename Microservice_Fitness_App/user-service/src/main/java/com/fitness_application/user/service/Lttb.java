@@ -0,0 +1,74 @@
+package com.fitness_application.user.service;
+
+/**
+ * Largest-triangle-three-buckets downsampling of a time series, keeping the points that preserve its visual shape.
+ * <p>
+ * The first and last points are always kept. The points in between are split into {@code threshold - 2} buckets of
+ * about equal count, and each bucket keeps the point forming the largest triangle with the point kept from the
+ * previous bucket and the average of the next bucket. Runs in one pass over the points.
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Indexes of the points to keep, ascending. {@code x} must be ascending. Every index is returned when there
+     * are no more than {@code threshold} points or {@code threshold} is below 3.
+     */
+    static int[] downsample(double[] x, double[] y, int length, int threshold) {
+        if (threshold >= length || threshold < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] kept = new int[threshold];
+        int count = 0;
+        // Buckets span the points between the first and the last
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int a = 0;
+        kept[count++] = a;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            // The last bucket ends right before the final point, whatever the rounding
+            int end = bucket == threshold - 3 ? length - 1 : (int) Math.floor((bucket + 1) * bucketSize) + 1;
+
+            // Average of the next bucket; the last bucket looks ahead to the final point alone
+            int nextStart = end;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+            if (bucket == threshold - 3) {
+                nextStart = length - 1;
+                nextEnd = length;
+            }
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i];
+                avgY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                // Twice the triangle's area; only the comparison matters
+                double area = Math.abs((x[a] - avgX) * (y[i] - y[a]) - (x[a] - x[i]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            kept[count++] = chosen;
+            a = chosen;
+        }
+
+        kept[count] = length - 1;
+        return kept;
+    }
+}
@@ -0,0 +1,14 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ProfileChangedEventDto;
+
+import java.util.List;
+
+/**
+ * Where the outbox relay hands profile change events. Implementations deliver the events in the given order and
+ * throw if any subscriber did not get them, in which case the relay retries the same events later.
+ */
+public interface ProfileEventBus {
+
+    void publish(List<ProfileChangedEventDto> events);
+}
@@ -0,0 +1,66 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.model.UserProfile;
+import com.fitness_application.user.model.UserProfileMetrics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Derives a profile's metrics snapshot. Each value needs only its own inputs, so a profile without an activity level
+ * still gets a BMI and BMR.
+ */
+final class ProfileMetricsCalculator {
+
+    // Bump whenever a formula here changes; the refresh job then recomputes every stored snapshot
+    static final int FORMULA_VERSION = 1;
+
+    private ProfileMetricsCalculator() {
+    }
+
+    static void apply(UserProfile profile, LocalDate today, UserProfileMetrics metrics) {
+        Double height = profile.getHeight();
+        Double weight = profile.getWeight();
+
+        // BMI = weight (kg) / (height (m))^2
+        Double bmi = null;
+        if (height != null && weight != null) {
+            double heightInMeters = height / 100.0;
+            bmi = weight / (heightInMeters * heightInMeters);
+        }
+
+        Integer age = profile.getDateOfBirth() != null ? profile.getAge(today) : null;
+        Double bmr = null;
+        if (bmi != null && age != null && profile.getGender() != null) {
+            bmr = profile.getGender().calculateBMR(weight, height, age);
+        }
+        Double tdee = bmr != null && profile.getActivityLevel() != null
+                ? profile.getActivityLevel().calculateDailyCalories(bmr) : null;
+        UserProfile.FitnessGoal goal = profile.getFitnessGoal();
+        Double targetCalories = tdee != null && goal != null ? goal.adjustCalories(tdee) : null;
+
+        metrics.setBmi(bmi);
+        metrics.setBmr(bmr);
+        metrics.setTdee(tdee);
+        metrics.setTargetCalories(targetCalories);
+        metrics.setProteinGrams(targetCalories != null ? goal.proteinGrams(targetCalories) : null);
+        metrics.setCarbsGrams(targetCalories != null ? goal.carbsGrams(targetCalories) : null);
+        metrics.setFatGrams(targetCalories != null ? goal.fatGrams(targetCalories) : null);
+        metrics.setAge(age);
+        metrics.setRefreshOn(age != null ? nextAgeChange(profile.getDateOfBirth(), age, today) : null);
+        metrics.setFormulaVersion(FORMULA_VERSION);
+        metrics.setComputedAt(LocalDateTime.now());
+    }
+
+    /**
+     * First day after {@code today} on which the age may be higher. In common years a February 29th birthday comes
+     * up as the 28th, but the age only changes on March 1st, which the refresh on the 28th then schedules.
+     */
+    static LocalDate nextAgeChange(LocalDate dateOfBirth, int age, LocalDate today) {
+        LocalDate birthday = dateOfBirth.plusYears(age + 1L);
+        if (!birthday.isAfter(today)) {
+            return today.plusDays(1);
+        }
+        return birthday;
+    }
+}
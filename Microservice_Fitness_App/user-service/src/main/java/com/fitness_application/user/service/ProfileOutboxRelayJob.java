@@ -0,0 +1,50 @@
+package com.fitness_application.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Drains the profile outbox to the event bus shortly after each change, and trims events already published.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileOutboxRelayJob {
+
+    private final ProfileOutboxService profileOutboxService;
+
+    @Value("${user.events.relay-batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${user.events.retention:7d}")
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Publishes pending events batch by batch until none are left or the bus fails, one transaction per batch.
+     */
+    @Scheduled(fixedDelayString = "${user.events.relay-interval-ms:1000}")
+    public int relay() {
+        int relayed = 0;
+        int batch;
+        do {
+            batch = profileOutboxService.relayBatch(batchSize);
+            relayed += batch;
+        } while (batch == batchSize);
+        if (relayed > 0) {
+            log.debug("Relayed {} profile events", relayed);
+        }
+        return relayed;
+    }
+
+    @Scheduled(cron = "${user.events.purge-cron:0 30 0 * * *}")
+    public int purge() {
+        int purged = profileOutboxService.purgePublished(retention);
+        log.info("Purged {} published profile events", purged);
+        return purged;
+    }
+}
@@ -0,0 +1,111 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ProfileChangedEventDto;
+import com.fitness_application.user.model.ProfileOutboxEvent;
+import com.fitness_application.user.model.UserProfile;
+import com.fitness_application.user.repository.ProfileOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox for profile changes. Profile writes append an event in their own transaction, so an event
+ * exists exactly when its change committed; the relay then hands unpublished events to the {@link ProfileEventBus}
+ * oldest first, at least once.
+ */
+@Service
+@Slf4j
+public class ProfileOutboxService {
+
+    private final ProfileOutboxRepository profileOutboxRepository;
+    private final ProfileEventBus profileEventBus;
+
+    private final Counter published;
+    private final Counter failures;
+
+    public ProfileOutboxService(ProfileOutboxRepository profileOutboxRepository, ProfileEventBus profileEventBus,
+                                MeterRegistry meterRegistry) {
+        this.profileOutboxRepository = profileOutboxRepository;
+        this.profileEventBus = profileEventBus;
+        published = meterRegistry.counter("user.profile_outbox.published");
+        failures = meterRegistry.counter("user.profile_outbox.publish_failures");
+    }
+
+    /**
+     * Records {@code profile} as saved. Call after the save has been flushed, so the event carries the version the
+     * write produced.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(UserProfile profile) {
+        ProfileOutboxEvent event = newEvent(profile, ProfileOutboxEvent.EventType.UPSERTED, profile.getVersion());
+        event.setHeight(profile.getHeight());
+        event.setWeight(profile.getWeight());
+        event.setGender(profile.getGender());
+        event.setDateOfBirth(profile.getDateOfBirth());
+        event.setActivityLevel(profile.getActivityLevel());
+        event.setFitnessGoal(profile.getFitnessGoal());
+        profileOutboxRepository.save(event);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendDeleted(UserProfile profile) {
+        Long version = profile.getVersion() != null ? profile.getVersion() + 1 : null;
+        profileOutboxRepository.save(newEvent(profile, ProfileOutboxEvent.EventType.DELETED, version));
+    }
+
+    /**
+     * Publishes up to {@code batchSize} of the oldest unpublished events as one batch and marks them published.
+     * Returns how many were published: 0 when none were pending or the bus failed, in which case the same events
+     * are tried again on the next call. The events stay locked while the bus publishes them, so a bus that talks to
+     * other services must bound each call with timeouts.
+     */
+    @Transactional
+    public int relayBatch(int batchSize) {
+        List<ProfileOutboxEvent> pending = profileOutboxRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        try {
+            profileEventBus.publish(pending.stream().map(this::toDto).toList());
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Failed to publish {} profile events starting at {}: {}", pending.size(),
+                    pending.get(0).getId(), e.getMessage());
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        pending.forEach(event -> event.setPublishedAt(now));
+        published.increment(pending.size());
+        return pending.size();
+    }
+
+    /**
+     * Deletes events published more than {@code retention} ago; unpublished events are kept however old they are.
+     */
+    @Transactional
+    public int purgePublished(Duration retention) {
+        return profileOutboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private ProfileOutboxEvent newEvent(UserProfile profile, ProfileOutboxEvent.EventType type, Long version) {
+        ProfileOutboxEvent event = new ProfileOutboxEvent();
+        event.setUserId(profile.getUserId());
+        event.setType(type);
+        event.setProfileVersion(version);
+        return event;
+    }
+
+    private ProfileChangedEventDto toDto(ProfileOutboxEvent event) {
+        return new ProfileChangedEventDto(event.getId(), event.getUserId(), event.getType(),
+                event.getProfileVersion(), event.getHeight(), event.getWeight(), event.getGender(),
+                event.getDateOfBirth(), event.getActivityLevel(), event.getFitnessGoal(), event.getCreatedAt());
+    }
+}
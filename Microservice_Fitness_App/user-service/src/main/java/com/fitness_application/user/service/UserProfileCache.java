@@ -0,0 +1,193 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.model.UserProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of stored profiles, read by every profile endpoint and soon by other services on most requests.
+ * <p>
+ * Holds at most {@code user.profile-cache.max-users} users, least recently read evicted first, and drops an entry
+ * {@code user.profile-cache.ttl} after it was stored. A missing profile is cached too. Concurrent misses for one
+ * user share a single load. Writes put the saved profile, or its absence, once their transaction commits; a load
+ * that started before a write is not stored over it.
+ * <p>
+ * Cached profiles are shared between callers and must not be modified.
+ */
+@Component
+public class UserProfileCache {
+
+    private final int maxUsers;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final Map<Long, Entry> entries;
+    private final Map<Long, CompletableFuture<Optional<UserProfile>>> loading = new ConcurrentHashMap<>();
+    // Orders loads against writes; an entry carries the value current when its load started or its write committed
+    private final AtomicLong stamps = new AtomicLong();
+    // Newest stamp pushed out by the size bound, standing in for an entry that is no longer there
+    private long evictedStamp;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer loadLatency;
+
+    @Autowired
+    public UserProfileCache(@Value("${user.profile-cache.max-users:10000}") int maxUsers,
+                            @Value("${user.profile-cache.ttl:5m}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this(maxUsers, ttl, meterRegistry, Clock.systemUTC());
+    }
+
+    UserProfileCache(int maxUsers, Duration ttl, MeterRegistry meterRegistry, Clock clock) {
+        this.maxUsers = maxUsers;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() <= UserProfileCache.this.maxUsers) {
+                    return false;
+                }
+                evictedStamp = Math.max(evictedStamp, eldest.getValue().stamp());
+                return true;
+            }
+        };
+
+        hits = meterRegistry.counter("user.profile_cache.requests", "result", "hit");
+        misses = meterRegistry.counter("user.profile_cache.requests", "result", "miss");
+        loadLatency = meterRegistry.timer("user.profile_cache.load.latency");
+        meterRegistry.gaugeMapSize("user.profile_cache.size", List.of(), entries);
+    }
+
+    /**
+     * Returns the user's cached profile, or loads it with {@code loader} and caches the result. While one caller
+     * loads a user, others missing on the same user wait for that load instead of starting their own. If the
+     * loader throws, every waiting caller gets the exception and nothing is stored.
+     */
+    public Optional<UserProfile> get(Long userId, Supplier<Optional<UserProfile>> loader) {
+        long stamp;
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && clock.millis() - entry.storedAt() < ttlMillis) {
+                hits.increment();
+                return entry.profile();
+            }
+            stamp = stamps.get();
+        }
+        misses.increment();
+
+        CompletableFuture<Optional<UserProfile>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<UserProfile>> inFlight = loading.putIfAbsent(userId, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        long started = System.nanoTime();
+        try {
+            Optional<UserProfile> profile = loader.get();
+            store(userId, profile, stamp);
+            load.complete(profile);
+            return profile;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(userId, load);
+            loadLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Returns what is currently cached for each of {@code userIds} without loading anything: users cached as having
+     * no profile map to an empty Optional, and users with nothing current cached are left out.
+     */
+    public Map<Long, Optional<UserProfile>> getAllPresent(Collection<Long> userIds) {
+        Map<Long, Optional<UserProfile>> present = new HashMap<>();
+        long now = clock.millis();
+        synchronized (entries) {
+            for (Long userId : userIds) {
+                Entry entry = entries.get(userId);
+                if (entry != null && now - entry.storedAt() < ttlMillis) {
+                    present.put(userId, entry.profile());
+                }
+            }
+        }
+        hits.increment(present.size());
+        misses.increment(userIds.size() - present.size());
+        return present;
+    }
+
+    /**
+     * Caches {@code profile} as the user's profile once the current transaction commits, or right away outside a
+     * transaction. Pass null after a delete.
+     */
+    public void put(Long userId, UserProfile profile) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(userId, profile);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write(userId, profile);
+            }
+        });
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void write(Long userId, UserProfile profile) {
+        synchronized (entries) {
+            entries.put(userId, new Entry(Optional.ofNullable(profile), stamps.incrementAndGet(), clock.millis()));
+        }
+    }
+
+    private void store(Long userId, Optional<UserProfile> profile, long stamp) {
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if ((entry != null ? entry.stamp() : evictedStamp) <= stamp) {
+                entries.put(userId, new Entry(profile, stamp, clock.millis()));
+            }
+        }
+    }
+
+    private static Optional<UserProfile> await(CompletableFuture<Optional<UserProfile>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(Optional<UserProfile> profile, long stamp, long storedAt) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.fitness_application.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Daily refresh of the profile metrics snapshots whose age-dependent values change that day.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserProfileMetricsJob {
+
+    private final UserProfileService userProfileService;
+
+    @Value("${user.metrics.refresh-batch-size:500}")
+    private int batchSize = 500;
+
+    /**
+     * Refreshes snapshots on birthdays, after a formula change and for profiles without one, one transaction per
+     * batch so a large backlog doesn't hold a single long transaction.
+     */
+    @Scheduled(cron = "${user.metrics.refresh-cron:0 5 0 * * *}")
+    public int refreshDue() {
+        LocalDate today = LocalDate.now();
+        int refreshed = 0;
+        int batch;
+        do {
+            batch = userProfileService.refreshDueMetrics(today, batchSize);
+            refreshed += batch;
+        } while (batch == batchSize);
+        log.info("Refreshed {} profile metrics snapshots for {}", refreshed, today);
+        return refreshed;
+    }
+}
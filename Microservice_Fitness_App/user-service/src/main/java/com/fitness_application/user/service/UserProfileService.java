@@ -2,22 +2,41 @@ package com.fitness_application.user.service;
 
 import com.fitness_application.user.dto.ApiResponse;
 import com.fitness_application.user.dto.UserProfileDto;
+import com.fitness_application.user.dto.UserProfileMetricsDto;
+import com.fitness_application.user.dto.UserProfileSummaryDto;
+import com.fitness_application.user.mapper.UserProfileMapper;
 import com.fitness_application.user.model.UserProfile;
+import com.fitness_application.user.model.UserProfileMetrics;
+import com.fitness_application.user.repository.UserProfileMetricsRepository;
 import com.fitness_application.user.repository.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 @Slf4j
 public class UserProfileService {
     
+    static final int MAX_BATCH_SIZE = 1000;
+    
     private final UserProfileRepository userProfileRepository;
-    private final ModelMapper modelMapper;
+    private final UserProfileMapper userProfileMapper;
+    private final UserProfileCache userProfileCache;
+    private final UserProfileMetricsRepository userProfileMetricsRepository;
+    private final ProfileOutboxService profileOutboxService;
     
     public ApiResponse<UserProfileDto> createProfile(Long userId, UserProfileDto profileDto) {
         try {
@@ -41,8 +60,8 @@ public class UserProfileService {
             profile.setProfilePictureUrl(profileDto.getProfilePictureUrl());
             profile.setEmail(profileDto.getEmail());
             
-            UserProfile savedProfile = userProfileRepository.save(profile);
-            UserProfileDto responseDto = modelMapper.map(savedProfile, UserProfileDto.class);
+            UserProfile savedProfile = saveProfile(profile);
+            UserProfileDto responseDto = userProfileMapper.toDto(savedProfile);
             
             return ApiResponse.success("Profile created successfully", responseDto);
             
@@ -56,10 +75,9 @@ public class UserProfileService {
         try {
             log.info("Fetching profile for user: {}", userId);
             
-            UserProfile profile = userProfileRepository.findByUserId(userId)
-                    .orElseThrow(() -> new RuntimeException("Profile not found for user: " + userId));
+            UserProfile profile = findCachedProfile(userId);
             
-            UserProfileDto profileDto = modelMapper.map(profile, UserProfileDto.class);
+            UserProfileDto profileDto = userProfileMapper.toDto(profile);
             return ApiResponse.success("Profile retrieved successfully", profileDto);
             
         } catch (Exception e) {
@@ -86,8 +104,8 @@ public class UserProfileService {
             profile.setFitnessGoal(profileDto.getFitnessGoal());
             profile.setProfilePictureUrl(profileDto.getProfilePictureUrl());
             
-            UserProfile savedProfile = userProfileRepository.save(profile);
-            UserProfileDto responseDto = modelMapper.map(savedProfile, UserProfileDto.class);
+            UserProfile savedProfile = saveProfile(profile);
+            UserProfileDto responseDto = userProfileMapper.toDto(savedProfile);
             
             return ApiResponse.success("Profile updated successfully", responseDto);
             
@@ -101,10 +119,11 @@ public class UserProfileService {
         try {
             log.info("Fetching profile by ID: {}", profileId);
             
-            UserProfile profile = userProfileRepository.findById(profileId)
+            // A profile's id is its user's id
+            UserProfile profile = userProfileCache.get(profileId, () -> userProfileRepository.findById(profileId))
                     .orElseThrow(() -> new RuntimeException("Profile not found with ID: " + profileId));
             
-            UserProfileDto profileDto = modelMapper.map(profile, UserProfileDto.class);
+            UserProfileDto profileDto = userProfileMapper.toDto(profile);
             return ApiResponse.success("Profile retrieved successfully", profileDto);
             
         } catch (Exception e) {
@@ -113,6 +132,56 @@ public class UserProfileService {
         }
     }
     
+    /**
+     * Returns the summaries of the given users' profiles in request order, leaving out users without a profile.
+     * Cached profiles answer directly; the rest come from one IN query selecting only the summary columns, and are
+     * not added to the cache.
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<List<UserProfileSummaryDto>> getProfileSummaries(List<Long> userIds) {
+        try {
+            if (userIds == null || userIds.isEmpty()) {
+                return ApiResponse.error("At least one user ID is required");
+            }
+            Set<Long> requested = new LinkedHashSet<>(userIds);
+            requested.remove(null);
+            if (requested.size() > MAX_BATCH_SIZE) {
+                return ApiResponse.error("At most " + MAX_BATCH_SIZE + " user IDs can be requested at once");
+            }
+            log.info("Fetching {} profile summaries", requested.size());
+            
+            Map<Long, Optional<UserProfile>> cached = userProfileCache.getAllPresent(requested);
+            Map<Long, UserProfileSummaryDto> summaries = new HashMap<>();
+            List<Long> uncached = new ArrayList<>();
+            for (Long userId : requested) {
+                Optional<UserProfile> profile = cached.get(userId);
+                if (profile == null) {
+                    uncached.add(userId);
+                } else {
+                    profile.ifPresent(p -> summaries.put(userId, toSummary(p)));
+                }
+            }
+            if (!uncached.isEmpty()) {
+                for (UserProfileSummaryDto summary : userProfileRepository.findSummariesByUserIdIn(uncached)) {
+                    summaries.put(summary.getUserId(), summary);
+                }
+            }
+            
+            List<UserProfileSummaryDto> ordered = new ArrayList<>(summaries.size());
+            for (Long userId : requested) {
+                UserProfileSummaryDto summary = summaries.get(userId);
+                if (summary != null) {
+                    ordered.add(summary);
+                }
+            }
+            return ApiResponse.success("Profiles retrieved successfully", ordered);
+            
+        } catch (Exception e) {
+            log.error("Error fetching profile summaries: {}", e.getMessage(), e);
+            return ApiResponse.error("Failed to fetch profiles: " + e.getMessage());
+        }
+    }
+    
     public ApiResponse<Void> deleteProfile(Long userId) {
         try {
             log.info("Deleting profile for user: {}", userId);
@@ -121,6 +190,9 @@ public class UserProfileService {
                     .orElseThrow(() -> new RuntimeException("Profile not found for user: " + userId));
             
             userProfileRepository.delete(profile);
+            userProfileMetricsRepository.deleteById(userId);
+            profileOutboxService.appendDeleted(profile);
+            userProfileCache.put(userId, null);
             
             return ApiResponse.success("Profile deleted successfully", null);
             
@@ -130,19 +202,40 @@ public class UserProfileService {
         }
     }
     
+    /**
+     * Makes a newly measured weight the profile's current one and refreshes the metrics; does nothing for a user
+     * without a profile.
+     */
+    public void applyMeasuredWeight(Long userId, double weight) {
+        userProfileRepository.findByUserId(userId).ifPresent(profile -> {
+            log.info("Updating weight of user {} from a new measurement", userId);
+            profile.setWeight(weight);
+            saveProfile(profile);
+        });
+    }
+    
+    public ApiResponse<UserProfileMetricsDto> getMetrics(Long userId) {
+        try {
+            log.info("Fetching metrics for user: {}", userId);
+            
+            UserProfileMetricsDto metricsDto = userProfileMapper.toDto(findMetrics(userId));
+            return ApiResponse.success("Metrics retrieved successfully", metricsDto);
+            
+        } catch (Exception e) {
+            log.error("Error fetching metrics for user {}: {}", userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to fetch metrics: " + e.getMessage());
+        }
+    }
+    
     public ApiResponse<Double> calculateBMI(Long userId) {
         try {
-            UserProfile profile = userProfileRepository.findByUserId(userId)
-                    .orElseThrow(() -> new RuntimeException("Profile not found for user: " + userId));
+            UserProfileMetrics metrics = findMetrics(userId);
             
-            if (profile.getHeight() == null || profile.getWeight() == null) {
+            if (metrics.getBmi() == null) {
                 return ApiResponse.error("Height and weight are required for BMI calculation");
             }
             
-            // BMI = weight (kg) / (height (m))^2
-            double heightInMeters = profile.getHeight() / 100.0;
-            double bmi = profile.getWeight() / (heightInMeters * heightInMeters);
-            return ApiResponse.success("BMI calculated successfully", bmi);
+            return ApiResponse.success("BMI calculated successfully", metrics.getBmi());
             
         } catch (Exception e) {
             log.error("Error calculating BMI for user {}: {}", userId, e.getMessage(), e);
@@ -152,20 +245,74 @@ public class UserProfileService {
     
     public ApiResponse<Double> calculateBMR(Long userId) {
         try {
-            UserProfile profile = userProfileRepository.findByUserId(userId)
-                    .orElseThrow(() -> new RuntimeException("Profile not found for user: " + userId));
+            UserProfileMetrics metrics = findMetrics(userId);
             
-            if (profile.getHeight() == null || profile.getWeight() == null || 
-                profile.getDateOfBirth() == null || profile.getGender() == null) {
+            if (metrics.getBmr() == null) {
                 return ApiResponse.error("Height, weight, date of birth, and gender are required for BMR calculation");
             }
             
-            double bmr = profile.calculateBasalMetabolicRate();
-            return ApiResponse.success("BMR calculated successfully", bmr);
+            return ApiResponse.success("BMR calculated successfully", metrics.getBmr());
             
         } catch (Exception e) {
             log.error("Error calculating BMR for user {}: {}", userId, e.getMessage(), e);
             return ApiResponse.error("Failed to calculate BMR: " + e.getMessage());
         }
     }
+    
+    /**
+     * Recomputes up to {@code batchSize} snapshots that are due on {@code today}: ones whose age changes, ones older
+     * formulas produced, and profiles that have none yet. Returns how many were refreshed; callers repeat until 0.
+     */
+    public int refreshDueMetrics(LocalDate today, int batchSize) {
+        List<Long> userIds = new ArrayList<>(userProfileMetricsRepository.findUserIdsDueForRefresh(today,
+                ProfileMetricsCalculator.FORMULA_VERSION, PageRequest.of(0, batchSize)));
+        if (userIds.size() < batchSize) {
+            userIds.addAll(userProfileMetricsRepository.findUserIdsWithoutMetrics(
+                    PageRequest.of(0, batchSize - userIds.size())));
+        }
+        for (Long userId : userIds) {
+            Optional<UserProfile> profile = userProfileRepository.findByUserId(userId);
+            if (profile.isPresent()) {
+                refreshMetrics(profile.get(), today);
+            } else {
+                userProfileMetricsRepository.deleteById(userId);
+            }
+        }
+        return userIds.size();
+    }
+    
+    private UserProfileSummaryDto toSummary(UserProfile profile) {
+        return new UserProfileSummaryDto(profile.getUserId(), profile.getHeight(), profile.getWeight(),
+                profile.getGender(), profile.getDateOfBirth(), profile.getActivityLevel(), profile.getFitnessGoal());
+    }
+    
+    // Flushing first gives the profile the version this write produced, which its outbox event records
+    private UserProfile saveProfile(UserProfile profile) {
+        UserProfile savedProfile = userProfileRepository.save(profile);
+        userProfileRepository.flush();
+        refreshMetrics(savedProfile, LocalDate.now());
+        profileOutboxService.append(savedProfile);
+        userProfileCache.put(savedProfile.getUserId(), savedProfile);
+        return savedProfile;
+    }
+    
+    // The snapshot is a single row lookup; one missing for an older profile is computed on first read
+    private UserProfileMetrics findMetrics(Long userId) {
+        return userProfileMetricsRepository.findById(userId)
+                .orElseGet(() -> refreshMetrics(findCachedProfile(userId), LocalDate.now()));
+    }
+    
+    private UserProfileMetrics refreshMetrics(UserProfile profile, LocalDate today) {
+        UserProfileMetrics metrics = userProfileMetricsRepository.findById(profile.getUserId())
+                .orElseGet(() -> new UserProfileMetrics(profile.getUserId()));
+        ProfileMetricsCalculator.apply(profile, today, metrics);
+        userProfileMetricsRepository.save(metrics);
+        return metrics;
+    }
+    
+    // Read-only paths share the cached profile; writes load their own managed copy from the repository
+    private UserProfile findCachedProfile(Long userId) {
+        return userProfileCache.get(userId, () -> userProfileRepository.findByUserId(userId))
+                .orElseThrow(() -> new RuntimeException("Profile not found for user: " + userId));
+    }
 }
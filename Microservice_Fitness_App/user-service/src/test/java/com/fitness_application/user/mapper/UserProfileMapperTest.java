@@ -0,0 +1,60 @@
+package com.fitness_application.user.mapper;
+
+import com.fitness_application.user.dto.UserProfileDto;
+import com.fitness_application.user.model.UserProfile;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the hand-written mapper against the default ModelMapper the service used before.
+ */
+class UserProfileMapperTest {
+
+    private final UserProfileMapper userProfileMapper = new UserProfileMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    void toDto_MatchesModelMapper() {
+        // Given
+        UserProfile profile = new UserProfile();
+        profile.setUserId(1L);
+        profile.setEmail("test@example.com");
+        profile.setFirstName("John");
+        profile.setLastName("Doe");
+        profile.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        profile.setGender(UserProfile.Gender.MALE);
+        profile.setHeight(180.0);
+        profile.setWeight(75.0);
+        profile.setActivityLevel(UserProfile.ActivityLevel.MODERATELY_ACTIVE);
+        profile.setFitnessGoal(UserProfile.FitnessGoal.MAINTAIN_WEIGHT);
+        profile.setProfilePictureUrl("https://example.com/john.png");
+        profile.setTimeZone("Europe/Berlin");
+        profile.setLanguage("de");
+        profile.setEmailNotifications(false);
+        profile.setPushNotifications(true);
+        profile.setMeasurementUnit("IMPERIAL");
+        profile.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        profile.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 9, 0));
+
+        // When
+        UserProfileDto dto = userProfileMapper.toDto(profile);
+
+        // Then
+        assertEquals(modelMapper.map(profile, UserProfileDto.class), dto);
+    }
+
+    @Test
+    void toDto_SparseProfile_MatchesModelMapper() {
+        // Given
+        UserProfile profile = new UserProfile();
+        profile.setUserId(2L);
+
+        // When / Then
+        assertEquals(modelMapper.map(profile, UserProfileDto.class), userProfileMapper.toDto(profile));
+    }
+}
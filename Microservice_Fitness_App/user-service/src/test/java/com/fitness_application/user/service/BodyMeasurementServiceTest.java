@@ -0,0 +1,160 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ApiResponse;
+import com.fitness_application.user.dto.BodyMeasurementDto;
+import com.fitness_application.user.dto.MeasurementPointDto;
+import com.fitness_application.user.dto.MeasurementSeriesDto;
+import com.fitness_application.user.mapper.UserProfileMapper;
+import com.fitness_application.user.model.UserProfile;
+import com.fitness_application.user.model.UserProfileMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BodyMeasurementService.class, UserProfileService.class, UserProfileMapper.class, UserProfileCache.class,
+        SimpleMeterRegistry.class, ProfileOutboxService.class, InProcessProfileEventBus.class})
+class BodyMeasurementServiceTest {
+
+    @Autowired
+    private BodyMeasurementService bodyMeasurementService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final Long userId = 1L;
+    private final LocalDateTime start = LocalDateTime.of(2020, 1, 1, 7, 30);
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getSeries_FiveYearsOfDailyWeighInsDownsampledToRequestedPoints() {
+        // Given
+        List<BodyMeasurementDto> daily = new ArrayList<>();
+        for (int day = 0; day < 1825; day++) {
+            daily.add(weighIn(start.plusDays(day), 90 - day * 0.008));
+        }
+        for (int i = 0; i < daily.size(); i += 1000) {
+            bodyMeasurementService.recordMeasurements(userId, daily.subList(i, Math.min(i + 1000, daily.size())));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        statistics.clear();
+        ApiResponse<MeasurementSeriesDto> response = bodyMeasurementService.getSeries(userId, "weight", null, null, 300);
+
+        // Then
+        assertTrue(response.isSuccess());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        MeasurementSeriesDto series = response.getData();
+        assertEquals(1825, series.getTotalPoints());
+        assertEquals(300, series.getPoints().size());
+        assertEquals(start, series.getPoints().get(0).getMeasuredAt());
+        assertEquals(90.0, series.getPoints().get(0).getValue(), 1e-9);
+        assertEquals(start.plusDays(1824), series.getPoints().get(299).getMeasuredAt());
+    }
+
+    @Test
+    void getSeries_FiltersByMetricAndRange() {
+        // Given
+        BodyMeasurementDto withWaist = weighIn(start.plusDays(1), 80.0);
+        withWaist.setWaist(85.0);
+        BodyMeasurementDto waistOnly = new BodyMeasurementDto();
+        waistOnly.setMeasuredAt(start.plusDays(2));
+        waistOnly.setWaist(84.0);
+        bodyMeasurementService.recordMeasurements(userId, List.of(weighIn(start, 81.0), withWaist, waistOnly,
+                weighIn(start.plusDays(3), 79.0)));
+
+        // When
+        MeasurementSeriesDto waist = bodyMeasurementService.getSeries(userId, "WAIST", null, null, null).getData();
+        MeasurementSeriesDto weight = bodyMeasurementService.getSeries(userId, "weight", start.plusDays(1),
+                start.plusDays(3), null).getData();
+
+        // Then
+        assertEquals(List.of(85.0, 84.0), waist.getPoints().stream().map(MeasurementPointDto::getValue).toList());
+        assertEquals(List.of(80.0), weight.getPoints().stream().map(MeasurementPointDto::getValue).toList());
+        assertFalse(bodyMeasurementService.getSeries(userId, "height", null, null, null).isSuccess());
+        assertFalse(bodyMeasurementService.getSeries(userId, "weight", null, null, 2).isSuccess());
+    }
+
+    @Test
+    void recordMeasurements_SkipsTimesAlreadyRecorded() {
+        // Given
+        bodyMeasurementService.recordMeasurements(userId, List.of(weighIn(start, 81.0)));
+
+        // When
+        ApiResponse<Integer> response = bodyMeasurementService.recordMeasurements(userId,
+                List.of(weighIn(start, 95.0), weighIn(start.plusDays(1), 80.5), weighIn(start.plusDays(1), 99.0)));
+
+        // Then
+        assertEquals(1, response.getData());
+        MeasurementSeriesDto series = bodyMeasurementService.getSeries(userId, "weight", null, null, null).getData();
+        assertEquals(List.of(81.0, 80.5), series.getPoints().stream().map(MeasurementPointDto::getValue).toList());
+    }
+
+    @Test
+    void recordMeasurements_RejectsInvalidBatches() {
+        BodyMeasurementDto empty = new BodyMeasurementDto();
+        empty.setMeasuredAt(start);
+
+        assertFalse(bodyMeasurementService.recordMeasurements(userId, List.of()).isSuccess());
+        assertFalse(bodyMeasurementService.recordMeasurements(userId, List.of(empty)).isSuccess());
+        assertFalse(bodyMeasurementService.recordMeasurements(userId, List.of(weighIn(start, -1.0))).isSuccess());
+        assertFalse(bodyMeasurementService.recordMeasurements(userId, List.of(weighIn(null, 80.0))).isSuccess());
+    }
+
+    @Test
+    void recordMeasurements_NewestWeightUpdatesProfileAndMetrics() {
+        // Given
+        UserProfile profile = new UserProfile();
+        profile.setUserId(userId);
+        profile.setEmail("weigh@example.com");
+        profile.setFirstName("Weigh");
+        profile.setLastName("In");
+        profile.setHeight(200.0);
+        profile.setWeight(100.0);
+        entityManager.persist(profile);
+        entityManager.flush();
+
+        // When
+        bodyMeasurementService.recordMeasurements(userId, List.of(weighIn(start.plusDays(5), 96.0),
+                weighIn(start.plusDays(6), 92.0)));
+        // Older than what is already stored, so the profile keeps 92
+        bodyMeasurementService.recordMeasurements(userId, List.of(weighIn(start.plusDays(1), 99.0)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(92.0, entityManager.find(UserProfile.class, userId).getWeight());
+        assertEquals(23.0, entityManager.find(UserProfileMetrics.class, userId).getBmi(), 1e-9);
+    }
+
+    private BodyMeasurementDto weighIn(LocalDateTime measuredAt, double weight) {
+        BodyMeasurementDto dto = new BodyMeasurementDto();
+        dto.setMeasuredAt(measuredAt);
+        dto.setWeight(weight);
+        return dto;
+    }
+}
@@ -0,0 +1,95 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ProfileChangedEventDto;
+import com.fitness_application.user.model.ProfileOutboxEvent;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpProfileEventBusTest {
+
+    private HttpServer server;
+    private final List<String> receivedTokens = new CopyOnWriteArrayList<>();
+    private final CountDownLatch releaseHungSubscriber = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/events", exchange -> {
+            receivedTokens.add(exchange.getRequestHeaders().getFirst(HttpProfileEventBus.TOKEN_HEADER));
+            respond(exchange);
+        });
+        server.createContext("/hung", exchange -> {
+            try {
+                releaseHungSubscriber.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange);
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseHungSubscriber.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void publish_PostsToEverySubscriberWithToken() {
+        // Given
+        HttpProfileEventBus bus = bus(List.of(url("/events"), url("/events")), Duration.ofSeconds(5));
+
+        // When
+        bus.publish(List.of(event()));
+
+        // Then
+        assertEquals(List.of("secret", "secret"), receivedTokens);
+    }
+
+    @Test
+    void publish_HungSubscriberFailsWithinReadTimeout() {
+        // Given
+        HttpProfileEventBus bus = bus(List.of(url("/hung")), Duration.ofMillis(200));
+
+        // When / Then: the relay's transaction and row locks are released instead of waiting on the subscriber
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(ResourceAccessException.class, () -> bus.publish(List.of(event()))));
+    }
+
+    private HttpProfileEventBus bus(List<String> subscribers, Duration readTimeout) {
+        return new HttpProfileEventBus(RestClient.builder(), subscribers, "secret", Duration.ofSeconds(1), readTimeout);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private ProfileChangedEventDto event() {
+        return new ProfileChangedEventDto(1L, 1L, ProfileOutboxEvent.EventType.UPSERTED, 1L, 180.0, 80.0,
+                null, null, null, null, LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.fitness_application.user.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LttbTest {
+
+    @Test
+    void downsample_KeepsEndpointsAndReturnsThresholdAscendingIndexes() {
+        // Given
+        int length = 1825;
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = i * 86_400.0;
+            y[i] = 80 - i * 0.005 + Math.sin(i / 7.0);
+        }
+
+        // When
+        int[] kept = Lttb.downsample(x, y, length, 300);
+
+        // Then
+        assertEquals(300, kept.length);
+        assertEquals(0, kept[0]);
+        assertEquals(length - 1, kept[299]);
+        for (int i = 1; i < kept.length; i++) {
+            assertTrue(kept[i] > kept[i - 1]);
+        }
+    }
+
+    @Test
+    void downsample_KeepsIsolatedSpike() {
+        // Given
+        int length = 1000;
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = i;
+            y[i] = 70;
+        }
+        y[613] = 90;
+
+        // When
+        int[] kept = Lttb.downsample(x, y, length, 20);
+
+        // Then
+        boolean spikeKept = false;
+        for (int i : kept) {
+            spikeKept |= i == 613;
+        }
+        assertTrue(spikeKept);
+    }
+
+    @Test
+    void downsample_ShortSeriesIsReturnedWhole() {
+        // Given
+        double[] x = {1, 2, 3, 4};
+        double[] y = {5, 6, 7, 8};
+
+        // Then
+        assertArrayEquals(new int[]{0, 1, 2, 3}, Lttb.downsample(x, y, 4, 300));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, Lttb.downsample(x, y, 4, 4));
+        int[] three = Lttb.downsample(x, y, 4, 3);
+        assertEquals(3, three.length);
+        assertEquals(0, three[0]);
+        assertEquals(3, three[2]);
+    }
+}
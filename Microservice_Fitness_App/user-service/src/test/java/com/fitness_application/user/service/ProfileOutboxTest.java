@@ -0,0 +1,164 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ProfileChangedEventDto;
+import com.fitness_application.user.dto.UserProfileDto;
+import com.fitness_application.user.mapper.UserProfileMapper;
+import com.fitness_application.user.model.ProfileOutboxEvent;
+import com.fitness_application.user.model.UserProfile;
+import com.fitness_application.user.repository.ProfileOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({UserProfileService.class, UserProfileMapper.class, UserProfileCache.class, SimpleMeterRegistry.class,
+        ProfileOutboxService.class, InProcessProfileEventBus.class})
+class ProfileOutboxTest {
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private ProfileOutboxService profileOutboxService;
+
+    @Autowired
+    private ProfileOutboxRepository profileOutboxRepository;
+
+    @Autowired
+    private InProcessProfileEventBus eventBus;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<ProfileChangedEventDto> received = new ArrayList<>();
+    private final AtomicBoolean failNext = new AtomicBoolean();
+    private final Consumer<ProfileChangedEventDto> subscriber = event -> {
+        if (failNext.getAndSet(false)) {
+            throw new IllegalStateException("Subscriber unavailable");
+        }
+        received.add(event);
+    };
+
+    @BeforeEach
+    void setUp() {
+        eventBus.subscribe(subscriber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventBus.unsubscribe(subscriber);
+    }
+
+    @Test
+    void profileWrites_AppendVersionedEventsPublishedInOrder() {
+        // Given
+        userProfileService.createProfile(1L, profileDto(80.0));
+        userProfileService.updateProfile(1L, profileDto(78.5));
+        userProfileService.deleteProfile(1L);
+
+        // When
+        int relayed = profileOutboxService.relayBatch(100);
+
+        // Then
+        assertEquals(3, relayed);
+        assertEquals(List.of(ProfileOutboxEvent.EventType.UPSERTED, ProfileOutboxEvent.EventType.UPSERTED,
+                ProfileOutboxEvent.EventType.DELETED), received.stream().map(ProfileChangedEventDto::getType).toList());
+        assertEquals(List.of(0L, 1L, 2L), received.stream().map(ProfileChangedEventDto::getVersion).toList());
+        assertTrue(received.get(0).getEventId() < received.get(1).getEventId());
+        assertTrue(received.get(1).getEventId() < received.get(2).getEventId());
+        ProfileChangedEventDto updated = received.get(1);
+        assertEquals(1L, updated.getUserId());
+        assertEquals(78.5, updated.getWeight());
+        assertEquals(180.0, updated.getHeight());
+        assertEquals(UserProfile.FitnessGoal.WEIGHT_LOSS, updated.getFitnessGoal());
+        assertNull(received.get(2).getWeight());
+    }
+
+    @Test
+    void relayBatch_PublishesOldestFirstInBatchesAndOnlyOnce() {
+        // Given
+        for (long userId = 1; userId <= 5; userId++) {
+            userProfileService.createProfile(userId, profileDto(70.0 + userId));
+        }
+
+        // When
+        int first = profileOutboxService.relayBatch(3);
+        int second = profileOutboxService.relayBatch(3);
+        int third = profileOutboxService.relayBatch(3);
+
+        // Then
+        assertEquals(3, first);
+        assertEquals(2, second);
+        assertEquals(0, third);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), received.stream().map(ProfileChangedEventDto::getUserId).toList());
+        assertTrue(profileOutboxRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null));
+    }
+
+    @Test
+    void relayBatch_BusFailureLeavesEventsForRetry() {
+        // Given
+        userProfileService.createProfile(1L, profileDto(80.0));
+        failNext.set(true);
+
+        // When
+        int failed = profileOutboxService.relayBatch(100);
+        int retried = profileOutboxService.relayBatch(100);
+
+        // Then
+        assertEquals(0, failed);
+        assertEquals(1, retried);
+        assertEquals(1, received.size());
+        assertEquals(1L, received.get(0).getUserId());
+    }
+
+    @Test
+    void purgePublished_KeepsRecentAndUnpublishedEvents() {
+        // Given
+        userProfileService.createProfile(1L, profileDto(80.0));
+        userProfileService.createProfile(2L, profileDto(80.0));
+        profileOutboxService.relayBatch(1);
+        userProfileService.createProfile(3L, profileDto(80.0));
+        ProfileOutboxEvent old = profileOutboxRepository.findAll().stream()
+                .filter(event -> event.getUserId() == 1L).findFirst().orElseThrow();
+        old.setPublishedAt(LocalDateTime.now().minusDays(8));
+        entityManager.flush();
+
+        // When
+        int purged = profileOutboxService.purgePublished(Duration.ofDays(7));
+
+        // Then
+        assertEquals(1, purged);
+        entityManager.clear();
+        assertEquals(List.of(2L, 3L), profileOutboxRepository.findAll().stream()
+                .map(ProfileOutboxEvent::getUserId).sorted().toList());
+    }
+
+    private UserProfileDto profileDto(double weight) {
+        UserProfileDto dto = new UserProfileDto();
+        dto.setEmail("outbox@example.com");
+        dto.setFirstName("Outbox");
+        dto.setLastName("User");
+        dto.setDateOfBirth(LocalDate.of(1990, 4, 12));
+        dto.setGender(UserProfile.Gender.FEMALE);
+        dto.setHeight(180.0);
+        dto.setWeight(weight);
+        dto.setActivityLevel(UserProfile.ActivityLevel.LIGHTLY_ACTIVE);
+        dto.setFitnessGoal(UserProfile.FitnessGoal.WEIGHT_LOSS);
+        return dto;
+    }
+}
@@ -0,0 +1,118 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ApiResponse;
+import com.fitness_application.user.dto.UserProfileSummaryDto;
+import com.fitness_application.user.mapper.UserProfileMapper;
+import com.fitness_application.user.model.UserProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({UserProfileService.class, UserProfileMapper.class, UserProfileCache.class, SimpleMeterRegistry.class,
+        ProfileOutboxService.class, InProcessProfileEventBus.class})
+class UserProfileBatchLookupTest {
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (long userId = 1; userId <= 300; userId++) {
+            UserProfile profile = new UserProfile();
+            profile.setUserId(userId);
+            profile.setEmail("user" + userId + "@example.com");
+            profile.setFirstName("User");
+            profile.setLastName(String.valueOf(userId));
+            profile.setDateOfBirth(LocalDate.of(1990, 1, 1).plusDays(userId));
+            profile.setGender(userId % 2 == 0 ? UserProfile.Gender.FEMALE : UserProfile.Gender.MALE);
+            profile.setHeight(160.0 + userId % 40);
+            profile.setWeight(60.0 + userId % 30);
+            profile.setActivityLevel(UserProfile.ActivityLevel.MODERATELY_ACTIVE);
+            profile.setFitnessGoal(UserProfile.FitnessGoal.MAINTAIN_WEIGHT);
+            entityManager.persist(profile);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getProfileSummaries_OneQueryInRequestOrderSkippingUnknownUsers() {
+        // Given
+        List<Long> userIds = new ArrayList<>(LongStream.rangeClosed(1, 250).boxed().toList().reversed());
+        userIds.add(5000L);
+        userIds.add(7L);
+
+        // When
+        statistics.clear();
+        ApiResponse<List<UserProfileSummaryDto>> response = userProfileService.getProfileSummaries(userIds);
+
+        // Then
+        assertTrue(response.isSuccess());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        List<UserProfileSummaryDto> summaries = response.getData();
+        assertEquals(250, summaries.size());
+        assertEquals(250L, summaries.get(0).getUserId());
+        assertEquals(1L, summaries.get(249).getUserId());
+        UserProfileSummaryDto user8 = summaries.get(250 - 8);
+        assertEquals(8L, user8.getUserId());
+        assertEquals(UserProfile.Gender.FEMALE, user8.getGender());
+        assertEquals(168.0, user8.getHeight());
+        assertEquals(LocalDate.of(1990, 1, 9), user8.getDateOfBirth());
+        assertEquals(UserProfile.FitnessGoal.MAINTAIN_WEIGHT, user8.getFitnessGoal());
+    }
+
+    @Test
+    void getProfileSummaries_CachedUsersSkipTheQuery() {
+        // Given
+        userProfileService.getProfile(1L);
+        userProfileService.getProfile(2L);
+        userProfileService.getProfile(4000L);
+
+        // When
+        statistics.clear();
+        ApiResponse<List<UserProfileSummaryDto>> cachedOnly =
+                userProfileService.getProfileSummaries(List.of(1L, 2L, 4000L));
+        long cachedOnlyQueries = statistics.getPrepareStatementCount();
+        ApiResponse<List<UserProfileSummaryDto>> mixed = userProfileService.getProfileSummaries(List.of(1L, 3L));
+
+        // Then
+        assertEquals(List.of(1L, 2L), cachedOnly.getData().stream().map(UserProfileSummaryDto::getUserId).toList());
+        assertEquals(0, cachedOnlyQueries);
+        assertEquals(List.of(1L, 3L), mixed.getData().stream().map(UserProfileSummaryDto::getUserId).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getProfileSummaries_RejectsEmptyAndOversizedRequests() {
+        List<Long> tooMany = LongStream.rangeClosed(1, UserProfileService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertFalse(userProfileService.getProfileSummaries(List.of()).isSuccess());
+        assertFalse(userProfileService.getProfileSummaries(tooMany).isSuccess());
+    }
+}
@@ -0,0 +1,216 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.model.UserProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserProfileCacheTest {
+
+    private final SettableClock clock = new SettableClock(Instant.parse("2024-06-30T12:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private UserProfileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserProfileCache(2, Duration.ofMinutes(5), meterRegistry, clock);
+    }
+
+    @Test
+    void get_SecondReadIsHitAndRecordsMetrics() {
+        // When
+        Optional<UserProfile> first = cache.get(1L, () -> load(1L));
+        Optional<UserProfile> second = cache.get(1L, () -> load(1L));
+
+        // Then
+        assertSame(first.orElseThrow(), second.orElseThrow());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.counter("user.profile_cache.requests", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("user.profile_cache.requests", "result", "miss").count());
+        assertEquals(1, meterRegistry.timer("user.profile_cache.load.latency").count());
+    }
+
+    @Test
+    void get_ReloadsAfterTtl() {
+        // Given
+        cache.get(1L, () -> load(1L));
+
+        // When
+        clock.instant = clock.instant.plus(Duration.ofMinutes(5));
+        cache.get(1L, () -> load(1L));
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_CachesMissingProfile() {
+        // When
+        cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<UserProfile> second = cache.get(1L, () -> load(1L));
+
+        // Then
+        assertTrue(second.isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ConcurrentMissesShareOneLoad() throws Exception {
+        // Given
+        int readers = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+
+        // When
+        List<Future<Optional<UserProfile>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> cache.get(1L, () -> {
+            loading.countDown();
+            await(release);
+            return load(1L);
+        })));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < readers; i++) {
+            results.add(executor.submit(() -> cache.get(1L, () -> load(1L))));
+        }
+        // Let the waiting readers reach the in-flight load before it finishes
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        UserProfile loaded = results.get(0).get(5, TimeUnit.SECONDS).orElseThrow();
+        for (Future<Optional<UserProfile>> result : results) {
+            assertSame(loaded, result.get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+        assertEquals(1, loads.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void put_OutsideTransactionReplacesCachedProfile() {
+        // Given
+        cache.get(1L, () -> load(1L));
+        UserProfile saved = new UserProfile();
+        saved.setUserId(1L);
+
+        // When
+        cache.put(1L, saved);
+        Optional<UserProfile> afterSave = cache.get(1L, () -> load(1L));
+        cache.put(1L, null);
+        Optional<UserProfile> afterDelete = cache.get(1L, () -> load(1L));
+
+        // Then
+        assertSame(saved, afterSave.orElseThrow());
+        assertTrue(afterDelete.isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_LoadOverlappingWriteIsNotCached() {
+        // Given
+        UserProfile saved = new UserProfile();
+        saved.setUserId(1L);
+
+        // When
+        // The write commits while this read is still loading the old profile
+        cache.get(1L, () -> {
+            cache.put(1L, saved);
+            return load(1L);
+        });
+        Optional<UserProfile> next = cache.get(1L, () -> load(1L));
+
+        // Then
+        assertSame(saved, next.orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyReadUserBeyondMaxUsers() {
+        // Given
+        cache.get(1L, () -> load(1L));
+        cache.get(2L, () -> load(2L));
+        cache.get(1L, () -> load(1L));
+
+        // When
+        cache.get(3L, () -> load(3L));
+        cache.get(1L, () -> load(1L));
+        cache.get(2L, () -> load(2L));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void get_FailedLoadIsNotCached() {
+        assertThrows(RuntimeException.class, () -> cache.get(1L, () -> {
+            throw new RuntimeException("Database unavailable");
+        }));
+
+        cache.get(1L, () -> load(1L));
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0, meterRegistry.counter("user.profile_cache.requests", "result", "miss").count());
+    }
+
+    private Optional<UserProfile> load(Long userId) {
+        loads.incrementAndGet();
+        UserProfile profile = new UserProfile();
+        profile.setUserId(userId);
+        return Optional.of(profile);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class SettableClock extends Clock {
+
+        private Instant instant;
+
+        SettableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
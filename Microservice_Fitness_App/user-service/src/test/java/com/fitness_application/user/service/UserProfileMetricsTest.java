@@ -0,0 +1,171 @@
+package com.fitness_application.user.service;
+
+import com.fitness_application.user.dto.ApiResponse;
+import com.fitness_application.user.dto.UserProfileDto;
+import com.fitness_application.user.dto.UserProfileMetricsDto;
+import com.fitness_application.user.mapper.UserProfileMapper;
+import com.fitness_application.user.model.UserProfile;
+import com.fitness_application.user.model.UserProfileMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({UserProfileService.class, UserProfileMapper.class, UserProfileCache.class, SimpleMeterRegistry.class,
+        ProfileOutboxService.class, InProcessProfileEventBus.class})
+class UserProfileMetricsTest {
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final LocalDate today = LocalDate.now();
+    // Turns 30 in ten days
+    private final LocalDate dateOfBirth = today.minusYears(30).plusDays(10);
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void createProfile_StoresSnapshotWithEveryMetric() {
+        // When
+        userProfileService.createProfile(101L, profileDto(UserProfile.FitnessGoal.WEIGHT_LOSS));
+        UserProfileMetricsDto metrics = userProfileService.getMetrics(101L).getData();
+
+        // Then
+        double bmr = 88.362 + 13.397 * 80 + 4.799 * 180 - 5.677 * 29;
+        double targetCalories = bmr * 1.55 - 500;
+        assertEquals(80 / (1.8 * 1.8), metrics.getBmi(), 1e-9);
+        assertEquals(bmr, metrics.getBmr(), 1e-9);
+        assertEquals(bmr * 1.55, metrics.getTdee(), 1e-9);
+        assertEquals(targetCalories, metrics.getTargetCalories(), 1e-9);
+        assertEquals(targetCalories * 0.35 / 4, metrics.getProteinGrams(), 1e-9);
+        assertEquals(targetCalories * 0.35 / 4, metrics.getCarbsGrams(), 1e-9);
+        assertEquals(targetCalories * 0.30 / 9, metrics.getFatGrams(), 1e-9);
+        assertEquals(29, metrics.getAge());
+    }
+
+    @Test
+    void updateProfile_RecomputesAndBumpsVersion() {
+        // Given
+        userProfileService.createProfile(102L, profileDto(UserProfile.FitnessGoal.MAINTAIN_WEIGHT));
+        entityManager.flush();
+        Long createdVersion = userProfileService.getMetrics(102L).getData().getVersion();
+
+        // When
+        UserProfileDto update = profileDto(UserProfile.FitnessGoal.MAINTAIN_WEIGHT);
+        update.setWeight(90.0);
+        update.setActivityLevel(null);
+        userProfileService.updateProfile(102L, update);
+        entityManager.flush();
+        UserProfileMetricsDto metrics = userProfileService.getMetrics(102L).getData();
+
+        // Then
+        assertEquals(createdVersion + 1, metrics.getVersion());
+        assertEquals(90 / (1.8 * 1.8), metrics.getBmi(), 1e-9);
+        assertNotNull(metrics.getBmr());
+        assertNull(metrics.getTdee());
+        assertNull(metrics.getProteinGrams());
+    }
+
+    @Test
+    void calculateBmiAndBmr_AreOneRowLookup() {
+        // Given
+        userProfileService.createProfile(103L, profileDto(UserProfile.FitnessGoal.MUSCLE_GAIN));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        statistics.clear();
+        ApiResponse<Double> bmi = userProfileService.calculateBMI(103L);
+        long bmiQueries = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        ApiResponse<Double> bmr = userProfileService.calculateBMR(103L);
+
+        // Then
+        assertTrue(bmi.isSuccess());
+        assertTrue(bmr.isSuccess());
+        assertEquals(1, bmiQueries);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void refreshDueMetrics_UpdatesAgeOnBirthdayAndBackfillsMissingSnapshots() {
+        // Given
+        userProfileService.createProfile(104L, profileDto(UserProfile.FitnessGoal.ENDURANCE));
+        UserProfile legacy = new UserProfile();
+        legacy.setUserId(105L);
+        legacy.setEmail("legacy@example.com");
+        legacy.setFirstName("Legacy");
+        legacy.setLastName("User");
+        legacy.setHeight(170.0);
+        legacy.setWeight(70.0);
+        entityManager.persist(legacy);
+        entityManager.flush();
+
+        // When
+        int beforeBirthday = userProfileService.refreshDueMetrics(today.plusDays(9), 100);
+        int onBirthday = userProfileService.refreshDueMetrics(today.plusDays(10), 100);
+        int again = userProfileService.refreshDueMetrics(today.plusDays(10), 100);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        // The first run only backfills the legacy profile
+        assertEquals(1, beforeBirthday);
+        assertEquals(1, onBirthday);
+        assertEquals(0, again);
+        UserProfileMetrics birthday = entityManager.find(UserProfileMetrics.class, 104L);
+        assertEquals(30, birthday.getAge());
+        assertEquals(dateOfBirth.plusYears(31), birthday.getRefreshOn());
+        UserProfileMetrics backfilled = entityManager.find(UserProfileMetrics.class, 105L);
+        assertEquals(70 / (1.7 * 1.7), backfilled.getBmi(), 1e-9);
+        assertNull(backfilled.getBmr());
+        assertNull(backfilled.getRefreshOn());
+    }
+
+    @Test
+    void nextAgeChange_LeapDayBirthdayMovesToMarchFirstInCommonYears() {
+        LocalDate leapDay = LocalDate.of(2000, 2, 29);
+
+        assertEquals(LocalDate.of(2001, 2, 28), ProfileMetricsCalculator.nextAgeChange(leapDay, 0,
+                LocalDate.of(2001, 2, 1)));
+        assertEquals(LocalDate.of(2001, 3, 1), ProfileMetricsCalculator.nextAgeChange(leapDay, 0,
+                LocalDate.of(2001, 2, 28)));
+        assertEquals(LocalDate.of(2004, 2, 29), ProfileMetricsCalculator.nextAgeChange(leapDay, 3,
+                LocalDate.of(2003, 3, 1)));
+    }
+
+    private UserProfileDto profileDto(UserProfile.FitnessGoal goal) {
+        UserProfileDto dto = new UserProfileDto();
+        dto.setEmail("metrics@example.com");
+        dto.setFirstName("Metric");
+        dto.setLastName("User");
+        dto.setDateOfBirth(dateOfBirth);
+        dto.setGender(UserProfile.Gender.MALE);
+        dto.setHeight(180.0);
+        dto.setWeight(80.0);
+        dto.setActivityLevel(UserProfile.ActivityLevel.MODERATELY_ACTIVE);
+        dto.setFitnessGoal(goal);
+        return dto;
+    }
+}
@@ -2,16 +2,21 @@ package com.fitness_application.user.service;
 
 import com.fitness_application.user.dto.ApiResponse;
 import com.fitness_application.user.dto.UserProfileDto;
+import com.fitness_application.user.mapper.UserProfileMapper;
 import com.fitness_application.user.model.UserProfile;
+import com.fitness_application.user.repository.UserProfileMetricsRepository;
 import com.fitness_application.user.repository.UserProfileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -30,7 +35,17 @@ class UserProfileServiceTest {
     private UserProfileRepository userProfileRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserProfileMapper userProfileMapper;
+
+    @Mock
+    private UserProfileMetricsRepository userProfileMetricsRepository;
+
+    @Mock
+    private ProfileOutboxService profileOutboxService;
+
+    @Spy
+    private UserProfileCache userProfileCache =
+            new UserProfileCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry(), Clock.systemUTC());
 
     @InjectMocks
     private UserProfileService userProfileService;
@@ -77,7 +92,7 @@ class UserProfileServiceTest {
         // Given
         when(userProfileRepository.findByUserId(userId)).thenReturn(Optional.empty());
         when(userProfileRepository.save(any(UserProfile.class))).thenReturn(userProfile);
-        when(modelMapper.map(userProfile, UserProfileDto.class)).thenReturn(userProfileDto);
+        when(userProfileMapper.toDto(userProfile)).thenReturn(userProfileDto);
 
         // When
         ApiResponse<UserProfileDto> response = userProfileService.createProfile(userId, userProfileDto);
@@ -99,7 +114,7 @@ class UserProfileServiceTest {
 
         // Then
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("Profile already exists"));
+        assertTrue(response.getError().contains("Profile already exists"));
         verify(userProfileRepository, never()).save(any());
     }
 
@@ -114,14 +129,14 @@ class UserProfileServiceTest {
 
         // Then
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("Failed to create profile"));
+        assertTrue(response.getError().contains("Failed to create profile"));
     }
 
     @Test
     void getProfile_Success() {
         // Given
         when(userProfileRepository.findByUserId(userId)).thenReturn(Optional.of(userProfile));
-        when(modelMapper.map(userProfile, UserProfileDto.class)).thenReturn(userProfileDto);
+        when(userProfileMapper.toDto(userProfile)).thenReturn(userProfileDto);
 
         // When
         ApiResponse<UserProfileDto> response = userProfileService.getProfile(userId);
@@ -132,6 +147,47 @@ class UserProfileServiceTest {
         assertEquals(userId, response.getData().getUserId());
     }
 
+    @Test
+    void getProfile_RepeatedReadsServedFromCache() {
+        // Given
+        when(userProfileRepository.findByUserId(userId)).thenReturn(Optional.of(userProfile));
+        when(userProfileMapper.toDto(userProfile)).thenReturn(userProfileDto);
+
+        // When
+        userProfileService.getProfile(userId);
+        ApiResponse<Double> bmi = userProfileService.calculateBMI(userId);
+        ApiResponse<UserProfileDto> response = userProfileService.getProfile(userId);
+
+        // Then
+        assertTrue(bmi.isSuccess());
+        assertTrue(response.isSuccess());
+        verify(userProfileRepository, times(1)).findByUserId(userId);
+    }
+
+    @Test
+    void updateAndDeleteProfile_WriteThroughToCache() {
+        // Given
+        UserProfile updated = new UserProfile();
+        updated.setUserId(userId);
+        updated.setHeight(200.0);
+        updated.setWeight(100.0);
+        when(userProfileRepository.findByUserId(userId)).thenReturn(Optional.of(userProfile));
+        when(userProfileRepository.save(any(UserProfile.class))).thenReturn(updated);
+        userProfileService.calculateBMI(userId);
+
+        // When
+        userProfileService.updateProfile(userId, userProfileDto);
+        ApiResponse<Double> bmiAfterUpdate = userProfileService.calculateBMI(userId);
+        userProfileService.deleteProfile(userId);
+        ApiResponse<Double> bmiAfterDelete = userProfileService.calculateBMI(userId);
+
+        // Then
+        assertEquals(25.0, bmiAfterUpdate.getData(), 0.01);
+        assertFalse(bmiAfterDelete.isSuccess());
+        // One read for the first BMI, then one each for the update and delete themselves
+        verify(userProfileRepository, times(3)).findByUserId(userId);
+    }
+
     @Test
     void getProfile_NotFound() {
         // Given
@@ -142,7 +198,7 @@ class UserProfileServiceTest {
 
         // Then
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("Failed to fetch profile"));
+        assertTrue(response.getError().contains("Failed to fetch profile"));
     }
 
     @Test
@@ -150,7 +206,7 @@ class UserProfileServiceTest {
         // Given
         when(userProfileRepository.findByUserId(userId)).thenReturn(Optional.of(userProfile));
         when(userProfileRepository.save(any(UserProfile.class))).thenReturn(userProfile);
-        when(modelMapper.map(userProfile, UserProfileDto.class)).thenReturn(userProfileDto);
+        when(userProfileMapper.toDto(userProfile)).thenReturn(userProfileDto);
 
         // When
         ApiResponse<UserProfileDto> response = userProfileService.updateProfile(userId, userProfileDto);
@@ -201,7 +257,7 @@ class UserProfileServiceTest {
 
         // Then
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("Height and weight are required"));
+        assertTrue(response.getError().contains("Height and weight are required"));
     }
 
     @Test
@@ -230,17 +286,17 @@ class UserProfileServiceTest {
 
         // Then
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("date of birth, and gender are required"));
+        assertTrue(response.getError().contains("date of birth, and gender are required"));
     }
 
     // Concurrency Tests
     @Test
-    void createProfile_ConcurrentAccess() throws InterruptedException {
+    void createProfile_ConcurrentAccess() throws Exception {
         // Given
         ExecutorService executor = Executors.newFixedThreadPool(5);
         when(userProfileRepository.findByUserId(anyLong())).thenReturn(Optional.empty());
         when(userProfileRepository.save(any(UserProfile.class))).thenReturn(userProfile);
-        when(modelMapper.map(userProfile, UserProfileDto.class)).thenReturn(userProfileDto);
+        when(userProfileMapper.toDto(userProfile)).thenReturn(userProfileDto);
 
         // When
         CompletableFuture<ApiResponse<UserProfileDto>>[] futures = new CompletableFuture[5];
@@ -272,12 +328,12 @@ class UserProfileServiceTest {
     }
 
     @Test
-    void updateProfile_ConcurrentAccess() throws InterruptedException {
+    void updateProfile_ConcurrentAccess() throws Exception {
         // Given
         ExecutorService executor = Executors.newFixedThreadPool(3);
         when(userProfileRepository.findByUserId(userId)).thenReturn(Optional.of(userProfile));
         when(userProfileRepository.save(any(UserProfile.class))).thenReturn(userProfile);
-        when(modelMapper.map(userProfile, UserProfileDto.class)).thenReturn(userProfileDto);
+        when(userProfileMapper.toDto(userProfile)).thenReturn(userProfileDto);
 
         // When
         CompletableFuture<ApiResponse<UserProfileDto>>[] futures = new CompletableFuture[3];
@@ -306,11 +362,11 @@ class UserProfileServiceTest {
     }
 
     @Test 
-    void databaseConcurrency_MultipleUsersReadingProfiles() throws InterruptedException {
+    void databaseConcurrency_MultipleUsersReadingProfiles() throws Exception {
         // Given
         ExecutorService executor = Executors.newFixedThreadPool(10);
         when(userProfileRepository.findByUserId(anyLong())).thenReturn(Optional.of(userProfile));
-        when(modelMapper.map(userProfile, UserProfileDto.class)).thenReturn(userProfileDto);
+        when(userProfileMapper.toDto(userProfile)).thenReturn(userProfileDto);
 
         // When - Simulate multiple users reading profiles simultaneously
         CompletableFuture<ApiResponse<UserProfileDto>>[] futures = new CompletableFuture[10];
@@ -346,7 +402,7 @@ class UserProfileServiceTest {
 
         // Then
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("Failed to create profile"));
+        assertTrue(response.getError().contains("Failed to create profile"));
         
         // Verify the save was attempted
         verify(userProfileRepository).save(any(UserProfile.class));
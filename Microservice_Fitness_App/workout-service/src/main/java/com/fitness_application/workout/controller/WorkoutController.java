@@ -1,18 +1,39 @@
 package com.fitness_application.workout.controller;
 
 import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.BulkImportResultDto;
+import com.fitness_application.workout.dto.CursorPage;
+import com.fitness_application.workout.dto.PersonalRecordDto;
 import com.fitness_application.workout.dto.WorkoutDto;
+import com.fitness_application.workout.dto.WorkoutStatsDto;
+import com.fitness_application.workout.model.UserDataVersion;
+import com.fitness_application.workout.service.DataVersionService;
+import com.fitness_application.workout.service.ExerciseNameIndex;
+import com.fitness_application.workout.service.PersonalRecordJob;
+import com.fitness_application.workout.service.PersonalRecordService;
+import com.fitness_application.workout.service.WorkoutExportService;
+import com.fitness_application.workout.service.WorkoutImportService;
+import com.fitness_application.workout.service.WorkoutRollupJob;
+import com.fitness_application.workout.service.WorkoutRollupService;
 import com.fitness_application.workout.service.WorkoutService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -24,6 +45,14 @@ import java.util.List;
 public class WorkoutController {
     
     private final WorkoutService workoutService;
+    private final WorkoutImportService workoutImportService;
+    private final WorkoutExportService workoutExportService;
+    private final WorkoutRollupService workoutRollupService;
+    private final WorkoutRollupJob workoutRollupJob;
+    private final PersonalRecordService personalRecordService;
+    private final PersonalRecordJob personalRecordJob;
+    private final ExerciseNameIndex exerciseNameIndex;
+    private final DataVersionService dataVersionService;
     
     @PostMapping
     @Operation(summary = "Create new workout")
@@ -35,25 +64,74 @@ public class WorkoutController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Bulk import workouts from newline-delimited JSON or a JSON array")
+    public ResponseEntity<ApiResponse<BulkImportResultDto>> importWorkouts(
+            @RequestHeader("X-User-Id") Long userId,
+            InputStream body) {
+        log.info("Bulk importing workouts for user: {}", userId);
+        ApiResponse<BulkImportResultDto> response = workoutImportService.importWorkouts(userId, body);
+        return ResponseEntity.status(response.isSuccess() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST).body(response);
+    }
+    
     @GetMapping
     @Operation(summary = "Get user workouts")
     public ResponseEntity<ApiResponse<List<WorkoutDto>>> getUserWorkouts(
             @RequestHeader("X-User-Id") Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
         log.info("Fetching workouts for user: {}", userId);
         ApiResponse<List<WorkoutDto>> response = workoutService.getUserWorkouts(userId, page, size);
-        return ResponseEntity.ok(response);
+        return revalidated(response);
+    }
+    
+    @GetMapping("/feed")
+    @Operation(summary = "Get user workouts with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<WorkoutDto>>> getUserWorkoutFeed(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
+        log.info("Fetching workout feed for user: {}", userId);
+        ApiResponse<CursorPage<WorkoutDto>> response = workoutService.getUserWorkoutFeed(userId, after, size);
+        return revalidated(response);
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export workout history as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportWorkouts(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Exporting workouts for user: {}", userId);
+        StreamingResponseBody body = outputStream -> workoutExportService.exportWorkouts(userId, from, to, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"workouts-" + userId + ".ndjson\"")
+                .body(body);
     }
     
     @GetMapping("/{workoutId}")
     @Operation(summary = "Get workout by ID")
     public ResponseEntity<ApiResponse<WorkoutDto>> getWorkoutById(
             @RequestHeader("X-User-Id") Long userId,
-            @PathVariable Long workoutId) {
+            @PathVariable Long workoutId,
+            WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
         log.info("Fetching workout {} for user: {}", workoutId, userId);
         ApiResponse<WorkoutDto> response = workoutService.getWorkoutById(userId, workoutId);
-        return ResponseEntity.ok(response);
+        return revalidated(response);
     }
     
     @PutMapping("/{workoutId}")
@@ -90,10 +168,14 @@ public class WorkoutController {
     @GetMapping("/completed")
     @Operation(summary = "Get completed workouts")
     public ResponseEntity<ApiResponse<List<WorkoutDto>>> getCompletedWorkouts(
-            @RequestHeader("X-User-Id") Long userId) {
+            @RequestHeader("X-User-Id") Long userId,
+            WebRequest webRequest) {
+        if (notModified(userId, webRequest)) {
+            return null;
+        }
         log.info("Fetching completed workouts for user: {}", userId);
         ApiResponse<List<WorkoutDto>> response = workoutService.getCompletedWorkouts(userId);
-        return ResponseEntity.ok(response);
+        return revalidated(response);
     }
     
     @GetMapping("/count")
@@ -104,4 +186,77 @@ public class WorkoutController {
         ApiResponse<Long> response = workoutService.getWorkoutCount(userId);
         return ResponseEntity.ok(response);
     }
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Get completed workout totals per day for a date range (defaults to the last 7 days)")
+    public ResponseEntity<ApiResponse<WorkoutStatsDto>> getWorkoutStats(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Fetching workout stats for user: {}", userId);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(6);
+        ApiResponse<WorkoutStatsDto> response = workoutRollupService.getStats(userId, start, end);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild daily workout rollups for all users")
+    public ResponseEntity<ApiResponse<Integer>> rebuildWorkoutStats() {
+        log.info("Rebuilding workout rollups for all users");
+        int users = workoutRollupJob.rebuildAll();
+        return ResponseEntity.ok(ApiResponse.success("Workout rollups rebuilt successfully", users));
+    }
+    
+    @GetMapping("/records")
+    @Operation(summary = "Get personal records for every exercise the user has logged")
+    public ResponseEntity<ApiResponse<List<PersonalRecordDto>>> getPersonalRecords(
+            @RequestHeader("X-User-Id") Long userId) {
+        log.info("Fetching personal records for user: {}", userId);
+        ApiResponse<List<PersonalRecordDto>> response = personalRecordService.getRecords(userId);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/records/{exerciseName}")
+    @Operation(summary = "Get the personal record for one exercise (name is matched case-insensitively)")
+    public ResponseEntity<ApiResponse<PersonalRecordDto>> getPersonalRecord(
+            @RequestHeader("X-User-Id") Long userId,
+            @PathVariable String exerciseName) {
+        log.info("Fetching personal record '{}' for user: {}", exerciseName, userId);
+        ApiResponse<PersonalRecordDto> response = personalRecordService.getRecord(userId, exerciseName);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/records/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recompute personal records for all users")
+    public ResponseEntity<ApiResponse<Integer>> rebuildPersonalRecords() {
+        log.info("Rebuilding personal records for all users");
+        int users = personalRecordJob.rebuildAll();
+        return ResponseEntity.ok(ApiResponse.success("Personal records rebuilt successfully", users));
+    }
+    
+    @GetMapping("/exercises/suggestions")
+    @Operation(summary = "Autocomplete exercise names by prefix, tolerating one typo; the user's own names rank first")
+    public ResponseEntity<ApiResponse<List<String>>> suggestExerciseNames(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean mine) {
+        ApiResponse<List<String>> response = exerciseNameIndex.suggest(userId, q, limit, mine);
+        return ResponseEntity.ok(response);
+    }
+    
+    // Answers conditional GETs from the user's data version alone; on true Spring has already prepared the 304
+    private boolean notModified(Long userId, WebRequest webRequest) {
+        UserDataVersion version = dataVersionService.current(userId);
+        return webRequest.checkNotModified(DataVersionService.etag(version), DataVersionService.lastModified(version));
+    }
+    
+    private static <T> ResponseEntity<ApiResponse<T>> revalidated(ApiResponse<T> response) {
+        // Failures must not be stored, or a later 304 would tell the client to keep showing the error
+        CacheControl cacheControl = response.isSuccess() ? CacheControl.noCache().cachePrivate() : CacheControl.noStore();
+        return ResponseEntity.ok().cacheControl(cacheControl).body(response);
+    }
 }
@@ -0,0 +1,16 @@
+package com.fitness_application.workout.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDto {
+    private long importedWorkouts;
+    private long importedExercises;
+    private long rejectedWorkouts; // Rows skipped because they had no name
+    private int committedChunks;
+    private long elapsedMillis;
+}
@@ -0,0 +1,16 @@
+package com.fitness_application.workout.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // Pass back as "after" to fetch the next page, null when there is none
+    private boolean hasMore;
+}
@@ -0,0 +1,17 @@
+package com.fitness_application.workout.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyWorkoutStatsDto {
+    private LocalDate date;
+    private int completedWorkouts;
+    private long totalMinutes;
+    private long totalCalories;
+}
@@ -0,0 +1,19 @@
+package com.fitness_application.workout.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonalRecordDto {
+    private String exerciseName;
+    private Double maxWeight;
+    private Integer maxReps;
+    private Double maxVolume;
+    private Double estimatedOneRepMax;
+    private LocalDateTime updatedAt;
+}
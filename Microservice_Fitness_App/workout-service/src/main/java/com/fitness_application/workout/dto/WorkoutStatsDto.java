@@ -0,0 +1,20 @@
+package com.fitness_application.workout.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutStatsDto {
+    private LocalDate from;
+    private LocalDate to;
+    private long completedWorkouts;
+    private long totalMinutes;
+    private long totalCalories;
+    private List<DailyWorkoutStatsDto> days; // Only days with at least one completed workout
+}
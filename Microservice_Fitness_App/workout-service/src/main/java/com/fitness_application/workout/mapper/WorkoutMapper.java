@@ -0,0 +1,66 @@
+package com.fitness_application.workout.mapper;
+
+import com.fitness_application.workout.dto.ExerciseDto;
+import com.fitness_application.workout.dto.WorkoutDto;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity-to-DTO copies for workouts and exercises, written out field by field in place of the reflective
+ * ModelMapper bean the services used to share.
+ */
+@Component
+public class WorkoutMapper {
+
+    /**
+     * Copies the workout's own fields. Exercises are left unset: callers load them explicitly, so mapping
+     * never touches the lazy collection.
+     */
+    public WorkoutDto toDto(Workout workout) {
+        if (workout == null) {
+            return null;
+        }
+        WorkoutDto dto = new WorkoutDto();
+        dto.setId(workout.getId());
+        dto.setUserId(workout.getUserId());
+        dto.setName(workout.getName());
+        dto.setDescription(workout.getDescription());
+        dto.setType(workout.getType());
+        dto.setDurationMinutes(workout.getDurationMinutes());
+        dto.setCaloriesBurned(workout.getCaloriesBurned());
+        dto.setNotes(workout.getNotes());
+        dto.setIntensity(workout.getIntensity());
+        dto.setWorkoutDate(workout.getWorkoutDate());
+        dto.setCompleted(workout.isCompleted());
+        dto.setCreatedAt(workout.getCreatedAt());
+        dto.setUpdatedAt(workout.getUpdatedAt());
+        return dto;
+    }
+
+    public ExerciseDto toDto(Exercise exercise) {
+        if (exercise == null) {
+            return null;
+        }
+        ExerciseDto dto = new ExerciseDto();
+        dto.setId(exercise.getId());
+        dto.setName(exercise.getName());
+        dto.setDescription(exercise.getDescription());
+        dto.setCategory(exercise.getCategory());
+        dto.setPrimaryMuscleGroup(exercise.getPrimaryMuscleGroup());
+        dto.setSecondaryMuscleGroup(exercise.getSecondaryMuscleGroup());
+        dto.setInstructions(exercise.getInstructions());
+        dto.setEquipment(exercise.getEquipment());
+        dto.setTips(exercise.getTips());
+        dto.setSets(exercise.getSets());
+        dto.setReps(exercise.getReps());
+        dto.setWeight(exercise.getWeight());
+        dto.setDurationSeconds(exercise.getDurationSeconds());
+        dto.setDistance(exercise.getDistance());
+        dto.setRestSeconds(exercise.getRestSeconds());
+        dto.setNotes(exercise.getNotes());
+        dto.setCreatedAt(exercise.getCreatedAt());
+        dto.setUpdatedAt(exercise.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,57 @@
+package com.fitness_application.workout.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Best lifts per user and exercise, maintained incrementally by PersonalRecordService.
+ * The exercise key is the trimmed, lower-cased exercise name so "Bench Press" and "bench press " share a record.
+ */
+@Entity
+@Table(name = "personal_records", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_personal_records_user_exercise", columnNames = {"user_id", "exercise_key"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonalRecord {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "personal_record_seq")
+    @SequenceGenerator(name = "personal_record_seq", sequenceName = "personal_record_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "exercise_key", nullable = false)
+    private String exerciseKey;
+    
+    @Column(name = "exercise_name", nullable = false)
+    private String exerciseName;
+    
+    @Column(name = "max_weight")
+    private Double maxWeight; // in kg
+    
+    @Column(name = "max_reps")
+    private Integer maxReps;
+    
+    @Column(name = "max_volume")
+    private Double maxVolume; // sets * reps * weight
+    
+    @Column(name = "estimated_one_rep_max")
+    private Double estimatedOneRepMax;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
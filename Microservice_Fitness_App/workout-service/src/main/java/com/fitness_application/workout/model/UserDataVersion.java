@@ -0,0 +1,29 @@
+package com.fitness_application.workout.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Per-user counter bumped on every workout write; conditional GETs compare against it instead of loading workouts.
+ */
+@Entity
+@Table(name = "user_data_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDataVersion {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(nullable = false)
+    private long version;
+    
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -9,14 +9,18 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "workouts")
+@Table(name = "workouts", indexes = {
+    @Index(name = "idx_workouts_user_date_id", columnList = "user_id, workout_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Workout {
     
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_seq")
+    @SequenceGenerator(name = "workout_seq", sequenceName = "workout_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
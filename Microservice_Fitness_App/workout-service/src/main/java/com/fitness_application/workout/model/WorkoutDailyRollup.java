@@ -0,0 +1,41 @@
+package com.fitness_application.workout.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Per-user, per-day totals over completed workouts, maintained incrementally by WorkoutRollupService.
+ */
+@Entity
+@Table(name = "workout_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_workout_rollups_user_date", columnNames = {"user_id", "rollup_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkoutDailyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_rollup_seq")
+    @SequenceGenerator(name = "workout_rollup_seq", sequenceName = "workout_rollup_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+    
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount;
+    
+    @Column(name = "total_minutes", nullable = false)
+    private long totalMinutes;
+    
+    @Column(name = "total_calories", nullable = false)
+    private long totalCalories;
+}
@@ -1,29 +1,56 @@
 package com.fitness_application.workout.repository;
 
 import com.fitness_application.workout.model.Exercise;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
     
+    interface ExerciseNameUsage {
+        Long getUserId();
+        String getName();
+        long getUsageCount();
+    }
+    
     List<Exercise> findByWorkoutId(Long workoutId);
     
     @Query("SELECT e FROM Exercise e WHERE e.workout.id = :workoutId ORDER BY e.id")
     List<Exercise> findByWorkoutIdOrderById(@Param("workoutId") Long workoutId);
     
-    @Query("SELECT e FROM Exercise e WHERE e.exerciseType = :exerciseType")
-    List<Exercise> findByExerciseType(@Param("exerciseType") String exerciseType);
+    @Query("SELECT e FROM Exercise e WHERE e.workout.id IN :workoutIds ORDER BY e.workout.id, e.id")
+    List<Exercise> findByWorkoutIdInOrderById(@Param("workoutIds") Collection<Long> workoutIds);
+    
+    @Query("SELECT e FROM Exercise e WHERE e.category = :exerciseType")
+    List<Exercise> findByExerciseType(@Param("exerciseType") Exercise.ExerciseCategory exerciseType);
     
     @Query("SELECT e FROM Exercise e WHERE e.workout.userId = :userId")
     List<Exercise> findByWorkoutUserId(@Param("userId") Long userId);
     
+    // Matches PersonalRecordService.exerciseKey, which trims and lower-cases the name
+    @Query("SELECT e FROM Exercise e WHERE e.workout.userId = :userId AND LOWER(TRIM(e.name)) IN :exerciseKeys")
+    List<Exercise> findByWorkoutUserIdAndExerciseKeyIn(@Param("userId") Long userId, @Param("exerciseKeys") Collection<String> exerciseKeys);
+    
+    // Streamed so building the autocomplete index at startup never holds every row in memory
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + WorkoutRepository.EXPORT_FETCH_SIZE))
+    @Query("SELECT e.workout.userId AS userId, e.name AS name, COUNT(e) AS usageCount FROM Exercise e GROUP BY e.workout.userId, e.name")
+    Stream<ExerciseNameUsage> streamNameUsage();
+    
     @Query("SELECT COUNT(e) FROM Exercise e WHERE e.workout.id = :workoutId")
     long countByWorkoutId(@Param("workoutId") Long workoutId);
     
-    void deleteByWorkoutId(Long workoutId);
+    // Single bulk DELETE; the derived variant would load and remove each exercise individually
+    @Modifying
+    @Query("DELETE FROM Exercise e WHERE e.workout.id = :workoutId")
+    int deleteByWorkoutId(@Param("workoutId") Long workoutId);
 }
@@ -0,0 +1,38 @@
+package com.fitness_application.workout.repository;
+
+import com.fitness_application.workout.model.PersonalRecord;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PersonalRecordRepository extends JpaRepository<PersonalRecord, Long> {
+    
+    // Served straight off the (user_id, exercise_key) unique index
+    Optional<PersonalRecord> findByUserIdAndExerciseKey(Long userId, String exerciseKey);
+    
+    // Keys only, so nothing is loaded into the persistence context ahead of the locked read below
+    @Query("SELECT r.exerciseKey FROM PersonalRecord r WHERE r.userId = :userId AND r.exerciseKey IN :exerciseKeys")
+    List<String> findExerciseKeys(@Param("userId") Long userId, @Param("exerciseKeys") Collection<String> exerciseKeys);
+    
+    // Callers lock several records one key at a time in key order, so concurrent writers raising the same records
+    // take turns instead of overwriting each other, and never wait on each other in opposite orders
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM PersonalRecord r WHERE r.userId = :userId AND r.exerciseKey = :exerciseKey")
+    Optional<PersonalRecord> lockByUserIdAndExerciseKey(@Param("userId") Long userId, @Param("exerciseKey") String exerciseKey);
+    
+    List<PersonalRecord> findByUserIdOrderByExerciseKey(Long userId);
+    
+    @Query("SELECT DISTINCT r.userId FROM PersonalRecord r")
+    List<Long> findDistinctUserIds();
+    
+    @Query("SELECT r.exerciseKey FROM PersonalRecord r WHERE r.userId = :userId")
+    List<String> findExerciseKeysByUserId(@Param("userId") Long userId);
+}
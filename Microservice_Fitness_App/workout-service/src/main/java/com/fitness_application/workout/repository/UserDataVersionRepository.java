@@ -0,0 +1,18 @@
+package com.fitness_application.workout.repository;
+
+import com.fitness_application.workout.model.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+    
+    @Modifying
+    @Query("UPDATE UserDataVersion v SET v.version = v.version + 1, v.updatedAt = :updatedAt WHERE v.userId = :userId")
+    int increment(@Param("userId") Long userId, @Param("updatedAt") Instant updatedAt);
+}
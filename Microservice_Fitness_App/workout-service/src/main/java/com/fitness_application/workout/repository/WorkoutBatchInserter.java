@@ -0,0 +1,103 @@
+package com.fitness_application.workout.repository;
+
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Writes new workouts and their exercises as plain JDBC batches, for bulk paths where the persistence context and
+ * per-entity events cost more than the insert itself.
+ * <p>
+ * Must be called inside a JPA transaction: {@link JdbcTemplate} joins that transaction's connection, so the rows
+ * commit or roll back with it and later queries in the same transaction see them. Ids are drawn from the entities'
+ * own Hibernate sequence generators, so they never collide with rows inserted through JPA, and are set on the
+ * entities before insert.
+ */
+@Repository
+public class WorkoutBatchInserter {
+
+    private static final String INSERT_WORKOUT = "INSERT INTO workouts (id, user_id, name, description, type, "
+            + "duration_minutes, calories_burned, notes, intensity, workout_date, completed, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_EXERCISE = "INSERT INTO exercises (id, name, description, category, "
+            + "primary_muscle_group, secondary_muscle_group, instructions, equipment, tips, sets, reps, weight, "
+            + "duration_seconds, distance, rest_seconds, notes, created_at, updated_at, workout_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WorkoutBatchInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts {@code workouts} and then {@code exercises}, each of which must reference one of {@code workouts}.
+     */
+    public void insert(List<Workout> workouts, List<Exercise> exercises) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator workoutIds = generator(session, Workout.class);
+        BeforeExecutionGenerator exerciseIds = generator(session, Exercise.class);
+
+        for (Workout workout : workouts) {
+            workout.setId((Long) workoutIds.generate(session, workout, null, EventType.INSERT));
+        }
+        for (Exercise exercise : exercises) {
+            exercise.setId((Long) exerciseIds.generate(session, exercise, null, EventType.INSERT));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_WORKOUT, workouts, workouts.size(), (ps, w) -> {
+            ps.setObject(1, w.getId());
+            ps.setObject(2, w.getUserId());
+            ps.setObject(3, w.getName());
+            ps.setObject(4, w.getDescription());
+            ps.setObject(5, w.getType() != null ? w.getType().name() : null);
+            ps.setObject(6, w.getDurationMinutes());
+            ps.setObject(7, w.getCaloriesBurned());
+            ps.setObject(8, w.getNotes());
+            ps.setObject(9, w.getIntensity() != null ? w.getIntensity().name() : null);
+            ps.setObject(10, w.getWorkoutDate());
+            ps.setBoolean(11, w.isCompleted());
+            ps.setObject(12, w.getCreatedAt());
+            ps.setObject(13, w.getUpdatedAt());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_EXERCISE, exercises, exercises.size(), (ps, e) -> {
+            ps.setObject(1, e.getId());
+            ps.setObject(2, e.getName());
+            ps.setObject(3, e.getDescription());
+            ps.setObject(4, e.getCategory() != null ? e.getCategory().name() : null);
+            ps.setObject(5, e.getPrimaryMuscleGroup() != null ? e.getPrimaryMuscleGroup().name() : null);
+            ps.setObject(6, e.getSecondaryMuscleGroup() != null ? e.getSecondaryMuscleGroup().name() : null);
+            ps.setObject(7, e.getInstructions());
+            ps.setObject(8, e.getEquipment());
+            ps.setObject(9, e.getTips());
+            ps.setObject(10, e.getSets());
+            ps.setObject(11, e.getReps());
+            ps.setObject(12, e.getWeight());
+            ps.setObject(13, e.getDurationSeconds());
+            ps.setObject(14, e.getDistance());
+            ps.setObject(15, e.getRestSeconds());
+            ps.setObject(16, e.getNotes());
+            ps.setObject(17, e.getCreatedAt());
+            ps.setObject(18, e.getUpdatedAt());
+            ps.setObject(19, e.getWorkout().getId());
+        });
+    }
+
+    private static BeforeExecutionGenerator generator(SharedSessionContractImplementor session, Class<?> entityClass) {
+        return (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entityClass).getGenerator();
+    }
+}
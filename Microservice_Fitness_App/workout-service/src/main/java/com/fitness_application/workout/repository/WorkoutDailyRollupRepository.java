@@ -0,0 +1,47 @@
+package com.fitness_application.workout.repository;
+
+import com.fitness_application.workout.model.WorkoutDailyRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WorkoutDailyRollupRepository extends JpaRepository<WorkoutDailyRollup, Long> {
+    
+    List<WorkoutDailyRollup> findByUserIdOrderByRollupDate(Long userId);
+    
+    List<WorkoutDailyRollup> findByUserIdAndRollupDateBetweenOrderByRollupDate(Long userId, LocalDate start, LocalDate end);
+    
+    // Dates only, so nothing is loaded into the persistence context ahead of the locked read below. A date range
+    // rather than an IN list, so H2 seeks the (user_id, rollup_date) index instead of testing every row of the user
+    // against every listed date
+    @Query("SELECT r.rollupDate FROM WorkoutDailyRollup r WHERE r.userId = :userId AND r.rollupDate BETWEEN :start AND :end")
+    List<LocalDate> findRollupDatesBetween(@Param("userId") Long userId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+    
+    // Locked in date order so concurrent batches for overlapping days take turns instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM WorkoutDailyRollup r WHERE r.userId = :userId AND r.rollupDate BETWEEN :start AND :end ORDER BY r.rollupDate")
+    List<WorkoutDailyRollup> lockByUserIdAndRollupDateBetween(@Param("userId") Long userId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+    
+    // Atomic increment so concurrent writers for the same day never lose an update; returns 0 if the row does not exist yet
+    @Modifying
+    @Query("UPDATE WorkoutDailyRollup r SET r.completedCount = r.completedCount + :count, " +
+           "r.totalMinutes = r.totalMinutes + :minutes, r.totalCalories = r.totalCalories + :calories " +
+           "WHERE r.userId = :userId AND r.rollupDate = :rollupDate")
+    int applyDelta(@Param("userId") Long userId, @Param("rollupDate") LocalDate rollupDate,
+                   @Param("count") int count, @Param("minutes") long minutes, @Param("calories") long calories);
+    
+    @Query("SELECT DISTINCT r.userId FROM WorkoutDailyRollup r")
+    List<Long> findDistinctUserIds();
+    
+    @Modifying
+    @Query("DELETE FROM WorkoutDailyRollup r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,24 +1,41 @@
 package com.fitness_application.workout.repository;
 
 import com.fitness_application.workout.model.Workout;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface WorkoutRepository extends JpaRepository<Workout, Long> {
     
+    int EXPORT_FETCH_SIZE = 500;
+    
     List<Workout> findByUserIdOrderByWorkoutDateDesc(Long userId);
     
     Page<Workout> findByUserIdOrderByWorkoutDateDesc(Long userId, Pageable pageable);
     
+    // Keyset feed queries: no OFFSET and no COUNT, so cost does not grow with depth. Undated workouts come last.
+    @Query("SELECT w FROM Workout w WHERE w.userId = :userId ORDER BY w.workoutDate DESC NULLS LAST, w.id DESC")
+    List<Workout> findFeedByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT w FROM Workout w WHERE w.userId = :userId AND (w.workoutDate < :workoutDate OR (w.workoutDate = :workoutDate AND w.id < :id) OR w.workoutDate IS NULL) ORDER BY w.workoutDate DESC NULLS LAST, w.id DESC")
+    List<Workout> findFeedByUserIdAfter(@Param("userId") Long userId, @Param("workoutDate") LocalDateTime workoutDate, @Param("id") Long id, Pageable pageable);
+    
+    // Continues the feed once the cursor is already among the undated workouts
+    @Query("SELECT w FROM Workout w WHERE w.userId = :userId AND w.workoutDate IS NULL AND w.id < :id ORDER BY w.id DESC")
+    List<Workout> findUndatedFeedByUserIdAfter(@Param("userId") Long userId, @Param("id") Long id, Pageable pageable);
+    
     List<Workout> findByUserIdAndWorkoutDateBetween(Long userId, LocalDateTime start, LocalDateTime end);
     
     @Query("SELECT w FROM Workout w WHERE w.userId = :userId AND w.completed = :completed ORDER BY w.workoutDate DESC")
@@ -30,6 +47,22 @@ public interface WorkoutRepository extends JpaRepository<Workout, Long> {
     @Query("SELECT SUM(w.caloriesBurned) FROM Workout w WHERE w.userId = :userId AND w.completed = true AND w.workoutDate BETWEEN :start AND :end")
     Double totalCaloriesBurnedByUserAndDateRange(@Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
     
+    // Must be consumed inside a transaction and closed; rows are pulled from the driver EXPORT_FETCH_SIZE at a time
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT w FROM Workout w WHERE w.userId = :userId ORDER BY w.workoutDate DESC, w.id DESC")
+    Stream<Workout> streamByUserId(@Param("userId") Long userId);
+    
+    // Same as streamByUserId but limited to [start, end); undated workouts fall outside every range
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT w FROM Workout w WHERE w.userId = :userId AND w.workoutDate >= :start AND w.workoutDate < :end ORDER BY w.workoutDate DESC, w.id DESC")
+    Stream<Workout> streamByUserIdAndWorkoutDateRange(@Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    
     Optional<Workout> findByIdAndUserId(Long id, Long userId);
     
     void deleteByIdAndUserId(Long id, Long userId);
@@ -37,6 +70,9 @@ public interface WorkoutRepository extends JpaRepository<Workout, Long> {
     @Query("SELECT COUNT(w) FROM Workout w WHERE w.userId = :userId")
     long countWorkoutsByUser(@Param("userId") Long userId);
     
+    @Query("SELECT DISTINCT w.userId FROM Workout w")
+    List<Long> findDistinctUserIds();
+    
     @Query("SELECT COUNT(w) FROM Workout w WHERE w.completed = :completed")
     long countByCompleted(@Param("completed") boolean completed);
 }
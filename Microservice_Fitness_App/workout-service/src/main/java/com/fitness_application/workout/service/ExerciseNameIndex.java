@@ -0,0 +1,121 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.repository.ExerciseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory exercise-name autocomplete, one trie across all users and one per user.
+ * <p>
+ * Loaded from the exercises table once the application is ready and kept current by the workout write paths.
+ * Changes are applied after the surrounding transaction commits, so a rolled-back write never shows up in suggestions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExerciseNameIndex {
+
+    static final int MAX_SUGGESTIONS = 25;
+
+    private final ExerciseRepository exerciseRepository;
+
+    private final ExerciseNameTrie globalNames = new ExerciseNameTrie();
+    private final Map<Long, ExerciseNameTrie> userNames = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long started = System.nanoTime();
+        try (Stream<ExerciseRepository.ExerciseNameUsage> usages = exerciseRepository.streamNameUsage()) {
+            usages.forEach(usage -> apply(usage.getUserId(), usage.getName(), (int) usage.getUsageCount()));
+        }
+        log.info("Loaded {} distinct exercise names for autocomplete in {} ms",
+                globalNames.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void add(Long userId, Collection<String> names) {
+        afterCommit(() -> names.forEach(name -> apply(userId, name, 1)));
+    }
+
+    public void remove(Long userId, Collection<String> names) {
+        afterCommit(() -> names.forEach(name -> apply(userId, name, -1)));
+    }
+
+    /**
+     * Suggests exercise names for {@code prefix}. Unless {@code mineOnly} is set, the user's own names come first
+     * and names logged by everyone else fill the remaining slots.
+     */
+    public ApiResponse<List<String>> suggest(Long userId, String prefix, int limit, boolean mineOnly) {
+        try {
+            String key = PersonalRecordService.exerciseKey(prefix);
+            int size = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+
+            Set<String> suggestions = new LinkedHashSet<>();
+            ExerciseNameTrie mine = userNames.get(userId);
+            if (mine != null) {
+                suggestions.addAll(mine.complete(key, size));
+            }
+            if (!mineOnly && suggestions.size() < size) {
+                for (String name : globalNames.complete(key, size)) {
+                    if (suggestions.size() == size) {
+                        break;
+                    }
+                    suggestions.add(name);
+                }
+            }
+
+            return ApiResponse.success("Exercise suggestions retrieved successfully", new ArrayList<>(suggestions));
+
+        } catch (Exception e) {
+            log.error("Error suggesting exercise names for user {}: {}", userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to suggest exercise names: " + e.getMessage());
+        }
+    }
+
+    private void apply(Long userId, String name, int delta) {
+        String key = PersonalRecordService.exerciseKey(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        String displayName = name.trim();
+        if (delta > 0) {
+            globalNames.add(key, displayName, delta);
+            userNames.computeIfAbsent(userId, id -> new ExerciseNameTrie()).add(key, displayName, delta);
+        } else {
+            globalNames.remove(key, -delta);
+            ExerciseNameTrie mine = userNames.get(userId);
+            if (mine != null) {
+                mine.remove(key, -delta);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
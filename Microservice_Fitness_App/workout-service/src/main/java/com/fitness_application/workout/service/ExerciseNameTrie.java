@@ -0,0 +1,259 @@
+package com.fitness_application.workout.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Frequency-ranked prefix trie over normalized exercise names.
+ * <p>
+ * Children are kept in sorted parallel arrays rather than maps to keep a million-name trie compact. Every node
+ * also caches the highest name count in its subtree, so {@link #complete} can walk best-first and stop after
+ * {@code limit} names instead of visiting the whole subtree. When the exact prefix yields too few names, prefixes
+ * within one edit (substitution, insertion, deletion or adjacent transposition) are tried next.
+ */
+final class ExerciseNameTrie {
+
+    // Single-character prefixes are too short for a typo to be meaningful
+    private static final int MIN_FUZZY_PREFIX_LENGTH = 2;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    /**
+     * Adds {@code delta} uses of the name with normalized form {@code key}; {@code displayName} is what suggestions show.
+     */
+    void add(String key, String displayName, int delta) {
+        if (key.isEmpty() || delta <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node[] path = new Node[key.length() + 1];
+            Node node = root;
+            path[0] = node;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+                path[i + 1] = node;
+            }
+            if (node.count == 0) {
+                size++;
+            }
+            node.count += delta;
+            node.name = displayName;
+            // Counts only grew, so the subtree maxima can only grow along the path
+            for (Node onPath : path) {
+                onPath.best = Math.max(onPath.best, node.count);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String key, int delta) {
+        if (key.isEmpty() || delta <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Node[] path = new Node[key.length() + 1];
+            Node node = root;
+            path[0] = node;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.child(key.charAt(i));
+                if (node == null || (i == key.length() - 1 && node.count == 0)) {
+                    return;
+                }
+                path[i + 1] = node;
+            }
+            node.count = Math.max(0, node.count - delta);
+            if (node.count == 0) {
+                node.name = null;
+                size--;
+            }
+            for (int i = key.length(); i >= 0; i--) {
+                Node onPath = path[i];
+                if (i > 0 && onPath.count == 0 && onPath.keys.length == 0) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                    continue;
+                }
+                onPath.recomputeBest();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} display names starting with {@code prefix}, most used first, followed by names
+     * reachable from prefixes one edit away.
+     */
+    List<String> complete(String prefix, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Node> emitted = new LinkedHashSet<>();
+            Node exact = find(prefix);
+            if (exact != null) {
+                collectTop(List.of(exact), limit, emitted);
+            }
+            if (emitted.size() < limit && prefix.length() >= MIN_FUZZY_PREFIX_LENGTH) {
+                Set<Node> near = new LinkedHashSet<>();
+                collectNear(root, prefix, 0, false, near);
+                near.remove(exact);
+                collectTop(near, limit, emitted);
+            }
+
+            List<String> names = new ArrayList<>(emitted.size());
+            emitted.forEach(node -> names.add(node.name));
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    // Best-first over the subtrees of {@code starts}, ordered by cached subtree maxima, until {@code emitted} is full
+    private void collectTop(Collection<Node> starts, int limit, Set<Node> emitted) {
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingInt(Candidate::score).reversed());
+        for (Node start : starts) {
+            queue.add(new Candidate(start, false, start.best));
+        }
+        while (!queue.isEmpty() && emitted.size() < limit) {
+            Candidate candidate = queue.poll();
+            Node node = candidate.node();
+            if (candidate.terminal()) {
+                emitted.add(node);
+                continue;
+            }
+            if (node.count > 0 && !emitted.contains(node)) {
+                queue.add(new Candidate(node, true, node.count));
+            }
+            for (Node child : node.children) {
+                queue.add(new Candidate(child, false, child.best));
+            }
+        }
+    }
+
+    // Collects the nodes whose path matches {@code prefix} with at most one edit
+    private void collectNear(Node node, String prefix, int index, boolean edited, Set<Node> out) {
+        if (index == prefix.length()) {
+            out.add(node);
+            return;
+        }
+        char c = prefix.charAt(index);
+        Node next = node.child(c);
+        if (next != null) {
+            collectNear(next, prefix, index + 1, edited, out);
+        }
+        if (edited) {
+            return;
+        }
+        // Deletion: the typed character is extra
+        collectNear(node, prefix, index + 1, true, out);
+        for (int i = 0; i < node.keys.length; i++) {
+            Node child = node.children[i];
+            if (node.keys[i] != c) {
+                // Substitution
+                collectNear(child, prefix, index + 1, true, out);
+            }
+            // Insertion: a character was left out
+            collectNear(child, prefix, index, true, out);
+        }
+        // Transposition of two adjacent characters
+        if (index + 1 < prefix.length()) {
+            Node swapped = node.child(prefix.charAt(index + 1));
+            if (swapped != null && (swapped = swapped.child(c)) != null) {
+                collectNear(swapped, prefix, index + 2, true, out);
+            }
+        }
+    }
+
+    private record Candidate(Node node, boolean terminal, int score) {
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int count;
+        private int best;
+        private String name;
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            Node child = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+
+        private void recomputeBest() {
+            int max = count;
+            for (Node child : children) {
+                max = Math.max(max, child.best);
+            }
+            best = max;
+        }
+    }
+}
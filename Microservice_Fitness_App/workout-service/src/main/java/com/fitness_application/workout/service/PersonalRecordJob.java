@@ -0,0 +1,36 @@
+package com.fitness_application.workout.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Full recompute of personal records, for backfilling after deployment or repairing after bulk data fixes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PersonalRecordJob {
+
+    private final PersonalRecordService personalRecordService;
+
+    /**
+     * Returns the number of users rebuilt; a user that fails is logged and skipped so the rest still run.
+     */
+    public int rebuildAll() {
+        List<Long> userIds = personalRecordService.findUserIds();
+        int failed = 0;
+        for (Long userId : userIds) {
+            try {
+                personalRecordService.rebuild(userId);
+            } catch (Exception e) {
+                log.error("Error rebuilding personal records for user {}: {}", userId, e.getMessage(), e);
+                failed++;
+            }
+        }
+        log.info("Rebuilt personal records for {} users, {} failed", userIds.size() - failed, failed);
+        return userIds.size() - failed;
+    }
+}
@@ -0,0 +1,290 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.PersonalRecordDto;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.PersonalRecord;
+import com.fitness_application.workout.repository.ExerciseRepository;
+import com.fitness_application.workout.repository.PersonalRecordRepository;
+import com.fitness_application.workout.repository.WorkoutRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps each user's personal records per exercise so "what's my best bench press" is a single indexed lookup.
+ * <p>
+ * New exercises can only raise a record, so {@link #record} folds them in directly. Edits and deletes may lower
+ * one, so callers pass the affected exercise names to {@link #recompute}, which rebuilds just those records
+ * from the user's remaining exercises.
+ * <p>
+ * The first record for an exercise is created empty in a transaction of its own and then raised like any other,
+ * so two writers racing to create it cannot fail each other on the (user, exercise) key. Records are locked while
+ * being raised or recomputed, and recomputes rewrite them in place, so concurrent writers cannot overwrite each
+ * other's maxima or find a record deleted under them.
+ */
+@Service
+@Transactional
+@Slf4j
+public class PersonalRecordService {
+
+    // Each retry means yet another concurrent recompute dropped the record between its creation and our lock
+    private static final int MAX_RECREATE_ATTEMPTS = 5;
+
+    private final PersonalRecordRepository personalRecordRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final WorkoutRepository workoutRepository;
+    private final TransactionTemplate newTransaction;
+
+    public PersonalRecordService(PersonalRecordRepository personalRecordRepository,
+                                 ExerciseRepository exerciseRepository,
+                                 WorkoutRepository workoutRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.personalRecordRepository = personalRecordRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.workoutRepository = workoutRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void record(Long userId, Collection<Exercise> exercises) {
+        Map<String, PersonalRecord> candidates = aggregate(userId, exercises);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Map<String, PersonalRecord> records = lockRecords(userId, candidates.keySet(), candidates.values());
+        candidates.forEach((key, candidate) -> merge(records.get(key), candidate));
+    }
+
+    /**
+     * Recomputes the records for the given exercise names from the user's stored exercises, dropping records
+     * that no longer have any exercise behind them.
+     */
+    public void recompute(Long userId, Collection<String> exerciseNames) {
+        Set<String> keys = exerciseNames.stream()
+                .map(PersonalRecordService::exerciseKey)
+                .filter(key -> !key.isEmpty())
+                .collect(Collectors.toCollection(HashSet::new));
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        replace(userId, keys, () -> exerciseRepository.findByWorkoutUserIdAndExerciseKeyIn(userId, keys));
+    }
+
+    /**
+     * Replaces all of a user's records with ones recomputed from every exercise they have logged.
+     */
+    public void rebuild(Long userId) {
+        Set<String> keys = new TreeSet<>(personalRecordRepository.findExerciseKeysByUserId(userId));
+        int rebuilt = replace(userId, keys, () -> exerciseRepository.findByWorkoutUserId(userId));
+        log.info("Rebuilt {} personal records for user {}", rebuilt, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<PersonalRecordDto> getRecord(Long userId, String exerciseName) {
+        try {
+            PersonalRecord record = personalRecordRepository.findByUserIdAndExerciseKey(userId, exerciseKey(exerciseName))
+                    .orElseThrow(() -> new RuntimeException("Personal record not found"));
+            return ApiResponse.success("Personal record retrieved successfully", toDto(record));
+
+        } catch (Exception e) {
+            log.error("Error fetching personal record '{}' for user {}: {}", exerciseName, userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to fetch personal record: " + e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<List<PersonalRecordDto>> getRecords(Long userId) {
+        try {
+            List<PersonalRecordDto> records = personalRecordRepository.findByUserIdOrderByExerciseKey(userId).stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+            return ApiResponse.success("Personal records retrieved successfully", records);
+
+        } catch (Exception e) {
+            log.error("Error fetching personal records for user {}: {}", userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to fetch personal records: " + e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findUserIds() {
+        TreeSet<Long> userIds = new TreeSet<>(workoutRepository.findDistinctUserIds());
+        userIds.addAll(personalRecordRepository.findDistinctUserIds());
+        return new ArrayList<>(userIds);
+    }
+
+    static String exerciseKey(String exerciseName) {
+        return exerciseName == null ? "" : exerciseName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Epley estimate, w * (1 + reps / 30); a single rep is the lift itself.
+     */
+    static Double estimateOneRepMax(Double weight, Integer reps) {
+        if (weight == null || reps == null || reps < 1) {
+            return null;
+        }
+        return reps == 1 ? weight : weight * (1 + reps / 30.0);
+    }
+
+    private Map<String, PersonalRecord> aggregate(Long userId, Collection<Exercise> exercises) {
+        Map<String, PersonalRecord> byKey = new TreeMap<>();
+        for (Exercise exercise : exercises) {
+            String key = exerciseKey(exercise.getName());
+            if (key.isEmpty()) {
+                continue;
+            }
+            PersonalRecord candidate = new PersonalRecord();
+            candidate.setUserId(userId);
+            candidate.setExerciseKey(key);
+            candidate.setExerciseName(exercise.getName().trim());
+            candidate.setMaxWeight(exercise.getWeight());
+            candidate.setMaxReps(exercise.getReps());
+            candidate.setMaxVolume(volumeOf(exercise));
+            candidate.setEstimatedOneRepMax(estimateOneRepMax(exercise.getWeight(), exercise.getReps()));
+
+            PersonalRecord current = byKey.putIfAbsent(key, candidate);
+            if (current != null) {
+                merge(current, candidate);
+            }
+        }
+        return byKey;
+    }
+
+    // Rewrites the records for the given keys in place, deleting only those with no exercises left, so a concurrent
+    // record() does not lose its row to a delete-and-reinsert or collide with the re-insert. The exercises are read
+    // again once the locks are held, so a raise committed by a writer we waited for is not overwritten
+    private int replace(Long userId, Set<String> keys, Supplier<List<Exercise>> exercises) {
+        Map<String, PersonalRecord> expected = aggregate(userId, exercises.get());
+        keys.addAll(expected.keySet());
+        Map<String, PersonalRecord> records = lockRecords(userId, keys, expected.values());
+
+        expected = aggregate(userId, exercises.get());
+        List<PersonalRecord> dropped = new ArrayList<>();
+        for (PersonalRecord record : records.values()) {
+            PersonalRecord values = expected.get(record.getExerciseKey());
+            if (values == null) {
+                dropped.add(record);
+            } else {
+                overwrite(record, values);
+            }
+        }
+        personalRecordRepository.deleteAll(dropped);
+        return records.size() - dropped.size();
+    }
+
+    // Creates the required records that are missing before taking any lock, then locks the records one key at a time
+    // in key order, so writers never wait on each other in opposite orders. A required record that concurrent
+    // recomputes dropped while we waited for its lock is created again before moving on to the next key
+    private Map<String, PersonalRecord> lockRecords(Long userId, Set<String> keys, Collection<PersonalRecord> required) {
+        Set<String> existingKeys = new HashSet<>(personalRecordRepository.findExerciseKeys(userId, keys));
+        List<PersonalRecord> missing = required.stream()
+                .filter(candidate -> !existingKeys.contains(candidate.getExerciseKey()))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            createEmptyRecords(missing);
+        }
+
+        Map<String, PersonalRecord> requiredByKey = required.stream()
+                .collect(Collectors.toMap(PersonalRecord::getExerciseKey, Function.identity()));
+        Map<String, PersonalRecord> records = new HashMap<>();
+        for (String key : new TreeSet<>(keys)) {
+            Optional<PersonalRecord> record = personalRecordRepository.lockByUserIdAndExerciseKey(userId, key);
+            for (int attempt = 1; record.isEmpty() && requiredByKey.containsKey(key); attempt++) {
+                if (attempt > MAX_RECREATE_ATTEMPTS) {
+                    throw new IllegalStateException("Personal record '" + key + "' for user " + userId + " is missing after creation");
+                }
+                createEmptyRecords(List.of(requiredByKey.get(key)));
+                record = personalRecordRepository.lockByUserIdAndExerciseKey(userId, key);
+            }
+            record.ifPresent(current -> records.put(key, current));
+        }
+        return records;
+    }
+
+    // Commits on its own. If another writer created any of the records first the batch is retried one record at a
+    // time, skipping the ones that already exist
+    private void createEmptyRecords(List<PersonalRecord> candidates) {
+        try {
+            newTransaction.executeWithoutResult(status -> personalRecordRepository.saveAllAndFlush(
+                    candidates.stream().map(PersonalRecordService::emptyRecord).collect(Collectors.toList())));
+        } catch (DataIntegrityViolationException e) {
+            for (PersonalRecord candidate : candidates) {
+                try {
+                    newTransaction.executeWithoutResult(status -> personalRecordRepository.saveAndFlush(emptyRecord(candidate)));
+                } catch (DataIntegrityViolationException duplicate) {
+                    log.debug("Personal record '{}' for user {} was created concurrently",
+                            candidate.getExerciseKey(), candidate.getUserId());
+                }
+            }
+        }
+    }
+
+    private static PersonalRecord emptyRecord(PersonalRecord candidate) {
+        PersonalRecord record = new PersonalRecord();
+        record.setUserId(candidate.getUserId());
+        record.setExerciseKey(candidate.getExerciseKey());
+        record.setExerciseName(candidate.getExerciseName());
+        return record;
+    }
+
+    private void overwrite(PersonalRecord target, PersonalRecord values) {
+        target.setExerciseName(values.getExerciseName());
+        target.setMaxWeight(values.getMaxWeight());
+        target.setMaxReps(values.getMaxReps());
+        target.setMaxVolume(values.getMaxVolume());
+        target.setEstimatedOneRepMax(values.getEstimatedOneRepMax());
+    }
+
+    private void merge(PersonalRecord target, PersonalRecord candidate) {
+        target.setMaxWeight(max(target.getMaxWeight(), candidate.getMaxWeight()));
+        target.setMaxReps(max(target.getMaxReps(), candidate.getMaxReps()));
+        target.setMaxVolume(max(target.getMaxVolume(), candidate.getMaxVolume()));
+        target.setEstimatedOneRepMax(max(target.getEstimatedOneRepMax(), candidate.getEstimatedOneRepMax()));
+    }
+
+    private static Double volumeOf(Exercise exercise) {
+        if (exercise.getWeight() == null || exercise.getReps() == null) {
+            return null;
+        }
+        int sets = exercise.getSets() != null ? exercise.getSets() : 1;
+        return sets * exercise.getReps() * exercise.getWeight();
+    }
+
+    private static <T extends Comparable<T>> T max(T a, T b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private PersonalRecordDto toDto(PersonalRecord record) {
+        return new PersonalRecordDto(record.getExerciseName(), record.getMaxWeight(), record.getMaxReps(),
+                record.getMaxVolume(), record.getEstimatedOneRepMax(), record.getUpdatedAt());
+    }
+}
@@ -0,0 +1,121 @@
+package com.fitness_application.workout.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fitness_application.workout.dto.WorkoutDto;
+import com.fitness_application.workout.mapper.WorkoutMapper;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.repository.ExerciseRepository;
+import com.fitness_application.workout.repository.WorkoutRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's workout history as newline-delimited JSON, optionally limited to a date range.
+ * <p>
+ * Workouts are pulled from a database cursor one fetch window at a time. Each window gets its exercises in a
+ * single query, is written and flushed, and is then evicted from the persistence context, so heap usage is
+ * bounded by {@link WorkoutRepository#EXPORT_FETCH_SIZE} regardless of history length.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkoutExportService {
+
+    private final WorkoutRepository workoutRepository;
+    private final ExerciseRepository exerciseRepository;
+    private final WorkoutMapper workoutMapper;
+    private final ObjectMapper objectMapper;
+
+    static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    static final LocalDate LATEST = LocalDate.of(9999, 12, 30);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportWorkouts(Long userId, OutputStream out) throws IOException {
+        return exportWorkouts(userId, null, null, out);
+    }
+
+    /**
+     * Writes every workout of the user dated within {@code from}..{@code to} inclusive (either bound may be null)
+     * and returns how many were written. Undated workouts are only included when both bounds are null.
+     */
+    @Transactional(readOnly = true)
+    public long exportWorkouts(Long userId, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        log.info("Exporting workouts for user {} from {} to {}", userId, from, to);
+
+        long exported = 0;
+        SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+
+        try (Stream<Workout> workouts = from == null && to == null
+                ? workoutRepository.streamByUserId(userId)
+                : workoutRepository.streamByUserIdAndWorkoutDateRange(userId,
+                        (from != null ? from : EARLIEST).atStartOfDay(),
+                        (to != null ? to : LATEST).plusDays(1).atStartOfDay())) {
+            Iterator<Workout> iterator = workouts.iterator();
+            List<Workout> window = new ArrayList<>(WorkoutRepository.EXPORT_FETCH_SIZE);
+
+            while (iterator.hasNext()) {
+                window.add(iterator.next());
+                if (window.size() == WorkoutRepository.EXPORT_FETCH_SIZE) {
+                    exported += writeWindow(window, writer);
+                    window.clear();
+                }
+            }
+            if (!window.isEmpty()) {
+                exported += writeWindow(window, writer);
+            }
+        }
+
+        // Terminate the last record; the response stream itself is left for the container to close
+        writer.flush();
+        if (exported > 0) {
+            out.write('\n');
+        }
+        out.flush();
+
+        log.info("Exported {} workouts for user {}", exported, userId);
+        return exported;
+    }
+
+    private int writeWindow(List<Workout> window, SequenceWriter writer) throws IOException {
+        List<Long> workoutIds = window.stream()
+                .map(Workout::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Exercise>> exercisesByWorkoutId = exerciseRepository.findByWorkoutIdInOrderById(workoutIds).stream()
+                .collect(Collectors.groupingBy(exercise -> exercise.getWorkout().getId()));
+
+        for (Workout workout : window) {
+            WorkoutDto dto = workoutMapper.toDto(workout);
+            dto.setExercises(exercisesByWorkoutId.getOrDefault(workout.getId(), Collections.emptyList()).stream()
+                    .map(workoutMapper::toDto)
+                    .collect(Collectors.toList()));
+            writer.write(dto);
+        }
+        writer.flush();
+
+        // Drop the window's entities so the persistence context does not grow with the export
+        entityManager.clear();
+        return window.size();
+    }
+}
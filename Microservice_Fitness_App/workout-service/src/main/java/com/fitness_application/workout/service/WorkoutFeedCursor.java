@@ -0,0 +1,53 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.model.Workout;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the workout feed: the (workoutDate, id) of the last workout a client has seen. An undated
+ * workout is encoded with an empty date.
+ */
+final class WorkoutFeedCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime workoutDate;
+    private final Long id;
+
+    private WorkoutFeedCursor(LocalDateTime workoutDate, Long id) {
+        this.workoutDate = workoutDate;
+        this.id = id;
+    }
+
+    static WorkoutFeedCursor of(Workout workout) {
+        return new WorkoutFeedCursor(workout.getWorkoutDate(), workout.getId());
+    }
+
+    static WorkoutFeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String date = raw.substring(0, separator);
+            return new WorkoutFeedCursor(date.isEmpty() ? null : LocalDateTime.parse(date),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    String encode() {
+        String raw = (workoutDate != null ? workoutDate.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    LocalDateTime getWorkoutDate() {
+        return workoutDate;
+    }
+
+    Long getId() {
+        return id;
+    }
+}
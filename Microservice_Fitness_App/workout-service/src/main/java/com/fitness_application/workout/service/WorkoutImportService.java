@@ -0,0 +1,158 @@
+package com.fitness_application.workout.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.BulkImportResultDto;
+import com.fitness_application.workout.dto.ExerciseDto;
+import com.fitness_application.workout.dto.WorkoutDto;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.repository.WorkoutBatchInserter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Imports large workout histories from a streamed request body.
+ * <p>
+ * Workouts are read one at a time and written in chunks, each chunk in its own transaction, so memory stays
+ * bounded by the chunk size and a failure only rolls back the chunk in flight. Each chunk's rows go out as one
+ * JDBC batch per table through {@link WorkoutBatchInserter}, bypassing the persistence context and its per-entity
+ * events; the database still enforces the not-null and foreign key constraints.
+ */
+@Service
+@Slf4j
+public class WorkoutImportService {
+
+    private final WorkoutBatchInserter workoutBatchInserter;
+    private final WorkoutRollupService workoutRollupService;
+    private final PersonalRecordService personalRecordService;
+    private final ExerciseNameIndex exerciseNameIndex;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public WorkoutImportService(WorkoutBatchInserter workoutBatchInserter,
+                                WorkoutRollupService workoutRollupService,
+                                PersonalRecordService personalRecordService,
+                                ExerciseNameIndex exerciseNameIndex,
+                                DataVersionService dataVersionService,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${workout.import.chunk-size:1000}") int chunkSize) {
+        this.workoutBatchInserter = workoutBatchInserter;
+        this.workoutRollupService = workoutRollupService;
+        this.personalRecordService = personalRecordService;
+        this.exerciseNameIndex = exerciseNameIndex;
+        this.dataVersionService = dataVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads either newline-delimited JSON or a JSON array of {@link WorkoutDto} from {@code body}.
+     */
+    public ApiResponse<BulkImportResultDto> importWorkouts(Long userId, InputStream body) {
+        long started = System.nanoTime();
+        BulkImportResultDto result = new BulkImportResultDto();
+
+        try (MappingIterator<WorkoutDto> workouts = objectMapper.readerFor(WorkoutDto.class).readValues(body)) {
+            log.info("Importing workouts for user: {}, chunk size: {}", userId, chunkSize);
+
+            List<WorkoutDto> chunk = new ArrayList<>(chunkSize);
+            while (workouts.hasNextValue()) {
+                WorkoutDto workoutDto = workouts.nextValue();
+                if (workoutDto.getName() == null || workoutDto.getName().isBlank()) {
+                    result.setRejectedWorkouts(result.getRejectedWorkouts() + 1);
+                    continue;
+                }
+                chunk.add(workoutDto);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(userId, chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(userId, chunk, result);
+            }
+
+            result.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+            log.info("Imported {} workouts for user {} in {} ms", result.getImportedWorkouts(), userId, result.getElapsedMillis());
+            return ApiResponse.success("Workouts imported successfully", result);
+
+        } catch (Exception e) {
+            result.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+            log.error("Error importing workouts for user {} after {} workouts: {}",
+                    userId, result.getImportedWorkouts(), e.getMessage(), e);
+            return new ApiResponse<>(false, "Import stopped after " + result.getImportedWorkouts() + " workouts",
+                    result, "Failed to import workouts: " + e.getMessage());
+        }
+    }
+
+    private void writeChunk(Long userId, List<WorkoutDto> chunk, BulkImportResultDto result) {
+        long exerciseCount = transactionTemplate.execute(status -> {
+            List<Workout> workouts = new ArrayList<>(chunk.size());
+            List<Exercise> exercises = new ArrayList<>();
+            for (WorkoutDto workoutDto : chunk) {
+                Workout workout = toWorkout(userId, workoutDto);
+                workouts.add(workout);
+                exercises.addAll(workout.getExercises());
+            }
+            workoutBatchInserter.insert(workouts, exercises);
+            workoutRollupService.addAll(workouts);
+            personalRecordService.record(userId, exercises);
+            exerciseNameIndex.add(userId, exercises.stream().map(Exercise::getName).collect(Collectors.toList()));
+            dataVersionService.bump(userId);
+            return (long) exercises.size();
+        });
+
+        result.setImportedWorkouts(result.getImportedWorkouts() + chunk.size());
+        result.setImportedExercises(result.getImportedExercises() + exerciseCount);
+        result.setCommittedChunks(result.getCommittedChunks() + 1);
+    }
+
+    private Workout toWorkout(Long userId, WorkoutDto workoutDto) {
+        Workout workout = new Workout();
+        workout.setUserId(userId);
+        workout.setName(workoutDto.getName());
+        workout.setType(workoutDto.getType());
+        workout.setDescription(workoutDto.getDescription());
+        workout.setDurationMinutes(workoutDto.getDurationMinutes());
+        workout.setCaloriesBurned(workoutDto.getCaloriesBurned());
+        workout.setIntensity(workoutDto.getIntensity());
+        workout.setWorkoutDate(workoutDto.getWorkoutDate() != null ? workoutDto.getWorkoutDate() : LocalDateTime.now());
+        workout.setCompleted(workoutDto.isCompleted());
+        workout.setNotes(workoutDto.getNotes());
+
+        List<Exercise> exercises = new ArrayList<>();
+        if (workoutDto.getExercises() != null) {
+            for (ExerciseDto exerciseDto : workoutDto.getExercises()) {
+                Exercise exercise = new Exercise();
+                exercise.setWorkout(workout);
+                exercise.setName(exerciseDto.getName());
+                exercise.setCategory(exerciseDto.getCategory());
+                exercise.setSets(exerciseDto.getSets());
+                exercise.setReps(exerciseDto.getReps());
+                exercise.setWeight(exerciseDto.getWeight());
+                exercise.setDurationSeconds(exerciseDto.getDurationSeconds());
+                exercise.setDistance(exerciseDto.getDistance());
+                exercise.setRestSeconds(exerciseDto.getRestSeconds());
+                exercise.setNotes(exerciseDto.getNotes());
+                exercises.add(exercise);
+            }
+        }
+        workout.setExercises(exercises);
+        return workout;
+    }
+}
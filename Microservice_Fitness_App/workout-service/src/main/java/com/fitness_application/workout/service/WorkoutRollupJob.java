@@ -0,0 +1,65 @@
+package com.fitness_application.workout.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Backfill and drift repair for the daily workout rollups.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkoutRollupJob {
+
+    private final WorkoutRollupService workoutRollupService;
+
+    /**
+     * Recomputes the rollups of every user from their workouts; used to backfill after deployment. Returns the
+     * number of users rebuilt; a user that fails is logged and skipped so the rest still run.
+     */
+    public int rebuildAll() {
+        List<Long> userIds = workoutRollupService.findUserIds();
+        int failed = 0;
+        for (Long userId : userIds) {
+            try {
+                workoutRollupService.rebuild(userId);
+            } catch (Exception e) {
+                log.error("Error rebuilding workout rollups for user {}: {}", userId, e.getMessage(), e);
+                failed++;
+            }
+        }
+        log.info("Rebuilt workout rollups for {} users, {} failed", userIds.size() - failed, failed);
+        return userIds.size() - failed;
+    }
+
+    /**
+     * Compares every user's rollups with a full recomputation and rebuilds the users that drifted. A user whose
+     * check or rebuild fails, e.g. on a write racing the rebuild, is logged and left for the next run.
+     */
+    @Scheduled(cron = "${workout.rollup.check-cron:0 30 3 * * *}")
+    public int checkConsistency() {
+        int repaired = 0;
+        int failed = 0;
+        for (Long userId : workoutRollupService.findUserIds()) {
+            try {
+                List<LocalDate> inconsistentDays = workoutRollupService.findInconsistentDays(userId);
+                if (!inconsistentDays.isEmpty()) {
+                    log.warn("Workout rollups for user {} drifted on {} days (first: {}), rebuilding",
+                            userId, inconsistentDays.size(), inconsistentDays.get(0));
+                    workoutRollupService.rebuild(userId);
+                    repaired++;
+                }
+            } catch (Exception e) {
+                log.error("Error checking workout rollups for user {}: {}", userId, e.getMessage(), e);
+                failed++;
+            }
+        }
+        log.info("Workout rollup consistency check finished, {} users repaired, {} failed", repaired, failed);
+        return repaired;
+    }
+}
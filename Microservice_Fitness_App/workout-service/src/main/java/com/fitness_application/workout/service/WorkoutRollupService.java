@@ -0,0 +1,245 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.DailyWorkoutStatsDto;
+import com.fitness_application.workout.dto.WorkoutStatsDto;
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.model.WorkoutDailyRollup;
+import com.fitness_application.workout.repository.WorkoutDailyRollupRepository;
+import com.fitness_application.workout.repository.WorkoutRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-user daily rollups of completed workouts and serves dashboard ranges from them.
+ * <p>
+ * Only completed workouts contribute. Writers call {@link #add} when a workout becomes (or is saved as)
+ * completed and {@link #remove} when a completed workout is edited or deleted, inside the same transaction
+ * as the workout change.
+ * <p>
+ * A delta is an atomic increment of the day's row, or for {@link #addAll} an update of the locked row. The first
+ * delta for a day creates that row with zero totals in a transaction of its own, so two writers racing to create
+ * it cannot fail the caller's transaction, and a caller that later rolls back leaves only a zero row behind, which
+ * every reader already ignores.
+ */
+@Service
+@Transactional
+@Slf4j
+public class WorkoutRollupService {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final WorkoutDailyRollupRepository rollupRepository;
+    private final WorkoutRepository workoutRepository;
+    private final TransactionTemplate newTransaction;
+
+    public WorkoutRollupService(WorkoutDailyRollupRepository rollupRepository,
+                                WorkoutRepository workoutRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.workoutRepository = workoutRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void add(Workout workout) {
+        apply(workout, 1);
+    }
+
+    public void remove(Workout workout) {
+        apply(workout, -1);
+    }
+
+    // Folds a batch of workouts into one delta per day, e.g. for a bulk import chunk. The days are created together,
+    // then locked and updated in place so the changes go out as one batched flush instead of an UPDATE per day. Both
+    // reads cover the batch's whole date range, so days in between that the batch does not touch are locked too
+    public void addAll(Collection<Workout> workouts) {
+        Map<Long, NavigableMap<LocalDate, WorkoutDailyRollup>> deltas = aggregate(workouts);
+        deltas.forEach((userId, days) -> {
+            LocalDate first = days.firstKey();
+            LocalDate last = days.lastKey();
+            Set<LocalDate> missing = new TreeSet<>(days.keySet());
+            rollupRepository.findRollupDatesBetween(userId, first, last).forEach(missing::remove);
+            if (!missing.isEmpty()) {
+                createEmptyRollups(userId, missing);
+            }
+
+            List<WorkoutDailyRollup> rollups = rollupRepository.lockByUserIdAndRollupDateBetween(userId, first, last).stream()
+                    .filter(rollup -> days.containsKey(rollup.getRollupDate()))
+                    .collect(Collectors.toList());
+            if (rollups.size() != days.size()) {
+                throw new IllegalStateException("Workout rollups for user " + userId + " are missing after creation");
+            }
+            for (WorkoutDailyRollup rollup : rollups) {
+                WorkoutDailyRollup delta = days.get(rollup.getRollupDate());
+                rollup.setCompletedCount(rollup.getCompletedCount() + delta.getCompletedCount());
+                rollup.setTotalMinutes(rollup.getTotalMinutes() + delta.getTotalMinutes());
+                rollup.setTotalCalories(rollup.getTotalCalories() + delta.getTotalCalories());
+            }
+        });
+    }
+
+    public ApiResponse<WorkoutStatsDto> getStats(Long userId, LocalDate from, LocalDate to) {
+        try {
+            if (from.isAfter(to)) {
+                return ApiResponse.error("Range start must not be after range end");
+            }
+            if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+                return ApiResponse.error("Range must not exceed " + MAX_RANGE_DAYS + " days");
+            }
+
+            List<WorkoutDailyRollup> rollups = rollupRepository.findByUserIdAndRollupDateBetweenOrderByRollupDate(userId, from, to);
+
+            WorkoutStatsDto stats = new WorkoutStatsDto(from, to, 0, 0, 0, new ArrayList<>());
+            for (WorkoutDailyRollup rollup : rollups) {
+                if (rollup.getCompletedCount() == 0) {
+                    continue;
+                }
+                stats.setCompletedWorkouts(stats.getCompletedWorkouts() + rollup.getCompletedCount());
+                stats.setTotalMinutes(stats.getTotalMinutes() + rollup.getTotalMinutes());
+                stats.setTotalCalories(stats.getTotalCalories() + rollup.getTotalCalories());
+                stats.getDays().add(new DailyWorkoutStatsDto(rollup.getRollupDate(), rollup.getCompletedCount(),
+                        rollup.getTotalMinutes(), rollup.getTotalCalories()));
+            }
+
+            return ApiResponse.success("Workout stats retrieved successfully", stats);
+
+        } catch (Exception e) {
+            log.error("Error fetching workout stats for user {}: {}", userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to fetch workout stats: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces a user's rollups with totals recomputed from their completed workouts.
+     */
+    public void rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        Map<LocalDate, WorkoutDailyRollup> expected = expectedRollups(userId);
+        rollupRepository.saveAll(expected.values());
+        log.info("Rebuilt {} workout rollup days for user {}", expected.size(), userId);
+    }
+
+    /**
+     * Returns the days whose stored rollup differs from a full recomputation over the user's workouts.
+     */
+    @Transactional(readOnly = true)
+    public List<LocalDate> findInconsistentDays(Long userId) {
+        Map<LocalDate, WorkoutDailyRollup> expected = expectedRollups(userId);
+        Map<LocalDate, WorkoutDailyRollup> actual = rollupRepository.findByUserIdOrderByRollupDate(userId).stream()
+                .filter(rollup -> rollup.getCompletedCount() != 0 || rollup.getTotalMinutes() != 0 || rollup.getTotalCalories() != 0)
+                .collect(Collectors.toMap(WorkoutDailyRollup::getRollupDate, rollup -> rollup));
+
+        TreeSet<LocalDate> days = new TreeSet<>(expected.keySet());
+        days.addAll(actual.keySet());
+        return days.stream()
+                .filter(day -> !sameTotals(expected.get(day), actual.get(day)))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findUserIds() {
+        TreeSet<Long> userIds = new TreeSet<>(workoutRepository.findDistinctUserIds());
+        userIds.addAll(rollupRepository.findDistinctUserIds());
+        return new ArrayList<>(userIds);
+    }
+
+    private void apply(Workout workout, int sign) {
+        if (workout.getWorkoutDate() == null) {
+            return;
+        }
+        applyDelta(new WorkoutDailyRollup(null, workout.getUserId(), workout.getWorkoutDate().toLocalDate(),
+                sign, sign * minutesOf(workout), sign * caloriesOf(workout)));
+    }
+
+    private void applyDelta(WorkoutDailyRollup delta) {
+        if (increment(delta) == 0) {
+            createEmptyRollup(delta.getUserId(), delta.getRollupDate());
+            if (increment(delta) == 0) {
+                throw new IllegalStateException("Workout rollup for user " + delta.getUserId() + " on "
+                        + delta.getRollupDate() + " is missing after creation");
+            }
+        }
+    }
+
+    private int increment(WorkoutDailyRollup delta) {
+        return rollupRepository.applyDelta(delta.getUserId(), delta.getRollupDate(),
+                delta.getCompletedCount(), delta.getTotalMinutes(), delta.getTotalCalories());
+    }
+
+    // Commits on its own; losing the insert race to another writer is fine, the row exists either way
+    private void createEmptyRollup(Long userId, LocalDate day) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    rollupRepository.saveAndFlush(new WorkoutDailyRollup(null, userId, day, 0, 0, 0)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Workout rollup for user {} on {} was created concurrently", userId, day);
+        }
+    }
+
+    private void createEmptyRollups(Long userId, Collection<LocalDate> days) {
+        try {
+            newTransaction.executeWithoutResult(status -> rollupRepository.saveAllAndFlush(days.stream()
+                    .map(day -> new WorkoutDailyRollup(null, userId, day, 0, 0, 0))
+                    .collect(Collectors.toList())));
+        } catch (DataIntegrityViolationException e) {
+            days.forEach(day -> createEmptyRollup(userId, day));
+        }
+    }
+
+    private Map<LocalDate, WorkoutDailyRollup> expectedRollups(Long userId) {
+        return aggregate(workoutRepository.findByUserIdAndCompleted(userId, true))
+                .getOrDefault(userId, new TreeMap<>());
+    }
+
+    private Map<Long, NavigableMap<LocalDate, WorkoutDailyRollup>> aggregate(Collection<Workout> workouts) {
+        Map<Long, NavigableMap<LocalDate, WorkoutDailyRollup>> byUser = new TreeMap<>();
+        for (Workout workout : workouts) {
+            if (!workout.isCompleted() || workout.getWorkoutDate() == null) {
+                continue;
+            }
+            LocalDate day = workout.getWorkoutDate().toLocalDate();
+            WorkoutDailyRollup rollup = byUser.computeIfAbsent(workout.getUserId(), id -> new TreeMap<>())
+                    .computeIfAbsent(day, d -> new WorkoutDailyRollup(null, workout.getUserId(), d, 0, 0, 0));
+            rollup.setCompletedCount(rollup.getCompletedCount() + 1);
+            rollup.setTotalMinutes(rollup.getTotalMinutes() + minutesOf(workout));
+            rollup.setTotalCalories(rollup.getTotalCalories() + caloriesOf(workout));
+        }
+        return byUser;
+    }
+
+    private boolean sameTotals(WorkoutDailyRollup expected, WorkoutDailyRollup actual) {
+        if (expected == null || actual == null) {
+            return Objects.equals(expected, actual);
+        }
+        return expected.getCompletedCount() == actual.getCompletedCount()
+                && expected.getTotalMinutes() == actual.getTotalMinutes()
+                && expected.getTotalCalories() == actual.getTotalCalories();
+    }
+
+    private static long minutesOf(Workout workout) {
+        return workout.getDurationMinutes() != null ? workout.getDurationMinutes() : 0;
+    }
+
+    private static long caloriesOf(Workout workout) {
+        return workout.getCaloriesBurned() != null ? workout.getCaloriesBurned() : 0;
+    }
+}
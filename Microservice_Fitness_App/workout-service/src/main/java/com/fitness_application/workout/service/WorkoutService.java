@@ -1,15 +1,16 @@
 package com.fitness_application.workout.service;
 
 import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.CursorPage;
 import com.fitness_application.workout.dto.WorkoutDto;
 import com.fitness_application.workout.dto.ExerciseDto;
+import com.fitness_application.workout.mapper.WorkoutMapper;
 import com.fitness_application.workout.model.Workout;
 import com.fitness_application.workout.model.Exercise;
 import com.fitness_application.workout.repository.WorkoutRepository;
 import com.fitness_application.workout.repository.ExerciseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,7 +18,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,9 +34,15 @@ import java.util.stream.Collectors;
 @Slf4j
 public class WorkoutService {
     
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    
     private final WorkoutRepository workoutRepository;
     private final ExerciseRepository exerciseRepository;
-    private final ModelMapper modelMapper;
+    private final WorkoutMapper workoutMapper;
+    private final WorkoutRollupService workoutRollupService;
+    private final PersonalRecordService personalRecordService;
+    private final ExerciseNameIndex exerciseNameIndex;
+    private final DataVersionService dataVersionService;
     
     public ApiResponse<WorkoutDto> createWorkout(Long userId, WorkoutDto workoutDto) {
         try {
@@ -46,6 +60,7 @@ public class WorkoutService {
             workout.setNotes(workoutDto.getNotes());
             
             Workout savedWorkout = workoutRepository.save(workout);
+            List<Exercise> savedExercises = Collections.emptyList();
             
             // Create exercises if provided
             if (workoutDto.getExercises() != null && !workoutDto.getExercises().isEmpty()) {
@@ -53,22 +68,20 @@ public class WorkoutService {
                         .map(exerciseDto -> {
                             Exercise exercise = new Exercise();
                             exercise.setWorkout(savedWorkout);
-                            exercise.setName(exerciseDto.getName());
-                            exercise.setCategory(exerciseDto.getCategory());
-                            exercise.setSets(exerciseDto.getSets());
-                            exercise.setReps(exerciseDto.getReps());
-                            exercise.setWeight(exerciseDto.getWeight());
-                            exercise.setDurationSeconds(exerciseDto.getDurationSeconds());
-                            exercise.setNotes(exerciseDto.getNotes());
+                            copyExerciseFields(exerciseDto, exercise);
                             return exercise;
                         })
                         .collect(Collectors.toList());
                 
                 exerciseRepository.saveAll(exercises);
+                personalRecordService.record(userId, exercises);
+                exerciseNameIndex.add(userId, exercises.stream().map(Exercise::getName).collect(Collectors.toList()));
                 savedWorkout.setExercises(exercises);
+                savedExercises = exercises;
             }
             
-            WorkoutDto responseDto = modelMapper.map(savedWorkout, WorkoutDto.class);
+            dataVersionService.bump(userId);
+            WorkoutDto responseDto = toWorkoutDto(savedWorkout, savedExercises);
             return ApiResponse.success("Workout created successfully", responseDto);
             
         } catch (Exception e) {
@@ -84,19 +97,7 @@ public class WorkoutService {
             Pageable pageable = PageRequest.of(page, size);
             Page<Workout> workoutPage = workoutRepository.findByUserIdOrderByWorkoutDateDesc(userId, pageable);
             
-            List<WorkoutDto> workoutDtos = workoutPage.getContent().stream()
-                    .map(workout -> {
-                        WorkoutDto dto = modelMapper.map(workout, WorkoutDto.class);
-                        // Load exercises
-                        List<Exercise> exercises = exerciseRepository.findByWorkoutIdOrderById(workout.getId());
-                        List<ExerciseDto> exerciseDtos = exercises.stream()
-                                .map(exercise -> modelMapper.map(exercise, ExerciseDto.class))
-                                .collect(Collectors.toList());
-                        dto.setExercises(exerciseDtos);
-                        return dto;
-                    })
-                    .collect(Collectors.toList());
-            
+            List<WorkoutDto> workoutDtos = toWorkoutDtos(workoutPage.getContent());
             return ApiResponse.success("Workouts retrieved successfully", workoutDtos);
             
         } catch (Exception e) {
@@ -105,6 +106,37 @@ public class WorkoutService {
         }
     }
     
+    public ApiResponse<CursorPage<WorkoutDto>> getUserWorkoutFeed(Long userId, String after, int size) {
+        try {
+            log.info("Fetching workout feed for user: {}, after: {}, size: {}", userId, after, size);
+            
+            int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+            // Fetch one extra row to learn whether another page exists without a COUNT query
+            Pageable limit = PageRequest.of(0, pageSize + 1);
+            
+            List<Workout> workouts;
+            if (after == null || after.isBlank()) {
+                workouts = workoutRepository.findFeedByUserId(userId, limit);
+            } else {
+                WorkoutFeedCursor cursor = WorkoutFeedCursor.decode(after);
+                workouts = cursor.getWorkoutDate() != null
+                        ? workoutRepository.findFeedByUserIdAfter(userId, cursor.getWorkoutDate(), cursor.getId(), limit)
+                        : workoutRepository.findUndatedFeedByUserIdAfter(userId, cursor.getId(), limit);
+            }
+            
+            boolean hasMore = workouts.size() > pageSize;
+            List<Workout> pageContent = hasMore ? workouts.subList(0, pageSize) : workouts;
+            String nextCursor = hasMore ? WorkoutFeedCursor.of(pageContent.get(pageSize - 1)).encode() : null;
+            
+            CursorPage<WorkoutDto> feedPage = new CursorPage<>(toWorkoutDtos(pageContent), nextCursor, hasMore);
+            return ApiResponse.success("Workouts retrieved successfully", feedPage);
+            
+        } catch (Exception e) {
+            log.error("Error fetching workout feed for user {}: {}", userId, e.getMessage(), e);
+            return ApiResponse.error("Failed to fetch workouts: " + e.getMessage());
+        }
+    }
+    
     public ApiResponse<WorkoutDto> getWorkoutById(Long userId, Long workoutId) {
         try {
             log.info("Fetching workout {} for user: {}", workoutId, userId);
@@ -112,14 +144,8 @@ public class WorkoutService {
             Workout workout = workoutRepository.findByIdAndUserId(workoutId, userId)
                     .orElseThrow(() -> new RuntimeException("Workout not found"));
             
-            WorkoutDto workoutDto = modelMapper.map(workout, WorkoutDto.class);
-            
-            // Load exercises
             List<Exercise> exercises = exerciseRepository.findByWorkoutIdOrderById(workoutId);
-            List<ExerciseDto> exerciseDtos = exercises.stream()
-                    .map(exercise -> modelMapper.map(exercise, ExerciseDto.class))
-                    .collect(Collectors.toList());
-            workoutDto.setExercises(exerciseDtos);
+            WorkoutDto workoutDto = toWorkoutDto(workout, exercises);
             
             return ApiResponse.success("Workout retrieved successfully", workoutDto);
             
@@ -136,6 +162,11 @@ public class WorkoutService {
             Workout workout = workoutRepository.findByIdAndUserId(workoutId, userId)
                     .orElseThrow(() -> new RuntimeException("Workout not found"));
             
+            // Take the old values out of the daily rollup; the edited values are added back below
+            if (workout.isCompleted()) {
+                workoutRollupService.remove(workout);
+            }
+            
             // Update workout fields
             workout.setName(workoutDto.getName());
             workout.setType(workoutDto.getType());
@@ -145,32 +176,25 @@ public class WorkoutService {
             workout.setNotes(workoutDto.getNotes());
             
             // Update exercises
+            List<Exercise> currentExercises;
             if (workoutDto.getExercises() != null) {
-                // Delete existing exercises
-                exerciseRepository.deleteByWorkoutId(workoutId);
-                
-                // Create new exercises
-                List<Exercise> exercises = workoutDto.getExercises().stream()
-                        .map(exerciseDto -> {
-                            Exercise exercise = new Exercise();
-                            exercise.setWorkout(workout);
-                            exercise.setName(exerciseDto.getName());
-                            exercise.setCategory(exerciseDto.getCategory());
-                            exercise.setSets(exerciseDto.getSets());
-                            exercise.setReps(exerciseDto.getReps());
-                            exercise.setWeight(exerciseDto.getWeight());
-                            exercise.setDurationSeconds(exerciseDto.getDurationSeconds());
-                            exercise.setNotes(exerciseDto.getNotes());
-                            return exercise;
-                        })
-                        .collect(Collectors.toList());
-                
-                exerciseRepository.saveAll(exercises);
-                workout.setExercises(exercises);
+                ExerciseChanges changes = new ExerciseChanges();
+                currentExercises = reconcileExercises(workout, workoutDto.getExercises(), changes);
+                workout.setExercises(currentExercises);
+                // Edits and removals can lower a record, so rebuild the affected ones rather than just raising them
+                personalRecordService.recompute(userId, changes.touchedNames);
+                exerciseNameIndex.remove(userId, changes.removedNames);
+                exerciseNameIndex.add(userId, changes.addedNames);
+            } else {
+                currentExercises = exerciseRepository.findByWorkoutIdOrderById(workoutId);
             }
             
             Workout savedWorkout = workoutRepository.save(workout);
-            WorkoutDto responseDto = modelMapper.map(savedWorkout, WorkoutDto.class);
+            if (savedWorkout.isCompleted()) {
+                workoutRollupService.add(savedWorkout);
+            }
+            dataVersionService.bump(userId);
+            WorkoutDto responseDto = toWorkoutDto(savedWorkout, currentExercises);
             
             return ApiResponse.success("Workout updated successfully", responseDto);
             
@@ -187,12 +211,24 @@ public class WorkoutService {
             Workout workout = workoutRepository.findByIdAndUserId(workoutId, userId)
                     .orElseThrow(() -> new RuntimeException("Workout not found"));
             
+            if (workout.isCompleted()) {
+                workoutRollupService.remove(workout);
+            }
+            
+            List<String> exerciseNames = exerciseRepository.findByWorkoutIdOrderById(workoutId).stream()
+                    .map(Exercise::getName)
+                    .collect(Collectors.toList());
+            
             // Delete exercises first
             exerciseRepository.deleteByWorkoutId(workoutId);
             
             // Delete workout
             workoutRepository.delete(workout);
             
+            personalRecordService.recompute(userId, new HashSet<>(exerciseNames));
+            exerciseNameIndex.remove(userId, exerciseNames);
+            dataVersionService.bump(userId);
+            
             return ApiResponse.success("Workout deleted successfully", null);
             
         } catch (Exception e) {
@@ -208,10 +244,16 @@ public class WorkoutService {
             Workout workout = workoutRepository.findByIdAndUserId(workoutId, userId)
                     .orElseThrow(() -> new RuntimeException("Workout not found"));
             
+            boolean newlyCompleted = !workout.isCompleted();
             workout.setCompleted(true);
             
             Workout savedWorkout = workoutRepository.save(workout);
-            WorkoutDto workoutDto = modelMapper.map(savedWorkout, WorkoutDto.class);
+            if (newlyCompleted) {
+                workoutRollupService.add(savedWorkout);
+                dataVersionService.bump(userId);
+            }
+            List<Exercise> exercises = exerciseRepository.findByWorkoutIdOrderById(workoutId);
+            WorkoutDto workoutDto = toWorkoutDto(savedWorkout, exercises);
             
             return ApiResponse.success("Workout completed successfully", workoutDto);
             
@@ -226,9 +268,7 @@ public class WorkoutService {
             log.info("Fetching completed workouts for user: {}", userId);
             
             List<Workout> workouts = workoutRepository.findByUserIdAndCompleted(userId, true);
-            List<WorkoutDto> workoutDtos = workouts.stream()
-                    .map(workout -> modelMapper.map(workout, WorkoutDto.class))
-                    .collect(Collectors.toList());
+            List<WorkoutDto> workoutDtos = toWorkoutDtos(workouts);
             
             return ApiResponse.success("Completed workouts retrieved successfully", workoutDtos);
             
@@ -247,4 +287,86 @@ public class WorkoutService {
             return ApiResponse.error("Failed to get workout count: " + e.getMessage());
         }
     }
+    
+    /**
+     * Brings the workout's stored exercises in line with {@code exerciseDtos}, matching on id.
+     * Matched rows are updated in place (Hibernate only writes the ones that actually changed),
+     * unmatched incoming exercises are inserted, and rows missing from the request are deleted in one statement.
+     * Name changes and every name involved are recorded in {@code changes}.
+     */
+    private List<Exercise> reconcileExercises(Workout workout, List<ExerciseDto> exerciseDtos, ExerciseChanges changes) {
+        Map<Long, Exercise> existingById = exerciseRepository.findByWorkoutIdOrderById(workout.getId()).stream()
+                .collect(Collectors.toMap(Exercise::getId, exercise -> exercise, (a, b) -> a, LinkedHashMap::new));
+        existingById.values().forEach(exercise -> changes.touchedNames.add(exercise.getName()));
+        
+        List<Exercise> reconciled = new ArrayList<>(exerciseDtos.size());
+        List<Exercise> inserts = new ArrayList<>();
+        for (ExerciseDto exerciseDto : exerciseDtos) {
+            Exercise exercise = exerciseDto.getId() != null ? existingById.remove(exerciseDto.getId()) : null;
+            if (exercise == null) {
+                exercise = new Exercise();
+                exercise.setWorkout(workout);
+                inserts.add(exercise);
+                changes.addedNames.add(exerciseDto.getName());
+            } else if (!Objects.equals(exercise.getName(), exerciseDto.getName())) {
+                changes.removedNames.add(exercise.getName());
+                changes.addedNames.add(exerciseDto.getName());
+            }
+            copyExerciseFields(exerciseDto, exercise);
+            changes.touchedNames.add(exercise.getName());
+            reconciled.add(exercise);
+        }
+        
+        if (!existingById.isEmpty()) {
+            existingById.values().forEach(exercise -> changes.removedNames.add(exercise.getName()));
+            exerciseRepository.deleteAllByIdInBatch(existingById.keySet());
+        }
+        if (!inserts.isEmpty()) {
+            exerciseRepository.saveAll(inserts);
+        }
+        return reconciled;
+    }
+    
+    private static final class ExerciseChanges {
+        private final List<String> removedNames = new ArrayList<>();
+        private final List<String> addedNames = new ArrayList<>();
+        private final Set<String> touchedNames = new HashSet<>();
+    }
+    
+    private void copyExerciseFields(ExerciseDto exerciseDto, Exercise exercise) {
+        exercise.setName(exerciseDto.getName());
+        exercise.setCategory(exerciseDto.getCategory());
+        exercise.setSets(exerciseDto.getSets());
+        exercise.setReps(exerciseDto.getReps());
+        exercise.setWeight(exerciseDto.getWeight());
+        exercise.setDurationSeconds(exerciseDto.getDurationSeconds());
+        exercise.setNotes(exerciseDto.getNotes());
+    }
+    
+    // Loads the exercises for every workout in one query instead of one query per workout
+    private List<WorkoutDto> toWorkoutDtos(List<Workout> workouts) {
+        if (workouts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        List<Long> workoutIds = workouts.stream()
+                .map(Workout::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Exercise>> exercisesByWorkoutId = exerciseRepository.findByWorkoutIdInOrderById(workoutIds).stream()
+                .collect(Collectors.groupingBy(exercise -> exercise.getWorkout().getId()));
+        
+        return workouts.stream()
+                .map(workout -> toWorkoutDto(workout,
+                        exercisesByWorkoutId.getOrDefault(workout.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+    
+    private WorkoutDto toWorkoutDto(Workout workout, List<Exercise> exercises) {
+        WorkoutDto dto = workoutMapper.toDto(workout);
+        List<ExerciseDto> exerciseDtos = exercises.stream()
+                .map(workoutMapper::toDto)
+                .collect(Collectors.toList());
+        dto.setExercises(exerciseDtos);
+        return dto;
+    }
 }
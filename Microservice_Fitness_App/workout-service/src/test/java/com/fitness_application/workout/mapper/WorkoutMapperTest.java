@@ -0,0 +1,112 @@
+package com.fitness_application.workout.mapper;
+
+import com.fitness_application.workout.dto.ExerciseDto;
+import com.fitness_application.workout.dto.WorkoutDto;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the hand-written mapper against ModelMapper configured the way the service used to configure it.
+ */
+class WorkoutMapperTest {
+
+    private WorkoutMapper workoutMapper;
+    private ModelMapper modelMapper;
+
+    @BeforeEach
+    void setUp() {
+        workoutMapper = new WorkoutMapper();
+        modelMapper = new ModelMapper();
+        modelMapper.typeMap(Workout.class, WorkoutDto.class)
+                .addMappings(mapper -> mapper.skip(WorkoutDto::setExercises));
+    }
+
+    @Test
+    void toDto_Workout_MatchesModelMapper() {
+        // Given
+        Workout workout = workout();
+
+        // When
+        WorkoutDto dto = workoutMapper.toDto(workout);
+
+        // Then
+        assertEquals(modelMapper.map(workout, WorkoutDto.class), dto);
+        assertNull(dto.getExercises());
+    }
+
+    @Test
+    void toDto_Exercise_MatchesModelMapper() {
+        // Given
+        Exercise exercise = exercise(workout());
+
+        // When
+        ExerciseDto dto = workoutMapper.toDto(exercise);
+
+        // Then
+        assertEquals(modelMapper.map(exercise, ExerciseDto.class), dto);
+    }
+
+    @Test
+    void toDto_SparseEntities_MatchModelMapper() {
+        // Given
+        Workout workout = new Workout();
+        workout.setCreatedAt(null);
+        workout.setUpdatedAt(null);
+        Exercise exercise = new Exercise();
+
+        // When / Then
+        assertEquals(modelMapper.map(workout, WorkoutDto.class), workoutMapper.toDto(workout));
+        assertEquals(modelMapper.map(exercise, ExerciseDto.class), workoutMapper.toDto(exercise));
+    }
+
+    private Workout workout() {
+        Workout workout = new Workout();
+        workout.setId(7L);
+        workout.setUserId(1L);
+        workout.setName("Leg Day");
+        workout.setDescription("Heavy lower body");
+        workout.setType(Workout.WorkoutType.STRENGTH);
+        workout.setDurationMinutes(75);
+        workout.setCaloriesBurned(520);
+        workout.setNotes("Felt strong");
+        workout.setIntensity(Workout.IntensityLevel.HIGH);
+        workout.setWorkoutDate(LocalDateTime.of(2024, 3, 4, 18, 30));
+        workout.setCompleted(true);
+        workout.setCreatedAt(LocalDateTime.of(2024, 3, 4, 18, 0));
+        workout.setUpdatedAt(LocalDateTime.of(2024, 3, 4, 20, 0));
+        workout.setExercises(List.of(exercise(workout)));
+        return workout;
+    }
+
+    private Exercise exercise(Workout workout) {
+        Exercise exercise = new Exercise();
+        exercise.setId(11L);
+        exercise.setName("Back Squat");
+        exercise.setDescription("Barbell squat");
+        exercise.setCategory(Exercise.ExerciseCategory.STRENGTH);
+        exercise.setPrimaryMuscleGroup(Exercise.MuscleGroup.QUADRICEPS);
+        exercise.setSecondaryMuscleGroup(Exercise.MuscleGroup.GLUTES);
+        exercise.setInstructions("Break at the hips");
+        exercise.setEquipment("Barbell");
+        exercise.setTips("Brace before each rep");
+        exercise.setSets(5);
+        exercise.setReps(5);
+        exercise.setWeight(120.0);
+        exercise.setDurationSeconds(600);
+        exercise.setDistance(0.0);
+        exercise.setRestSeconds(180);
+        exercise.setNotes("Belt on last two sets");
+        exercise.setCreatedAt(LocalDateTime.of(2024, 3, 4, 18, 5));
+        exercise.setUpdatedAt(LocalDateTime.of(2024, 3, 4, 18, 50));
+        exercise.setWorkout(workout);
+        return exercise;
+    }
+}
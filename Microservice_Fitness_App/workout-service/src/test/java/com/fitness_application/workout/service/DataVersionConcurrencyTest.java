@@ -0,0 +1,75 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.repository.UserDataVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each bump commits or rolls back on its own, as it does behind the controller
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DataVersionService.class)
+class DataVersionConcurrencyTest {
+
+    private static final int WRITERS = 8;
+    private static final long FIRST_USER = 100L;
+    private static final int USERS = 10;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserDataVersionRepository versionRepository;
+
+    @AfterEach
+    void tearDown() {
+        versionRepository.deleteAll();
+    }
+
+    @Test
+    void bump_ConcurrentFirstWritesForAUser_AllCount() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+
+        try {
+            for (long userId = FIRST_USER; userId < FIRST_USER + USERS; userId++) {
+                long user = userId;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> bumps = new ArrayList<>();
+                for (int i = 0; i < WRITERS; i++) {
+                    bumps.add(executor.submit(() -> {
+                        start.await();
+                        dataVersionService.bump(user);
+                        return null;
+                    }));
+                }
+
+                // When
+                start.countDown();
+                for (Future<?> bump : bumps) {
+                    bump.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        for (long userId = FIRST_USER; userId < FIRST_USER + USERS; userId++) {
+            assertEquals(WRITERS, dataVersionService.current(userId).getVersion());
+        }
+    }
+}
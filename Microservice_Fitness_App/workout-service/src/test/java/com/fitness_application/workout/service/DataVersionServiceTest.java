@@ -0,0 +1,46 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.model.UserDataVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(DataVersionService.class)
+class DataVersionServiceTest {
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void current_UserWithoutWritesIsAtVersionZero() {
+        UserDataVersion version = dataVersionService.current(1L);
+
+        assertEquals(0, version.getVersion());
+        assertEquals(-1, DataVersionService.lastModified(version));
+    }
+
+    @Test
+    void bump_ChangesEtagPerUser() {
+        String before = DataVersionService.etag(dataVersionService.current(1L));
+
+        dataVersionService.bump(1L);
+        dataVersionService.bump(1L);
+        dataVersionService.bump(2L);
+        // The bulk increments bypass the persistence context, so read the rows back fresh
+        entityManager.clear();
+
+        UserDataVersion first = dataVersionService.current(1L);
+        assertEquals(2, first.getVersion());
+        assertNotEquals(before, DataVersionService.etag(first));
+        assertNotEquals(DataVersionService.etag(first), DataVersionService.etag(dataVersionService.current(2L)));
+        assertTrue(DataVersionService.lastModified(first) > 0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.fitness_application.workout.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExerciseNameTrieTest {
+
+    private ExerciseNameTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new ExerciseNameTrie();
+        trie.add("bench press", "Bench Press", 40);
+        trie.add("bent over row", "Bent Over Row", 25);
+        trie.add("bicep curl", "Bicep Curl", 60);
+        trie.add("box jump", "Box Jump", 5);
+        trie.add("squat", "Squat", 80);
+    }
+
+    @Test
+    void complete_RanksPrefixMatchesByUsage() {
+        assertEquals(List.of("Bench Press", "Bent Over Row"), trie.complete("ben", 2));
+        assertEquals(List.of("Bicep Curl", "Bench Press", "Bent Over Row", "Box Jump"), trie.complete("b", 10));
+    }
+
+    @Test
+    void complete_ToleratesOneTypoAfterExactMatches() {
+        // Substitution, transposition, missing and extra characters
+        assertEquals(List.of("Squat"), trie.complete("sqaut", 5));
+        assertEquals(List.of("Squat"), trie.complete("swuat", 5));
+        assertEquals(List.of("Bicep Curl"), trie.complete("bcep", 5));
+        assertEquals(List.of("Squat"), trie.complete("squuat", 5));
+
+        List<String> suggestions = trie.complete("benc", 5);
+        assertEquals("Bench Press", suggestions.get(0));
+        assertTrue(suggestions.contains("Bent Over Row"));
+    }
+
+    @Test
+    void complete_IgnoresNamesTwoEditsAway() {
+        assertTrue(trie.complete("sqxxt", 5).isEmpty());
+    }
+
+    @Test
+    void remove_UpdatesRankingAndDropsUnusedNames() {
+        trie.remove("bicep curl", 50);
+        assertEquals(List.of("Bench Press", "Bent Over Row", "Bicep Curl"), trie.complete("b", 3));
+
+        trie.remove("box jump", 5);
+        assertEquals(4, trie.size());
+        assertFalse(trie.complete("bo", 5).contains("Box Jump"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.PersonalRecord;
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.repository.PersonalRecordRepository;
+import com.fitness_application.workout.repository.WorkoutRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each writer commits or rolls back on its own, as it does behind the controller
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(PersonalRecordService.class)
+class PersonalRecordConcurrencyTest {
+
+    private static final int WRITERS = 8;
+    private static final long FIRST_USER = 100L;
+    private static final int USERS = 5;
+    // A recompute only drops a record inside a narrow window, so that race gets more rounds
+    private static final int RACES = 40;
+
+    @Autowired
+    private PersonalRecordService personalRecordService;
+
+    @Autowired
+    private PersonalRecordRepository personalRecordRepository;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        personalRecordRepository.deleteAll();
+        workoutRepository.deleteAll();
+    }
+
+    @Test
+    void record_ConcurrentFirstRecordsForAnExercise_KeepTheBest() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+
+        try {
+            for (long userId = FIRST_USER; userId < FIRST_USER + USERS; userId++) {
+                long user = userId;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> writes = new ArrayList<>();
+                for (int i = 0; i < WRITERS; i++) {
+                    double extra = i;
+                    writes.add(executor.submit(() -> {
+                        start.await();
+                        personalRecordService.record(user, List.of(
+                                exercise("Bench Press", 50 + extra), exercise("Squat", 100 + extra)));
+                        return null;
+                    }));
+                }
+
+                // When
+                start.countDown();
+                for (Future<?> write : writes) {
+                    write.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        for (long userId = FIRST_USER; userId < FIRST_USER + USERS; userId++) {
+            List<PersonalRecord> records = personalRecordRepository.findByUserIdOrderByExerciseKey(userId);
+            assertEquals(2, records.size());
+            assertEquals(50.0 + WRITERS - 1, records.get(0).getMaxWeight());
+            assertEquals(100.0 + WRITERS - 1, records.get(1).getMaxWeight());
+        }
+    }
+
+    @Test
+    void recompute_AlongsideNewRecords_NeitherFailsNorLosesARaise() throws Exception {
+        // Given: half the writers log a workout and record it, the other half recompute the same exercises
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        try {
+            for (long userId = FIRST_USER; userId < FIRST_USER + RACES; userId++) {
+                long user = userId;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> writes = new ArrayList<>();
+                for (int i = 0; i < WRITERS; i++) {
+                    double extra = i;
+                    boolean logs = i % 2 == 0;
+                    writes.add(executor.submit(() -> {
+                        start.await();
+                        if (logs) {
+                            transaction.executeWithoutResult(status -> {
+                                Workout workout = workoutRepository.save(workout(user,
+                                        exercise("Deadlift", 150 + extra), exercise("Squat", 100 + extra)));
+                                personalRecordService.record(user, workout.getExercises());
+                            });
+                        } else {
+                            personalRecordService.recompute(user, List.of("Deadlift", "Squat"));
+                        }
+                        return null;
+                    }));
+                }
+
+                // When
+                start.countDown();
+                for (Future<?> write : writes) {
+                    write.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then: the records match the best committed exercises
+        for (long userId = FIRST_USER; userId < FIRST_USER + RACES; userId++) {
+            List<PersonalRecord> records = personalRecordRepository.findByUserIdOrderByExerciseKey(userId);
+            assertEquals(2, records.size());
+            assertEquals(150.0 + WRITERS - 2, records.get(0).getMaxWeight());
+            assertEquals(100.0 + WRITERS - 2, records.get(1).getMaxWeight());
+        }
+    }
+
+    private Workout workout(long userId, Exercise... exercises) {
+        Workout workout = new Workout();
+        workout.setUserId(userId);
+        workout.setName("Strength day");
+        workout.setType(Workout.WorkoutType.STRENGTH);
+        workout.setWorkoutDate(LocalDateTime.of(2024, 3, 15, 18, 0));
+        workout.setExercises(new ArrayList<>(List.of(exercises)));
+        workout.getExercises().forEach(exercise -> exercise.setWorkout(workout));
+        return workout;
+    }
+
+    private Exercise exercise(String name, double weight) {
+        Exercise exercise = new Exercise();
+        exercise.setName(name);
+        exercise.setSets(3);
+        exercise.setReps(5);
+        exercise.setWeight(weight);
+        return exercise;
+    }
+}
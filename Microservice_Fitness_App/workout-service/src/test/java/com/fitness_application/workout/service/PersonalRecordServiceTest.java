@@ -0,0 +1,125 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.PersonalRecordDto;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.repository.PersonalRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.AfterTransaction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(PersonalRecordService.class)
+class PersonalRecordServiceTest {
+
+    @Autowired
+    private PersonalRecordService personalRecordService;
+
+    @Autowired
+    private PersonalRecordRepository personalRecordRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final Long userId = 1L;
+
+    // Empty records are created in their own committed transactions, so the test rollback does not remove them
+    @AfterTransaction
+    void deleteCommittedRecords() {
+        personalRecordRepository.deleteAll();
+    }
+
+    @Test
+    void record_KeepsBestValuesAcrossDifferentlySpelledNames() {
+        Workout workout = persistWorkout();
+        Exercise heavy = persistExercise(workout, "Bench Press", 3, 3, 100.0);
+        Exercise volume = persistExercise(workout, " bench press", 5, 10, 70.0);
+
+        personalRecordService.record(userId, List.of(heavy, volume));
+
+        ApiResponse<PersonalRecordDto> response = personalRecordService.getRecord(userId, "BENCH PRESS");
+
+        assertTrue(response.isSuccess());
+        PersonalRecordDto record = response.getData();
+        assertEquals(100.0, record.getMaxWeight());
+        assertEquals(10, record.getMaxReps());
+        assertEquals(3500.0, record.getMaxVolume());
+        assertEquals(110.0, record.getEstimatedOneRepMax(), 0.001);
+    }
+
+    @Test
+    void recompute_LowersRecordAfterBestExerciseIsDeleted() {
+        Workout workout = persistWorkout();
+        Exercise best = persistExercise(workout, "Squat", 1, 1, 140.0);
+        Exercise regular = persistExercise(workout, "Squat", 3, 3, 120.0);
+        personalRecordService.record(userId, List.of(best, regular));
+
+        entityManager.remove(best);
+        entityManager.flush();
+        personalRecordService.recompute(userId, Set.of("Squat"));
+        entityManager.flush();
+        entityManager.clear();
+
+        PersonalRecordDto record = personalRecordService.getRecord(userId, "squat").getData();
+        assertEquals(120.0, record.getMaxWeight());
+        assertEquals(132.0, record.getEstimatedOneRepMax(), 0.001);
+    }
+
+    @Test
+    void recompute_DropsRecordWithNoRemainingExercises() {
+        Workout workout = persistWorkout();
+        Exercise only = persistExercise(workout, "Deadlift", 1, 5, 160.0);
+        personalRecordService.record(userId, List.of(only));
+
+        entityManager.remove(only);
+        entityManager.flush();
+        personalRecordService.recompute(userId, Set.of("Deadlift"));
+
+        assertFalse(personalRecordService.getRecord(userId, "deadlift").isSuccess());
+        assertTrue(personalRecordRepository.findByUserIdOrderByExerciseKey(userId).isEmpty());
+    }
+
+    @Test
+    void rebuild_BackfillsFromLoggedExercises() {
+        Workout workout = persistWorkout();
+        persistExercise(workout, "Row", 4, 8, 80.0);
+        persistExercise(workout, "Plank", 1, null, null);
+
+        personalRecordService.rebuild(userId);
+
+        List<PersonalRecordDto> records = personalRecordService.getRecords(userId).getData();
+        assertEquals(2, records.size());
+        assertEquals("Plank", records.get(0).getExerciseName());
+        assertNull(records.get(0).getMaxWeight());
+        assertEquals(2560.0, records.get(1).getMaxVolume());
+    }
+
+    private Workout persistWorkout() {
+        Workout workout = new Workout();
+        workout.setUserId(userId);
+        workout.setName("Strength day");
+        workout.setType(Workout.WorkoutType.STRENGTH);
+        workout.setWorkoutDate(LocalDateTime.of(2024, 3, 15, 18, 0));
+        return entityManager.persist(workout);
+    }
+
+    private Exercise persistExercise(Workout workout, String name, Integer sets, Integer reps, Double weight) {
+        Exercise exercise = new Exercise();
+        exercise.setWorkout(workout);
+        exercise.setName(name);
+        exercise.setSets(sets);
+        exercise.setReps(reps);
+        exercise.setWeight(weight);
+        return entityManager.persist(exercise);
+    }
+}
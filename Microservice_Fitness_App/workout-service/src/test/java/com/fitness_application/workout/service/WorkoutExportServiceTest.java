@@ -0,0 +1,175 @@
+package com.fitness_application.workout.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitness_application.workout.mapper.WorkoutMapper;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.repository.WorkoutRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({WorkoutExportService.class, WorkoutMapper.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class WorkoutExportServiceTest {
+
+    @Autowired
+    private WorkoutExportService workoutExportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Long userId = 1L;
+    private final LocalDateTime day = LocalDateTime.of(2024, 5, 31, 18, 0);
+
+    @Test
+    void exportWorkouts_WritesOneNewlineTerminatedObjectPerWorkout() throws Exception {
+        // Given
+        Workout older = workout(userId, "Legs", day.minusDays(1));
+        Workout newer = workout(userId, "Push", day);
+        exercise(newer, "Bench press");
+        exercise(newer, "Dips");
+        workout(2L, "Someone else", day);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = workoutExportService.exportWorkouts(userId, out);
+
+        // Then
+        assertEquals(2, exported);
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("}\n"));
+        String[] lines = ndjson.split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(newer.getId().longValue(), first.get("id").asLong());
+        assertEquals(2, first.get("exercises").size());
+        assertEquals("Bench press", first.get("exercises").get(0).get("name").asText());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(older.getId().longValue(), second.get("id").asLong());
+        assertEquals(0, second.get("exercises").size());
+    }
+
+    @Test
+    void exportWorkouts_KeepsExercisesWithTheirWorkoutAcrossFetchWindows() throws Exception {
+        // Given: more workouts than one fetch window, with exercise ids interleaved against workout order
+        int count = WorkoutRepository.EXPORT_FETCH_SIZE * 2 + 37;
+        List<Workout> workouts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            workouts.add(workout(userId, "Workout " + i, day.minusHours(i)));
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            exercise(workouts.get(i), "Exercise for Workout " + i);
+        }
+        for (int i = 0; i < count; i += 2) {
+            exercise(workouts.get(i), "Second exercise for Workout " + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = workoutExportService.exportWorkouts(userId, out);
+
+        // Then
+        assertEquals(count, exported);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(count, lines.length);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            JsonNode workout = objectMapper.readTree(lines[i]);
+            assertTrue(seen.add(workout.get("id").asLong()));
+            assertEquals("Workout " + i, workout.get("name").asText());
+            JsonNode exercises = workout.get("exercises");
+            assertEquals(i % 2 == 0 ? 2 : 1, exercises.size());
+            exercises.forEach(exercise -> assertTrue(exercise.get("name").asText().endsWith("for " + workout.get("name").asText())));
+        }
+    }
+
+    @Test
+    void exportWorkouts_FiltersByInclusiveDateRange() throws Exception {
+        // Given
+        workout(userId, "Before", LocalDateTime.of(2024, 5, 9, 23, 59));
+        Workout first = workout(userId, "First day", LocalDateTime.of(2024, 5, 10, 0, 0));
+        Workout last = workout(userId, "Last day", LocalDateTime.of(2024, 5, 12, 23, 30));
+        workout(userId, "After", LocalDateTime.of(2024, 5, 13, 0, 0));
+        workout(userId, "Undated", null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream ranged = new ByteArrayOutputStream();
+        long rangedCount = workoutExportService.exportWorkouts(userId,
+                LocalDate.of(2024, 5, 10), LocalDate.of(2024, 5, 12), ranged);
+        ByteArrayOutputStream openEnded = new ByteArrayOutputStream();
+        long openEndedCount = workoutExportService.exportWorkouts(userId, LocalDate.of(2024, 5, 12), null, openEnded);
+        ByteArrayOutputStream everything = new ByteArrayOutputStream();
+        long everythingCount = workoutExportService.exportWorkouts(userId, null, null, everything);
+
+        // Then
+        assertEquals(2, rangedCount);
+        String[] lines = ranged.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(last.getId().longValue(), objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals(first.getId().longValue(), objectMapper.readTree(lines[1]).get("id").asLong());
+        assertEquals(2, openEndedCount);
+        assertEquals(5, everythingCount);
+    }
+
+    @Test
+    void exportWorkouts_EmptyHistoryWritesNothing() throws Exception {
+        // Given
+        workout(2L, "Someone else", day);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = workoutExportService.exportWorkouts(userId, out);
+
+        // Then
+        assertEquals(0, exported);
+        assertEquals(0, out.size());
+    }
+
+    private Workout workout(Long owner, String name, LocalDateTime workoutDate) {
+        Workout workout = new Workout();
+        workout.setUserId(owner);
+        workout.setName(name);
+        workout.setType(Workout.WorkoutType.STRENGTH);
+        workout.setWorkoutDate(workoutDate);
+        return entityManager.persist(workout);
+    }
+
+    private Exercise exercise(Workout workout, String name) {
+        Exercise exercise = new Exercise();
+        exercise.setName(name);
+        exercise.setSets(3);
+        exercise.setReps(10);
+        exercise.setWorkout(workout);
+        return entityManager.persist(exercise);
+    }
+}
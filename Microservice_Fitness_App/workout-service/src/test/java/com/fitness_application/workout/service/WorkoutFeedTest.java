@@ -0,0 +1,104 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.CursorPage;
+import com.fitness_application.workout.dto.WorkoutDto;
+import com.fitness_application.workout.mapper.WorkoutMapper;
+import com.fitness_application.workout.model.Workout;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({WorkoutService.class, WorkoutRollupService.class, PersonalRecordService.class, ExerciseNameIndex.class, DataVersionService.class, WorkoutMapper.class})
+class WorkoutFeedTest {
+
+    @Autowired
+    private WorkoutService workoutService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final Long userId = 1L;
+    private final LocalDateTime day = LocalDateTime.of(2024, 6, 30, 18, 0);
+
+    @Test
+    void getUserWorkoutFeed_WalksSameDateTiesNewestIdFirst() {
+        // Given
+        Long older = persist(userId, day.minusDays(1));
+        Long tieLow = persist(userId, day);
+        Long tieMid = persist(userId, day);
+        Long tieHigh = persist(userId, day);
+        persist(2L, day);
+
+        // When
+        List<Long> ids = walkFeed(2);
+
+        // Then
+        assertEquals(List.of(tieHigh, tieMid, tieLow, older), ids);
+    }
+
+    @Test
+    void getUserWorkoutFeed_ReturnsUndatedWorkoutsLastAcrossPages() {
+        // Given
+        Long undatedLow = persist(userId, null);
+        Long dated = persist(userId, day);
+        Long undatedMid = persist(userId, null);
+        Long undatedHigh = persist(userId, null);
+
+        // When
+        List<Long> pageOfOne = walkFeed(1);
+        List<Long> pageOfTwo = walkFeed(2);
+
+        // Then
+        List<Long> expected = List.of(dated, undatedHigh, undatedMid, undatedLow);
+        assertEquals(expected, pageOfOne);
+        assertEquals(expected, pageOfTwo);
+    }
+
+    @Test
+    void feedCursor_RoundTripsUndatedWorkout() {
+        Workout workout = new Workout();
+        workout.setId(42L);
+
+        WorkoutFeedCursor cursor = WorkoutFeedCursor.decode(WorkoutFeedCursor.of(workout).encode());
+
+        assertNull(cursor.getWorkoutDate());
+        assertEquals(42L, cursor.getId());
+    }
+
+    // Follows next cursors to the end, failing if a page repeats or the walk doesn't terminate
+    private List<Long> walkFeed(int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        for (int page = 0; page < 20; page++) {
+            ApiResponse<CursorPage<WorkoutDto>> response = workoutService.getUserWorkoutFeed(userId, after, pageSize);
+            assertTrue(response.isSuccess(), response.getMessage());
+            response.getData().getItems().forEach(workout -> ids.add(workout.getId()));
+            if (!response.getData().isHasMore()) {
+                return ids;
+            }
+            after = response.getData().getNextCursor();
+        }
+        return fail("Feed did not end");
+    }
+
+    private Long persist(Long userId, LocalDateTime workoutDate) {
+        Workout workout = new Workout();
+        workout.setUserId(userId);
+        workout.setName("Workout");
+        workout.setType(Workout.WorkoutType.STRENGTH);
+        workout.setWorkoutDate(workoutDate);
+        Long id = entityManager.persistAndGetId(workout, Long.class);
+        entityManager.flush();
+        return id;
+    }
+}
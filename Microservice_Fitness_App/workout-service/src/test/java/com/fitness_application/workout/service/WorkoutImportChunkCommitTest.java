@@ -0,0 +1,96 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.BulkImportResultDto;
+import com.fitness_application.workout.model.WorkoutDailyRollup;
+import com.fitness_application.workout.repository.ExerciseRepository;
+import com.fitness_application.workout.repository.PersonalRecordRepository;
+import com.fitness_application.workout.repository.UserDataVersionRepository;
+import com.fitness_application.workout.repository.WorkoutBatchInserter;
+import com.fitness_application.workout.repository.WorkoutDailyRollupRepository;
+import com.fitness_application.workout.repository.WorkoutRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// No test transaction around the import, so each chunk really commits or rolls back on its own
+@DataJpaTest(properties = "workout.import.chunk-size=10")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({WorkoutImportService.class, WorkoutBatchInserter.class, WorkoutRollupService.class, PersonalRecordService.class, ExerciseNameIndex.class, DataVersionService.class})
+class WorkoutImportChunkCommitTest {
+
+    @Autowired
+    private WorkoutImportService workoutImportService;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private WorkoutDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private PersonalRecordRepository personalRecordRepository;
+
+    @Autowired
+    private UserDataVersionRepository versionRepository;
+
+    private final Long userId = 1L;
+
+    @AfterEach
+    void tearDown() {
+        exerciseRepository.deleteAll();
+        workoutRepository.deleteAll();
+        rollupRepository.deleteAll();
+        personalRecordRepository.deleteAll();
+        versionRepository.deleteAll();
+    }
+
+    @Test
+    void importWorkouts_FailingChunkLeavesEarlierChunksCommitted() {
+        // Given: the third chunk holds an exercise without a name, which the database rejects
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            String exerciseName = i == 22 ? "null" : "\"Squat\"";
+            body.append("{\"name\":\"Workout ").append(i).append("\",\"type\":\"STRENGTH\",\"durationMinutes\":45,")
+                    .append("\"completed\":true,\"workoutDate\":\"2024-03-15T18:00:00\",")
+                    .append("\"exercises\":[{\"name\":").append(exerciseName).append(",\"sets\":5,\"reps\":5,\"weight\":100.0}]}\n");
+        }
+
+        // When
+        ApiResponse<BulkImportResultDto> response = workoutImportService.importWorkouts(userId, stream(body.toString()));
+
+        // Then
+        assertFalse(response.isSuccess());
+        assertEquals(20, response.getData().getImportedWorkouts());
+        assertEquals(2, response.getData().getCommittedChunks());
+        assertEquals(20, workoutRepository.countWorkoutsByUser(userId));
+        assertEquals(20, exerciseRepository.count());
+
+        List<WorkoutDailyRollup> rollups = rollupRepository.findByUserIdOrderByRollupDate(userId);
+        assertEquals(1, rollups.size());
+        assertEquals(20, rollups.get(0).getCompletedCount());
+        assertEquals(20 * 45L, rollups.get(0).getTotalMinutes());
+        assertEquals(2, versionRepository.findById(userId).orElseThrow().getVersion());
+        assertEquals(100.0, personalRecordRepository.findByUserIdAndExerciseKey(userId, "squat").orElseThrow().getMaxWeight());
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.BulkImportResultDto;
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.repository.ExerciseRepository;
+import com.fitness_application.workout.repository.WorkoutBatchInserter;
+import com.fitness_application.workout.repository.WorkoutRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "workout.import.chunk-size=10")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({WorkoutImportService.class, WorkoutBatchInserter.class, WorkoutRollupService.class, PersonalRecordService.class, ExerciseNameIndex.class, DataVersionService.class})
+class WorkoutImportServiceTest {
+
+    @Autowired
+    private WorkoutImportService workoutImportService;
+
+    @Autowired
+    private WorkoutRepository workoutRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    private final Long userId = 1L;
+
+    @Test
+    void importWorkouts_NdjsonInChunks() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            body.append("{\"name\":\"Workout ").append(i).append("\",\"type\":\"STRENGTH\",\"durationMinutes\":45,")
+                    .append("\"exercises\":[{\"name\":\"Squat\",\"sets\":5,\"reps\":5,\"weight\":100.0},")
+                    .append("{\"name\":\"Bench press\",\"sets\":5,\"reps\":5,\"weight\":80.0}]}\n");
+        }
+        body.append("{\"type\":\"CARDIO\"}\n");
+
+        ApiResponse<BulkImportResultDto> response = workoutImportService.importWorkouts(userId, stream(body.toString()));
+
+        assertTrue(response.isSuccess());
+        assertEquals(25, response.getData().getImportedWorkouts());
+        assertEquals(50, response.getData().getImportedExercises());
+        assertEquals(1, response.getData().getRejectedWorkouts());
+        assertEquals(3, response.getData().getCommittedChunks());
+        assertEquals(25, workoutRepository.countWorkoutsByUser(userId));
+        assertEquals(50, exerciseRepository.count());
+    }
+
+    @Test
+    void importWorkouts_JsonArray() {
+        String body = "[{\"name\":\"Run\",\"type\":\"RUNNING\"},{\"name\":\"Swim\",\"type\":\"SWIMMING\"}]";
+
+        ApiResponse<BulkImportResultDto> response = workoutImportService.importWorkouts(userId, stream(body));
+
+        assertTrue(response.isSuccess());
+        assertEquals(2, response.getData().getImportedWorkouts());
+        assertEquals(2, workoutRepository.countWorkoutsByUser(userId));
+    }
+
+    @Test
+    void importWorkouts_IdsDoNotCollideWithJpaInserts() {
+        Workout before = new Workout();
+        before.setUserId(userId);
+        before.setName("Saved before");
+        workoutRepository.saveAndFlush(before);
+
+        String body = "[{\"name\":\"Run\",\"type\":\"RUNNING\",\"exercises\":[{\"name\":\"Intervals\",\"distance\":5000.0}]}]";
+        ApiResponse<BulkImportResultDto> response = workoutImportService.importWorkouts(userId, stream(body));
+
+        Workout after = new Workout();
+        after.setUserId(userId);
+        after.setName("Saved after");
+        workoutRepository.saveAndFlush(after);
+
+        assertTrue(response.isSuccess());
+        assertEquals(3, workoutRepository.countWorkoutsByUser(userId));
+        Workout imported = workoutRepository.findByUserIdOrderByWorkoutDateDesc(userId).stream()
+                .filter(w -> w.getName().equals("Run"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(Workout.WorkoutType.RUNNING, imported.getType());
+        assertEquals(1, imported.getExercises().size());
+        assertEquals("Intervals", imported.getExercises().get(0).getName());
+    }
+
+    @Test
+    void importWorkouts_MalformedBody() {
+        ApiResponse<BulkImportResultDto> response = workoutImportService.importWorkouts(userId, stream("{\"name\":"));
+
+        assertFalse(response.isSuccess());
+        assertEquals(0, response.getData().getImportedWorkouts());
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
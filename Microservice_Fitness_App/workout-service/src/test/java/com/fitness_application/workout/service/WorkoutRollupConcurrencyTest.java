@@ -0,0 +1,96 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.model.WorkoutDailyRollup;
+import com.fitness_application.workout.repository.WorkoutDailyRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each writer commits or rolls back on its own, as it does behind the controller
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(WorkoutRollupService.class)
+class WorkoutRollupConcurrencyTest {
+
+    private static final int WRITERS = 8;
+    private static final int DAYS = 10;
+
+    @Autowired
+    private WorkoutRollupService workoutRollupService;
+
+    @Autowired
+    private WorkoutDailyRollupRepository rollupRepository;
+
+    private final Long userId = 1L;
+    private final LocalDate firstDay = LocalDate.of(2024, 3, 1);
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+    }
+
+    @Test
+    void add_ConcurrentFirstWritesForADay_AllLand() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+
+        try {
+            for (int d = 0; d < DAYS; d++) {
+                LocalDate day = firstDay.plusDays(d);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> writes = new ArrayList<>();
+                for (int i = 0; i < WRITERS; i++) {
+                    writes.add(executor.submit(() -> {
+                        start.await();
+                        workoutRollupService.add(completedWorkout(day));
+                        return null;
+                    }));
+                }
+
+                // When
+                start.countDown();
+                for (Future<?> write : writes) {
+                    write.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        List<WorkoutDailyRollup> rollups = rollupRepository.findByUserIdAndRollupDateBetweenOrderByRollupDate(
+                userId, firstDay, firstDay.plusDays(DAYS - 1));
+        assertEquals(DAYS, rollups.size());
+        rollups.forEach(rollup -> {
+            assertEquals(WRITERS, rollup.getCompletedCount());
+            assertEquals(WRITERS * 30L, rollup.getTotalMinutes());
+            assertEquals(WRITERS * 200L, rollup.getTotalCalories());
+        });
+    }
+
+    private Workout completedWorkout(LocalDate day) {
+        Workout workout = new Workout();
+        workout.setUserId(userId);
+        workout.setName("Workout");
+        workout.setWorkoutDate(day.atTime(9, 0));
+        workout.setDurationMinutes(30);
+        workout.setCaloriesBurned(200);
+        workout.setCompleted(true);
+        return workout;
+    }
+}
@@ -0,0 +1,60 @@
+package com.fitness_application.workout.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkoutRollupJobTest {
+
+    @Mock
+    private WorkoutRollupService workoutRollupService;
+
+    @InjectMocks
+    private WorkoutRollupJob workoutRollupJob;
+
+    @Test
+    void rebuildAll_FailingUserDoesNotStopTheRest() {
+        // Given
+        when(workoutRollupService.findUserIds()).thenReturn(List.of(1L, 2L, 3L));
+        doNothing().when(workoutRollupService).rebuild(anyLong());
+        doThrow(new DataIntegrityViolationException("duplicate rollup")).when(workoutRollupService).rebuild(2L);
+
+        // When
+        int rebuilt = workoutRollupJob.rebuildAll();
+
+        // Then
+        assertEquals(2, rebuilt);
+        verify(workoutRollupService).rebuild(1L);
+        verify(workoutRollupService).rebuild(3L);
+    }
+
+    @Test
+    void checkConsistency_FailingUserDoesNotStopTheRest() {
+        // Given
+        LocalDate day = LocalDate.of(2024, 3, 15);
+        when(workoutRollupService.findUserIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(workoutRollupService.findInconsistentDays(1L)).thenThrow(new IllegalStateException("query failed"));
+        when(workoutRollupService.findInconsistentDays(2L)).thenReturn(List.of(day));
+        when(workoutRollupService.findInconsistentDays(3L)).thenReturn(List.of(day));
+        doNothing().when(workoutRollupService).rebuild(anyLong());
+        doThrow(new DataIntegrityViolationException("duplicate rollup")).when(workoutRollupService).rebuild(2L);
+
+        // When
+        int repaired = workoutRollupJob.checkConsistency();
+
+        // Then
+        assertEquals(1, repaired);
+        verify(workoutRollupService).rebuild(3L);
+    }
+}
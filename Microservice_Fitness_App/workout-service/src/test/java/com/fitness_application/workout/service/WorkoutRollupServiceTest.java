@@ -0,0 +1,89 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.WorkoutStatsDto;
+import com.fitness_application.workout.model.Workout;
+import com.fitness_application.workout.repository.WorkoutDailyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(WorkoutRollupService.class)
+class WorkoutRollupServiceTest {
+
+    @Autowired
+    private WorkoutRollupService workoutRollupService;
+
+    @Autowired
+    private WorkoutDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final Long userId = 1L;
+    private final LocalDate today = LocalDate.of(2024, 3, 15);
+
+    @Test
+    void addAndRemove_MaintainDailyTotals() {
+        Workout morning = completedWorkout(today.atTime(7, 0), 30, 250);
+        Workout evening = completedWorkout(today.atTime(19, 0), 45, 400);
+        Workout yesterday = completedWorkout(today.minusDays(1).atTime(12, 0), 60, 500);
+
+        workoutRollupService.add(morning);
+        workoutRollupService.add(evening);
+        workoutRollupService.add(yesterday);
+        workoutRollupService.remove(evening);
+
+        ApiResponse<WorkoutStatsDto> response = workoutRollupService.getStats(userId, today.minusDays(6), today);
+
+        assertTrue(response.isSuccess());
+        WorkoutStatsDto stats = response.getData();
+        assertEquals(2, stats.getCompletedWorkouts());
+        assertEquals(90, stats.getTotalMinutes());
+        assertEquals(750, stats.getTotalCalories());
+        assertEquals(2, stats.getDays().size());
+        assertEquals(today.minusDays(1), stats.getDays().get(0).getDate());
+    }
+
+    @Test
+    void getStats_RejectsRangeLongerThanAYear() {
+        ApiResponse<WorkoutStatsDto> response = workoutRollupService.getStats(userId, today.minusDays(400), today);
+
+        assertFalse(response.isSuccess());
+    }
+
+    @Test
+    void findInconsistentDays_DetectsDriftAndRebuildRepairsIt() {
+        Workout workout = completedWorkout(today.atTime(8, 0), 40, 300);
+        entityManager.persist(workout);
+        entityManager.flush();
+
+        // Rollup never told about the workout
+        assertEquals(List.of(today), workoutRollupService.findInconsistentDays(userId));
+
+        workoutRollupService.rebuild(userId);
+
+        assertTrue(workoutRollupService.findInconsistentDays(userId).isEmpty());
+        assertEquals(1, rollupRepository.findByUserIdOrderByRollupDate(userId).size());
+    }
+
+    private Workout completedWorkout(LocalDateTime workoutDate, int minutes, int calories) {
+        Workout workout = new Workout();
+        workout.setUserId(userId);
+        workout.setName("Workout");
+        workout.setWorkoutDate(workoutDate);
+        workout.setDurationMinutes(minutes);
+        workout.setCaloriesBurned(calories);
+        workout.setCompleted(true);
+        return workout;
+    }
+}
@@ -0,0 +1,95 @@
+package com.fitness_application.workout.service;
+
+import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.WorkoutDto;
+import com.fitness_application.workout.mapper.WorkoutMapper;
+import com.fitness_application.workout.model.Exercise;
+import com.fitness_application.workout.model.Workout;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({WorkoutService.class, WorkoutRollupService.class, PersonalRecordService.class, ExerciseNameIndex.class, DataVersionService.class, WorkoutMapper.class})
+class WorkoutServiceQueryCountTest {
+
+    // Page select + page count + one batched exercise select
+    private static final long EXPECTED_QUERIES_PER_PAGE = 3;
+
+    @Autowired
+    private WorkoutService workoutService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final Long userId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < 60; i++) {
+            Workout workout = new Workout();
+            workout.setUserId(userId);
+            workout.setName("Workout " + i);
+            workout.setType(Workout.WorkoutType.STRENGTH);
+            workout.setWorkoutDate(LocalDateTime.now().minusDays(i));
+            entityManager.persist(workout);
+
+            for (int j = 0; j < 3; j++) {
+                Exercise exercise = new Exercise();
+                exercise.setName("Exercise " + j);
+                exercise.setSets(3);
+                exercise.setReps(10);
+                exercise.setWorkout(workout);
+                entityManager.persist(exercise);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getUserWorkouts_QueryCountIndependentOfPageSize() {
+        long smallPageQueries = countQueries(5);
+        long largePageQueries = countQueries(50);
+
+        assertEquals(EXPECTED_QUERIES_PER_PAGE, smallPageQueries);
+        assertEquals(EXPECTED_QUERIES_PER_PAGE, largePageQueries);
+    }
+
+    @Test
+    void getUserWorkouts_GroupsExercisesByWorkout() {
+        ApiResponse<List<WorkoutDto>> response = workoutService.getUserWorkouts(userId, 0, 20);
+
+        assertTrue(response.isSuccess());
+        assertEquals(20, response.getData().size());
+        response.getData().forEach(dto -> assertEquals(3, dto.getExercises().size()));
+    }
+
+    private long countQueries(int pageSize) {
+        entityManager.clear();
+        statistics.clear();
+
+        ApiResponse<List<WorkoutDto>> response = workoutService.getUserWorkouts(userId, 0, pageSize);
+
+        assertTrue(response.isSuccess());
+        assertEquals(pageSize, response.getData().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
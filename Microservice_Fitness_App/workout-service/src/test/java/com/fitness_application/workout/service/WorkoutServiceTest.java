@@ -1,8 +1,10 @@
 package com.fitness_application.workout.service;
 
 import com.fitness_application.workout.dto.ApiResponse;
+import com.fitness_application.workout.dto.CursorPage;
 import com.fitness_application.workout.dto.WorkoutDto;
 import com.fitness_application.workout.dto.ExerciseDto;
+import com.fitness_application.workout.mapper.WorkoutMapper;
 import com.fitness_application.workout.model.Workout;
 import com.fitness_application.workout.model.Exercise;
 import com.fitness_application.workout.repository.WorkoutRepository;
@@ -13,7 +15,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -23,6 +24,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -41,7 +43,19 @@ class WorkoutServiceTest {
     private ExerciseRepository exerciseRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private WorkoutMapper workoutMapper;
+
+    @Mock
+    private WorkoutRollupService workoutRollupService;
+
+    @Mock
+    private PersonalRecordService personalRecordService;
+
+    @Mock
+    private ExerciseNameIndex exerciseNameIndex;
+
+    @Mock
+    private DataVersionService dataVersionService;
 
     @InjectMocks
     private WorkoutService workoutService;
@@ -111,7 +125,7 @@ class WorkoutServiceTest {
         // Given
         when(workoutRepository.save(any(Workout.class))).thenReturn(workout);
         when(exerciseRepository.saveAll(anyList())).thenReturn(Arrays.asList(exercise));
-        when(modelMapper.map(workout, WorkoutDto.class)).thenReturn(workoutDto);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
 
         // When
         ApiResponse<WorkoutDto> response = workoutService.createWorkout(userId, workoutDto);
@@ -122,6 +136,7 @@ class WorkoutServiceTest {
         assertEquals("Workout created successfully", response.getMessage());
         verify(workoutRepository).save(any(Workout.class));
         verify(exerciseRepository).saveAll(anyList());
+        verify(dataVersionService).bump(userId);
     }
 
     @Test
@@ -134,7 +149,8 @@ class WorkoutServiceTest {
 
         // Then
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("Failed to create workout"));
+        assertTrue(response.getError().contains("Failed to create workout"));
+        verifyNoInteractions(dataVersionService);
     }
 
     @Test
@@ -145,9 +161,9 @@ class WorkoutServiceTest {
         
         when(workoutRepository.findByUserIdOrderByWorkoutDateDesc(eq(userId), any(Pageable.class)))
                 .thenReturn(workoutPage);
-        when(exerciseRepository.findByWorkoutIdOrderById(workoutId)).thenReturn(Arrays.asList(exercise));
-        when(modelMapper.map(workout, WorkoutDto.class)).thenReturn(workoutDto);
-        when(modelMapper.map(exercise, ExerciseDto.class)).thenReturn(exerciseDto);
+        when(exerciseRepository.findByWorkoutIdInOrderById(List.of(workoutId))).thenReturn(Arrays.asList(exercise));
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
+        when(workoutMapper.toDto(exercise)).thenReturn(exerciseDto);
 
         // When
         ApiResponse<List<WorkoutDto>> response = workoutService.getUserWorkouts(userId, 0, 10);
@@ -157,6 +173,61 @@ class WorkoutServiceTest {
         assertNotNull(response.getData());
         assertEquals(1, response.getData().size());
         verify(workoutRepository).findByUserIdOrderByWorkoutDateDesc(eq(userId), any(Pageable.class));
+        verify(exerciseRepository).findByWorkoutIdInOrderById(List.of(workoutId));
+        verify(exerciseRepository, never()).findByWorkoutIdOrderById(anyLong());
+    }
+
+    @Test
+    void getUserWorkoutFeed_FirstPageHasMore() {
+        // Given
+        Workout older = new Workout();
+        older.setId(2L);
+        older.setUserId(userId);
+        older.setWorkoutDate(workout.getWorkoutDate().minusDays(1));
+        
+        when(workoutRepository.findFeedByUserId(eq(userId), any(Pageable.class)))
+                .thenReturn(Arrays.asList(workout, older));
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
+
+        // When
+        ApiResponse<CursorPage<WorkoutDto>> response = workoutService.getUserWorkoutFeed(userId, null, 1);
+
+        // Then
+        assertTrue(response.isSuccess());
+        assertEquals(1, response.getData().getItems().size());
+        assertTrue(response.getData().isHasMore());
+        WorkoutFeedCursor cursor = WorkoutFeedCursor.decode(response.getData().getNextCursor());
+        assertEquals(workout.getWorkoutDate(), cursor.getWorkoutDate());
+        assertEquals(workoutId, cursor.getId());
+        verify(workoutRepository).findFeedByUserId(userId, PageRequest.of(0, 2));
+        verify(workoutRepository, never()).findByUserIdOrderByWorkoutDateDesc(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getUserWorkoutFeed_SeeksPastCursor() {
+        // Given
+        String after = WorkoutFeedCursor.of(workout).encode();
+        when(workoutRepository.findFeedByUserIdAfter(eq(userId), eq(workout.getWorkoutDate()), eq(workoutId), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // When
+        ApiResponse<CursorPage<WorkoutDto>> response = workoutService.getUserWorkoutFeed(userId, after, 10);
+
+        // Then
+        assertTrue(response.isSuccess());
+        assertTrue(response.getData().getItems().isEmpty());
+        assertFalse(response.getData().isHasMore());
+        assertNull(response.getData().getNextCursor());
+    }
+
+    @Test
+    void getUserWorkoutFeed_InvalidCursor() {
+        // When
+        ApiResponse<CursorPage<WorkoutDto>> response = workoutService.getUserWorkoutFeed(userId, "not-a-cursor", 10);
+
+        // Then
+        assertFalse(response.isSuccess());
+        verifyNoInteractions(workoutRepository);
     }
 
     @Test
@@ -164,8 +235,8 @@ class WorkoutServiceTest {
         // Given
         when(workoutRepository.findByIdAndUserId(workoutId, userId)).thenReturn(Optional.of(workout));
         when(exerciseRepository.findByWorkoutIdOrderById(workoutId)).thenReturn(Arrays.asList(exercise));
-        when(modelMapper.map(workout, WorkoutDto.class)).thenReturn(workoutDto);
-        when(modelMapper.map(exercise, ExerciseDto.class)).thenReturn(exerciseDto);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
+        when(workoutMapper.toDto(exercise)).thenReturn(exerciseDto);
 
         // When
         ApiResponse<WorkoutDto> response = workoutService.getWorkoutById(userId, workoutId);
@@ -186,16 +257,17 @@ class WorkoutServiceTest {
 
         // Then
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("Failed to fetch workout"));
+        assertTrue(response.getError().contains("Failed to fetch workout"));
     }
 
     @Test
     void updateWorkout_Success() {
         // Given
+        exerciseDto.setReps(12);
         when(workoutRepository.findByIdAndUserId(workoutId, userId)).thenReturn(Optional.of(workout));
+        when(exerciseRepository.findByWorkoutIdOrderById(workoutId)).thenReturn(Arrays.asList(exercise));
         when(workoutRepository.save(any(Workout.class))).thenReturn(workout);
-        when(exerciseRepository.saveAll(anyList())).thenReturn(Arrays.asList(exercise));
-        when(modelMapper.map(workout, WorkoutDto.class)).thenReturn(workoutDto);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
 
         // When
         ApiResponse<WorkoutDto> response = workoutService.updateWorkout(userId, workoutId, workoutDto);
@@ -203,10 +275,46 @@ class WorkoutServiceTest {
         // Then
         assertTrue(response.isSuccess());
         assertEquals("Workout updated successfully", response.getMessage());
-        verify(exerciseRepository).deleteByWorkoutId(workoutId);
+        assertEquals(12, exercise.getReps());
+        verify(exerciseRepository, never()).deleteByWorkoutId(anyLong());
+        verify(exerciseRepository, never()).deleteAllByIdInBatch(any());
+        verify(exerciseRepository, never()).saveAll(anyList());
         verify(workoutRepository).save(any(Workout.class));
     }
 
+    @Test
+    void updateWorkout_ReconcilesExercisesById() {
+        // Given
+        Exercise removed = new Exercise();
+        removed.setId(2L);
+        removed.setName("Lunges");
+        removed.setWorkout(workout);
+
+        ExerciseDto added = new ExerciseDto();
+        added.setName("Plank");
+        added.setDurationSeconds(60);
+        workoutDto.setExercises(Arrays.asList(exerciseDto, added));
+
+        when(workoutRepository.findByIdAndUserId(workoutId, userId)).thenReturn(Optional.of(workout));
+        when(exerciseRepository.findByWorkoutIdOrderById(workoutId)).thenReturn(Arrays.asList(exercise, removed));
+        when(workoutRepository.save(any(Workout.class))).thenReturn(workout);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
+
+        // When
+        ApiResponse<WorkoutDto> response = workoutService.updateWorkout(userId, workoutId, workoutDto);
+
+        // Then
+        assertTrue(response.isSuccess());
+        verify(exerciseRepository).deleteAllByIdInBatch(argThat(ids -> ids.iterator().next().equals(2L)));
+        verify(exerciseRepository).saveAll(argThat((List<Exercise> inserts) ->
+                inserts.size() == 1 && "Plank".equals(inserts.get(0).getName())));
+        verify(exerciseRepository, never()).deleteByWorkoutId(anyLong());
+        verify(personalRecordService).recompute(eq(userId), argThat((Set<String> names) ->
+                names.contains("Lunges") && names.contains("Plank")));
+        verify(exerciseNameIndex).remove(userId, List.of("Lunges"));
+        verify(exerciseNameIndex).add(userId, List.of("Plank"));
+    }
+
     @Test
     void deleteWorkout_Success() {
         // Given
@@ -220,6 +328,36 @@ class WorkoutServiceTest {
         assertEquals("Workout deleted successfully", response.getMessage());
         verify(exerciseRepository).deleteByWorkoutId(workoutId);
         verify(workoutRepository).delete(workout);
+        verifyNoInteractions(workoutRollupService);
+    }
+
+    @Test
+    void deleteWorkout_RecomputesPersonalRecordsForItsExercises() {
+        // Given
+        when(workoutRepository.findByIdAndUserId(workoutId, userId)).thenReturn(Optional.of(workout));
+        when(exerciseRepository.findByWorkoutIdOrderById(workoutId)).thenReturn(Arrays.asList(exercise));
+
+        // When
+        ApiResponse<Void> response = workoutService.deleteWorkout(userId, workoutId);
+
+        // Then
+        assertTrue(response.isSuccess());
+        verify(personalRecordService).recompute(userId, Set.of(exercise.getName()));
+        verify(exerciseNameIndex).remove(userId, List.of(exercise.getName()));
+    }
+
+    @Test
+    void deleteWorkout_CompletedRemovedFromRollup() {
+        // Given
+        workout.setCompleted(true);
+        when(workoutRepository.findByIdAndUserId(workoutId, userId)).thenReturn(Optional.of(workout));
+
+        // When
+        ApiResponse<Void> response = workoutService.deleteWorkout(userId, workoutId);
+
+        // Then
+        assertTrue(response.isSuccess());
+        verify(workoutRollupService).remove(workout);
     }
 
     @Test
@@ -227,7 +365,7 @@ class WorkoutServiceTest {
         // Given
         when(workoutRepository.findByIdAndUserId(workoutId, userId)).thenReturn(Optional.of(workout));
         when(workoutRepository.save(any(Workout.class))).thenReturn(workout);
-        when(modelMapper.map(workout, WorkoutDto.class)).thenReturn(workoutDto);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
 
         // When
         ApiResponse<WorkoutDto> response = workoutService.completeWorkout(userId, workoutId);
@@ -236,13 +374,31 @@ class WorkoutServiceTest {
         assertTrue(response.isSuccess());
         assertEquals("Workout completed successfully", response.getMessage());
         verify(workoutRepository).save(any(Workout.class));
+        verify(workoutRollupService).add(workout);
+    }
+
+    @Test
+    void completeWorkout_AlreadyCompletedDoesNotCountTwice() {
+        // Given
+        workout.setCompleted(true);
+        when(workoutRepository.findByIdAndUserId(workoutId, userId)).thenReturn(Optional.of(workout));
+        when(workoutRepository.save(any(Workout.class))).thenReturn(workout);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
+
+        // When
+        ApiResponse<WorkoutDto> response = workoutService.completeWorkout(userId, workoutId);
+
+        // Then
+        assertTrue(response.isSuccess());
+        verifyNoInteractions(workoutRollupService);
+        verifyNoInteractions(dataVersionService);
     }
 
     @Test
     void getCompletedWorkouts_Success() {
         // Given
         when(workoutRepository.findByUserIdAndCompleted(userId, true)).thenReturn(Arrays.asList(workout));
-        when(modelMapper.map(workout, WorkoutDto.class)).thenReturn(workoutDto);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
 
         // When
         ApiResponse<List<WorkoutDto>> response = workoutService.getCompletedWorkouts(userId);
@@ -268,12 +424,11 @@ class WorkoutServiceTest {
 
     // Concurrency Tests
     @Test
-    void createWorkout_ConcurrentAccess() throws InterruptedException {
+    void createWorkout_ConcurrentAccess() throws Exception {
         // Given
         ExecutorService executor = Executors.newFixedThreadPool(10);
         when(workoutRepository.save(any(Workout.class))).thenReturn(workout);
-        when(exerciseRepository.saveAll(anyList())).thenReturn(Arrays.asList(exercise));
-        when(modelMapper.map(workout, WorkoutDto.class)).thenReturn(workoutDto);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
 
         // When
         CompletableFuture<ApiResponse<WorkoutDto>>[] futures = new CompletableFuture[5];
@@ -304,12 +459,12 @@ class WorkoutServiceTest {
     }
 
     @Test
-    void updateWorkout_ConcurrentAccess() throws InterruptedException {
+    void updateWorkout_ConcurrentAccess() throws Exception {
         // Given
         ExecutorService executor = Executors.newFixedThreadPool(5);
         when(workoutRepository.findByIdAndUserId(workoutId, userId)).thenReturn(Optional.of(workout));
         when(workoutRepository.save(any(Workout.class))).thenReturn(workout);
-        when(modelMapper.map(workout, WorkoutDto.class)).thenReturn(workoutDto);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
 
         // When
         CompletableFuture<ApiResponse<WorkoutDto>>[] futures = new CompletableFuture[3];
@@ -339,11 +494,11 @@ class WorkoutServiceTest {
     }
 
     @Test 
-    void databaseConcurrency_MultipleUsersCreatingWorkouts() throws InterruptedException {
+    void databaseConcurrency_MultipleUsersCreatingWorkouts() throws Exception {
         // Given
         ExecutorService executor = Executors.newFixedThreadPool(10);
         when(workoutRepository.save(any(Workout.class))).thenReturn(workout);
-        when(modelMapper.map(workout, WorkoutDto.class)).thenReturn(workoutDto);
+        when(workoutMapper.toDto(workout)).thenReturn(workoutDto);
 
         // When - Simulate multiple users creating workouts simultaneously
         CompletableFuture<ApiResponse<WorkoutDto>>[] futures = new CompletableFuture[10];
@@ -384,7 +539,7 @@ class WorkoutServiceTest {
 
         // Then
         assertFalse(response.isSuccess());
-        assertTrue(response.getMessage().contains("Failed to create workout"));
+        assertTrue(response.getError().contains("Failed to create workout"));
         
         // Verify workout was attempted to be saved but transaction should rollback
         verify(workoutRepository).save(any(Workout.class));